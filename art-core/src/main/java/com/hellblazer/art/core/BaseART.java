@@ -3,10 +3,20 @@ package com.hellblazer.art.core;
 import com.hellblazer.art.core.results.ActivationResult;
 import com.hellblazer.art.core.results.CategoryResult;
 import com.hellblazer.art.core.results.MatchResult;
+import com.hellblazer.art.core.jfr.StepFitEvent;
+import com.hellblazer.art.core.jfr.StepPredictEvent;
+import com.hellblazer.art.core.utils.IndexSort;
+import com.hellblazer.art.core.utils.LogLinearHistogram;
+import com.hellblazer.art.core.utils.StripedCounter;
+import com.hellblazer.art.core.utils.StripedMetricsCollector;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
 
 /**
  * Abstract base class implementing the template method pattern for ART algorithms.
@@ -17,18 +27,29 @@ import java.util.Objects;
  */
 public abstract class BaseART<P> implements ARTAlgorithm<P> {
     
+    // Inputs searched in parallel against one snapshot of the categories by learnBatch
+    private static final int BATCH_WINDOW = 256;
+    // Windows smaller than this are learned on the calling thread; forking costs more than it saves
+    private static final int MIN_PARALLEL_WINDOW = 32;
+    
     protected final List<WeightVector> categories;
-    protected final List<Long> categoryUsageCount;
-    protected final List<Long> categoryLastUsedTimestamp;
+    // Per-category usage statistics, indexed like categories (valid up to categories.size())
+    protected long[] categoryUsageCount;
+    protected long[] categoryLastUsedTimestamp;
     protected long totalActivations = 0;
+    private volatile CategoryUpdateListener categoryUpdateListener;
+    private CategoryBudget categoryBudget;
+    private volatile StepMetrics stepMetrics;
+    private long categoriesCreated;
+    private SearchStatistics searchStatistics;
     
     /**
      * Create a new BaseART instance with no initial categories.
      */
     protected BaseART() {
         this.categories = new ArrayList<>();
-        this.categoryUsageCount = new ArrayList<>();
-        this.categoryLastUsedTimestamp = new ArrayList<>();
+        this.categoryUsageCount = new long[16];
+        this.categoryLastUsedTimestamp = new long[16];
     }
     
     /**
@@ -38,13 +59,10 @@ public abstract class BaseART<P> implements ARTAlgorithm<P> {
     protected BaseART(List<? extends WeightVector> initialCategories) {
         Objects.requireNonNull(initialCategories, "Initial categories cannot be null");
         this.categories = new ArrayList<>(initialCategories);
-        this.categoryUsageCount = new ArrayList<>();
-        this.categoryLastUsedTimestamp = new ArrayList<>();
-        var currentTime = System.currentTimeMillis();
-        for (int i = 0; i < initialCategories.size(); i++) {
-            this.categoryUsageCount.add(0L);
-            this.categoryLastUsedTimestamp.add(currentTime);
-        }
+        var capacity = Math.max(16, initialCategories.size());
+        this.categoryUsageCount = new long[capacity];
+        this.categoryLastUsedTimestamp = new long[capacity];
+        java.util.Arrays.fill(categoryLastUsedTimestamp, 0, initialCategories.size(), System.currentTimeMillis());
     }
     
     /**
@@ -101,6 +119,138 @@ public abstract class BaseART<P> implements ARTAlgorithm<P> {
     public final ActivationResult predict(Pattern input, P parameters) {
         return stepPredict(input, parameters);
     }
+    
+    /**
+     * Learn a batch of patterns, with exactly the categories and results of learning them one
+     * at a time in order.
+     * 
+     * For algorithms whose search is safe to run concurrently ({@link #isConcurrentSearchSafe()}),
+     * each window of patterns is searched in parallel against a snapshot of the categories, then
+     * committed in order. A pattern is searched again only if its snapshot winner was modified or
+     * created earlier in the window; otherwise its winner is reconciled with just the categories
+     * changed since the snapshot. The search runs on {@link #batchSearchPool()}, while the model's
+     * monitor and the in-order commit stay on the calling thread. Other algorithms, models with a category budget, a search limit or a
+     * metrics collector, single-threaded pools and windows of fewer than
+     * {@value #MIN_PARALLEL_WINDOW} patterns learn sequentially. Batched steps are committed
+     * without emitting per-step {@link StepFitEvent}s.
+     * 
+     * @param patterns the patterns to learn, in order
+     * @param parameters the algorithm parameters
+     * @return the result of each learning step
+     */
+    @Override
+    public List<ActivationResult> learnBatch(List<Pattern> patterns, P parameters) {
+        Objects.requireNonNull(patterns, "Patterns cannot be null");
+        Objects.requireNonNull(parameters, "Parameters cannot be null");
+        patterns.forEach(p -> Objects.requireNonNull(p, "Input vector cannot be null"));
+        
+        var results = new ArrayList<ActivationResult>(patterns.size());
+        synchronized (this) {
+            // Evictions reuse category indices and limits change the search, so snapshot
+            // results could not be reconciled
+            var pool = batchSearchPool();
+            var sequential = pool.getParallelism() < 2 || !isConcurrentSearchSafe() || categoryBudget != null
+                || stepMetrics != null
+                || (searchStatistics != null && searchStatistics.mode() != SearchLimitMode.UNBOUNDED);
+            if (sequential) {
+                for (var pattern : patterns) {
+                    results.add(stepFit(pattern, parameters));
+                }
+            } else {
+                for (int start = 0; start < patterns.size(); start += BATCH_WINDOW) {
+                    learnWindow(patterns.subList(start, Math.min(patterns.size(), start + BATCH_WINDOW)),
+                                parameters, results, pool);
+                }
+            }
+        }
+        return Collections.unmodifiableList(results);
+    }
+    
+    private void learnWindow(List<Pattern> window, P parameters, List<ActivationResult> results,
+                             ForkJoinPool pool) {
+        if (window.size() < MIN_PARALLEL_WINDOW) {
+            for (var pattern : window) {
+                results.add(stepFit(pattern, parameters));
+            }
+            return;
+        }
+        var first = 0;
+        if (categories.isEmpty()) {
+            results.add(stepFit(window.get(0), parameters));
+            first = 1;
+        }
+        var offset = first;
+        var count = window.size() - offset;
+        
+        // Weight vectors are immutable, so copying the list freezes the categories
+        var snapshot = List.copyOf(categories);
+        var winners = new int[count];
+        var activations = new double[count];
+        var tested = new int[count];
+        Runnable search = () -> IntStream.range(0, count).parallel().forEach(i -> {
+            var input = window.get(offset + i);
+            var best = -1;
+            var bestActivation = Double.NEGATIVE_INFINITY;
+            var vigilanceTests = 0;
+            for (int j = 0; j < snapshot.size(); j++) {
+                var weight = snapshot.get(j);
+                var activation = calculateActivation(input, weight, parameters);
+                if (activation > bestActivation) {
+                    vigilanceTests++;
+                    if (checkVigilance(input, weight, parameters).isAccepted()) {
+                        best = j;
+                        bestActivation = activation;
+                    }
+                }
+            }
+            winners[i] = best;
+            activations[i] = bestActivation;
+            tested[i] = vigilanceTests;
+        });
+        // Pool workers never take the model's monitor, so the caller may wait on them holding it
+        if (ForkJoinTask.getPool() == pool || (pool == ForkJoinPool.commonPool() && !ForkJoinTask.inForkJoinPool())) {
+            search.run();
+        } else {
+            pool.submit(search).join();
+        }
+        
+        // In-order commit, reconciling with the categories changed since the snapshot
+        var changed = new boolean[snapshot.size() + count];
+        var changedList = new int[count];
+        var changedCount = 0;
+        for (int i = 0; i < count; i++) {
+            var input = window.get(offset + i);
+            var winner = winners[i];
+            ActivationResult result;
+            if (winner >= 0 && changed[winner]) {
+                result = stepFit(input, parameters);
+            } else {
+                var best = winner;
+                var bestActivation = activations[i];
+                var vigilanceTests = tested[i];
+                for (int c = 0; c < changedCount; c++) {
+                    var category = changedList[c];
+                    var weight = categories.get(category);
+                    var activation = calculateActivation(input, weight, parameters);
+                    if (activation > bestActivation || (activation == bestActivation && category < best)) {
+                        vigilanceTests++;
+                        if (checkVigilance(input, weight, parameters).isAccepted()) {
+                            best = category;
+                            bestActivation = activation;
+                        }
+                    }
+                }
+                result = commitSearch(input, parameters, best < 0 ? ResonanceSearch.none(vigilanceTests)
+                    : new ResonanceSearch(best, bestActivation, vigilanceTests));
+            }
+            var categoryIndex = ((ActivationResult.Success) result).categoryIndex();
+            if (!changed[categoryIndex]) {
+                changed[categoryIndex] = true;
+                changedList[changedCount++] = categoryIndex;
+            }
+            results.add(result);
+        }
+    }
 
     /**
      * Complete step_fit implementation matching reference parity exactly.
@@ -111,6 +261,7 @@ public abstract class BaseART<P> implements ARTAlgorithm<P> {
      * @param matchTracking match tracking mode
      * @param epsilon epsilon parameter for match tracking
      * @return the result of the activation process
+     * @see StepFitEvent
      */
     public final ActivationResult stepFit(
             Pattern input, 
@@ -121,24 +272,110 @@ public abstract class BaseART<P> implements ARTAlgorithm<P> {
         Objects.requireNonNull(input, "Input vector cannot be null");
         Objects.requireNonNull(parameters, "Parameters cannot be null");
         
+        var metrics = stepMetrics;
+        var event = StepFitEvent.sampled();
+        if (event == null && (metrics == null || !metrics.collector().isEnabled())) {
+            return stepFitSearch(input, parameters, matchResetFunc, matchTracking, epsilon, null);
+        }
+        if (event != null) {
+            event.begin();
+        }
+        var start = System.nanoTime();
+        synchronized (this) {
+            var created = categoriesCreated;
+            if (event != null) {
+                event.categoryCount = categories.size();
+            }
+            var result = stepFitSearch(input, parameters, matchResetFunc, matchTracking, epsilon, event);
+            if (metrics != null && metrics.collector().isEnabled()) {
+                metrics.latency().record(System.nanoTime() - start);
+                metrics.steps().increment();
+                if (categoriesCreated != created) {
+                    metrics.categoriesCreated().increment();
+                }
+            }
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.algorithm = getAlgorithmName();
+                    event.categoryCreated = categoriesCreated != created;
+                    if (result instanceof ActivationResult.Success success) {
+                        event.categoryIndex = success.categoryIndex();
+                    }
+                    event.commit();
+                }
+            }
+            return result;
+        }
+    }
+    
+    /**
+     * The stepFit search; when trace is non-null, the phase timings and search counts are
+     * accumulated into it.
+     */
+    private ActivationResult stepFitSearch(
+            Pattern input, 
+            P parameters, 
+            MatchResetFunction matchResetFunc,
+            MatchTrackingMode matchTracking,
+            double epsilon,
+            StepFitEvent trace) {
         // Synchronize the entire stepFit operation to prevent concurrent modifications
         synchronized (this) {
+            var phase = trace == null ? 0L : System.nanoTime();
+            
             // Step 1: Handle empty categories - create first category
             if (categories.isEmpty()) {
                 var newWeight = createInitialWeight(input, parameters);
-                categories.add(newWeight);
-                categoryUsageCount.add(1L);
-                categoryLastUsedTimestamp.add(System.currentTimeMillis());
-                totalActivations++;
-                return new ActivationResult.Success(0, 1.0, newWeight);
+                var newIndex = addCategory(newWeight);
+                if (trace != null) {
+                    trace.updateNanos = System.nanoTime() - phase;
+                }
+                return new ActivationResult.Success(newIndex, 1.0, newWeight);
+            }
+            
+            // Fast path: algorithms with an exact pruned search (no match reset or search limit in play)
+            var statistics = searchStatistics;
+            var bounded = statistics != null && statistics.mode() != SearchLimitMode.UNBOUNDED;
+            var limit = bounded ? statistics.limit() : Integer.MAX_VALUE;
+            if (matchResetFunc == null && !bounded) {
+                var search = findResonantCategory(input, parameters);
+                if (search != null) {
+                    if (trace == null) {
+                        return commitSearch(input, parameters, search);
+                    }
+                    var searched = System.nanoTime();
+                    trace.indexedSearch = true;
+                    trace.candidatesTested = search.tested();
+                    trace.searchNanos = searched - phase;
+                    var result = commitSearch(input, parameters, search);
+                    trace.updateNanos = System.nanoTime() - searched;
+                    return result;
+                }
             }
             
             // Step 2: Calculate activations, applying match reset filtering if specified
             var activations = new Double[categories.size()];
             var caches = new ActivationCache[categories.size()];
             
+            // Categories that cannot pass vigilance are marked as tested up front; exact only
+            // while match tracking never lowers vigilance during the search
+            var candidates = matchTracking == MatchTrackingMode.MT_MINUS ? null 
+                : findVigilanceCandidates(input, parameters);
+            var nextCandidate = 0;
+            
             for (int i = 0; i < categories.size(); i++) {
                 var weight = categories.get(i);
+                
+                if (candidates != null) {
+                    if (nextCandidate < candidates.length && candidates[nextCandidate] == i) {
+                        nextCandidate++;
+                    } else {
+                        activations[i] = Double.NaN;
+                        caches[i] = ActivationCache.empty("pruned");
+                        continue;
+                    }
+                }
             
                 // Apply match reset function if provided (Python MT~ mode)
                 if (matchTracking == MatchTrackingMode.MT_COMPLEMENT && matchResetFunc != null) {
@@ -156,12 +393,26 @@ public abstract class BaseART<P> implements ARTAlgorithm<P> {
                 activations[i] = result.activation();
                 caches[i] = result.cache();
             }
+            if (trace != null) {
+                var now = System.nanoTime();
+                trace.activationNanos = now - phase;
+                phase = now;
+            }
         
             // Step 3: Python-style iterative category testing with NaN marking
             var baseParams = deepCopyParams(parameters);
             var mtOperator = matchTracking.getOperator();
+            var tested = 0;
+            var limited = false;
             
             while (hasValidActivation(activations)) {
+                // Bounded search: give up on the remaining candidates
+                if (tested == limit) {
+                    limited = true;
+                    break;
+                }
+                tested++;
+                
                 // Find category with highest valid activation (nanargmax equivalent)
                 int bestCategory = findBestValidCategory(activations);
                 var weight = categories.get(bestCategory);
@@ -169,6 +420,9 @@ public abstract class BaseART<P> implements ARTAlgorithm<P> {
             
                 // Test match criterion (vigilance) with caching
                 var matchResult = checkVigilanceWithCache(input, weight, parameters, cache, mtOperator);
+                if (trace != null) {
+                    trace.candidatesTested++;
+                }
                 
                 // Apply match reset logic
                 boolean noMatchReset = matchResetFunc == null || 
@@ -178,20 +432,31 @@ public abstract class BaseART<P> implements ARTAlgorithm<P> {
             
                 if (matchResult.result().isAccepted() && noMatchReset) {
                     // Success: update weight and return
+                    if (trace != null) {
+                        var now = System.nanoTime();
+                        trace.searchNanos = now - phase;
+                        phase = now;
+                    }
                     var updatedWeight = updateWeightsWithCache(input, weight, parameters, matchResult.cache());
-                    categories.set(bestCategory, updatedWeight);
-                    // Update usage statistics
-                    categoryUsageCount.set(bestCategory, categoryUsageCount.get(bestCategory) + 1);
-                    categoryLastUsedTimestamp.set(bestCategory, System.currentTimeMillis());
-                    totalActivations++;
+                    recordResonance(bestCategory, weight, updatedWeight);
                     restoreParams(baseParams, parameters);
+                    recordSearch(tested, false);
+                    if (trace != null) {
+                        trace.updateNanos = System.nanoTime() - phase;
+                    }
                     return new ActivationResult.Success(bestCategory, activations[bestCategory], updatedWeight);
                 } else {
                     // Mark this category as tested (Python: T[c_] = np.nan)
                     activations[bestCategory] = Double.NaN;
+                    if (trace != null) {
+                        trace.resets++;
+                    }
                     
                     // Apply match tracking if vigilance passed but match reset failed
                     if (matchResult.result().isAccepted() && !noMatchReset) {
+                        if (trace != null) {
+                            trace.matchTrackingSteps++;
+                        }
                         boolean keepSearching = applyMatchTracking(
                             matchResult.cache(), epsilon, parameters, matchTracking);
                         if (!keepSearching) {
@@ -205,17 +470,60 @@ public abstract class BaseART<P> implements ARTAlgorithm<P> {
             }
         
             // Step 4: All categories failed - create new category
+            if (trace != null) {
+                var now = System.nanoTime();
+                trace.searchNanos = now - phase;
+                phase = now;
+            }
             var newWeight = createInitialWeight(input, parameters);
-            categories.add(newWeight);
-            categoryUsageCount.add(1L);
-            categoryLastUsedTimestamp.add(System.currentTimeMillis());
-            totalActivations++;
-            var newIndex = categories.size() - 1;
+            var newIndex = addCategory(newWeight);
             restoreParams(baseParams, parameters);
+            recordSearch(tested, limited);
+            if (trace != null) {
+                trace.updateNanos = System.nanoTime() - phase;
+            }
             return new ActivationResult.Success(newIndex, 1.0, newWeight);
         } // End of synchronized block
     }
     
+    /**
+     * Commit the outcome of an indexed search, or of a batched search against a snapshot of
+     * the categories that learnWindow has verified is still current. Resonates
+     * with the found category, or creates a new category when none was found, updating
+     * weights, usage and search statistics exactly as stepFit does.
+     *
+     * @param input the input vector
+     * @param parameters the algorithm parameters
+     * @param search the search outcome to commit
+     * @return the result of the learning step
+     */
+    private ActivationResult commitSearch(Pattern input, P parameters, ResonanceSearch search) {
+        Objects.requireNonNull(input, "Input vector cannot be null");
+        Objects.requireNonNull(parameters, "Parameters cannot be null");
+        Objects.requireNonNull(search, "Search result cannot be null");
+
+        synchronized (this) {
+            recordSearch(search.tested(), false);
+            if (!search.found()) {
+                var newWeight = createInitialWeight(input, parameters);
+                var newIndex = addCategory(newWeight);
+                return new ActivationResult.Success(newIndex, 1.0, newWeight);
+            }
+            var weight = getCategory(search.categoryIndex());
+            var updatedWeight = updateWeightsWithCache(input, weight, parameters,
+                ActivationCache.empty(getAlgorithmName()));
+            recordResonance(search.categoryIndex(), weight, updatedWeight);
+            return new ActivationResult.Success(search.categoryIndex(), search.activation(), updatedWeight);
+        }
+    }
+
+    private void recordSearch(int tested, boolean limited) {
+        if (searchStatistics == null) {
+            searchStatistics = new SearchStatistics();
+        }
+        searchStatistics.record(tested, limited);
+    }
+    
     // ==================== PYTHON-COMPATIBLE HELPER METHODS ====================
     
     /**
@@ -251,6 +559,109 @@ public abstract class BaseART<P> implements ARTAlgorithm<P> {
         return bestIndex;
     }
     
+    /**
+     * Store the updated weight of a resonating category and update its usage statistics.
+     */
+    private void recordResonance(int index, WeightVector previous, WeightVector updatedWeight) {
+        categories.set(index, updatedWeight);
+        var usage = ++categoryUsageCount[index];
+        var now = System.currentTimeMillis();
+        categoryLastUsedTimestamp[index] = now;
+        totalActivations++;
+        if (categoryBudget != null) {
+            categoryBudget.touch(index, usage);
+        }
+        onCategoryChanged(index);
+        var listener = categoryUpdateListener;
+        if (listener != null) {
+            listener.categoryUpdated(index, previous, updatedWeight, usage, now);
+        }
+    }
+    
+    /**
+     * Add a newly created category, evicting the least valuable category when the
+     * category budget is exhausted. The evicted slot is reused so that the indices
+     * of all other categories remain stable.
+     * 
+     * @param newWeight the weight of the new category
+     * @return the index assigned to the new category
+     */
+    private int addCategory(WeightVector newWeight) {
+        var now = System.currentTimeMillis();
+        var listener = categoryUpdateListener;
+        int index;
+        if (categoryBudget != null && !categoryBudget.hasSpace()) {
+            index = categoryBudget.evict();
+            if (listener != null) {
+                listener.categoryEvicted(index, categories.get(index));
+            }
+            categories.set(index, newWeight);
+            categoryBudget.touch(index, 1L);
+        } else {
+            index = categories.size();
+            categories.add(newWeight);
+            ensureStatisticsCapacity(index + 1);
+            if (categoryBudget != null) {
+                categoryBudget.add(index, 1L);
+            }
+        }
+        categoryUsageCount[index] = 1L;
+        categoryLastUsedTimestamp[index] = now;
+        totalActivations++;
+        categoriesCreated++;
+        onCategoryChanged(index);
+        if (listener != null) {
+            listener.categoryCreated(index, newWeight, 1L, now);
+        }
+        return index;
+    }
+    
+    private void ensureStatisticsCapacity(int required) {
+        if (required > categoryUsageCount.length) {
+            var grown = Math.max(required, categoryUsageCount.length * 2);
+            categoryUsageCount = java.util.Arrays.copyOf(categoryUsageCount, grown);
+            categoryLastUsedTimestamp = java.util.Arrays.copyOf(categoryLastUsedTimestamp, grown);
+        }
+    }
+    
+    /**
+     * Result of an algorithm-specific pruned category search.
+     * 
+     * @param categoryIndex the winning category, or -1 if no category qualifies
+     * @param activation the activation of the winning category
+     * @param tested the number of candidates whose vigilance was tested
+     */
+    public record ResonanceSearch(int categoryIndex, double activation, int tested) {
+        /** Search result when no category qualifies and none was tested. */
+        public static final ResonanceSearch NONE = new ResonanceSearch(-1, Double.NaN, 0);
+        
+        public ResonanceSearch {
+            if (tested < 0) {
+                throw new IllegalArgumentException("Tested count must be non-negative, got: " + tested);
+            }
+        }
+        
+        /**
+         * Search result for a search that tested only its winner, if any.
+         */
+        public ResonanceSearch(int categoryIndex, double activation) {
+            this(categoryIndex, activation, categoryIndex >= 0 ? 1 : 0);
+        }
+        
+        /**
+         * Search result when no category qualifies.
+         * 
+         * @param tested the number of candidates whose vigilance was tested
+         */
+        public static ResonanceSearch none(int tested) {
+            return tested == 0 ? NONE : new ResonanceSearch(-1, Double.NaN, tested);
+        }
+        
+        public boolean found() {
+            return categoryIndex >= 0;
+        }
+    }
+    
     /**
      * Record for activation result with cache.
      */
@@ -320,6 +731,87 @@ public abstract class BaseART<P> implements ARTAlgorithm<P> {
         return true;
     }
     
+    // ==================== SEARCH EXTENSION POINTS ====================
+    
+    /**
+     * Find the resonant category for stepFit without scanning every category.
+     * Only consulted when no match reset function is supplied. Implementations must
+     * return exactly the category the full scan would select: the highest activation
+     * among categories passing vigilance, lowest index on ties.
+     * 
+     * @param input the input vector
+     * @param parameters the algorithm parameters
+     * @return the search result ({@link ResonanceSearch#NONE} to create a new category),
+     *         or null to fall back to the full scan
+     */
+    protected ResonanceSearch findResonantCategory(Pattern input, P parameters) {
+        return null;
+    }
+    
+    /**
+     * Find the categories that can possibly pass vigilance for the input, so that the full
+     * scan (used with a match reset function) skips the rest. Omitting a category that
+     * could resonate changes the result, so implementations must be conservative.
+     * 
+     * @param input the input vector
+     * @param parameters the algorithm parameters
+     * @return the candidate category indices in ascending order, or null for all categories
+     */
+    protected int[] findVigilanceCandidates(Pattern input, P parameters) {
+        return null;
+    }
+    
+    /**
+     * Find the highest-activation category for stepPredict without scanning every
+     * category. Implementations must return exactly the full-scan winner.
+     * 
+     * @param input the input vector
+     * @param parameters the algorithm parameters
+     * @return the search result, or null to fall back to the full scan
+     */
+    protected ResonanceSearch findBestCategory(Pattern input, P parameters) {
+        return null;
+    }
+    
+    /**
+     * Whether {@link #calculateActivation} and {@link #checkVigilance} depend only on their
+     * arguments and may be called concurrently while the categories do not change. Enables
+     * the parallel search of {@link #learnBatch}.
+     * 
+     * @return true if the category search can run concurrently
+     */
+    protected boolean isConcurrentSearchSafe() {
+        return false;
+    }
+    
+    /**
+     * The pool running the parallel search of {@link #learnBatch}: by default the fork/join
+     * pool of the calling thread, or the common pool.
+     * 
+     * @return the batch search pool
+     */
+    protected ForkJoinPool batchSearchPool() {
+        var pool = ForkJoinTask.getPool();
+        return pool != null ? pool : ForkJoinPool.commonPool();
+    }
+    
+    /**
+     * Called after the category at the given index was created, updated or replaced.
+     * Subclasses maintaining derived per-category structures override this.
+     * 
+     * @param index the category index
+     */
+    protected void onCategoryChanged(int index) {
+        // Default no-op
+    }
+    
+    /**
+     * Called after the category set changed wholesale (clear, prune, replace, restore).
+     */
+    protected void onCategoriesReset() {
+        // Default no-op
+    }
+    
     /**
      * Get the algorithm name for cache identification.
      */
@@ -450,9 +942,8 @@ public abstract class BaseART<P> implements ARTAlgorithm<P> {
      */
     public final void clear() {
         categories.clear();
-        categoryUsageCount.clear();
-        categoryLastUsedTimestamp.clear();
         totalActivations = 0;
+        categoryStatisticsChanged();
     }
     
     /**
@@ -469,6 +960,7 @@ public abstract class BaseART<P> implements ARTAlgorithm<P> {
      * @param input the input pattern
      * @param parameters the algorithm parameters
      * @return the prediction result
+     * @see StepPredictEvent
      */
     public final ActivationResult stepPredict(Pattern input, P parameters) {
         Objects.requireNonNull(input, "Input vector cannot be null");
@@ -478,6 +970,34 @@ public abstract class BaseART<P> implements ARTAlgorithm<P> {
             return ActivationResult.NoMatch.instance();
         }
         
+        var event = StepPredictEvent.sampled();
+        if (event == null) {
+            return predictSearch(input, parameters, null);
+        }
+        event.begin();
+        event.categoryCount = categories.size();
+        var result = predictSearch(input, parameters, event);
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithm = getAlgorithmName();
+            event.categoryIndex = result instanceof ActivationResult.Success success ? success.categoryIndex() : -1;
+            event.commit();
+        }
+        return result;
+    }
+    
+    private ActivationResult predictSearch(Pattern input, P parameters, StepPredictEvent trace) {
+        var search = findBestCategory(input, parameters);
+        if (search != null) {
+            if (trace != null) {
+                trace.indexedSearch = true;
+            }
+            return search.found()
+                ? new ActivationResult.Success(search.categoryIndex(), search.activation(), 
+                                               categories.get(search.categoryIndex()))
+                : ActivationResult.NoMatch.instance();
+        }
+        
         // Calculate activations for all categories
         var activations = new Double[categories.size()];
         for (int i = 0; i < categories.size(); i++) {
@@ -513,12 +1033,193 @@ public abstract class BaseART<P> implements ARTAlgorithm<P> {
         categories.clear();
         categories.addAll(newCategories);
         // Reset usage stats
-        categoryUsageCount.clear();
-        categoryLastUsedTimestamp.clear();
-        var currentTime = System.currentTimeMillis();
-        for (int i = 0; i < newCategories.size(); i++) {
-            categoryUsageCount.add(0L);
-            categoryLastUsedTimestamp.add(currentTime);
+        ensureStatisticsCapacity(newCategories.size());
+        java.util.Arrays.fill(categoryUsageCount, 0, newCategories.size(), 0L);
+        java.util.Arrays.fill(categoryLastUsedTimestamp, 0, newCategories.size(), System.currentTimeMillis());
+        categoryStatisticsChanged();
+    }
+    
+    /**
+     * Restore the complete category state, e.g. when recovering from a checkpoint.
+     * The usage and timestamp arrays must have the same length as the category list.
+     * 
+     * @param restoredCategories the category weights in index order
+     * @param usageCounts the usage count of each category
+     * @param lastUsedTimestamps the last-used timestamp of each category
+     * @param restoredTotalActivations the total activation count
+     */
+    public final void restoreCategoryState(List<? extends WeightVector> restoredCategories, long[] usageCounts,
+                                           long[] lastUsedTimestamps, long restoredTotalActivations) {
+        Objects.requireNonNull(restoredCategories, "Restored categories cannot be null");
+        Objects.requireNonNull(usageCounts, "Usage counts cannot be null");
+        Objects.requireNonNull(lastUsedTimestamps, "Timestamps cannot be null");
+        if (usageCounts.length != restoredCategories.size() || lastUsedTimestamps.length != restoredCategories.size()) {
+            throw new IllegalArgumentException("Usage counts and timestamps must match category count " + 
+                restoredCategories.size());
+        }
+        synchronized (this) {
+            categories.clear();
+            categories.addAll(restoredCategories);
+            ensureStatisticsCapacity(usageCounts.length);
+            System.arraycopy(usageCounts, 0, categoryUsageCount, 0, usageCounts.length);
+            System.arraycopy(lastUsedTimestamps, 0, categoryLastUsedTimestamp, 0, lastUsedTimestamps.length);
+            totalActivations = restoredTotalActivations;
+            categoryStatisticsChanged();
+        }
+    }
+    
+    /**
+     * Install a listener that is notified of every category creation and update
+     * performed by {@link #stepFit}. Pass null to remove the current listener.
+     * 
+     * @param listener the listener, or null
+     */
+    public final void setCategoryUpdateListener(CategoryUpdateListener listener) {
+        this.categoryUpdateListener = listener;
+    }
+    
+    /**
+     * Get the currently installed category update listener.
+     * 
+     * @return the listener, or null if none is installed
+     */
+    public final CategoryUpdateListener getCategoryUpdateListener() {
+        return categoryUpdateListener;
+    }
+    
+    /**
+     * Record stepFit metrics into the given collector: the number of steps ({@code <name>.stepFit.steps}),
+     * the steps that created a category ({@code <name>.stepFit.categoriesCreated}) and the step latency in
+     * nanoseconds ({@code <name>.stepFit.latency}), where name is the algorithm name. Recording is skipped
+     * while the collector is disabled. Pass null to stop recording.
+     * 
+     * @param collector the collector, or null
+     */
+    public final void setMetricsCollector(StripedMetricsCollector collector) {
+        if (collector == null) {
+            stepMetrics = null;
+            return;
+        }
+        var prefix = getAlgorithmName() + ".stepFit";
+        stepMetrics = new StepMetrics(collector, collector.counter(prefix + ".steps"),
+                                      collector.counter(prefix + ".categoriesCreated"),
+                                      collector.timer(prefix + ".latency"));
+    }
+    
+    /**
+     * Get the collector receiving stepFit metrics.
+     * 
+     * @return the collector, or null if metrics are not recorded
+     */
+    public final StripedMetricsCollector getMetricsCollector() {
+        var metrics = stepMetrics;
+        return metrics == null ? null : metrics.collector();
+    }
+    
+    private record StepMetrics(StripedMetricsCollector collector, StripedCounter steps,
+                               StripedCounter categoriesCreated, LogLinearHistogram latency) {
+    }
+    
+    /**
+     * Enforce a hard category budget during learning. When a new category would exceed
+     * the capacity, the least valuable category under the given policy is evicted in
+     * O(log n) and its index is reused for the new category. If the model already holds
+     * more categories than the capacity, the least used ones are pruned immediately.
+     * 
+     * @param maxCategories the maximum number of categories
+     * @param policy the eviction policy
+     */
+    public final synchronized void setCategoryBudget(int maxCategories, CategoryBudget.EvictionPolicy policy) {
+        categoryBudget = new CategoryBudget(maxCategories, policy);
+        categoryStatisticsChanged();
+    }
+    
+    /**
+     * Remove the category budget, allowing unbounded category growth.
+     */
+    public final synchronized void clearCategoryBudget() {
+        categoryBudget = null;
+    }
+    
+    /**
+     * Get the active category budget.
+     * 
+     * @return the budget, or null if category growth is unbounded
+     */
+    public final CategoryBudget getCategoryBudget() {
+        return categoryBudget;
+    }
+    
+    /**
+     * Bound the vigilance search of stepFit. A bounded search tests at most the candidate
+     * limit of the highest activations and then creates a new category directly. Bounded
+     * searches always scan the activations, bypassing any indexed search of the algorithm.
+     * 
+     * @param mode the search limit mode
+     * @param parameter K for {@link SearchLimitMode#TOP_K}, the target quantile of candidates
+     *                  tested for {@link SearchLimitMode#ADAPTIVE}; ignored when unbounded
+     */
+    public final synchronized void setSearchLimit(SearchLimitMode mode, double parameter) {
+        if (searchStatistics == null) {
+            searchStatistics = new SearchStatistics();
+        }
+        searchStatistics.configure(mode, parameter);
+    }
+    
+    /**
+     * Get the search limit mode.
+     */
+    public final synchronized SearchLimitMode getSearchLimitMode() {
+        return searchStatistics == null ? SearchLimitMode.UNBOUNDED : searchStatistics.mode();
+    }
+    
+    /**
+     * Get the current candidate limit of the vigilance search.
+     * 
+     * @return the limit, or {@link Integer#MAX_VALUE} if the search is unbounded
+     */
+    public final synchronized int getCandidateLimit() {
+        return searchStatistics == null ? Integer.MAX_VALUE : searchStatistics.limit();
+    }
+    
+    /**
+     * Get the histogram of candidates tested per stepFit vigilance search, including steps served
+     * by an indexed search of the algorithm and batched steps. Steps creating the first category
+     * are not searches.
+     */
+    public final synchronized LogLinearHistogram.Snapshot getCandidatesTestedHistogram() {
+        return searchStatistics == null ? LogLinearHistogram.Snapshot.EMPTY : searchStatistics.histogram();
+    }
+    
+    /**
+     * Get the number of vigilance searches that stopped at the candidate limit.
+     */
+    public final synchronized long getLimitedSearchCount() {
+        return searchStatistics == null ? 0L : searchStatistics.limitedSearches();
+    }
+    
+    /**
+     * Rebuild derived per-category structures after a wholesale change to the category set.
+     */
+    private void categoryStatisticsChanged() {
+        var budget = categoryBudget;
+        if (budget != null) {
+            if (categories.size() > budget.capacity()) {
+                retainMostUsed(budget.capacity());
+            }
+            budget.reset(categoryUsageCount, categoryLastUsedTimestamp, categories.size());
+        }
+        notifyCategoriesReset();
+    }
+    
+    /**
+     * Notify the listener that the category set changed outside of stepFit.
+     */
+    protected final void notifyCategoriesReset() {
+        onCategoriesReset();
+        var listener = categoryUpdateListener;
+        if (listener != null) {
+            listener.categoriesReset(this);
         }
     }
     
@@ -549,30 +1250,18 @@ public abstract class BaseART<P> implements ARTAlgorithm<P> {
         }
         
         // Calculate mean usage
-        var meanUsage = categoryUsageCount.stream()
-            .mapToLong(Long::longValue)
-            .average()
-            .orElse(0.0);
-        
-        var threshold = (long)(meanUsage * minUsageRatio);
-        
-        // Find indices to remove
-        var indicesToRemove = new ArrayList<Integer>();
-        for (int i = 0; i < categoryUsageCount.size(); i++) {
-            if (categoryUsageCount.get(i) < threshold) {
-                indicesToRemove.add(i);
-            }
+        var count = categories.size();
+        double totalUsage = 0.0;
+        for (int i = 0; i < count; i++) {
+            totalUsage += categoryUsageCount[i];
         }
+        var threshold = (long)(totalUsage / count * minUsageRatio);
         
-        // Remove in reverse order to maintain indices
-        for (int i = indicesToRemove.size() - 1; i >= 0; i--) {
-            int idx = indicesToRemove.get(i);
-            categories.remove(idx);
-            categoryUsageCount.remove(idx);
-            categoryLastUsedTimestamp.remove(idx);
+        var pruned = retainCategories(i -> categoryUsageCount[i] >= threshold);
+        if (pruned > 0) {
+            categoryStatisticsChanged();
         }
-        
-        return indicesToRemove.size();
+        return pruned;
     }
     
     /**
@@ -589,31 +1278,18 @@ public abstract class BaseART<P> implements ARTAlgorithm<P> {
             return 0;
         }
         
-        var currentTime = System.currentTimeMillis();
-        var cutoffTime = currentTime - maxAgeMillis;
+        var cutoffTime = System.currentTimeMillis() - maxAgeMillis;
         
-        // Find indices to remove
-        var indicesToRemove = new ArrayList<Integer>();
-        for (int i = 0; i < categoryLastUsedTimestamp.size(); i++) {
-            if (categoryLastUsedTimestamp.get(i) < cutoffTime) {
-                indicesToRemove.add(i);
-            }
-        }
-        
-        // Remove in reverse order
-        for (int i = indicesToRemove.size() - 1; i >= 0; i--) {
-            int idx = indicesToRemove.get(i);
-            categories.remove(idx);
-            categoryUsageCount.remove(idx);
-            categoryLastUsedTimestamp.remove(idx);
+        var pruned = retainCategories(i -> categoryLastUsedTimestamp[i] >= cutoffTime);
+        if (pruned > 0) {
+            categoryStatisticsChanged();
         }
-        
-        return indicesToRemove.size();
+        return pruned;
     }
     
     /**
      * Prune categories to maintain a maximum count.
-     * Keeps the most frequently used categories.
+     * Keeps the most frequently used categories, ordered by descending usage.
      * 
      * @param maxCategories maximum number of categories to keep
      * @return number of categories pruned
@@ -625,37 +1301,72 @@ public abstract class BaseART<P> implements ARTAlgorithm<P> {
         if (categories.size() <= maxCategories) {
             return 0;
         }
-        
-        // Create indices sorted by usage count
-        var indices = new ArrayList<Integer>();
-        for (int i = 0; i < categories.size(); i++) {
-            indices.add(i);
+        var pruned = retainMostUsed(maxCategories);
+        categoryStatisticsChanged();
+        return pruned;
+    }
+    
+    /**
+     * Remove categories in a single compaction pass, keeping the survivors in their original
+     * relative order together with their usage statistics.
+     * 
+     * @param keep accepts the indices of the categories to keep
+     * @return number of categories pruned
+     */
+    protected final int pruneCategories(IntPredicate keep) {
+        Objects.requireNonNull(keep, "Predicate cannot be null");
+        var pruned = retainCategories(keep);
+        if (pruned > 0) {
+            categoryStatisticsChanged();
         }
-        indices.sort((a, b) -> Long.compare(
-            categoryUsageCount.get(b), categoryUsageCount.get(a)));
-        
-        // Keep top maxCategories, remove the rest
-        var toKeep = new ArrayList<WeightVector>();
-        var toKeepUsage = new ArrayList<Long>();
-        var toKeepTimestamp = new ArrayList<Long>();
+        return pruned;
+    }
+    
+    /**
+     * Keep the most used categories, ordered by descending usage, without notification.
+     */
+    private int retainMostUsed(int maxCategories) {
+        var count = categories.size();
+        var indices = IndexSort.descending(categoryUsageCount, count);
         
+        var toKeep = new ArrayList<WeightVector>(maxCategories);
+        var toKeepUsage = new long[categoryUsageCount.length];
+        var toKeepTimestamp = new long[categoryLastUsedTimestamp.length];
         for (int i = 0; i < maxCategories; i++) {
-            int idx = indices.get(i);
+            int idx = indices[i];
             toKeep.add(categories.get(idx));
-            toKeepUsage.add(categoryUsageCount.get(idx));
-            toKeepTimestamp.add(categoryLastUsedTimestamp.get(idx));
+            toKeepUsage[i] = categoryUsageCount[idx];
+            toKeepTimestamp[i] = categoryLastUsedTimestamp[idx];
         }
         
-        var pruned = categories.size() - maxCategories;
-        
         categories.clear();
         categories.addAll(toKeep);
-        categoryUsageCount.clear();
-        categoryUsageCount.addAll(toKeepUsage);
-        categoryLastUsedTimestamp.clear();
-        categoryLastUsedTimestamp.addAll(toKeepTimestamp);
-        
-        return pruned;
+        categoryUsageCount = toKeepUsage;
+        categoryLastUsedTimestamp = toKeepTimestamp;
+        return count - maxCategories;
+    }
+    
+    /**
+     * Compact the categories in a single pass, keeping those accepted by the predicate
+     * in their original relative order.
+     * 
+     * @return the number of categories removed
+     */
+    private int retainCategories(IntPredicate keep) {
+        var count = categories.size();
+        int write = 0;
+        for (int read = 0; read < count; read++) {
+            if (keep.test(read)) {
+                if (write != read) {
+                    categories.set(write, categories.get(read));
+                    categoryUsageCount[write] = categoryUsageCount[read];
+                    categoryLastUsedTimestamp[write] = categoryLastUsedTimestamp[read];
+                }
+                write++;
+            }
+        }
+        categories.subList(write, count).clear();
+        return count - write;
     }
     
     /**
@@ -668,7 +1379,7 @@ public abstract class BaseART<P> implements ARTAlgorithm<P> {
         if (index < 0 || index >= categories.size()) {
             throw new IndexOutOfBoundsException("Category index out of bounds");
         }
-        return categoryUsageCount.get(index);
+        return categoryUsageCount[index];
     }
     
     /**
@@ -681,7 +1392,7 @@ public abstract class BaseART<P> implements ARTAlgorithm<P> {
         if (index < 0 || index >= categories.size()) {
             throw new IndexOutOfBoundsException("Category index out of bounds");
         }
-        return categoryLastUsedTimestamp.get(index);
+        return categoryLastUsedTimestamp[index];
     }
     
     /**
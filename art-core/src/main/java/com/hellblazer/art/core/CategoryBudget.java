@@ -0,0 +1,229 @@
+package com.hellblazer.art.core;
+
+import com.hellblazer.art.core.utils.IndexSort;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Hard capacity limit on the number of categories a {@link BaseART} model may hold.
+ *
+ * When learning would create a category beyond the capacity, the least valuable existing
+ * category is evicted and its slot is reused for the new category, so the indices of all
+ * other categories stay stable. Victims are selected with an indexed binary min-heap over
+ * primitive keys: recording a resonance and selecting a victim are both O(log n).
+ */
+public final class CategoryBudget {
+
+    /**
+     * Policy used to rank categories for eviction.
+     */
+    public enum EvictionPolicy {
+        /** Evict the category that resonated least recently. */
+        LRU,
+        /** Evict the category with the lowest usage count (least recently used on ties). */
+        LFU
+    }
+
+    private final int capacity;
+    private final EvictionPolicy policy;
+
+    // heap[k] = slot at heap position k; position[slot] = heap position of slot
+    private int[] heap;
+    private int[] position;
+    private long[] usage;
+    private long[] tick;
+    private int size;
+    private long clock;
+    private long evictions;
+
+    /**
+     * Create a category budget.
+     *
+     * @param capacity the maximum number of categories (must be positive)
+     * @param policy the eviction policy
+     */
+    public CategoryBudget(int capacity, EvictionPolicy policy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive, got: " + capacity);
+        }
+        this.capacity = capacity;
+        this.policy = Objects.requireNonNull(policy, "Eviction policy cannot be null");
+        var initial = Math.min(capacity, 64);
+        this.heap = new int[initial];
+        this.position = new int[initial];
+        this.usage = new long[initial];
+        this.tick = new long[initial];
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public EvictionPolicy policy() {
+        return policy;
+    }
+
+    /**
+     * Number of categories currently tracked.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of categories evicted so far.
+     */
+    public long evictions() {
+        return evictions;
+    }
+
+    /**
+     * Whether a new category can be added without eviction.
+     */
+    public boolean hasSpace() {
+        return size < capacity;
+    }
+
+    /**
+     * Track a newly appended category.
+     *
+     * @param slot the category index (must equal the current size)
+     * @param usageCount the initial usage count
+     */
+    void add(int slot, long usageCount) {
+        if (slot != size) {
+            throw new IllegalStateException("Budget slots must be appended in order: " + slot + " vs " + size);
+        }
+        ensureCapacity(size + 1);
+        usage[slot] = usageCount;
+        tick[slot] = ++clock;
+        heap[size] = slot;
+        position[slot] = size;
+        size++;
+        siftUp(position[slot]);
+    }
+
+    /**
+     * Record a resonance (or slot reuse) of a category.
+     *
+     * @param slot the category index
+     * @param usageCount the new usage count
+     */
+    void touch(int slot, long usageCount) {
+        usage[slot] = usageCount;
+        tick[slot] = ++clock;
+        var k = position[slot];
+        siftUp(k);
+        siftDown(position[slot]);
+    }
+
+    /**
+     * Select the least valuable category and count it as evicted.
+     * The caller reuses the returned slot and must {@link #touch} it.
+     *
+     * @return the slot to evict
+     */
+    int evict() {
+        if (size == 0) {
+            throw new IllegalStateException("No categories to evict");
+        }
+        evictions++;
+        return heap[0];
+    }
+
+    /**
+     * Peek at the category that would be evicted next.
+     *
+     * @return the victim slot, or -1 if empty
+     */
+    public int peekVictim() {
+        return size == 0 ? -1 : heap[0];
+    }
+
+    /**
+     * Rebuild the heap after the category set was changed wholesale (prune, clear, restore).
+     * Recency is approximated by the order of the supplied timestamps.
+     *
+     * @param usageCounts usage count per category
+     * @param timestamps last-used timestamp per category
+     * @param count number of categories
+     */
+    void reset(long[] usageCounts, long[] timestamps, int count) {
+        ensureCapacity(count);
+        // Assign logical ticks in timestamp order so LRU ordering survives the rebuild
+        for (var slot : IndexSort.ascending(timestamps, count)) {
+            tick[slot] = ++clock;
+        }
+        for (int i = 0; i < count; i++) {
+            usage[i] = usageCounts[i];
+            heap[i] = i;
+            position[i] = i;
+        }
+        size = count;
+        for (int k = size / 2 - 1; k >= 0; k--) {
+            siftDown(k);
+        }
+    }
+
+    private boolean less(int slotA, int slotB) {
+        if (policy == EvictionPolicy.LFU && usage[slotA] != usage[slotB]) {
+            return usage[slotA] < usage[slotB];
+        }
+        return tick[slotA] < tick[slotB];
+    }
+
+    private void siftUp(int k) {
+        var slot = heap[k];
+        while (k > 0) {
+            var parent = (k - 1) >>> 1;
+            var parentSlot = heap[parent];
+            if (!less(slot, parentSlot)) {
+                break;
+            }
+            heap[k] = parentSlot;
+            position[parentSlot] = k;
+            k = parent;
+        }
+        heap[k] = slot;
+        position[slot] = k;
+    }
+
+    private void siftDown(int k) {
+        var slot = heap[k];
+        var half = size >>> 1;
+        while (k < half) {
+            var child = 2 * k + 1;
+            var right = child + 1;
+            if (right < size && less(heap[right], heap[child])) {
+                child = right;
+            }
+            var childSlot = heap[child];
+            if (!less(childSlot, slot)) {
+                break;
+            }
+            heap[k] = childSlot;
+            position[childSlot] = k;
+            k = child;
+        }
+        heap[k] = slot;
+        position[slot] = k;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= heap.length) {
+            return;
+        }
+        var grown = Math.max(required, Math.min(capacity, heap.length * 2));
+        heap = Arrays.copyOf(heap, grown);
+        position = Arrays.copyOf(position, grown);
+        usage = Arrays.copyOf(usage, grown);
+        tick = Arrays.copyOf(tick, grown);
+    }
+
+    @Override
+    public String toString() {
+        return "CategoryBudget{capacity=" + capacity + ", policy=" + policy + ", size=" + size +
+               ", evictions=" + evictions + "}";
+    }
+}
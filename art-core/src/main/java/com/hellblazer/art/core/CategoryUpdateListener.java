@@ -0,0 +1,53 @@
+package com.hellblazer.art.core;
+
+/**
+ * Listener notified by {@link BaseART} whenever learning changes the category set.
+ *
+ * Callbacks are invoked from inside the synchronized learning step, so implementations
+ * must be cheap (e.g. a buffered append) and must not call back into the model.
+ */
+public interface CategoryUpdateListener {
+
+    /**
+     * A new category was created at the given index, either appended or reusing
+     * the slot of an evicted category.
+     *
+     * @param index the index of the new category
+     * @param weight the initial weight of the category
+     * @param usageCount the usage count after creation
+     * @param timestamp the last-used timestamp after creation
+     */
+    void categoryCreated(int index, WeightVector weight, long usageCount, long timestamp);
+
+    /**
+     * A category is about to be evicted by the category budget. Its index is reused
+     * by the {@link #categoryCreated} notification that immediately follows.
+     *
+     * @param index the index of the evicted category
+     * @param evicted the weight of the evicted category
+     */
+    default void categoryEvicted(int index, WeightVector evicted) {
+        // Default no-op
+    }
+
+    /**
+     * An existing category resonated and its weight was updated.
+     *
+     * @param index the index of the updated category
+     * @param previous the weight before the update
+     * @param updated the weight after the update
+     * @param usageCount the usage count after the update
+     * @param timestamp the last-used timestamp after the update
+     */
+    void categoryUpdated(int index, WeightVector previous, WeightVector updated, long usageCount, long timestamp);
+
+    /**
+     * The category set was changed outside of the learning step (clear, prune, replace).
+     * Incremental records emitted before this call no longer describe the model.
+     *
+     * @param model the model whose categories were changed
+     */
+    default void categoriesReset(BaseART<?> model) {
+        // Default no-op
+    }
+}
@@ -0,0 +1,54 @@
+package com.hellblazer.art.core;
+
+/**
+ * Bounds on the vigilance search of {@link BaseART#stepFit}.
+ * 
+ * The search tests categories in decreasing order of activation until one resonates. An
+ * unbounded search may test and reset every category before creating a new one; a bounded
+ * search creates the new category directly once its candidate limit has been tested without
+ * resonance, which caps the tail latency of learning at the cost of occasionally creating a
+ * category that a deeper search would have avoided.
+ */
+public enum SearchLimitMode {
+    
+    /**
+     * Test every category (the classic ART search). The parameter is ignored.
+     */
+    UNBOUNDED("unbounded"),
+    
+    /**
+     * Test at most the top K activations, where the parameter is K.
+     */
+    TOP_K("top-k"),
+    
+    /**
+     * Test at most the top K activations, with K retuned periodically to the given quantile
+     * of the observed candidates tested per step; the parameter is the quantile, e.g. 0.99.
+     */
+    ADAPTIVE("adaptive");
+    
+    private final String name;
+    
+    SearchLimitMode(String name) {
+        this.name = name;
+    }
+    
+    /**
+     * Get the configuration name of this search limit mode.
+     */
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Parse a search limit mode from its configuration name.
+     */
+    public static SearchLimitMode fromName(String name) {
+        for (SearchLimitMode mode : values()) {
+            if (mode.name.equals(name)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown search limit mode: " + name);
+    }
+}
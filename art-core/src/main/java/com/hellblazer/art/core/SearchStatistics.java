@@ -0,0 +1,116 @@
+package com.hellblazer.art.core;
+
+import com.hellblazer.art.core.utils.LogLinearHistogram;
+
+import java.util.Objects;
+
+/**
+ * Candidates tested per vigilance search of a {@link BaseART} model, and the candidate limit
+ * derived from them under a {@link SearchLimitMode}.
+ *
+ * In adaptive mode the limit is retuned every {@value #TUNING_INTERVAL} searches to the target
+ * quantile of the searches since the previous tuning, but never below {@value #MIN_LIMIT}. A
+ * bounded search that hits the limit records the limit, so the observed distribution is censored
+ * there; when more searches than the quantile allows hit the limit, it is doubled instead, so the
+ * limit follows the distribution upwards as well as down. Not thread safe: the model records
+ * under its own lock.
+ */
+final class SearchStatistics {
+
+    static final int TUNING_INTERVAL = 256;
+    static final int MIN_LIMIT = 16;
+
+    // Searches run under the model lock, so a single stripe suffices
+    private final LogLinearHistogram candidatesTested = new LogLinearHistogram(1);
+    private SearchLimitMode mode = SearchLimitMode.UNBOUNDED;
+    private double parameter;
+    private int limit = Integer.MAX_VALUE;
+    private LogLinearHistogram.Snapshot tunedAt = LogLinearHistogram.Snapshot.EMPTY;
+    private int searchesSinceTuning;
+    private int limitedSinceTuning;
+    private long limitedSearches;
+
+    /**
+     * Configure the search limit.
+     *
+     * @param mode the search limit mode
+     * @param parameter K for {@link SearchLimitMode#TOP_K}, the target quantile for
+     *                  {@link SearchLimitMode#ADAPTIVE}
+     */
+    void configure(SearchLimitMode mode, double parameter) {
+        Objects.requireNonNull(mode, "Search limit mode cannot be null");
+        switch (mode) {
+            case UNBOUNDED -> limit = Integer.MAX_VALUE;
+            case TOP_K -> {
+                if (parameter < 1.0 || parameter > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Candidate limit must be positive, got: " + parameter);
+                }
+                limit = (int) parameter;
+            }
+            case ADAPTIVE -> {
+                if (!(parameter > 0.0 && parameter < 1.0)) {
+                    throw new IllegalArgumentException("Quantile must be in (0, 1), got: " + parameter);
+                }
+                // Unbounded until the first tuning has observations to go on
+                limit = Integer.MAX_VALUE;
+                tunedAt = candidatesTested.snapshot();
+                searchesSinceTuning = 0;
+                limitedSinceTuning = 0;
+            }
+        }
+        this.mode = mode;
+        this.parameter = parameter;
+    }
+
+    SearchLimitMode mode() {
+        return mode;
+    }
+
+    /**
+     * Maximum candidates the next search may test.
+     */
+    int limit() {
+        return limit;
+    }
+
+    /**
+     * Searches that hit the candidate limit.
+     */
+    long limitedSearches() {
+        return limitedSearches;
+    }
+
+    LogLinearHistogram.Snapshot histogram() {
+        return candidatesTested.snapshot();
+    }
+
+    /**
+     * Record a completed search.
+     *
+     * @param tested the candidates tested
+     * @param limited whether the search stopped at the limit
+     */
+    void record(int tested, boolean limited) {
+        candidatesTested.record(tested);
+        if (limited) {
+            limitedSearches++;
+            limitedSinceTuning++;
+        }
+        if (mode == SearchLimitMode.ADAPTIVE && ++searchesSinceTuning >= TUNING_INTERVAL) {
+            tune();
+        }
+    }
+
+    private void tune() {
+        var current = candidatesTested.snapshot();
+        var window = current.minus(tunedAt);
+        var target = (long) Math.ceil(window.getValueAtQuantile(parameter));
+        if (limitedSinceTuning > (1.0 - parameter) * searchesSinceTuning) {
+            target = Math.max(target, 2L * limit);
+        }
+        limit = (int) Math.min(Integer.MAX_VALUE, Math.max(MIN_LIMIT, target));
+        tunedAt = current;
+        searchesSinceTuning = 0;
+        limitedSinceTuning = 0;
+    }
+}
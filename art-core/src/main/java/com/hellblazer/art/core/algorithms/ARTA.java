@@ -2,9 +2,11 @@ package com.hellblazer.art.core.algorithms;
 
 import com.hellblazer.art.core.parameters.ARTAParameters;
 import com.hellblazer.art.core.BaseART;
+import com.hellblazer.art.core.DenseVector;
 import com.hellblazer.art.core.Pattern;
 import com.hellblazer.art.core.WeightVector;
 import com.hellblazer.art.core.results.ActivationResult;
+import com.hellblazer.art.core.index.AttentionWeightMatrix;
 import com.hellblazer.art.core.results.MatchResult;
 import com.hellblazer.art.core.weights.ARTAWeight;
 import java.util.Arrays;
@@ -29,9 +31,17 @@ import java.util.Objects;
  * 2. Attention-modified vigilance test for category acceptance
  * 3. Joint learning of category weights and attention weights
  * 4. Attention weight evolution based on discriminative features
+ * 
+ * Category searches run over an {@link AttentionWeightMatrix}, which keeps the prototypes and
+ * attention weights of all categories in two contiguous matrices with cached weighted norms.
  */
 public final class ARTA extends BaseART<ARTAParameters> {
     
+    // Input values and match sums reused across the categories of a scan; searches may run on several threads
+    private static final ThreadLocal<MatchScratch> SCRATCH = ThreadLocal.withInitial(MatchScratch::new);
+    
+    private final AttentionWeightMatrix matrix = new AttentionWeightMatrix();
+    
     /**
      * Create a new ART-A instance with no initial categories.
      */
@@ -67,26 +77,11 @@ public final class ARTA extends BaseART<ARTAParameters> {
         // ART-A attention-weighted choice function:
         // T_j = |I ∧ w_j| / (α + |w_j|) where ∧ uses attention weighting
         
-        var categoryWeights = artaWeight.getCategoryWeights();
-        var attentionWeights = artaWeight.getAttentionWeights();
-        
-        // Calculate attention-weighted fuzzy min (intersection)
-        double intersectionSum = 0.0;
-        for (int i = 0; i < input.dimension(); i++) {
-            double fuzzyMin = Math.min(input.get(i), categoryWeights[i]);
-            intersectionSum += attentionWeights[i] * fuzzyMin;  // Attention weighting
-        }
-        
-        // Calculate attention-weighted category magnitude
-        double categoryMagnitude = 0.0;
-        for (int i = 0; i < categoryWeights.length; i++) {
-            categoryMagnitude += attentionWeights[i] * categoryWeights[i];  // Attention weighting  
-        }
+        // Attention-weighted fuzzy min (intersection); the weighted category magnitude is cached
+        var sums = SCRATCH.get().match(input, artaWeight);
         
         // Choice function with attention weighting
-        double activation = intersectionSum / (artaParams.alpha() + categoryMagnitude);
-        
-        return activation;
+        return sums[0] / (artaParams.alpha() + artaWeight.getWeightedNorm());
     }
     
     @Override
@@ -100,29 +95,18 @@ public final class ARTA extends BaseART<ARTAParameters> {
         }
         var artaParams = parameters;
         
-        var categoryWeights = artaWeight.getCategoryWeights();
-        var attentionWeights = artaWeight.getAttentionWeights();
-        
         // ART-A attention-weighted match function:
         // ρ_j = |I ∧ w_j| / |I| where both operations use attention weighting
         
-        // Calculate attention-weighted fuzzy min (intersection)
-        double intersectionSum = 0.0;
-        for (int i = 0; i < input.dimension(); i++) {
-            double fuzzyMin = Math.min(input.get(i), categoryWeights[i]);
-            intersectionSum += attentionWeights[i] * fuzzyMin;
-        }
-        
-        // Calculate attention-weighted input magnitude
-        double inputMagnitude = 0.0;
-        for (int i = 0; i < input.dimension(); i++) {
-            inputMagnitude += attentionWeights[i] * input.get(i);
-        }
+        // Attention-weighted fuzzy min (intersection) and input magnitude in one pass
+        var sums = SCRATCH.get().match(input, artaWeight);
+        double intersectionSum = sums[0];
+        double inputMagnitude = sums[1];
         
         // Avoid division by zero
         if (inputMagnitude == 0.0) {
             // If attention-weighted input is zero, accept if category is also zero
-            double categorySum = Arrays.stream(categoryWeights).sum();
+            double categorySum = Arrays.stream(artaWeight.getCategoryWeights()).sum();
             boolean isAccepted = categorySum == 0.0;
             double matchValue = isAccepted ? 1.0 : 0.0;
             return isAccepted ? new MatchResult.Accepted(matchValue, artaParams.vigilance()) : 
@@ -149,23 +133,21 @@ public final class ARTA extends BaseART<ARTAParameters> {
         }
         var artaParams = parameters;
         
-        var currentCategoryWeights = artaWeight.getCategoryWeights();
-        var currentAttentionWeights = artaWeight.getAttentionWeights();
+        // The getters return copies, which are updated in place
+        var categoryWeights = artaWeight.getCategoryWeights();
+        var attentionWeights = artaWeight.getAttentionWeights();
         
         // Update category weights using fuzzy min learning rule (like FuzzyART)
-        var newCategoryWeights = new double[currentCategoryWeights.length];
-        for (int i = 0; i < currentCategoryWeights.length; i++) {
-            double fuzzyMin = Math.min(input.get(i), currentCategoryWeights[i]);
-            newCategoryWeights[i] = artaParams.beta() * fuzzyMin + 
-                                   (1.0 - artaParams.beta()) * currentCategoryWeights[i];
+        for (int i = 0; i < categoryWeights.length; i++) {
+            double fuzzyMin = Math.min(input.get(i), categoryWeights[i]);
+            categoryWeights[i] = artaParams.beta() * fuzzyMin + 
+                                (1.0 - artaParams.beta()) * categoryWeights[i];
         }
         
         // Update attention weights based on discriminative power
-        var newAttentionWeights = updateAttentionWeights(
-            input, artaWeight, artaParams, newCategoryWeights
-        );
+        updateAttentionWeights(input, attentionWeights, artaParams, categoryWeights);
         
-        return new ARTAWeight(newCategoryWeights, newAttentionWeights);
+        return new ARTAWeight(categoryWeights, attentionWeights);
     }
     
     @Override
@@ -190,17 +172,14 @@ public final class ARTA extends BaseART<ARTAParameters> {
     }
     
     /**
-     * Update attention weights based on discriminative power of features.
+     * Update attention weights in place based on discriminative power of features.
      * Features that help distinguish this category from others get higher attention.
      */
-    private double[] updateAttentionWeights(Pattern input, ARTAWeight currentWeight, 
-                                           ARTAParameters parameters, double[] newCategoryWeights) {
-        
-        var currentAttentionWeights = currentWeight.getAttentionWeights();
-        var newAttentionWeights = new double[currentAttentionWeights.length];
+    private void updateAttentionWeights(Pattern input, double[] attentionWeights, 
+                                        ARTAParameters parameters, double[] newCategoryWeights) {
         
         // For each dimension, calculate how discriminative it is
-        for (int i = 0; i < currentAttentionWeights.length; i++) {
+        for (int i = 0; i < attentionWeights.length; i++) {
             
             // Calculate feature discriminability:
             // Features with high variance across categories should get more attention
@@ -219,15 +198,67 @@ public final class ARTA extends BaseART<ARTAParameters> {
             targetAttentionWeight = Math.max(targetAttentionWeight, parameters.minAttentionWeight());
             
             // Apply attention learning rate
-            newAttentionWeights[i] = parameters.attentionLearningRate() * targetAttentionWeight + 
-                                    (1.0 - parameters.attentionLearningRate()) * currentAttentionWeights[i];
+            var updated = parameters.attentionLearningRate() * targetAttentionWeight + 
+                         (1.0 - parameters.attentionLearningRate()) * attentionWeights[i];
             
             // Clamp to valid range
-            newAttentionWeights[i] = Math.max(parameters.minAttentionWeight(), 
-                                            Math.min(1.0, newAttentionWeights[i]));
+            attentionWeights[i] = Math.max(parameters.minAttentionWeight(), Math.min(1.0, updated));
+        }
+    }
+    
+    @Override
+    protected ResonanceSearch findResonantCategory(Pattern input, ARTAParameters parameters) {
+        return matrix.search(categories, values(input), parameters.alpha(), parameters.vigilance(),
+                             j -> checkVigilance(input, categories.get(j), parameters).isAccepted(),
+                             SCRATCH.get().sums);
+    }
+    
+    @Override
+    protected ResonanceSearch findBestCategory(Pattern input, ARTAParameters parameters) {
+        return matrix.search(categories, values(input), parameters.alpha(), parameters.vigilance(), null,
+                             SCRATCH.get().sums);
+    }
+    
+    @Override
+    protected boolean isConcurrentSearchSafe() {
+        return true;
+    }
+    
+    @Override
+    protected void onCategoryChanged(int index) {
+        matrix.update(index, categories.get(index));
+    }
+    
+    @Override
+    protected void onCategoriesReset() {
+        matrix.invalidate();
+    }
+    
+    private static double[] values(Pattern input) {
+        return input instanceof DenseVector dense ? dense.data() : input.toArray();
+    }
+    
+    /**
+     * Per-thread match buffers. The input's values are taken once for the scan of all categories
+     * against it, and one sums buffer receives every category's match, in the matrix search too.
+     */
+    private static final class MatchScratch {
+        private final double[] sums = new double[2];
+        private Pattern input;
+        private double[] values;
+        
+        /**
+         * Weighted intersection (index 0) and weighted input norm (index 1) of a category, valid
+         * until the next match on this thread.
+         */
+        double[] match(Pattern input, ARTAWeight weight) {
+            if (input != this.input) {
+                this.input = input;
+                this.values = values(input);
+            }
+            weight.weightedMatch(values, sums);
+            return sums;
         }
-        
-        return newAttentionWeights;
     }
     
     /**
@@ -6,10 +6,16 @@ import com.hellblazer.art.core.Pattern;
 import com.hellblazer.art.core.WeightVector;
 import com.hellblazer.art.core.results.ActivationResult;
 import com.hellblazer.art.core.results.MatchResult;
+import com.hellblazer.art.core.utils.IndexSort;
 import com.hellblazer.art.core.weights.ARTSTARWeight;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
 
 /**
  * ARTSTAR (ART with STability and Adaptability Regulation) implementation.
@@ -32,6 +38,12 @@ import java.util.Objects;
  * 3. Stability-aware weight updates with regulation learning
  * 4. Category health monitoring and pruning
  * 5. Network-level regulation parameter adjustment
+ * 
+ * Category decay is lazy: a category's strength is s * exp(-decayRate * t), with t the hours
+ * between its last update and the decay epoch, the time of the last regulation. Regulation
+ * advances the epoch and finds weak categories through a min-heap keyed on the time each
+ * category's strength falls below the minimum, so a tick costs O(k log n) heap work for the
+ * k expired categories plus one compaction pass when any are pruned.
  */
 public final class ARTSTAR extends BaseART<ARTSTARParameters> {
     
@@ -40,8 +52,18 @@ public final class ARTSTAR extends BaseART<ARTSTARParameters> {
     private double networkAdaptability;
     private long totalLearningEvents;
     private long successfulLearningEvents;
+    // Decay epoch; strengths are evaluated as of this time
     private long lastRegulationUpdate;
     
+    // Decay parameters of the last regulation; no decay applies before the first one
+    private double decayRate;
+    private double minStrength;
+    // Expiry schedule, null until the first regulation
+    private PriorityQueue<Expiry> expiries;
+    // Categories as last scheduled, to recognise heap entries of replaced or removed weights
+    private final List<WeightVector> tracked = new ArrayList<>();
+    private final Set<WeightVector> live = Collections.newSetFromMap(new IdentityHashMap<>());
+    
     /**
      * Create a new ARTSTAR instance with no initial categories.
      */
@@ -100,7 +122,7 @@ public final class ARTSTAR extends BaseART<ARTSTARParameters> {
         double regulatedActivation = baseActivation * (1.0 + stabilityBoost);
         
         // Apply category strength weighting
-        return regulatedActivation * artstarWeight.getStrength();
+        return regulatedActivation * strengthOf(artstarWeight);
     }
     
     @Override
@@ -195,7 +217,7 @@ public final class ARTSTAR extends BaseART<ARTSTARParameters> {
         
         // Update strength based on successful learning
         double strengthIncrease = 0.01; // Small boost for successful learning
-        double newStrength = Math.min(1.0, artstarWeight.getStrength() + strengthIncrease);
+        double newStrength = Math.min(1.0, strengthOf(artstarWeight) + strengthIncrease);
         
         // Update usage and timestamp
         long currentTime = System.currentTimeMillis();
@@ -264,7 +286,7 @@ public final class ARTSTAR extends BaseART<ARTSTARParameters> {
     /**
      * Perform network-level regulation updates.
      */
-    public void updateNetworkRegulation(ARTSTARParameters params) {
+    public synchronized void updateNetworkRegulation(ARTSTARParameters params) {
         long currentTime = System.currentTimeMillis();
         
         // Update network stability/adaptability based on learning success
@@ -282,85 +304,139 @@ public final class ARTSTAR extends BaseART<ARTSTARParameters> {
                                                          params.regulationRate());
         }
         
-        // Apply category decay and pruning
-        applyCategoryDecay(params);
-        pruneLowStrengthCategories(params);
-        enforceCategoryLimits(params);
-        
+        // Advance the decay epoch, then prune expired and excess categories
         lastRegulationUpdate = currentTime;
+        if (expiries == null || decayRate != params.categoryDecayRate()
+            || minStrength != params.minCategoryStrength()) {
+            decayRate = params.categoryDecayRate();
+            minStrength = params.minCategoryStrength();
+            rescheduleAll();
+        }
+        pruneExpiredCategories();
+        enforceCategoryLimits(params);
     }
     
     /**
-     * Apply time-based decay to all categories.
+     * Strength of the category decayed to the current epoch.
      */
-    private void applyCategoryDecay(ARTSTARParameters params) {
-        if (params.categoryDecayRate() <= 0.0) return;
-        
-        var decayedCategories = new ArrayList<WeightVector>();
-        
-        for (var category : getCategories()) {
-            if (category instanceof ARTSTARWeight artstarWeight) {
-                double decayedStrength = artstarWeight.getDecayedStrength(params.categoryDecayRate());
-                if (decayedStrength >= params.minCategoryStrength()) {
-                    decayedCategories.add(artstarWeight.withStrength(decayedStrength));
-                }
-                // Categories below minimum strength are excluded (effectively pruned)
-            } else {
-                decayedCategories.add(category); // Non-ARTSTAR weights pass through
-            }
-        }
-        
-        // Replace categories with decayed versions
-        replaceCategories(decayedCategories);
+    private double strengthOf(ARTSTARWeight weight) {
+        return weight.getStrengthAt(lastRegulationUpdate, decayRate);
     }
     
     /**
-     * Remove categories with strength below threshold.
+     * Remove the categories whose strength decayed below the minimum by the current epoch.
      */
-    private void pruneLowStrengthCategories(ARTSTARParameters params) {
-        var strongCategories = new ArrayList<WeightVector>();
-        
-        for (var category : getCategories()) {
-            if (category instanceof ARTSTARWeight artstarWeight) {
-                if (!artstarWeight.isWeak(params.minCategoryStrength())) {
-                    strongCategories.add(category);
-                }
+    private void pruneExpiredCategories() {
+        var expired = Collections.newSetFromMap(new IdentityHashMap<WeightVector, Boolean>());
+        while (!expiries.isEmpty() && expiries.peek().time() <= lastRegulationUpdate) {
+            var entry = expiries.poll();
+            if (!live.contains(entry.weight())) {
+                continue; // Replaced or already removed
+            }
+            if (strengthOf(entry.weight()) < minStrength) {
+                expired.add(entry.weight());
             } else {
-                strongCategories.add(category); // Non-ARTSTAR weights pass through
+                // Rounding put the projection early; check again next regulation
+                expiries.add(new Expiry(entry.weight(), lastRegulationUpdate + 1));
             }
         }
-        
-        if (strongCategories.size() < getCategories().size()) {
-            replaceCategories(strongCategories);
+        if (!expired.isEmpty()) {
+            pruneCategories(i -> !expired.contains(categories.get(i)));
         }
     }
     
     /**
      * Enforce maximum category limits by pruning weakest categories.
+     * The strongest categories are kept in their current order.
      */
     private void enforceCategoryLimits(ARTSTARParameters params) {
-        if (params.maxCategories() <= 0 || getCategoryCount() <= params.maxCategories()) {
+        var count = getCategoryCount();
+        if (params.maxCategories() <= 0 || count <= params.maxCategories()) {
             return; // No limit or within limit
         }
         
-        // Sort categories by strength (descending) and keep the strongest
-        var sortedCategories = new ArrayList<>(getCategories());
-        sortedCategories.sort((a, b) -> {
-            if (a instanceof ARTSTARWeight wa && b instanceof ARTSTARWeight wb) {
-                return Double.compare(wb.getStrength(), wa.getStrength());
-            }
-            return 0; // Non-ARTSTAR weights maintain order
-        });
+        // Non-ARTSTAR weights are always kept
+        var strengths = new double[count];
+        for (int i = 0; i < count; i++) {
+            strengths[i] = categories.get(i) instanceof ARTSTARWeight weight ? strengthOf(weight)
+                                                                             : Double.POSITIVE_INFINITY;
+        }
+        var byStrength = IndexSort.descending(strengths, count);
         
-        var limitedCategories = new ArrayList<>(sortedCategories.subList(0, params.maxCategories()));
-        replaceCategories(limitedCategories);
+        var keep = new boolean[count];
+        for (int i = 0; i < params.maxCategories(); i++) {
+            keep[byStrength[i]] = true;
+        }
+        pruneCategories(i -> keep[i]);
+    }
+    
+    @Override
+    protected void onCategoryChanged(int index) {
+        if (expiries == null) {
+            return;
+        }
+        var weight = categories.get(index);
+        if (index < tracked.size()) {
+            live.remove(tracked.set(index, weight));
+        } else {
+            tracked.add(weight);
+        }
+        live.add(weight);
+        schedule(weight);
+    }
+    
+    @Override
+    protected void onCategoriesReset() {
+        if (expiries == null) {
+            return;
+        }
+        // Survivors keep their heap entries; only weights not seen before are scheduled
+        tracked.clear();
+        tracked.addAll(categories);
+        var stale = Collections.newSetFromMap(new IdentityHashMap<WeightVector, Boolean>());
+        stale.addAll(live);
+        live.clear();
+        for (var weight : tracked) {
+            live.add(weight);
+            if (!stale.remove(weight)) {
+                schedule(weight);
+            }
+        }
+    }
+    
+    /**
+     * Rebuild the expiry schedule for every category under the current decay parameters.
+     */
+    private void rescheduleAll() {
+        expiries = new PriorityQueue<>(Comparator.comparingLong(Expiry::time));
+        tracked.clear();
+        tracked.addAll(categories);
+        live.clear();
+        live.addAll(tracked);
+        for (var weight : tracked) {
+            schedule(weight);
+        }
+    }
+    
+    private void schedule(WeightVector weight) {
+        if (!(weight instanceof ARTSTARWeight artstarWeight)) {
+            return; // Non-ARTSTAR weights never decay
+        }
+        var time = artstarWeight.getExpiryTime(decayRate, minStrength);
+        if (time == Long.MAX_VALUE) {
+            return;
+        }
+        // Entries of replaced weights linger until popped; compact once they dominate
+        if (expiries.size() >= 2 * live.size() + 64) {
+            expiries.removeIf(entry -> !live.contains(entry.weight()));
+        }
+        expiries.add(new Expiry(artstarWeight, time));
     }
     
     /**
-     * Replace all categories with new list.
+     * Projected time at which a category's strength falls below the minimum.
      */
-    private void replaceCategories(List<WeightVector> newCategories) {
-        replaceAllCategories(newCategories);
+    private record Expiry(ARTSTARWeight weight, long time) {
     }
     
     /**
@@ -407,7 +483,7 @@ public final class ARTSTAR extends BaseART<ARTSTARParameters> {
             
         double averageStrength = getCategories().stream()
             .filter(ARTSTARWeight.class::isInstance)
-            .mapToDouble(w -> ((ARTSTARWeight) w).getStrength())
+            .mapToDouble(w -> strengthOf((ARTSTARWeight) w))
             .average().orElse(0.0);
             
         long averageUsage = Math.round(getCategories().stream()
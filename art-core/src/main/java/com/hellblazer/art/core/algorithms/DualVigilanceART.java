@@ -44,14 +44,16 @@ import java.util.*;
  */
 public class DualVigilanceART extends BaseART<DualVigilanceParameters> {
     
-    // Track which categories are boundary nodes
-    private final Set<Integer> boundaryNodes = new HashSet<>();
+    // Boundary node flags, indexed by category
+    private final BitSet boundaryNodes = new BitSet();
     
-    // Map categories to cluster groups for structure analysis
-    private final Map<Integer, Integer> categoryMap = new HashMap<>();
+    // Cluster group of each category for structure analysis, -1 when unmapped
+    private int[] categoryMap = new int[0];
     
-    // Track category statistics
-    private final Map<Integer, Map<String, Object>> categoryStats = new HashMap<>();
+    // Per-category statistics columns, valid where hasStatistics is set
+    private final BitSet hasStatistics = new BitSet();
+    private int[] sampleCounts = new int[0];
+    private double[] matchSums = new double[0];
     
     /**
      * Default constructor creates empty ART network.
@@ -67,7 +69,7 @@ public class DualVigilanceART extends BaseART<DualVigilanceParameters> {
     public DualVigilanceART(List<? extends WeightVector> initialCategories) {
         super(initialCategories);
         for (int i = 0; i < initialCategories.size(); i++) {
-            categoryMap.put(i, i);
+            mapCategory(i, i);
             initializeCategoryStatistics(i);
         }
     }
@@ -115,7 +117,7 @@ public class DualVigilanceART extends BaseART<DualVigilanceParameters> {
             // Check if this is an existing category
             if (categoryIndex >= 0) {
                 // Existing category - accept if it's already a boundary node
-                if (boundaryNodes.contains(categoryIndex)) {
+                if (boundaryNodes.get(categoryIndex)) {
                     updateCategoryStatistics(categoryIndex, matchValue);
                     return new MatchResult.Accepted(matchValue, params.rhoLb());
                 }
@@ -158,7 +160,7 @@ public class DualVigilanceART extends BaseART<DualVigilanceParameters> {
         if (nextCategoryIsBoundary) {
             pendingBoundaryNodeIndex = getCategoryCount(); // This will be the index after adding
             // Add to boundary nodes immediately since we know the index
-            boundaryNodes.add(pendingBoundaryNodeIndex);
+            boundaryNodes.set(pendingBoundaryNodeIndex);
             initializeCategoryStatistics(pendingBoundaryNodeIndex);
             nextCategoryIsBoundary = false; // Reset flag
             pendingBoundaryNodeIndex = -1; // Clear pending
@@ -189,7 +191,7 @@ public class DualVigilanceART extends BaseART<DualVigilanceParameters> {
         int categoryIndex = findCategoryIndex(currentWeight);
         
         // Boundary nodes don't get weight updates
-        if (categoryIndex >= 0 && boundaryNodes.contains(categoryIndex)) {
+        if (categoryIndex >= 0 && boundaryNodes.get(categoryIndex)) {
             return currentWeight;
         }
         
@@ -227,7 +229,7 @@ public class DualVigilanceART extends BaseART<DualVigilanceParameters> {
             // Check if we need to mark a category as boundary after it was added
             if (pendingBoundaryNodeIndex >= 0 && result instanceof ActivationResult.Success success) {
                 if (success.categoryIndex() == pendingBoundaryNodeIndex) {
-                    boundaryNodes.add(pendingBoundaryNodeIndex);
+                    boundaryNodes.set(pendingBoundaryNodeIndex);
                     initializeCategoryStatistics(pendingBoundaryNodeIndex);
                 }
                 pendingBoundaryNodeIndex = -1; // Reset
@@ -287,7 +289,7 @@ public class DualVigilanceART extends BaseART<DualVigilanceParameters> {
     private void handlePendingBoundaryNode(ActivationResult result) {
         if (pendingBoundaryNodeIndex >= 0 && result instanceof ActivationResult.Success success) {
             if (success.categoryIndex() == pendingBoundaryNodeIndex) {
-                boundaryNodes.add(pendingBoundaryNodeIndex);
+                boundaryNodes.set(pendingBoundaryNodeIndex);
                 initializeCategoryStatistics(pendingBoundaryNodeIndex);
             }
             pendingBoundaryNodeIndex = -1; // Reset
@@ -300,14 +302,14 @@ public class DualVigilanceART extends BaseART<DualVigilanceParameters> {
      * Check if a category is marked as a boundary node.
      */
     public boolean isBoundaryNode(int categoryIndex) {
-        return boundaryNodes.contains(categoryIndex);
+        return categoryIndex >= 0 && boundaryNodes.get(categoryIndex);
     }
     
     /**
      * Get the count of boundary nodes.
      */
     public int getBoundaryNodeCount() {
-        return boundaryNodes.size();
+        return boundaryNodes.cardinality();
     }
     
     /**
@@ -321,14 +323,24 @@ public class DualVigilanceART extends BaseART<DualVigilanceParameters> {
      * Get the set of boundary node indices.
      */
     public Set<Integer> getBoundaryNodes() {
-        return new HashSet<>(boundaryNodes);
+        var nodes = new HashSet<Integer>();
+        boundaryNodes.stream().forEach(nodes::add);
+        return nodes;
     }
     
     /**
      * Get category statistics for analysis.
      */
     public Map<String, Object> getCategoryStatistics(int categoryIndex) {
-        return categoryStats.getOrDefault(categoryIndex, Collections.emptyMap());
+        if (categoryIndex < 0 || !hasStatistics.get(categoryIndex)) {
+            return Collections.emptyMap();
+        }
+        var count = sampleCounts[categoryIndex];
+        var stats = new HashMap<String, Object>();
+        stats.put("sample_count", count);
+        stats.put("avg_match_value", count == 0 ? 0.0 : matchSums[categoryIndex] / count);
+        stats.put("is_boundary", boundaryNodes.get(categoryIndex));
+        return stats;
     }
     
     /**
@@ -369,16 +381,24 @@ public class DualVigilanceART extends BaseART<DualVigilanceParameters> {
             }
             
             // Write boundary nodes
-            oos.writeInt(boundaryNodes.size());
-            for (int node : boundaryNodes) {
+            oos.writeInt(boundaryNodes.cardinality());
+            for (int node = boundaryNodes.nextSetBit(0); node >= 0; node = boundaryNodes.nextSetBit(node + 1)) {
                 oos.writeInt(node);
             }
             
             // Write category map
-            oos.writeInt(categoryMap.size());
-            for (var entry : categoryMap.entrySet()) {
-                oos.writeInt(entry.getKey());
-                oos.writeInt(entry.getValue());
+            int mapped = 0;
+            for (int group : categoryMap) {
+                if (group >= 0) {
+                    mapped++;
+                }
+            }
+            oos.writeInt(mapped);
+            for (int i = 0; i < categoryMap.length; i++) {
+                if (categoryMap[i] >= 0) {
+                    oos.writeInt(i);
+                    oos.writeInt(categoryMap[i]);
+                }
             }
             
             oos.close();
@@ -410,7 +430,7 @@ public class DualVigilanceART extends BaseART<DualVigilanceParameters> {
             // Read boundary nodes
             int boundaryCount = ois.readInt();
             for (int i = 0; i < boundaryCount; i++) {
-                art.boundaryNodes.add(ois.readInt());
+                art.boundaryNodes.set(ois.readInt());
             }
             
             // Read category map
@@ -418,7 +438,7 @@ public class DualVigilanceART extends BaseART<DualVigilanceParameters> {
             for (int i = 0; i < mapSize; i++) {
                 int key = ois.readInt();
                 int value = ois.readInt();
-                art.categoryMap.put(key, value);
+                art.mapCategory(key, value);
             }
             
             ois.close();
@@ -446,33 +466,39 @@ public class DualVigilanceART extends BaseART<DualVigilanceParameters> {
         return Pattern.of(data);
     }
     
+    private void mapCategory(int categoryIndex, int group) {
+        if (categoryIndex >= categoryMap.length) {
+            var oldLength = categoryMap.length;
+            categoryMap = Arrays.copyOf(categoryMap, grownCapacity(oldLength, categoryIndex));
+            Arrays.fill(categoryMap, oldLength, categoryMap.length, -1);
+        }
+        categoryMap[categoryIndex] = group;
+    }
+    
     private void initializeCategoryStatistics(int categoryIndex) {
-        var stats = new HashMap<String, Object>();
-        stats.put("sample_count", 0);
-        stats.put("avg_match_value", 0.0);
-        stats.put("is_boundary", false);
-        categoryStats.put(categoryIndex, stats);
+        ensureStatisticsCapacity(categoryIndex);
+        hasStatistics.set(categoryIndex);
+        sampleCounts[categoryIndex] = 0;
+        matchSums[categoryIndex] = 0.0;
     }
     
     private void updateCategoryStatistics(int categoryIndex, double matchValue) {
-        var stats = categoryStats.computeIfAbsent(categoryIndex, k -> {
-            var newStats = new HashMap<String, Object>();
-            newStats.put("sample_count", 0);
-            newStats.put("avg_match_value", 0.0);
-            newStats.put("is_boundary", false);
-            return newStats;
-        });
-        
-        int count = (Integer) stats.get("sample_count");
-        double avgMatch = (Double) stats.get("avg_match_value");
-        
-        // Update running average
-        avgMatch = (avgMatch * count + matchValue) / (count + 1);
-        count++;
-        
-        stats.put("sample_count", count);
-        stats.put("avg_match_value", avgMatch);
-        stats.put("is_boundary", boundaryNodes.contains(categoryIndex));
+        ensureStatisticsCapacity(categoryIndex);
+        hasStatistics.set(categoryIndex);
+        sampleCounts[categoryIndex]++;
+        matchSums[categoryIndex] += matchValue;
+    }
+    
+    private void ensureStatisticsCapacity(int categoryIndex) {
+        if (categoryIndex >= sampleCounts.length) {
+            var capacity = grownCapacity(sampleCounts.length, categoryIndex);
+            sampleCounts = Arrays.copyOf(sampleCounts, capacity);
+            matchSums = Arrays.copyOf(matchSums, capacity);
+        }
+    }
+    
+    private static int grownCapacity(int length, int index) {
+        return Math.max(index + 1, Math.max(16, length * 2));
     }
     
     private double calculateNoiseIsolationScore(int[] labels) {
@@ -483,14 +509,14 @@ public class DualVigilanceART extends BaseART<DualVigilanceParameters> {
         // Count how many samples are assigned to boundary nodes
         int boundaryAssignments = 0;
         for (int label : labels) {
-            if (boundaryNodes.contains(label)) {
+            if (label >= 0 && boundaryNodes.get(label)) {
                 boundaryAssignments++;
             }
         }
         
         // Score is ratio of boundary assignments to total boundary nodes
         // Higher score means boundary nodes are effectively isolating noise
-        return (double) boundaryAssignments / (boundaryNodes.size() * labels.length);
+        return (double) boundaryAssignments / (boundaryNodes.cardinality() * labels.length);
     }
 
     @Override
@@ -11,6 +11,8 @@ import com.hellblazer.art.core.results.MatchResult;
 import com.hellblazer.art.core.weights.FuzzyWeight;
 import com.hellblazer.art.core.ActivationCache;
 import com.hellblazer.art.core.MatchTrackingMode;
+import com.hellblazer.art.core.index.FuzzyChoiceBoundIndex;
+import com.hellblazer.art.core.index.HyperboxIndex;
 import java.util.Map;
 import java.util.Objects;
 
@@ -33,6 +35,12 @@ import java.util.Objects;
  */
 public final class FuzzyART extends BaseART<FuzzyParameterProvider> {
     
+    // Relative slack for the choice-function bounds (norms and activations are both double)
+    private static final double BOUND_TOLERANCE = 1e-9;
+    
+    private final FuzzyChoiceBoundIndex choiceIndex = new FuzzyChoiceBoundIndex(BOUND_TOLERANCE);
+    private volatile HyperboxIndex hyperboxIndex;
+    
     /**
      * Create a new FuzzyART network with no initial categories.
      */
@@ -40,6 +48,113 @@ public final class FuzzyART extends BaseART<FuzzyParameterProvider> {
         super();
     }
     
+    /**
+     * Get the choice-function bound index used to prune category search.
+     * @return the index
+     */
+    public FuzzyChoiceBoundIndex getChoiceIndex() {
+        return choiceIndex;
+    }
+    
+    /**
+     * Enable or disable the hyperbox R-tree index. When enabled, learning only evaluates
+     * categories whose boxes lie close enough to the input to pass vigilance, which suits
+     * low-dimensional inputs with many categories. Results are unchanged.
+     * 
+     * @param enabled whether to maintain and use the hyperbox index
+     */
+    public synchronized void setHyperboxIndexEnabled(boolean enabled) {
+        hyperboxIndex = enabled ? new HyperboxIndex(BOUND_TOLERANCE) : null;
+    }
+    
+    /**
+     * Get the hyperbox index, or null if it is disabled.
+     * @return the index
+     */
+    public HyperboxIndex getHyperboxIndex() {
+        return hyperboxIndex;
+    }
+    
+    /**
+     * Exact pruned search: categories are visited in descending weight-norm order and
+     * skipped once their choice-function upper bound cannot beat the best resonant category.
+     */
+    @Override
+    protected ResonanceSearch findResonantCategory(Pattern input, FuzzyParameterProvider parameters) {
+        var candidates = findVigilanceCandidates(input, parameters);
+        if (candidates == null) {
+            return searchCategories(input, parameters, true);
+        }
+        var best = -1;
+        var bestActivation = Double.NEGATIVE_INFINITY;
+        var tested = 0;
+        for (var category : candidates) {
+            var activation = calculateActivation(input, getCategory(category), parameters);
+            if (activation > bestActivation) {
+                tested++;
+                if (checkVigilance(input, getCategory(category), parameters).isAccepted()) {
+                    best = category;
+                    bestActivation = activation;
+                }
+            }
+        }
+        return best < 0 ? ResonanceSearch.none(tested) : new ResonanceSearch(best, bestActivation, tested);
+    }
+    
+    @Override
+    protected int[] findVigilanceCandidates(Pattern input, FuzzyParameterProvider parameters) {
+        var index = hyperboxIndex;
+        if (index == null) {
+            return null;
+        }
+        var complementCoded = FuzzyWeight.fromInput(input).data();
+        var point = java.util.Arrays.copyOf(complementCoded, input.dimension());
+        var inputNorm = Pattern.of(complementCoded).l1Norm();
+        return index.query(getCategoryCount(), i -> ((FuzzyWeight) getCategory(i)).data(), 
+                           point, parameters.vigilance() * inputNorm);
+    }
+    
+    @Override
+    protected boolean isConcurrentSearchSafe() {
+        return true;
+    }
+    
+    @Override
+    protected ResonanceSearch findBestCategory(Pattern input, FuzzyParameterProvider parameters) {
+        return searchCategories(input, parameters, false);
+    }
+    
+    @Override
+    protected void onCategoryChanged(int index) {
+        var weight = getCategory(index);
+        choiceIndex.update(index, weight.l1Norm());
+        var boxes = hyperboxIndex;
+        if (boxes != null && weight instanceof FuzzyWeight fuzzyWeight) {
+            boxes.update(index, fuzzyWeight.data());
+        }
+    }
+    
+    @Override
+    protected void onCategoriesReset() {
+        choiceIndex.invalidate();
+        var boxes = hyperboxIndex;
+        if (boxes != null) {
+            boxes.invalidate();
+        }
+    }
+    
+    private ResonanceSearch searchCategories(Pattern input, FuzzyParameterProvider parameters, boolean requireVigilance) {
+        var inputNorm = Pattern.of(FuzzyWeight.fromInput(input).data()).l1Norm();
+        return choiceIndex.search(
+            getCategoryCount(),
+            i -> getCategory(i).l1Norm(),
+            inputNorm,
+            parameters.alpha(),
+            parameters.vigilance(),
+            i -> calculateActivation(input, getCategory(i), parameters),
+            requireVigilance ? i -> checkVigilance(input, getCategory(i), parameters).isAccepted() : null);
+    }
+    
     /**
      * Calculate the activation value for a category using the FuzzyART choice function.
      * 
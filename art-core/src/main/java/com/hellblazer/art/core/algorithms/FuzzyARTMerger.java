@@ -0,0 +1,272 @@
+package com.hellblazer.art.core.algorithms;
+
+import com.hellblazer.art.core.index.HyperboxIndex;
+import com.hellblazer.art.core.parameters.FuzzyParameterProvider;
+import com.hellblazer.art.core.weights.FuzzyWeight;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Merges FuzzyART models trained on separate shards of a data set into a single model.
+ *
+ * The categories of all models are unioned, and any two hyperboxes that would resonate
+ * under the target vigilance are coalesced into their bounding box w = w_a ∧ w_b (the
+ * fast-learning update). Two categories resonate when the coalesced weight still passes
+ * vigilance for every input inside it, i.e. |w_a ∧ w_b| ≥ ρM for M input dimensions;
+ * this is the same bound every category learned at vigilance ρ satisfies. Coalescing is
+ * repeated until no two categories resonate, so every source box lies inside a merged box
+ * and the merged categories cover the same regions. Usage counts are summed.
+ *
+ * Partners are found through a {@link HyperboxIndex} rather than by comparing all pairs:
+ * the box spanning a and b contains a and any point x of b, so its size is at least
+ * size(a) + D(x, a), and |w_a ∧ w_b| ≥ ρM implies |w_a| − D(x, a) ≥ ρM. The index's
+ * vigilance query for the center of b therefore returns a superset of b's partners, which
+ * are then tested exactly.
+ *
+ * Merging is a reduction: {@link #merge(List, FuzzyParameterProvider)} combines the models
+ * pairwise in a balanced tree on a fork/join pool. Models trained in other processes can
+ * be restored from checkpoints and merged the same way.
+ */
+public final class FuzzyARTMerger {
+
+    // Same slack as FuzzyART's bound searches, so rounding never hides a partner
+    private static final double INDEX_TOLERANCE = 1e-9;
+
+    private FuzzyARTMerger() {
+    }
+
+    /**
+     * Merge models on the common pool.
+     *
+     * @param models the models to merge, all with the same input dimension
+     * @param parameters the parameters whose vigilance decides which categories coalesce
+     * @return a new model holding the merged categories
+     */
+    public static FuzzyART merge(List<FuzzyART> models, FuzzyParameterProvider parameters) {
+        return merge(models, parameters, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Merge models as a balanced reduction tree on the given pool.
+     *
+     * @param models the models to merge, all with the same input dimension
+     * @param parameters the parameters whose vigilance decides which categories coalesce
+     * @param pool the pool running the reduction
+     * @return a new model holding the merged categories
+     */
+    public static FuzzyART merge(List<FuzzyART> models, FuzzyParameterProvider parameters, ForkJoinPool pool) {
+        Objects.requireNonNull(models, "Models cannot be null");
+        Objects.requireNonNull(parameters, "Parameters cannot be null");
+        Objects.requireNonNull(pool, "Pool cannot be null");
+        if (models.isEmpty()) {
+            throw new IllegalArgumentException("At least one model is required");
+        }
+        var shards = new ArrayList<Categories>(models.size());
+        var dimension = -1;
+        for (var model : models) {
+            var shard = Categories.of(Objects.requireNonNull(model, "Model cannot be null"));
+            if (shard.dimension() > 0) {
+                if (dimension > 0 && shard.dimension() != dimension) {
+                    throw new IllegalArgumentException("Models have input dimensions " + dimension + " and "
+                                                       + shard.dimension());
+                }
+                dimension = shard.dimension();
+            }
+            shards.add(shard);
+        }
+        var merged = pool.invoke(new Reduction(shards, 0, shards.size(), parameters.vigilance()));
+
+        var weights = new ArrayList<FuzzyWeight>(merged.size());
+        var usage = new long[merged.size()];
+        var lastUsed = new long[merged.size()];
+        for (int c = 0; c < merged.size(); c++) {
+            weights.add(new FuzzyWeight(merged.weights.get(c), merged.dimension()));
+            usage[c] = merged.usage.get(c);
+            lastUsed[c] = merged.lastUsed.get(c);
+        }
+        var result = new FuzzyART();
+        result.restoreCategoryState(weights, usage, lastUsed, merged.totalActivations);
+        return result;
+    }
+
+    /**
+     * Coalesce two category sets, each already free of resonant pairs.
+     *
+     * @param left the categories kept first, in order
+     * @param right the categories merged into them
+     * @param vigilance the target vigilance
+     * @return the combined categories, free of resonant pairs
+     */
+    private static Categories combine(Categories left, Categories right, double vigilance) {
+        var dimension = Math.max(left.dimension(), right.dimension());
+        var result = new Categories(dimension, left.totalActivations + right.totalActivations);
+        result.addAll(left);
+        var changed = result.absorb(right, vigilance);
+        // A grown box can reach categories it was already compared with; repeat until stable
+        while (changed) {
+            var pass = new Categories(dimension, result.totalActivations);
+            changed = pass.absorb(result, vigilance);
+            result = pass;
+        }
+        return result;
+    }
+
+    /**
+     * Growable category set: complement-coded weights [u, 1 − v] with their statistics.
+     */
+    private static final class Categories {
+        private final int dimension;
+        private final List<double[]> weights = new ArrayList<>();
+        private final List<Long> usage = new ArrayList<>();
+        private final List<Long> lastUsed = new ArrayList<>();
+        private final long totalActivations;
+
+        Categories(int dimension, long totalActivations) {
+            this.dimension = dimension;
+            this.totalActivations = totalActivations;
+        }
+
+        static Categories of(FuzzyART model) {
+            synchronized (model) {
+                var count = model.getCategoryCount();
+                var dimension = count == 0 ? -1 : fuzzy(model, 0).originalDimension();
+                var categories = new Categories(dimension, model.getTotalActivations());
+                for (int c = 0; c < count; c++) {
+                    var weight = fuzzy(model, c);
+                    if (weight.originalDimension() != dimension) {
+                        throw new IllegalArgumentException("Category " + c + " has input dimension "
+                                                           + weight.originalDimension() + ", expected " + dimension);
+                    }
+                    categories.add(weight.data().clone(), model.getCategoryUsageCount(c),
+                                   model.getCategoryLastUsedTimestamp(c));
+                }
+                return categories;
+            }
+        }
+
+        int dimension() {
+            return dimension;
+        }
+
+        int size() {
+            return weights.size();
+        }
+
+        private void add(double[] weight, long usageCount, long lastUsedTimestamp) {
+            weights.add(weight);
+            usage.add(usageCount);
+            lastUsed.add(lastUsedTimestamp);
+        }
+
+        private void addAll(Categories other) {
+            weights.addAll(other.weights);
+            usage.addAll(other.usage);
+            lastUsed.addAll(other.lastUsed);
+        }
+
+        // Merge each incoming category into its best partner, or append it; returns whether any coalesced
+        private boolean absorb(Categories incoming, double vigilance) {
+            if (incoming.size() == 0) {
+                return false;
+            }
+            var minimum = vigilance * dimension;
+            var index = new HyperboxIndex(INDEX_TOLERANCE);
+            var point = new double[dimension];
+            var merged = false;
+            for (int i = 0; i < incoming.size(); i++) {
+                var weight = incoming.weights.get(i);
+                var best = -1;
+                var bestNorm = Double.NEGATIVE_INFINITY;
+                var candidates = center(weight, point)
+                                 ? index.query(size(), weights::get, point, minimum) : null;
+                var count = candidates == null ? size() : candidates.length;
+                for (int k = 0; k < count; k++) {
+                    var category = candidates == null ? k : candidates[k];
+                    var norm = intersectionNorm(weights.get(category), weight);
+                    if (norm >= minimum && norm > bestNorm) {
+                        best = category;
+                        bestNorm = norm;
+                    }
+                }
+                if (best < 0) {
+                    add(weight, incoming.usage.get(i), incoming.lastUsed.get(i));
+                    index.update(size() - 1, weight);
+                } else {
+                    var partner = weights.get(best);
+                    var coalesced = new double[partner.length];
+                    for (int d = 0; d < coalesced.length; d++) {
+                        coalesced[d] = Math.min(partner[d], weight[d]);
+                    }
+                    weights.set(best, coalesced);
+                    usage.set(best, usage.get(best) + incoming.usage.get(i));
+                    lastUsed.set(best, Math.max(lastUsed.get(best), incoming.lastUsed.get(i)));
+                    index.update(best, coalesced);
+                    merged = true;
+                }
+            }
+            return merged;
+        }
+
+        // Center of the box; false for an inverted box, which has no interior point to query with
+        private static boolean center(double[] weight, double[] point) {
+            var dimension = point.length;
+            for (int d = 0; d < dimension; d++) {
+                var lower = weight[d];
+                var upper = 1.0 - weight[dimension + d];
+                if (lower > upper) {
+                    return false;
+                }
+                point[d] = 0.5 * (lower + upper);
+            }
+            return true;
+        }
+
+        private static double intersectionNorm(double[] a, double[] b) {
+            var norm = 0.0;
+            for (int d = 0; d < a.length; d++) {
+                norm += Math.min(a[d], b[d]);
+            }
+            return norm;
+        }
+
+        private static FuzzyWeight fuzzy(FuzzyART model, int category) {
+            if (model.getCategory(category) instanceof FuzzyWeight weight) {
+                return weight;
+            }
+            throw new IllegalArgumentException("Category " + category + " is not a FuzzyWeight");
+        }
+    }
+
+    private static final class Reduction extends RecursiveTask<Categories> {
+        private final List<Categories> shards;
+        private final int from;
+        private final int to;
+        private final double vigilance;
+
+        Reduction(List<Categories> shards, int from, int to, double vigilance) {
+            this.shards = shards;
+            this.from = from;
+            this.to = to;
+            this.vigilance = vigilance;
+        }
+
+        @Override
+        protected Categories compute() {
+            if (to - from == 1) {
+                // Also coalesce within a single model, so every level of the tree sees consolidated sets
+                var shard = shards.get(from);
+                return combine(new Categories(shard.dimension(), 0), shard, vigilance);
+            }
+            var mid = (from + to) >>> 1;
+            var left = new Reduction(shards, from, mid, vigilance);
+            var right = new Reduction(shards, mid, to, vigilance);
+            right.fork();
+            var merged = left.compute();
+            return combine(merged, right.join(), vigilance);
+        }
+    }
+}
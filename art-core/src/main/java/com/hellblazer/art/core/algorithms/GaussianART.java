@@ -4,6 +4,7 @@ import com.hellblazer.art.core.parameters.GaussianParameters;
 import com.hellblazer.art.core.AbstractStatisticalART;
 import com.hellblazer.art.core.Pattern;
 import com.hellblazer.art.core.WeightVector;
+import com.hellblazer.art.core.index.BallTreeIndex;
 import com.hellblazer.art.core.results.ActivationResult;
 import com.hellblazer.art.core.results.MatchResult;
 import com.hellblazer.art.core.weights.GaussianWeight;
@@ -36,6 +37,12 @@ public final class GaussianART extends AbstractStatisticalART<GaussianParameters
     // Constant for normalization in multivariate Gaussian PDF calculation
     private static final double TWO_PI = 2.0 * Math.PI;
     
+    // Relative slack for the ball-tree likelihood bounds
+    private static final double BOUND_TOLERANCE = 1e-9;
+    
+    // Attributes per category: 1 / sqrt(det Σ) and the largest variance
+    private final BallTreeIndex meanIndex = new BallTreeIndex(2, BOUND_TOLERANCE);
+    
     /**
      * Create a new GaussianART network with no initial categories.
      */
@@ -202,6 +209,98 @@ public final class GaussianART extends AbstractStatisticalART<GaussianParameters
      * Get a string representation of this GaussianART network.
      * @return string showing the class name and number of categories
      */
+    /**
+     * Get the ball-tree index over category means.
+     * @return the index
+     */
+    public BallTreeIndex getMeanIndex() {
+        return meanIndex;
+    }
+    
+    /**
+     * Exact best-first search. With diagonal covariance the quadratic form is at least
+     * d² / max(σ), so a category at distance d from the input has likelihood at most
+     * (2π)^(-k/2) / sqrt(det Σ) · exp(−d² / (2 max σ)); regions whose bound falls below the
+     * best likelihood (or below vigilance) are never scored.
+     */
+    @Override
+    protected ResonanceSearch findResonantCategory(Pattern input, Object parameters) {
+        if (!(parameters instanceof GaussianParameters params)) {
+            return null;
+        }
+        var vigilance = params.vigilance();
+        var normalization = Math.pow(TWO_PI, -input.dimension() / 2.0);
+        return meanIndex.search(getCategoryCount(), this::meanOf, this::attributesOf, input.toArray(),
+            (distance, maxima) -> {
+                var bound = likelihoodBound(normalization, distance, maxima);
+                return bound * (1.0 + BOUND_TOLERANCE) < vigilance ? Double.NEGATIVE_INFINITY : bound;
+            },
+            i -> calculateActivation(input, getCategory(i), params),
+            i -> checkVigilance(input, getCategory(i), params).isAccepted());
+    }
+    
+    @Override
+    protected ResonanceSearch findBestCategory(Pattern input, Object parameters) {
+        if (!(parameters instanceof GaussianParameters params)) {
+            return null;
+        }
+        var normalization = Math.pow(TWO_PI, -input.dimension() / 2.0);
+        return meanIndex.search(getCategoryCount(), this::meanOf, this::attributesOf, input.toArray(),
+            (distance, maxima) -> likelihoodBound(normalization, distance, maxima),
+            i -> calculateActivation(input, getCategory(i), params),
+            null);
+    }
+    
+    /**
+     * Find the k most likely categories for the input without learning.
+     * 
+     * @param input the input vector
+     * @param parameters the algorithm parameters
+     * @param k the number of categories to return
+     * @return up to k category indices by descending likelihood, lowest index on ties
+     */
+    public int[] predictTopK(Pattern input, GaussianParameters parameters, int k) {
+        Objects.requireNonNull(input, "Input vector cannot be null");
+        Objects.requireNonNull(parameters, "Parameters cannot be null");
+        var normalization = Math.pow(TWO_PI, -input.dimension() / 2.0);
+        var result = meanIndex.topK(getCategoryCount(), this::meanOf, this::attributesOf, input.toArray(),
+            (distance, maxima) -> likelihoodBound(normalization, distance, maxima),
+            i -> calculateActivation(input, getCategory(i), parameters),
+            null, k);
+        if (result == null) {
+            throw new IllegalArgumentException("Input dimension " + input.dimension() + 
+                " must match category dimension");
+        }
+        return result;
+    }
+    
+    @Override
+    protected void onCategoryChanged(int index) {
+        meanIndex.update(index, meanOf(index), attributesOf(index));
+    }
+    
+    @Override
+    protected void onCategoriesReset() {
+        meanIndex.invalidate();
+    }
+    
+    private static double likelihoodBound(double normalization, double distance, double[] maxima) {
+        return normalization * maxima[0] * Math.exp(-0.5 * distance * distance / maxima[1]);
+    }
+    
+    private double[] meanOf(int index) {
+        return ((GaussianWeight) getCategory(index)).mean();
+    }
+    
+    private double[] attributesOf(int index) {
+        var weight = (GaussianWeight) getCategory(index);
+        var maxSigma = 0.0;
+        for (var sigma : weight.sigma()) {
+            maxSigma = Math.max(maxSigma, sigma);
+        }
+        return new double[] {1.0 / weight.sqrtDetSigma(), maxSigma};
+    }
+    
     @Override
     public String toString() {
         return "GaussianART{categories=" + getCategoryCount() + "}";
@@ -4,6 +4,7 @@ import com.hellblazer.art.core.parameters.HypersphereParameters;
 import com.hellblazer.art.core.AbstractGeometricART;
 import com.hellblazer.art.core.Pattern;
 import com.hellblazer.art.core.WeightVector;
+import com.hellblazer.art.core.index.BallTreeIndex;
 import com.hellblazer.art.core.results.ActivationResult;
 import com.hellblazer.art.core.results.MatchResult;
 import com.hellblazer.art.core.weights.HypersphereWeight;
@@ -33,6 +34,12 @@ import java.util.Objects;
  */
 public final class HypersphereART extends AbstractGeometricART<HypersphereParameters> {
     
+    // Relative slack for the ball-tree bounds (distances are recomputed in double)
+    private static final double BOUND_TOLERANCE = 1e-9;
+    
+    // Single attribute per category: the distance scale of its vigilance region
+    private final BallTreeIndex centroidIndex = new BallTreeIndex(1, BOUND_TOLERANCE);
+    
     /**
      * Create a new HypersphereART network with no initial categories.
      */
@@ -234,6 +241,85 @@ public final class HypersphereART extends AbstractGeometricART<HypersphereParame
      * Get a string representation of this HypersphereART network.
      * @return string showing the class name and number of categories
      */
+    /**
+     * Get the ball-tree index over category centers.
+     * @return the index
+     */
+    public BallTreeIndex getCentroidIndex() {
+        return centroidIndex;
+    }
+    
+    /**
+     * Exact nearest-first search: the activation 1 / (1 + d) only depends on the distance
+     * to the center, and vigilance requires d ≤ r(1 − ρ) (or 1 − ρ for a zero radius), so
+     * the ball tree visits centers in distance order and skips regions out of reach.
+     */
+    @Override
+    protected ResonanceSearch findResonantCategory(Pattern input, Object parameters) {
+        if (!(parameters instanceof HypersphereParameters params)) {
+            return null;
+        }
+        var vigilance = params.vigilance();
+        var prune = vigilance > 0.0 && vigilance <= 1.0;
+        return centroidIndex.search(getCategoryCount(), this::centerOf, this::attributesOf, input.toArray(),
+            (distance, scale) -> prune && distance > scale[0] * (1.0 - vigilance) * (1.0 + BOUND_TOLERANCE)
+                ? Double.NEGATIVE_INFINITY : 1.0 / (1.0 + distance),
+            i -> calculateActivation(input, getCategory(i), params),
+            i -> checkVigilance(input, getCategory(i), params).isAccepted());
+    }
+    
+    @Override
+    protected ResonanceSearch findBestCategory(Pattern input, Object parameters) {
+        if (!(parameters instanceof HypersphereParameters params)) {
+            return null;
+        }
+        return centroidIndex.search(getCategoryCount(), this::centerOf, this::attributesOf, input.toArray(),
+            (distance, scale) -> 1.0 / (1.0 + distance),
+            i -> calculateActivation(input, getCategory(i), params),
+            null);
+    }
+    
+    /**
+     * Find the k categories with the highest activation (nearest centers) without learning.
+     * 
+     * @param input the input vector
+     * @param parameters the algorithm parameters
+     * @param k the number of categories to return
+     * @return up to k category indices by descending activation, lowest index on ties
+     */
+    public int[] predictTopK(Pattern input, HypersphereParameters parameters, int k) {
+        Objects.requireNonNull(input, "Input vector cannot be null");
+        Objects.requireNonNull(parameters, "Parameters cannot be null");
+        var result = centroidIndex.topK(getCategoryCount(), this::centerOf, this::attributesOf, input.toArray(),
+            (distance, scale) -> 1.0 / (1.0 + distance),
+            i -> calculateActivation(input, getCategory(i), parameters),
+            null, k);
+        if (result == null) {
+            throw new IllegalArgumentException("Input dimension " + input.dimension() + 
+                " must match category dimension");
+        }
+        return result;
+    }
+    
+    @Override
+    protected void onCategoryChanged(int index) {
+        centroidIndex.update(index, centerOf(index), attributesOf(index));
+    }
+    
+    @Override
+    protected void onCategoriesReset() {
+        centroidIndex.invalidate();
+    }
+    
+    private double[] centerOf(int index) {
+        return ((HypersphereWeight) getCategory(index)).center();
+    }
+    
+    private double[] attributesOf(int index) {
+        var radius = ((HypersphereWeight) getCategory(index)).radius();
+        return new double[] {radius > 0.0 ? radius : 1.0};
+    }
+    
     @Override
     public String toString() {
         return "HypersphereART{categories=" + getCategoryCount() + "}";
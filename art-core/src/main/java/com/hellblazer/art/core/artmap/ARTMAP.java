@@ -4,6 +4,7 @@ import com.hellblazer.art.core.BaseART;
 import com.hellblazer.art.core.BaseARTMAP;
 import com.hellblazer.art.core.Pattern;
 import com.hellblazer.art.core.WeightVector;
+import com.hellblazer.art.core.jfr.MatchTrackingEvent;
 import com.hellblazer.art.core.results.ActivationResult;
 import com.hellblazer.art.core.parameters.FuzzyParameters;
 import com.hellblazer.art.core.parameters.GaussianParameters;
@@ -77,7 +78,19 @@ public final class ARTMAP implements BaseARTMAP {
         var targetBIndex = artBSuccess.categoryIndex();
         
         // Step 2: Process input through ARTa with potential vigilance search
-        return processARTaWithVigilanceSearch(input, targetBIndex, artAParameters, artBSuccess);
+        var event = MatchTrackingEvent.sampled();
+        if (event == null) {
+            return processARTaWithVigilanceSearch(input, targetBIndex, artAParameters, artBSuccess, null);
+        }
+        event.begin();
+        var result = processARTaWithVigilanceSearch(input, targetBIndex, artAParameters, artBSuccess, event);
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithm = artA.getClass().getSimpleName();
+            event.newMapping = result instanceof ARTMAPResult.Success success && success.wasNewMapping();
+            event.commit();
+        }
+        return result;
     }
     
     /**
@@ -123,15 +136,24 @@ public final class ARTMAP implements BaseARTMAP {
     /**
      * Process ARTa with vigilance search to handle map field mismatches.
      * Implements the core ARTMAP match tracking and vigilance increase mechanism.
+     * When trace is non-null, the search is recorded into it.
      */
     private ARTMAPResult processARTaWithVigilanceSearch(
-            Pattern input, int targetBIndex, Object artAParameters, ActivationResult.Success artBSuccess) {
+            Pattern input, int targetBIndex, Object artAParameters, ActivationResult.Success artBSuccess,
+            MatchTrackingEvent trace) {
         
         var currentVigilance = getVigilanceFromParameters(artAParameters);
         var originalVigilance = currentVigilance;
         int maxSearchAttempts = 20;  // Reasonable limit for vigilance search
+        if (trace != null) {
+            trace.initialVigilance = originalVigilance;
+        }
         
         for (int attempt = 0; attempt < maxSearchAttempts; attempt++) {
+            if (trace != null) {
+                trace.attempts = attempt + 1;
+                trace.finalVigilance = currentVigilance;
+            }
             // Create parameters with current vigilance level
             var searchParameters = createParametersWithVigilance(artAParameters, currentVigilance);
             
@@ -172,12 +194,19 @@ public final class ARTMAP implements BaseARTMAP {
             } else {
                 // Map field mismatch - need to increase vigilance and search for new category
                 currentVigilance = Math.min(0.999, currentVigilance + 0.1);
+                if (trace != null) {
+                    trace.mismatches++;
+                }
                 // Continue loop to try again with higher vigilance
             }
         }
         
         // If we reach here, we couldn't find a solution - create emergency mapping
         // This shouldn't happen in normal operation but provides fallback
+        if (trace != null) {
+            trace.fallback = true;
+            trace.finalVigilance = originalVigilance;
+        }
         var artAResult = artA.stepFit(input, artAParameters);
         if (artAResult instanceof ActivationResult.Success artASuccess) {
             var artAIndex = artASuccess.categoryIndex();
@@ -409,6 +438,15 @@ public final class ARTMAP implements BaseARTMAP {
         return new HashMap<>(mapField);
     }
     
+    /**
+     * Look up the ARTb category an ARTa category is linked to, without copying the map field.
+     * @param artAIndex the ARTa category index
+     * @return the linked ARTb category index, or null if there is no link
+     */
+    public Integer mapCategory(int artAIndex) {
+        return mapField.get(artAIndex);
+    }
+    
     /**
      * Get the ARTMAP parameters.
      * @return the map field parameters
@@ -20,8 +20,13 @@ package com.hellblazer.art.core.artmap;
 
 import com.hellblazer.art.core.BaseART;
 import com.hellblazer.art.core.BaseARTMAP;
+import com.hellblazer.art.core.Pattern;
 import com.hellblazer.art.core.ScikitClusterer;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * Abstract base class for DeepARTMAP implementations providing common interface
@@ -47,6 +52,11 @@ import java.util.List;
  */
 public abstract class AbstractDeepARTMAP extends BaseART<DeepARTMAPParameters> implements ScikitClusterer<DeepARTMAPResult> {
     
+    /**
+     * Samples per chunk when a prediction batch is pipelined across layers.
+     */
+    protected static final int PIPELINE_CHUNK = 64;
+    
     protected final List<BaseART> modules;
     protected final List<BaseARTMAP> layers;
     protected Boolean supervised;
@@ -157,6 +167,141 @@ public abstract class AbstractDeepARTMAP extends BaseART<DeepARTMAPParameters> i
         return storedDeepLabels == null ? null : storedDeepLabels.clone();
     }
     
+    /**
+     * Map a category label at one level through that layer's map field.
+     * 
+     * Supervised layers link the clusters of their module directly to class labels; the first
+     * unsupervised layer links ARTa clusters to ARTb clusters. Labels without a link are
+     * returned unchanged.
+     * 
+     * @param level the level from which the label is taken (negative indices count from end)
+     * @param labelValue the category label at the input level
+     * @return the linked label, or null if there are no layers
+     */
+    public Integer mapDeep(int level, int labelValue) {
+        if (!trained) {
+            throw new IllegalStateException("DeepARTMAP must be trained before mapping");
+        }
+        
+        if (layers.isEmpty()) {
+            return null;
+        }
+        
+        // Handle negative indices (count from end)
+        int actualLevel = level >= 0 ? level : layers.size() + level;
+        
+        if (actualLevel < 0 || actualLevel >= layers.size()) {
+            throw new IllegalArgumentException("Level out of bounds: " + level + " (layers: " + layers.size() + ")");
+        }
+        
+        var mapped = switch (layers.get(actualLevel)) {
+            case SimpleARTMAP simple -> simple.mapCategory(labelValue);
+            case ARTMAP artmap -> artmap.mapCategory(labelValue);
+            default -> null;
+        };
+        return mapped != null ? mapped : labelValue;
+    }
+    
+    /**
+     * Default parameters for running a module inside one of the layers.
+     * 
+     * @param module the ART module of a layer
+     * @return the parameters to predict with
+     */
+    protected abstract Object layerParameters(BaseART module);
+    
+    /**
+     * Run a batch through the trained layers. Each layer's module classifies the layer's
+     * channel and the winning cluster is mapped through the layer's map field. The label of a
+     * sample then propagates upward into {@code resolved}: in supervised mode every layer maps
+     * to the class labels, so a sample takes the label of its lowest layer that has one; in
+     * unsupervised mode the layers label different spaces and the first layer decides.
+     * 
+     * With an executor the batch is pipelined in chunks of {@value #PIPELINE_CHUNK} samples, so
+     * layer k classifies chunk t while layer k + 1 classifies chunk t - 1. A layer sees its chunks
+     * in order and never runs two chunks of the same batch at once.
+     * 
+     * @param data the validated input channels
+     * @param resolved receives the propagated label of each sample, or null
+     * @param executor runs the pipeline stages, or null to classify on the calling thread
+     * @return the label of each sample at each layer, -1 where a layer has no prediction
+     */
+    protected final int[][] predictLayers(List<Pattern[]> data, int[] resolved, Executor executor) {
+        int sampleCount = data.get(0).length;
+        int layerCount = layers.size();
+        var deep = new int[sampleCount][layerCount];
+        if (resolved != null) {
+            Arrays.fill(resolved, -1);
+        }
+        
+        var parameters = new Object[layerCount];
+        for (int k = 0; k < layerCount; k++) {
+            parameters[k] = layerParameters(moduleOf(layers.get(k)));
+        }
+        
+        int chunks = (sampleCount + PIPELINE_CHUNK - 1) / PIPELINE_CHUNK;
+        if (executor == null || layerCount < 2 || chunks < 2) {
+            for (int k = 0; k < layerCount; k++) {
+                classifyChunk(k, data, parameters[k], 0, sampleCount, deep, resolved);
+            }
+            return deep;
+        }
+        
+        // Layer k starts chunk t once it has finished chunk t - 1 and layer k - 1 has finished chunk t
+        var below = new CompletableFuture<?>[chunks];
+        Arrays.fill(below, CompletableFuture.completedFuture(null));
+        for (int k = 0; k < layerCount; k++) {
+            var layer = k;
+            CompletableFuture<?> previous = CompletableFuture.completedFuture(null);
+            for (int t = 0; t < chunks; t++) {
+                var from = t * PIPELINE_CHUNK;
+                var to = Math.min(sampleCount, from + PIPELINE_CHUNK);
+                previous = CompletableFuture.allOf(previous, below[t])
+                                            .thenRunAsync(() -> classifyChunk(layer, data, parameters[layer], from, to,
+                                                                              deep, resolved), executor);
+                below[t] = previous;
+            }
+        }
+        try {
+            CompletableFuture.allOf(below).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return deep;
+    }
+    
+    private void classifyChunk(int layerIndex, List<Pattern[]> data, Object parameters, int from, int to,
+                               int[][] deep, int[] resolved) {
+        var layer = layers.get(layerIndex);
+        // The first unsupervised layer pairs channels 1 and 0, shifting the remaining layers by one
+        var channel = data.get(Boolean.FALSE.equals(supervised) ? layerIndex + 1 : layerIndex);
+        var propagate = resolved != null && (layerIndex == 0 || Boolean.TRUE.equals(supervised));
+        for (int i = from; i < to; i++) {
+            var label = switch (layer) {
+                case SimpleARTMAP simple -> simple.predict(channel[i], parameters);
+                case ARTMAP artmap -> artmap.predict(channel[i], parameters)
+                                            .map(ARTMAPResult.Prediction::predictedBIndex)
+                                            .orElse(-1);
+                default -> -1;
+            };
+            deep[i][layerIndex] = label;
+            if (propagate && resolved[i] < 0) {
+                resolved[i] = label;
+            }
+        }
+    }
+    
+    private static BaseART moduleOf(BaseARTMAP layer) {
+        return switch (layer) {
+            case SimpleARTMAP simple -> simple.getModuleA();
+            case ARTMAP artmap -> artmap.getArtA();
+            default -> throw new IllegalStateException("Unsupported layer type: " + layer.getClass().getSimpleName());
+        };
+    }
+    
     /**
      * Clear the DeepARTMAP state and reset for new training.
      * This extends BaseART's clear() functionality.
@@ -37,6 +37,8 @@ import com.hellblazer.art.core.weights.FuzzyWeight;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Standard DeepARTMAP implementation for hierarchical supervised and unsupervised learning.
@@ -244,8 +246,11 @@ public final class DeepARTMAP extends AbstractDeepARTMAP {
     /**
      * Predict categories for new multi-channel data.
      * 
+     * Every sample runs through the trained layers and takes the label propagated up from its
+     * lowest layer with a prediction; see {@link #predictLayers}.
+     * 
      * @param data the list of input matrices for prediction
-     * @return array of predicted category indices
+     * @return array of predicted category indices, -1 where no layer has a prediction
      */
     public int[] predict(List<Pattern[]> data) {
         if (!trained) {
@@ -258,20 +263,8 @@ public final class DeepARTMAP extends AbstractDeepARTMAP {
             throw new IllegalArgumentException("Invalid prediction data: " + validationResult.reason());
         }
         
-        int sampleCount = data.get(0).length;
-        var predictions = new int[sampleCount];
-        
-        // Basic prediction using stored training patterns
-        for (int i = 0; i < sampleCount; i++) {
-            if (storedDeepLabels != null && storedDeepLabels.length > 0) {
-                // Use the category from the first layer of the closest training sample
-                int trainingIndex = i % storedDeepLabels.length;
-                predictions[i] = storedDeepLabels[trainingIndex][0];
-            } else {
-                predictions[i] = i % Math.max(1, getTrainingCategoryCount());
-            }
-        }
-        
+        var predictions = new int[data.get(0).length];
+        predictLayers(data, predictions, pipelineExecutor());
         return predictions;
     }
     
@@ -292,54 +285,7 @@ public final class DeepARTMAP extends AbstractDeepARTMAP {
             throw new IllegalArgumentException("Invalid prediction data: " + validationResult.reason());
         }
         
-        int sampleCount = data.get(0).length;
-        var deepPredictions = new int[sampleCount][layers.size()];
-        
-        // Deep prediction using stored training patterns
-        for (int i = 0; i < sampleCount; i++) {
-            if (storedDeepLabels != null && storedDeepLabels.length > 0) {
-                // Use stored deep labels from training as prediction template
-                int trainingIndex = i % storedDeepLabels.length;
-                for (int j = 0; j < layers.size(); j++) {
-                    deepPredictions[i][j] = storedDeepLabels[trainingIndex][j];
-                }
-            } else {
-                // Fallback to simple hierarchical prediction
-                for (int j = 0; j < layers.size(); j++) {
-                    deepPredictions[i][j] = (i + j) % 3;
-                }
-            }
-        }
-        
-        return deepPredictions;
-    }
-    
-    /**
-     * Map a label from one level to the highest level.
-     * 
-     * @param level the level from which the label is taken (negative indices count from end)
-     * @param labelValue the category label at the input level
-     * @return the category label at the highest level
-     */
-    public Integer mapDeep(int level, int labelValue) {
-        if (!trained) {
-            throw new IllegalStateException("DeepARTMAP must be trained before mapping");
-        }
-        
-        if (layers.isEmpty()) {
-            return null;
-        }
-        
-        // Handle negative indices (count from end)
-        int actualLevel = level >= 0 ? level : layers.size() + level;
-        
-        if (actualLevel < 0 || actualLevel >= layers.size()) {
-            throw new IllegalArgumentException("Level out of bounds: " + level + " (layers: " + layers.size() + ")");
-        }
-        
-        // Simple implementation: return the label value directly
-        // Future enhancement: map through hierarchical layers
-        return labelValue;
+        return predictLayers(data, null, pipelineExecutor());
     }
     
     /**
@@ -496,25 +442,7 @@ public final class DeepARTMAP extends AbstractDeepARTMAP {
             trained = true;
             
             // Store actual deep labels from training - get predictions from each trained layer
-            int sampleCount = data.get(0).length;
-            storedDeepLabels = new int[sampleCount][layers.size()];
-            
-            for (int layerIndex = 0; layerIndex < layers.size(); layerIndex++) {
-                var layer = layers.get(layerIndex);
-                if (layer instanceof SimpleARTMAP simpleLayer) {
-                    // Get predictions from this layer for the corresponding channel data
-                    var artParams = createDefaultParameters(modules.get(layerIndex));
-                    var layerPredictions = simpleLayer.predict(data.get(layerIndex), artParams);
-                    for (int sampleIndex = 0; sampleIndex < sampleCount; sampleIndex++) {
-                        storedDeepLabels[sampleIndex][layerIndex] = layerPredictions[sampleIndex];
-                    }
-                } else {
-                    // Fallback for other layer types
-                    for (int sampleIndex = 0; sampleIndex < sampleCount; sampleIndex++) {
-                        storedDeepLabels[sampleIndex][layerIndex] = labels != null ? labels[sampleIndex] : sampleIndex % 3;
-                    }
-                }
-            }
+            storedDeepLabels = predictLayers(data, null, pipelineExecutor());
             
             // Update total category count
             totalCategoryCount = getHierarchicalCategoryCount();
@@ -579,43 +507,7 @@ public final class DeepARTMAP extends AbstractDeepARTMAP {
             trained = true;
             
             // Store actual deep labels from training - get predictions from each trained layer
-            int sampleCount = data.get(0).length;
-            storedDeepLabels = new int[sampleCount][layers.size()];
-            
-            // Get predictions from first layer (ARTMAP)
-            if (!layers.isEmpty() && layers.get(0) instanceof ARTMAP artmapLayer) {
-                var predInputChannel = data.get(1); // Use channel 1 for ARTMAP predictions
-                var predArtAParams = createDefaultParameters(modules.get(1));
-                
-                for (int i = 0; i < sampleCount; i++) {
-                    var prediction = artmapLayer.predict(predInputChannel[i], predArtAParams);
-                    if (prediction.isPresent()) {
-                        storedDeepLabels[i][0] = prediction.get().predictedBIndex();
-                    } else {
-                        storedDeepLabels[i][0] = i % 3; // Fallback
-                    }
-                }
-            }
-            
-            // Get predictions from subsequent layers (now SimpleARTMAP)
-            for (int layerIndex = 1; layerIndex < layers.size(); layerIndex++) {
-                if (layers.get(layerIndex) instanceof SimpleARTMAP simpleArtmapLayer) {
-                    int channelIndex = layerIndex + 1; // Channel index is layer index + 1 due to offset
-                    var predInputChannel = data.get(channelIndex);
-                    var artParams = createDefaultParameters(modules.get(channelIndex));
-                    
-                    // Get predictions from SimpleARTMAP layer
-                    var predictions = simpleArtmapLayer.predict(predInputChannel, artParams);
-                    for (int sampleIndex = 0; sampleIndex < sampleCount; sampleIndex++) {
-                        storedDeepLabels[sampleIndex][layerIndex] = predictions[sampleIndex];
-                    }
-                } else {
-                    // Fallback for unexpected layer types (shouldn't happen)
-                    for (int sampleIndex = 0; sampleIndex < sampleCount; sampleIndex++) {
-                        storedDeepLabels[sampleIndex][layerIndex] = sampleIndex % 3;
-                    }
-                }
-            }
+            storedDeepLabels = predictLayers(data, null, pipelineExecutor());
             
             // Update total category count
             totalCategoryCount = getHierarchicalCategoryCount();
@@ -663,6 +555,18 @@ public final class DeepARTMAP extends AbstractDeepARTMAP {
         }
     }
     
+    @Override
+    protected Object layerParameters(BaseART module) {
+        return createDefaultParameters(module);
+    }
+    
+    /**
+     * Pipeline predictions on the common pool when it has more than one worker.
+     */
+    private static Executor pipelineExecutor() {
+        return ForkJoinPool.getCommonPoolParallelism() > 1 ? ForkJoinPool.commonPool() : null;
+    }
+    
     /**
      * Create default parameters for different ART module types.
      */
@@ -870,8 +774,10 @@ public final class DeepARTMAP extends AbstractDeepARTMAP {
         int sampleCount = data.get(0).length;
         int numCategories = Math.max(getTrainingCategoryCount(), 2);
         var probabilities = new double[sampleCount][numCategories];
+        var predictions = new int[sampleCount];
+        predictLayers(data, predictions, pipelineExecutor());
         
-        // Calculate probabilities based on deep labels and category distribution
+        // Calculate probabilities based on the hierarchical predictions
         for (int i = 0; i < sampleCount; i++) {
             // Initialize with uniform distribution
             var baseProb = 1.0 / numCategories;
@@ -879,20 +785,15 @@ public final class DeepARTMAP extends AbstractDeepARTMAP {
                 probabilities[i][j] = baseProb;
             }
             
-            // If we have stored deep labels, use them for better probabilities
-            if (storedDeepLabels != null && storedDeepLabels.length > 0) {
-                int trainingIndex = i % storedDeepLabels.length;
-                int predictedCategory = storedDeepLabels[trainingIndex][0];
-                
-                if (predictedCategory >= 0 && predictedCategory < numCategories) {
-                    // Higher probability for predicted category
-                    probabilities[i][predictedCategory] = 0.8;
-                    // Distribute remaining probability among other categories
-                    var remainingProb = 0.2 / (numCategories - 1);
-                    for (int j = 0; j < numCategories; j++) {
-                        if (j != predictedCategory) {
-                            probabilities[i][j] = remainingProb;
-                        }
+            int predictedCategory = predictions[i];
+            if (predictedCategory >= 0 && predictedCategory < numCategories) {
+                // Higher probability for predicted category
+                probabilities[i][predictedCategory] = 0.8;
+                // Distribute remaining probability among other categories
+                var remainingProb = 0.2 / (numCategories - 1);
+                for (int j = 0; j < numCategories; j++) {
+                    if (j != predictedCategory) {
+                        probabilities[i][j] = remainingProb;
                     }
                 }
             }
@@ -317,6 +317,17 @@ public class FuzzyARTMAP implements BaseARTMAP {
         return new PredictABResult(aLabels, bLabels);
     }
     
+    /**
+     * Enable or disable the hyperbox R-tree index of the underlying FuzzyART module.
+     * Match tracking only raises vigilance, so categories outside the vigilance radius
+     * at the baseline vigilance are never evaluated. Results are unchanged.
+     * 
+     * @param enabled whether to use the hyperbox index
+     */
+    public void setHyperboxIndexEnabled(boolean enabled) {
+        fuzzyART.setHyperboxIndexEnabled(enabled);
+    }
+    
     /**
      * Get the underlying FuzzyART module.
      * 
@@ -86,6 +86,16 @@ public class SimpleARTMAP implements BaseARTMAP {
         return mapField.size();
     }
     
+    /**
+     * Look up the class label a cluster is linked to in the map field.
+     * 
+     * @param categoryA the cluster index in module A
+     * @return the linked class label, or null if the cluster has no link
+     */
+    public Integer mapCategory(int categoryA) {
+        return mapField.get(categoryA);
+    }
+    
     // BaseARTMAP interface implementation
     
     @Override
@@ -0,0 +1,740 @@
+package com.hellblazer.art.core.checkpoint;
+
+import com.hellblazer.art.core.BaseART;
+import com.hellblazer.art.core.CategoryUpdateListener;
+import com.hellblazer.art.core.WeightVector;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead checkpoint stream for continuously learning {@link BaseART} models.
+ *
+ * The log is attached to a model as its {@link CategoryUpdateListener}. Every resonance appends
+ * one record to an in-memory buffer: the category index, the new weight row (or the sparse
+ * weight delta for updates) and the updated usage counters. A background committer drains the
+ * buffer with group commit, so the learning path only pays for a buffered append.
+ *
+ * On disk a checkpoint directory holds a compacted {@code snapshot.bin} and a {@code journal.log}
+ * tail. Each record carries a monotonic sequence number and a CRC; recovery loads the snapshot,
+ * replays journal records newer than the snapshot and stops at the first torn record.
+ *
+ * A failed journal write or snapshot never throws into the model's learning, clear or prune.
+ * The log stops recording, keeping the last durable state, and reports the failure from
+ * {@link #sync()} and {@link #close()}.
+ *
+ * Usage:
+ * <pre>{@code
+ * var log = CheckpointLog.builder(dir).codec(WeightCodec.FUZZY).build();
+ * log.recover(model);   // optional, restores the last durable state
+ * log.attach(model);    // writes a fresh snapshot and starts journaling
+ * ...
+ * log.close();
+ * }</pre>
+ */
+public final class CheckpointLog implements CategoryUpdateListener, AutoCloseable {
+
+    static final String SNAPSHOT_FILE = "snapshot.bin";
+    static final String JOURNAL_FILE = "journal.log";
+    static final int SNAPSHOT_MAGIC = 0x41525453; // "ARTS"
+    static final int JOURNAL_MAGIC = 0x4152544A;  // "ARTJ"
+    static final int VERSION = 1;
+    static final int JOURNAL_HEADER_BYTES = 8;
+
+    private static final byte CREATE = 1;
+    private static final byte UPDATE = 2;
+    private static final byte FULL_ROW = 0;
+    private static final byte SPARSE_DELTA = 1;
+    // seq + type + index + usage + timestamp + mode + dim
+    private static final int RECORD_FIXED_BYTES = 8 + 1 + 4 + 8 + 8 + 1 + 4;
+
+    private final Path directory;
+    private final WeightCodec codec;
+    private final long commitIntervalNanos;
+    private final int commitBatchBytes;
+    private final boolean forceOnCommit;
+    private final long compactionThreshold;
+
+    // Guards the append buffer and sequence counters
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Condition dataAvailable = appendLock.newCondition();
+    private final Condition durable = appendLock.newCondition();
+    // Guards the journal channel and snapshot files
+    private final ReentrantLock ioLock = new ReentrantLock();
+    private final CRC32 appendCrc = new CRC32();
+    // Encoded rows reused by every record; guarded by the append lock
+    private double[] encodedRow;
+    private double[] encodedPrevious;
+
+    private ByteBuffer activeBuffer;
+    private ByteBuffer flushBuffer;
+    private long appendedSequence;
+    private long durableSequence;
+    private long snapshotSequence;
+    private FileChannel journal;
+    private BaseART<?> model;
+    private Thread committer;
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    private CheckpointLog(Builder builder) {
+        this.directory = builder.directory;
+        this.codec = builder.codec;
+        this.commitIntervalNanos = builder.commitInterval.toNanos();
+        this.commitBatchBytes = builder.commitBatchBytes;
+        this.forceOnCommit = builder.forceOnCommit;
+        this.compactionThreshold = builder.compactionThreshold;
+        this.activeBuffer = ByteBuffer.allocate(Math.max(4096, commitBatchBytes * 2));
+        this.flushBuffer = ByteBuffer.allocate(activeBuffer.capacity());
+    }
+
+    /**
+     * Create a builder for a checkpoint log stored in the given directory.
+     */
+    public static Builder builder(Path directory) {
+        return new Builder(directory);
+    }
+
+    /**
+     * Restore the model from the snapshot and journal tail in this log's directory.
+     * A missing directory or empty checkpoint leaves the model untouched.
+     *
+     * @param target the model to restore into (must not be attached yet)
+     * @return a summary of what was recovered
+     * @throws IOException if the snapshot is corrupt or cannot be read
+     */
+    public Recovery recover(BaseART<?> target) throws IOException {
+        Objects.requireNonNull(target, "Target model cannot be null");
+        var state = new RecoveredState();
+        var snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshotPath)) {
+            readSnapshot(snapshotPath, state);
+        }
+        var snapshotSeq = state.lastSequence;
+        var journalPath = directory.resolve(JOURNAL_FILE);
+        var truncated = false;
+        if (Files.exists(journalPath)) {
+            truncated = replayJournal(journalPath, state);
+        }
+        if (state.lastSequence == 0 && state.rows.isEmpty()) {
+            return new Recovery(0, 0, 0, 0, truncated);
+        }
+        var weights = new ArrayList<WeightVector>(state.rows.size());
+        for (var row : state.rows) {
+            weights.add(codec.decode(row));
+        }
+        target.restoreCategoryState(weights, Arrays.copyOf(state.usage, state.rows.size()),
+                                    Arrays.copyOf(state.timestamps, state.rows.size()), state.totalActivations);
+        appendLock.lock();
+        try {
+            appendedSequence = Math.max(appendedSequence, state.lastSequence);
+            durableSequence = appendedSequence;
+        } finally {
+            appendLock.unlock();
+        }
+        return new Recovery(snapshotSeq, state.lastSequence, state.replayed, weights.size(), truncated);
+    }
+
+    /**
+     * Attach this log to a model: writes a compacted snapshot of the current model state,
+     * starts a fresh journal and begins recording every learning step.
+     *
+     * @param target the model to journal
+     * @throws IOException if the checkpoint files cannot be written
+     */
+    public void attach(BaseART<?> target) throws IOException {
+        Objects.requireNonNull(target, "Target model cannot be null");
+        if (closed) {
+            throw new IllegalStateException("Checkpoint log is closed");
+        }
+        if (model != null) {
+            throw new IllegalStateException("Checkpoint log is already attached to a model");
+        }
+        Files.createDirectories(directory);
+        journal = FileChannel.open(directory.resolve(JOURNAL_FILE), StandardOpenOption.CREATE,
+                                   StandardOpenOption.WRITE, StandardOpenOption.READ);
+        synchronized (target) {
+            model = target;
+            compact();
+            target.setCategoryUpdateListener(this);
+        }
+        committer = new Thread(this::commitLoop, "art-checkpoint-committer");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    /**
+     * Write a compacted snapshot of the attached model and truncate the journal.
+     * Blocks learning on the model for the duration of the snapshot.
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void compact() throws IOException {
+        var target = model;
+        if (target == null) {
+            throw new IllegalStateException("Checkpoint log is not attached to a model");
+        }
+        synchronized (target) {
+            ioLock.lock();
+            try {
+                long sequence;
+                appendLock.lock();
+                try {
+                    sequence = appendedSequence;
+                } finally {
+                    appendLock.unlock();
+                }
+                writeSnapshot(target, sequence);
+                // Every buffered record is covered by the snapshot (sequence filtering on replay)
+                journal.truncate(0);
+                var header = ByteBuffer.allocate(JOURNAL_HEADER_BYTES);
+                header.putInt(JOURNAL_MAGIC).putInt(VERSION).flip();
+                journal.write(header, 0);
+                journal.position(JOURNAL_HEADER_BYTES);
+                journal.force(true);
+                snapshotSequence = sequence;
+            } finally {
+                ioLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Block until every record appended before this call is durable.
+     *
+     * @throws IOException if the committer failed to write the journal
+     */
+    public void sync() throws IOException {
+        appendLock.lock();
+        try {
+            var target = appendedSequence;
+            while (durableSequence < target) {
+                checkFailure();
+                if (closed && committer == null) {
+                    break;
+                }
+                dataAvailable.signal();
+                durable.await(commitIntervalNanos, TimeUnit.NANOSECONDS);
+            }
+            checkFailure();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for checkpoint commit", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Get the sequence number of the last appended record.
+     */
+    public long getAppendedSequence() {
+        appendLock.lock();
+        try {
+            return appendedSequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Get the sequence number of the last record known to be durable.
+     */
+    public long getDurableSequence() {
+        appendLock.lock();
+        try {
+            return durableSequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Get the directory holding the snapshot and journal.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void categoryCreated(int index, WeightVector weight, long usageCount, long timestamp) {
+        appendLock.lock();
+        try {
+            encodedRow = codec.encode(weight, encodedRow);
+            append(CREATE, index, usageCount, timestamp, encodedRow, null);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void categoryUpdated(int index, WeightVector previous, WeightVector updated, long usageCount, long timestamp) {
+        appendLock.lock();
+        try {
+            encodedRow = codec.encode(updated, encodedRow);
+            encodedPrevious = codec.encode(previous, encodedPrevious);
+            append(UPDATE, index, usageCount, timestamp, encodedRow, encodedPrevious);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void categoriesReset(BaseART<?> source) {
+        if (source != model || closed) {
+            return;
+        }
+        try {
+            compact();
+        } catch (IOException e) {
+            // Records after the reset would replay onto the stale snapshot, so the log stops here
+            failure = e;
+        }
+    }
+
+    /**
+     * Detach from the model, commit every pending record and close the journal.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        var target = model;
+        if (target != null && target.getCategoryUpdateListener() == this) {
+            target.setCategoryUpdateListener(null);
+        }
+        closed = true;
+        var thread = committer;
+        if (thread != null) {
+            appendLock.lock();
+            try {
+                dataAvailable.signalAll();
+            } finally {
+                appendLock.unlock();
+            }
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            committer = null;
+        }
+        if (journal != null) {
+            commitPending();
+            journal.close();
+        }
+        checkFailure();
+    }
+
+    // ==================== APPEND PATH ====================
+
+    private void append(byte type, int index, long usage, long timestamp, double[] row, double[] previous) {
+        if (failure != null) {
+            return;
+        }
+        // Use a sparse delta when fewer than half the components changed
+        int changed = row.length;
+        if (previous != null && previous.length == row.length) {
+            changed = 0;
+            for (int i = 0; i < row.length; i++) {
+                if (Double.doubleToRawLongBits(row[i]) != Double.doubleToRawLongBits(previous[i])) {
+                    changed++;
+                }
+            }
+        }
+        var sparse = previous != null && changed * 12 + 4 < row.length * 8;
+        var payload = sparse ? 4 + changed * 12 : row.length * 8;
+        var bodyBytes = RECORD_FIXED_BYTES + payload;
+
+        appendLock.lock();
+        try {
+            ensureCapacity(8 + bodyBytes);
+            var buffer = activeBuffer;
+            var start = buffer.position();
+            buffer.putInt(bodyBytes).putInt(0);
+            var bodyStart = buffer.position();
+            buffer.putLong(++appendedSequence).put(type).putInt(index).putLong(usage).putLong(timestamp);
+            buffer.put(sparse ? SPARSE_DELTA : FULL_ROW).putInt(row.length);
+            if (sparse) {
+                buffer.putInt(changed);
+                for (int i = 0; i < row.length; i++) {
+                    if (Double.doubleToRawLongBits(row[i]) != Double.doubleToRawLongBits(previous[i])) {
+                        buffer.putInt(i).putDouble(row[i]);
+                    }
+                }
+            } else {
+                for (var value : row) {
+                    buffer.putDouble(value);
+                }
+            }
+            appendCrc.reset();
+            appendCrc.update(buffer.array(), bodyStart, bodyBytes);
+            buffer.putInt(start + 4, (int) appendCrc.getValue());
+            if (buffer.position() >= commitBatchBytes) {
+                dataAvailable.signal();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (activeBuffer.remaining() >= bytes) {
+            return;
+        }
+        var grown = ByteBuffer.allocate(Math.max(activeBuffer.capacity() * 2, activeBuffer.position() + bytes));
+        activeBuffer.flip();
+        grown.put(activeBuffer);
+        activeBuffer = grown;
+    }
+
+    // ==================== GROUP COMMIT ====================
+
+    private void commitLoop() {
+        while (!closed) {
+            try {
+                appendLock.lock();
+                try {
+                    if (activeBuffer.position() < commitBatchBytes && !closed) {
+                        dataAvailable.awaitNanos(commitIntervalNanos);
+                    }
+                } finally {
+                    appendLock.unlock();
+                }
+                commitPending();
+                if (compactionThreshold > 0 && durableSequence - snapshotSequence >= compactionThreshold) {
+                    compact();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                failure = e;
+                appendLock.lock();
+                try {
+                    durable.signalAll();
+                } finally {
+                    appendLock.unlock();
+                }
+                return;
+            }
+        }
+    }
+
+    private void commitPending() throws IOException {
+        ioLock.lock();
+        try {
+            long target;
+            appendLock.lock();
+            try {
+                if (activeBuffer.position() == 0) {
+                    return;
+                }
+                // Swap buffers so appends continue while the batch is written
+                var batch = activeBuffer;
+                activeBuffer = flushBuffer.capacity() >= batch.capacity() ? flushBuffer
+                                                                          : ByteBuffer.allocate(batch.capacity());
+                activeBuffer.clear();
+                flushBuffer = batch;
+                target = appendedSequence;
+            } finally {
+                appendLock.unlock();
+            }
+            flushBuffer.flip();
+            while (flushBuffer.hasRemaining()) {
+                journal.write(flushBuffer);
+            }
+            flushBuffer.clear();
+            if (forceOnCommit) {
+                journal.force(false);
+            }
+            appendLock.lock();
+            try {
+                durableSequence = Math.max(durableSequence, target);
+                durable.signalAll();
+            } finally {
+                appendLock.unlock();
+            }
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        var error = failure;
+        if (error != null) {
+            throw new IOException("Checkpoint journal failed", error);
+        }
+    }
+
+    // ==================== SNAPSHOT ====================
+
+    private void writeSnapshot(BaseART<?> target, long sequence) throws IOException {
+        var count = target.getCategoryCount();
+        var rows = new double[count][];
+        var size = 4 + 4 + 8 + 8 + 4;
+        for (int i = 0; i < count; i++) {
+            rows[i] = codec.encode(target.getCategory(i));
+            size += 8 + 8 + 4 + rows[i].length * 8;
+        }
+        var buffer = ByteBuffer.allocate(size + 8);
+        buffer.putInt(SNAPSHOT_MAGIC).putInt(VERSION).putLong(sequence)
+              .putLong(target.getTotalActivations()).putInt(count);
+        for (int i = 0; i < count; i++) {
+            buffer.putLong(target.getCategoryUsageCount(i)).putLong(target.getCategoryLastUsedTimestamp(i));
+            buffer.putInt(rows[i].length);
+            for (var value : rows[i]) {
+                buffer.putDouble(value);
+            }
+        }
+        var crc = new CRC32();
+        crc.update(buffer.array(), 0, size);
+        buffer.putLong(crc.getValue()).flip();
+
+        var temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (var channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                            StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void readSnapshot(Path path, RecoveredState state) throws IOException {
+        var bytes = Files.readAllBytes(path);
+        if (bytes.length < 36) {
+            throw new IOException("Checkpoint snapshot is truncated: " + path);
+        }
+        var buffer = ByteBuffer.wrap(bytes);
+        var crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 8);
+        if (buffer.getLong(bytes.length - 8) != crc.getValue()) {
+            throw new IOException("Checkpoint snapshot checksum mismatch: " + path);
+        }
+        if (buffer.getInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Invalid checkpoint snapshot: wrong magic");
+        }
+        var version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported checkpoint snapshot version: " + version);
+        }
+        state.lastSequence = buffer.getLong();
+        state.totalActivations = buffer.getLong();
+        var count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            var usage = buffer.getLong();
+            var timestamp = buffer.getLong();
+            var row = new double[buffer.getInt()];
+            for (int d = 0; d < row.length; d++) {
+                row[d] = buffer.getDouble();
+            }
+            state.put(i, row, usage, timestamp);
+        }
+    }
+
+    // ==================== JOURNAL REPLAY ====================
+
+    /**
+     * Replay journal records newer than the recovered snapshot.
+     *
+     * @return true if the journal ended with a torn or corrupt record
+     */
+    private static boolean replayJournal(Path path, RecoveredState state) throws IOException {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            try {
+                if (in.readInt() != JOURNAL_MAGIC || in.readInt() != VERSION) {
+                    return true;
+                }
+            } catch (EOFException e) {
+                return false;
+            }
+            var crc = new CRC32();
+            var header = ByteBuffer.allocate(8);
+            var body = new byte[256];
+            while (true) {
+                var headerBytes = in.readNBytes(header.array(), 0, 8);
+                if (headerBytes == 0) {
+                    return false;
+                }
+                if (headerBytes < 8) {
+                    return true;
+                }
+                var length = header.getInt(0);
+                var expectedCrc = header.getInt(4);
+                if (length < RECORD_FIXED_BYTES) {
+                    return true;
+                }
+                if (body.length < length) {
+                    body = new byte[length];
+                }
+                try {
+                    in.readFully(body, 0, length);
+                } catch (EOFException e) {
+                    return true;
+                }
+                crc.reset();
+                crc.update(body, 0, length);
+                if ((int) crc.getValue() != expectedCrc) {
+                    return true;
+                }
+                applyRecord(ByteBuffer.wrap(body, 0, length), state);
+            }
+        }
+    }
+
+    private static void applyRecord(ByteBuffer record, RecoveredState state) throws IOException {
+        var sequence = record.getLong();
+        if (sequence <= state.lastSequence) {
+            return;
+        }
+        var type = record.get();
+        var index = record.getInt();
+        var usage = record.getLong();
+        var timestamp = record.getLong();
+        var mode = record.get();
+        var dimension = record.getInt();
+        double[] row;
+        if (mode == FULL_ROW) {
+            row = new double[dimension];
+            for (int i = 0; i < dimension; i++) {
+                row[i] = record.getDouble();
+            }
+        } else {
+            if (index >= state.rows.size()) {
+                throw new IOException("Checkpoint delta for unknown category " + index + " at sequence " + sequence);
+            }
+            row = state.rows.get(index);
+            var changed = record.getInt();
+            for (int i = 0; i < changed; i++) {
+                row[record.getInt()] = record.getDouble();
+            }
+        }
+        // Creation either appends or reuses the slot of an evicted category
+        if (type == CREATE && index > state.rows.size()) {
+            throw new IOException("Checkpoint creates category " + index + " but " + state.rows.size() +
+                                  " categories exist at sequence " + sequence);
+        }
+        state.put(index, row, usage, timestamp);
+        state.totalActivations++;
+        state.lastSequence = sequence;
+        state.replayed++;
+    }
+
+    /**
+     * Mutable accumulation of recovered category state.
+     */
+    private static final class RecoveredState {
+        final List<double[]> rows = new ArrayList<>();
+        long[] usage = new long[16];
+        long[] timestamps = new long[16];
+        long lastSequence;
+        long totalActivations;
+        int replayed;
+
+        void put(int index, double[] row, long usageCount, long timestamp) {
+            if (index == rows.size()) {
+                rows.add(row);
+            } else {
+                rows.set(index, row);
+            }
+            if (index >= usage.length) {
+                usage = Arrays.copyOf(usage, Math.max(usage.length * 2, index + 1));
+                timestamps = Arrays.copyOf(timestamps, usage.length);
+            }
+            usage[index] = usageCount;
+            timestamps[index] = timestamp;
+        }
+    }
+
+    /**
+     * Summary of a checkpoint recovery.
+     *
+     * @param snapshotSequence sequence number covered by the snapshot
+     * @param lastSequence sequence number of the last replayed record
+     * @param replayedRecords number of journal records replayed on top of the snapshot
+     * @param categoryCount number of categories restored
+     * @param truncatedTail true if the journal ended with a torn or corrupt record
+     */
+    public record Recovery(long snapshotSequence, long lastSequence, int replayedRecords,
+                           int categoryCount, boolean truncatedTail) {}
+
+    /**
+     * Builder for checkpoint logs.
+     */
+    public static final class Builder {
+        private final Path directory;
+        private WeightCodec codec = WeightCodec.FUZZY;
+        private Duration commitInterval = Duration.ofMillis(10);
+        private int commitBatchBytes = 64 * 1024;
+        private boolean forceOnCommit = true;
+        private long compactionThreshold = 1_000_000;
+
+        private Builder(Path directory) {
+            this.directory = Objects.requireNonNull(directory, "Directory cannot be null");
+        }
+
+        /** Codec used to encode and decode category weights. */
+        public Builder codec(WeightCodec codec) {
+            this.codec = Objects.requireNonNull(codec, "Codec cannot be null");
+            return this;
+        }
+
+        /** Maximum time a record waits in the buffer before its group is committed. */
+        public Builder commitInterval(Duration commitInterval) {
+            if (commitInterval.isNegative() || commitInterval.isZero()) {
+                throw new IllegalArgumentException("Commit interval must be positive");
+            }
+            this.commitInterval = commitInterval;
+            return this;
+        }
+
+        /** Buffered bytes that trigger an early group commit. */
+        public Builder commitBatchBytes(int commitBatchBytes) {
+            if (commitBatchBytes <= 0) {
+                throw new IllegalArgumentException("Commit batch size must be positive");
+            }
+            this.commitBatchBytes = commitBatchBytes;
+            return this;
+        }
+
+        /** Whether each group commit forces the journal to stable storage. */
+        public Builder forceOnCommit(boolean forceOnCommit) {
+            this.forceOnCommit = forceOnCommit;
+            return this;
+        }
+
+        /** Journal records after which the committer writes a new snapshot (0 disables). */
+        public Builder compactionThreshold(long compactionThreshold) {
+            if (compactionThreshold < 0) {
+                throw new IllegalArgumentException("Compaction threshold cannot be negative");
+            }
+            this.compactionThreshold = compactionThreshold;
+            return this;
+        }
+
+        public CheckpointLog build() {
+            return new CheckpointLog(this);
+        }
+    }
+}
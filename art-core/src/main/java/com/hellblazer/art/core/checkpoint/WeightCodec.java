@@ -0,0 +1,56 @@
+package com.hellblazer.art.core.checkpoint;
+
+import com.hellblazer.art.core.WeightVector;
+import com.hellblazer.art.core.weights.FuzzyWeight;
+
+/**
+ * Converts category weights to and from the flat double rows stored in checkpoints.
+ *
+ * The default encoding reads every component through {@link WeightVector#get(int)},
+ * which is exact for weight types whose state is fully described by their components
+ * (e.g. {@link FuzzyWeight}). Weight types carrying extra state must override
+ * {@link #encode(WeightVector, double[])} accordingly.
+ */
+@FunctionalInterface
+public interface WeightCodec {
+
+    /**
+     * Codec for complement-coded FuzzyART weights.
+     */
+    WeightCodec FUZZY = row -> FuzzyWeight.of(row, row.length / 2);
+
+    /**
+     * Rebuild a weight vector from its encoded row.
+     *
+     * @param row the encoded row (owned by the caller, may be copied)
+     * @return the weight vector
+     */
+    WeightVector decode(double[] row);
+
+    /**
+     * Encode a weight vector as a flat row.
+     *
+     * @param weight the weight vector
+     * @return the encoded row
+     */
+    default double[] encode(WeightVector weight) {
+        return encode(weight, null);
+    }
+
+    /**
+     * Encode a weight vector, reusing a row from an earlier encoding when it fits.
+     *
+     * @param weight the weight vector
+     * @param row the row to reuse, or null
+     * @return the encoded row, {@code row} itself if it was reused
+     */
+    default double[] encode(WeightVector weight, double[] row) {
+        if (row == null || row.length != weight.dimension()) {
+            row = new double[weight.dimension()];
+        }
+        for (int i = 0; i < row.length; i++) {
+            row[i] = weight.get(i);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,168 @@
+package com.hellblazer.art.core.index;
+
+import com.hellblazer.art.core.BaseART.ResonanceSearch;
+import com.hellblazer.art.core.WeightVector;
+import com.hellblazer.art.core.weights.ARTAWeight;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * ART-A categories stored as two contiguous row-major matrices, prototypes and attention,
+ * with the attention-weighted category norm |w_j|_a = Σ a_ji·w_ji cached per row.
+ *
+ * One fused SIMD pass over a row yields both the attention-weighted intersection
+ * |I ∧ w_j|_a = Σ a_ji·min(I_i, w_ji) and the attention-weighted input norm |I|_a = Σ a_ji·I_i,
+ * which give the choice function |I ∧ w_j|_a / (α + |w_j|_a) and the match ratio
+ * |I ∧ w_j|_a / |I|_a. The kernel is {@link ARTAWeight#weightedMatch}, the same one ART-A applies
+ * to a single weight, so the search selects exactly the category a full scan would.
+ *
+ * Rows are overwritten in place as categories are created or learn; any wholesale change
+ * of the category set invalidates the matrices, which are rebuilt on the next search.
+ * Searches share a read lock, so batch searches on several threads scan concurrently;
+ * updates, invalidation and rebuilds take the write lock.
+ */
+public final class AttentionWeightMatrix {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private double[] prototypes = new double[0];
+    private double[] attention = new double[0];
+    private double[] norms = new double[0];
+    private int dimension;
+    private int size;
+    private boolean valid;
+
+    /**
+     * Discard the matrices; they are rebuilt on the next search.
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            valid = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Record the weights of a created or updated category.
+     *
+     * @param index the category index
+     * @param weight the new category weight
+     */
+    public void update(int index, WeightVector weight) {
+        lock.writeLock().lock();
+        try {
+            if (!valid) {
+                return;
+            }
+            if (!(weight instanceof ARTAWeight artaWeight) || artaWeight.dimension() != dimension || index > size) {
+                valid = false;
+                return;
+            }
+            if (index == size) {
+                ensureCapacity(size + 1);
+                size++;
+            }
+            setRow(index, artaWeight);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the highest-activation category, lowest index on ties.
+     *
+     * @param categories the current categories (used when rebuilding)
+     * @param input the input values
+     * @param alpha the choice parameter
+     * @param vigilance the vigilance parameter
+     * @param zeroInputMatch the exact vigilance test for rows where |I|_a is zero, or null to
+     *                       return the best category regardless of vigilance
+     * @param sums the caller's two-element buffer for a row's match sums; the zero-input test
+     *             may overwrite it
+     * @return the winning category, {@link ResonanceSearch#NONE} if none qualifies, or null if
+     *         the categories cannot be stored in matrices
+     */
+    public ResonanceSearch search(List<WeightVector> categories, double[] input, double alpha, double vigilance,
+                                  IntPredicate zeroInputMatch, double[] sums) {
+        var read = lock.readLock();
+        read.lock();
+        try {
+            if (!valid || size != categories.size()) {
+                read.unlock();
+                lock.writeLock().lock();
+                try {
+                    if ((!valid || size != categories.size()) && !rebuild(categories)) {
+                        return null;
+                    }
+                    read.lock();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            if (input.length != dimension) {
+                return null;
+            }
+
+            var best = -1;
+            var bestActivation = Double.NEGATIVE_INFINITY;
+            for (int j = 0, offset = 0; j < size; j++, offset += dimension) {
+                ARTAWeight.weightedMatch(input, prototypes, attention, offset, dimension, sums);
+                var activation = sums[0] / (alpha + norms[j]);
+                if (activation > bestActivation) {
+                    if (zeroInputMatch != null
+                        && !(sums[1] == 0.0 ? zeroInputMatch.test(j) : sums[0] / sums[1] >= vigilance)) {
+                        continue;
+                    }
+                    best = j;
+                    bestActivation = activation;
+                }
+            }
+            return best < 0 ? ResonanceSearch.NONE : new ResonanceSearch(best, bestActivation);
+        } finally {
+            if (lock.getReadHoldCount() > 0) {
+                read.unlock();
+            }
+        }
+    }
+
+    private boolean rebuild(List<WeightVector> categories) {
+        size = 0;
+        valid = false;
+        if (categories.isEmpty() || !(categories.get(0) instanceof ARTAWeight first)) {
+            return false;
+        }
+        dimension = first.dimension();
+        var capacity = Math.max(16, categories.size());
+        prototypes = new double[capacity * dimension];
+        attention = new double[capacity * dimension];
+        norms = new double[capacity];
+        for (var weight : categories) {
+            if (!(weight instanceof ARTAWeight artaWeight) || artaWeight.dimension() != dimension) {
+                size = 0;
+                return false;
+            }
+            setRow(size++, artaWeight);
+        }
+        valid = true;
+        return true;
+    }
+
+    private void setRow(int index, ARTAWeight weight) {
+        weight.copyInto(prototypes, attention, index * dimension);
+        norms[index] = weight.getWeightedNorm();
+    }
+
+    private void ensureCapacity(int rows) {
+        if (rows > norms.length) {
+            var capacity = Math.max(rows, Math.max(16, norms.length * 2));
+            prototypes = Arrays.copyOf(prototypes, capacity * dimension);
+            attention = Arrays.copyOf(attention, capacity * dimension);
+            norms = Arrays.copyOf(norms, capacity);
+        }
+    }
+}
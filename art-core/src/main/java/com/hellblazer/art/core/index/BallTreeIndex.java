@@ -0,0 +1,570 @@
+package com.hellblazer.art.core.index;
+
+import com.hellblazer.art.core.BaseART.ResonanceSearch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Ball tree over category centroids for exact best-first category search.
+ *
+ * Every category is a point (its centroid) plus a few non-negative attributes, such as
+ * its radius or variance scale. Each node keeps a bounding ball of its centroids and the
+ * maximum of every attribute below it. The caller supplies a {@link ScoreBound} that turns
+ * a lower bound on the distance to a centroid and those attribute maxima into an upper
+ * bound on the score; nodes are expanded in order of that bound, so the search visits
+ * categories nearest-first and stops as soon as no unvisited category can beat (or tie)
+ * the best one found. The winner is identical to a full scan: the highest score among
+ * accepted categories, lowest index on ties.
+ *
+ * Centroids may move. A moved centroid that leaves its leaf ball is reinserted, bounding
+ * balls and attribute maxima are grown along the path, and the tree is rebuilt only after
+ * as many structural changes as it had entries when it was built, which keeps updates
+ * O(log n) amortized.
+ */
+public final class BallTreeIndex {
+
+    /**
+     * Upper bound on the score of categories in a region.
+     */
+    @FunctionalInterface
+    public interface ScoreBound {
+        /**
+         * Bound the score of any category whose centroid is at least the given distance from
+         * the query and whose attributes do not exceed the given maxima.
+         *
+         * @param minDistance lower bound on the Euclidean distance to the centroid
+         * @param maxAttributes attribute maxima (do not modify)
+         * @return the score upper bound, or {@link Double#NEGATIVE_INFINITY} if no such
+         *         category can be accepted
+         */
+        double upperBound(double minDistance, double[] maxAttributes);
+    }
+
+    private static final int LEAF_CAPACITY = 8;
+
+    private final int attributeCount;
+    private final double tolerance;
+
+    private final ArrayList<Node> nodes = new ArrayList<>();
+    private Node root;
+    private int dimension = -1;
+    private int size;
+    private int builtSize;
+    private int changesSinceBuild;
+    private boolean valid;
+
+    // Per-category state, indexed by category
+    private double[][] centers = new double[16][];
+    private double[][] attributes = new double[16][];
+    private Node[] leafOf = new Node[16];
+
+    private long searches;
+    private long visited;
+
+    /**
+     * Create an index.
+     *
+     * @param attributeCount number of attributes per category
+     * @param tolerance relative slack applied to score bounds so that rounding in the exact
+     *                  score never prunes a true winner
+     */
+    public BallTreeIndex(int attributeCount, double tolerance) {
+        if (attributeCount < 0) {
+            throw new IllegalArgumentException("Attribute count must be non-negative, got: " + attributeCount);
+        }
+        if (tolerance < 0.0 || Double.isNaN(tolerance)) {
+            throw new IllegalArgumentException("Tolerance must be non-negative, got: " + tolerance);
+        }
+        this.attributeCount = attributeCount;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Discard the index; it is rebuilt on the next search.
+     */
+    public synchronized void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Record the centroid and attributes of a created or updated category.
+     *
+     * @param index the category index
+     * @param center the category centroid (copied)
+     * @param attributeValues the category attributes (copied)
+     */
+    public synchronized void update(int index, double[] center, double[] attributeValues) {
+        if (!valid) {
+            return;
+        }
+        if (center.length != dimension || attributeValues.length != attributeCount) {
+            valid = false;
+        } else if (index == size) {
+            ensureCapacity(size + 1);
+            centers[index] = center.clone();
+            attributes[index] = attributeValues.clone();
+            size++;
+            insert(index);
+            structuralChange();
+        } else if (index >= 0 && index < size) {
+            centers[index] = center.clone();
+            attributes[index] = attributeValues.clone();
+            var leaf = leafOf[index];
+            if (distance(leaf.center, center) <= leaf.radius) {
+                for (var node = leaf; node != null; node = node.parent) {
+                    node.radius = Math.max(node.radius, distance(node.center, center));
+                    node.includeAttributes(attributeValues);
+                }
+            } else {
+                leaf.removeEntry(index);
+                leaf.refitLeaf(centers);
+                insert(index);
+                structuralChange();
+            }
+        } else {
+            valid = false;
+        }
+    }
+
+    /**
+     * Find the highest-scoring accepted category.
+     *
+     * @param categoryCount the current number of categories
+     * @param centerOf supplies the centroid of a category (used when rebuilding)
+     * @param attributesOf supplies the attributes of a category (used when rebuilding)
+     * @param query the query point
+     * @param bound the score bound
+     * @param score computes the exact score of a category
+     * @param accept the exact acceptance (vigilance) test, or null to accept every category
+     * @return the winning category or {@link ResonanceSearch#NONE}, or null if the query
+     *         dimension does not match the indexed centroids
+     */
+    public synchronized ResonanceSearch search(int categoryCount, IntFunction<double[]> centerOf,
+                                               IntFunction<double[]> attributesOf, double[] query,
+                                               ScoreBound bound, IntToDoubleFunction score, IntPredicate accept) {
+        var best = searchTop(categoryCount, centerOf, attributesOf, query, bound, score, accept, 1);
+        if (best == null) {
+            return null;
+        }
+        return best.count == 0 ? ResonanceSearch.NONE : new ResonanceSearch(best.indices[0], best.scores[0]);
+    }
+
+    /**
+     * Find the k highest-scoring accepted categories.
+     *
+     * @param categoryCount the current number of categories
+     * @param centerOf supplies the centroid of a category (used when rebuilding)
+     * @param attributesOf supplies the attributes of a category (used when rebuilding)
+     * @param query the query point
+     * @param bound the score bound
+     * @param score computes the exact score of a category
+     * @param accept the exact acceptance test, or null to accept every category
+     * @param k the number of categories to return
+     * @return up to k category indices by descending score (lowest index on ties), or null
+     *         if the query dimension does not match the indexed centroids
+     */
+    public synchronized int[] topK(int categoryCount, IntFunction<double[]> centerOf,
+                                   IntFunction<double[]> attributesOf, double[] query,
+                                   ScoreBound bound, IntToDoubleFunction score, IntPredicate accept, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive, got: " + k);
+        }
+        var best = searchTop(categoryCount, centerOf, attributesOf, query, bound, score, accept, k);
+        return best == null ? null : Arrays.copyOf(best.indices, best.count);
+    }
+
+    /**
+     * Number of searches performed.
+     */
+    public synchronized long getSearchCount() {
+        return searches;
+    }
+
+    /**
+     * Number of exact scores evaluated across all searches.
+     */
+    public synchronized long getVisitedCount() {
+        return visited;
+    }
+
+    private TopK searchTop(int categoryCount, IntFunction<double[]> centerOf, IntFunction<double[]> attributesOf,
+                           double[] query, ScoreBound bound, IntToDoubleFunction score, IntPredicate accept, int k) {
+        if (!valid || size != categoryCount) {
+            if (!rebuild(categoryCount, centerOf, attributesOf)) {
+                return null;
+            }
+        }
+        if (size > 0 && query.length != dimension) {
+            return null;
+        }
+        searches++;
+        var top = new TopK(k);
+        if (root == null) {
+            return top;
+        }
+
+        // Max-heap of pending items: node ids (>= 0) and categories encoded as -(index + 1)
+        var heap = new BoundHeap();
+        heap.push(bound.upperBound(Math.max(0.0, distance(root.center, query) - root.radius), root.maxAttributes), root.id);
+        while (!heap.isEmpty()) {
+            var key = heap.peekKey();
+            if (key == Double.NEGATIVE_INFINITY || key + tolerance * Math.abs(key) < top.threshold()) {
+                break;
+            }
+            var item = heap.pop();
+            if (item < 0) {
+                var category = -item - 1;
+                visited++;
+                var s = score.applyAsDouble(category);
+                if (top.admits(s, category) && (accept == null || accept.test(category))) {
+                    top.offer(s, category);
+                }
+                continue;
+            }
+            var node = nodes.get(item);
+            if (node.leaf) {
+                for (int e = 0; e < node.count; e++) {
+                    var category = node.entries[e];
+                    var b = bound.upperBound(distance(centers[category], query), attributes[category]);
+                    if (b != Double.NEGATIVE_INFINITY) {
+                        heap.push(b, -category - 1);
+                    }
+                }
+            } else {
+                for (var child : new Node[] {node.left, node.right}) {
+                    var b = bound.upperBound(Math.max(0.0, distance(child.center, query) - child.radius),
+                                             child.maxAttributes);
+                    if (b != Double.NEGATIVE_INFINITY) {
+                        heap.push(b, child.id);
+                    }
+                }
+            }
+        }
+        return top;
+    }
+
+    private static double distance(double[] a, double[] b) {
+        var sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            var diff = a[i] - b[i];
+            sum += diff * diff;
+        }
+        return Math.sqrt(sum);
+    }
+
+    private void structuralChange() {
+        if (++changesSinceBuild > Math.max(64, builtSize)) {
+            valid = false;
+        }
+    }
+
+    private boolean rebuild(int categoryCount, IntFunction<double[]> centerOf, IntFunction<double[]> attributesOf) {
+        nodes.clear();
+        root = null;
+        size = 0;
+        dimension = -1;
+        ensureCapacity(categoryCount);
+        for (int c = 0; c < categoryCount; c++) {
+            var center = centerOf.apply(c);
+            var values = attributesOf.apply(c);
+            if (dimension < 0) {
+                dimension = center.length;
+            }
+            if (center.length != dimension || values.length != attributeCount) {
+                return false;
+            }
+            centers[c] = center.clone();
+            attributes[c] = values.clone();
+        }
+        size = categoryCount;
+        if (size > 0) {
+            var all = new int[size];
+            for (int c = 0; c < size; c++) {
+                all[c] = c;
+            }
+            root = build(all, 0, size, null);
+        }
+        builtSize = size;
+        changesSinceBuild = 0;
+        valid = true;
+        return true;
+    }
+
+    private Node build(int[] indices, int from, int to, Node parent) {
+        var node = newNode(parent);
+        if (to - from <= LEAF_CAPACITY) {
+            node.leaf = true;
+            node.entries = new int[2 * LEAF_CAPACITY + 1];
+            for (int i = from; i < to; i++) {
+                node.entries[node.count++] = indices[i];
+                leafOf[indices[i]] = node;
+            }
+            node.center = centroid(indices, from, to);
+            node.refitLeaf(centers);
+            for (int i = from; i < to; i++) {
+                node.includeAttributes(attributes[indices[i]]);
+            }
+            return node;
+        }
+        node.center = centroid(indices, from, to);
+        sortAlongWidestAxis(indices, from, to);
+        var mid = (from + to) >>> 1;
+        node.left = build(indices, from, mid, node);
+        node.right = build(indices, mid, to, node);
+        node.refitInternal();
+        return node;
+    }
+
+    private void insert(int category) {
+        var point = centers[category];
+        var node = root;
+        if (node == null) {
+            root = node = newNode(null);
+            node.leaf = true;
+            node.entries = new int[2 * LEAF_CAPACITY + 1];
+            node.center = point.clone();
+        }
+        while (!node.leaf) {
+            node.radius = Math.max(node.radius, distance(node.center, point));
+            node.includeAttributes(attributes[category]);
+            node = distance(node.left.center, point) <= distance(node.right.center, point) ? node.left : node.right;
+        }
+        node.entries[node.count++] = category;
+        leafOf[category] = node;
+        node.radius = Math.max(node.radius, distance(node.center, point));
+        node.includeAttributes(attributes[category]);
+        if (node.count > 2 * LEAF_CAPACITY) {
+            splitLeaf(node);
+        }
+    }
+
+    // Turn an overfull leaf into an internal node with two leaf children
+    private void splitLeaf(Node node) {
+        var indices = Arrays.copyOf(node.entries, node.count);
+        node.leaf = false;
+        node.entries = null;
+        node.count = 0;
+        sortAlongWidestAxis(indices, 0, indices.length);
+        var mid = indices.length >>> 1;
+        node.left = build(indices, 0, mid, node);
+        node.right = build(indices, mid, indices.length, node);
+        node.radius = Math.max(node.radius, Math.max(distance(node.center, node.left.center) + node.left.radius,
+                                                     distance(node.center, node.right.center) + node.right.radius));
+    }
+
+    private double[] centroid(int[] indices, int from, int to) {
+        var center = new double[dimension];
+        for (int i = from; i < to; i++) {
+            var point = centers[indices[i]];
+            for (int j = 0; j < dimension; j++) {
+                center[j] += point[j];
+            }
+        }
+        for (int j = 0; j < dimension; j++) {
+            center[j] /= (to - from);
+        }
+        return center;
+    }
+
+    private void sortAlongWidestAxis(int[] indices, int from, int to) {
+        var axis = 0;
+        var widest = -1.0;
+        for (int j = 0; j < dimension; j++) {
+            var min = Double.POSITIVE_INFINITY;
+            var max = Double.NEGATIVE_INFINITY;
+            for (int i = from; i < to; i++) {
+                var value = centers[indices[i]][j];
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (max - min > widest) {
+                widest = max - min;
+                axis = j;
+            }
+        }
+        final var sortAxis = axis;
+        var boxed = new Integer[to - from];
+        for (int i = from; i < to; i++) {
+            boxed[i - from] = indices[i];
+        }
+        Arrays.sort(boxed, (a, b) -> Double.compare(centers[a][sortAxis], centers[b][sortAxis]));
+        for (int i = from; i < to; i++) {
+            indices[i] = boxed[i - from];
+        }
+    }
+
+    private Node newNode(Node parent) {
+        var node = new Node(nodes.size(), parent, attributeCount);
+        nodes.add(node);
+        return node;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= centers.length) {
+            return;
+        }
+        var grown = Math.max(required, centers.length * 2);
+        centers = Arrays.copyOf(centers, grown);
+        attributes = Arrays.copyOf(attributes, grown);
+        leafOf = Arrays.copyOf(leafOf, grown);
+    }
+
+    private static final class Node {
+        final int id;
+        final Node parent;
+        final double[] maxAttributes;
+        double[] center;
+        double radius;
+        boolean leaf;
+        int[] entries;
+        int count;
+        Node left;
+        Node right;
+
+        Node(int id, Node parent, int attributeCount) {
+            this.id = id;
+            this.parent = parent;
+            this.maxAttributes = new double[attributeCount];
+            Arrays.fill(maxAttributes, Double.NEGATIVE_INFINITY);
+        }
+
+        void includeAttributes(double[] values) {
+            for (int a = 0; a < values.length; a++) {
+                maxAttributes[a] = Math.max(maxAttributes[a], values[a]);
+            }
+        }
+
+        void removeEntry(int category) {
+            for (int e = 0; e < count; e++) {
+                if (entries[e] == category) {
+                    entries[e] = entries[--count];
+                    return;
+                }
+            }
+            throw new IllegalStateException("Category " + category + " not found in leaf");
+        }
+
+        void refitLeaf(double[][] centers) {
+            var max = 0.0;
+            for (int e = 0; e < count; e++) {
+                max = Math.max(max, distance(center, centers[entries[e]]));
+            }
+            radius = max;
+        }
+
+        void refitInternal() {
+            radius = Math.max(distance(center, left.center) + left.radius,
+                              distance(center, right.center) + right.radius);
+            includeAttributes(left.maxAttributes);
+            includeAttributes(right.maxAttributes);
+        }
+    }
+
+    // Binary max-heap of (bound, item) pairs
+    private static final class BoundHeap {
+        private double[] keys = new double[32];
+        private int[] items = new int[32];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        double peekKey() {
+            return keys[0];
+        }
+
+        void push(double key, int item) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                items = Arrays.copyOf(items, size * 2);
+            }
+            var k = size++;
+            while (k > 0) {
+                var parent = (k - 1) >>> 1;
+                if (!before(key, item, keys[parent], items[parent])) {
+                    break;
+                }
+                keys[k] = keys[parent];
+                items[k] = items[parent];
+                k = parent;
+            }
+            keys[k] = key;
+            items[k] = item;
+        }
+
+        int pop() {
+            var result = items[0];
+            var key = keys[--size];
+            var item = items[size];
+            var k = 0;
+            var half = size >>> 1;
+            while (k < half) {
+                var child = 2 * k + 1;
+                if (child + 1 < size && before(keys[child + 1], items[child + 1], keys[child], items[child])) {
+                    child++;
+                }
+                if (!before(keys[child], items[child], key, item)) {
+                    break;
+                }
+                keys[k] = keys[child];
+                items[k] = items[child];
+                k = child;
+            }
+            keys[k] = key;
+            items[k] = item;
+            return result;
+        }
+
+        // Higher bound first; nodes before categories on equal bounds so that tied
+        // categories with lower indices are always discovered
+        private static boolean before(double keyA, int itemA, double keyB, int itemB) {
+            if (keyA != keyB) {
+                return keyA > keyB;
+            }
+            return itemA > itemB;
+        }
+    }
+
+    // The k best (score, index) pairs, ordered by descending score then ascending index
+    private static final class TopK {
+        final double[] scores;
+        final int[] indices;
+        int count;
+
+        TopK(int k) {
+            scores = new double[k];
+            indices = new int[k];
+        }
+
+        double threshold() {
+            return count < scores.length ? Double.NEGATIVE_INFINITY : scores[count - 1];
+        }
+
+        boolean admits(double score, int index) {
+            return count < scores.length || better(score, index, scores[count - 1], indices[count - 1]);
+        }
+
+        void offer(double score, int index) {
+            var position = Math.min(count, scores.length - 1);
+            while (position > 0 && better(score, index, scores[position - 1], indices[position - 1])) {
+                if (position < scores.length) {
+                    scores[position] = scores[position - 1];
+                    indices[position] = indices[position - 1];
+                }
+                position--;
+            }
+            scores[position] = score;
+            indices[position] = index;
+            count = Math.min(count + 1, scores.length);
+        }
+
+        private static boolean better(double scoreA, int indexA, double scoreB, int indexB) {
+            return scoreA > scoreB || (scoreA == scoreB && indexA < indexB);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.hellblazer.art.core.index;
+
+import com.hellblazer.art.core.BaseART.ResonanceSearch;
+import com.hellblazer.art.core.utils.IndexSort;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Exact branch-and-bound category search for FuzzyART-style choice functions.
+ *
+ * For the choice function T_j = |I ∧ w_j| / (α + |w_j|) the fuzzy intersection satisfies
+ * |I ∧ w_j| ≤ min(|I|, |w_j|), so every category has the upper bound
+ * min(|I|, |w_j|) / (α + |w_j|) that depends only on its weight norm. Likewise the
+ * vigilance test |I ∧ w_j| / |I| ≥ ρ cannot pass once |w_j| &lt; ρ|I|.
+ *
+ * Categories are kept ordered by descending weight norm. The search walks that order,
+ * evaluates the exact activation only while a category's bound can still beat the best
+ * resonant candidate, and stops as soon as no remaining category can qualify. The winner
+ * is identical to the full scan: the highest activation among vigilance-passing
+ * categories, lowest index on ties.
+ *
+ * Norms are updated incrementally as categories are created or learn; any wholesale change
+ * of the category set simply invalidates the index, which is rebuilt on the next search.
+ */
+public final class FuzzyChoiceBoundIndex {
+
+    private final double tolerance;
+
+    private double[] norms = new double[16];
+    private int[] order = new int[16];  // category indices by descending norm
+    private int[] rank = new int[16];   // rank[category] = position in order
+    private int size;
+    private boolean valid;
+
+    private long searches;
+    private long evaluated;
+
+    /**
+     * Create an index.
+     *
+     * @param tolerance relative slack applied to the bounds so that rounding in the exact
+     *                  activation never prunes a true winner (use a larger value when the
+     *                  activation is computed in single precision)
+     */
+    public FuzzyChoiceBoundIndex(double tolerance) {
+        if (tolerance < 0.0 || Double.isNaN(tolerance)) {
+            throw new IllegalArgumentException("Tolerance must be non-negative, got: " + tolerance);
+        }
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Discard the index; it is rebuilt on the next search.
+     */
+    public synchronized void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Record the new weight norm of a created or updated category.
+     *
+     * @param index the category index
+     * @param norm the L1 norm of the category weight
+     */
+    public synchronized void update(int index, double norm) {
+        if (!valid) {
+            return;
+        }
+        if (index == size) {
+            ensureCapacity(size + 1);
+            norms[index] = norm;
+            order[size] = index;
+            rank[index] = size;
+            size++;
+            moveUp(size - 1);
+        } else if (index >= 0 && index < size) {
+            var previous = norms[index];
+            norms[index] = norm;
+            if (norm > previous) {
+                moveUp(rank[index]);
+            } else if (norm < previous) {
+                moveDown(rank[index]);
+            }
+        } else {
+            valid = false;
+        }
+    }
+
+    /**
+     * Find the highest-activation category that passes vigilance.
+     *
+     * @param categoryCount the current number of categories
+     * @param norm supplies the weight norm of a category (used when rebuilding)
+     * @param inputNorm the L1 norm of the complement-coded input
+     * @param alpha the choice parameter
+     * @param vigilance the vigilance parameter, used only for pruning
+     * @param activation computes the exact activation of a category
+     * @param resonates the exact vigilance test, or null to return the best category
+     *                  regardless of vigilance
+     * @return the winning category, or a search that found none if none qualifies
+     */
+    public synchronized ResonanceSearch search(int categoryCount, IntToDoubleFunction norm,
+                                               double inputNorm, double alpha, double vigilance,
+                                               IntToDoubleFunction activation, IntPredicate resonates) {
+        if (!valid || size != categoryCount) {
+            rebuild(categoryCount, norm);
+        }
+        searches++;
+
+        var slack = 1.0 + tolerance;
+        var vigilanceFloor = resonates == null ? Double.NEGATIVE_INFINITY : vigilance * inputNorm;
+        var best = -1;
+        var bestActivation = Double.NEGATIVE_INFINITY;
+        var tested = 0;
+
+        for (int r = 0; r < size; r++) {
+            var category = order[r];
+            var w = norms[category];
+            if (w * slack < vigilanceFloor) {
+                break;  // |I ∧ w| ≤ |w| < ρ|I| for this and every later category
+            }
+            var bound = Math.min(w, inputNorm) / (alpha + w) * slack;
+            if (bound < bestActivation) {
+                if (w <= inputNorm) {
+                    break;  // bound w / (α + w) only shrinks from here on
+                }
+                continue;
+            }
+            evaluated++;
+            var t = activation.applyAsDouble(category);
+            if (t > bestActivation || (t == bestActivation && category < best)) {
+                tested++;
+                if (resonates == null || resonates.test(category)) {
+                    best = category;
+                    bestActivation = t;
+                }
+            }
+        }
+        return best < 0 ? ResonanceSearch.none(tested) : new ResonanceSearch(best, bestActivation, tested);
+    }
+
+    /**
+     * Number of searches performed.
+     */
+    public synchronized long getSearchCount() {
+        return searches;
+    }
+
+    /**
+     * Number of exact activations evaluated across all searches.
+     */
+    public synchronized long getEvaluatedCount() {
+        return evaluated;
+    }
+
+    private void rebuild(int categoryCount, IntToDoubleFunction norm) {
+        ensureCapacity(categoryCount);
+        for (int i = 0; i < categoryCount; i++) {
+            norms[i] = norm.applyAsDouble(i);
+        }
+        var sorted = IndexSort.descending(norms, categoryCount);
+        System.arraycopy(sorted, 0, order, 0, categoryCount);
+        for (int r = 0; r < categoryCount; r++) {
+            rank[order[r]] = r;
+        }
+        size = categoryCount;
+        valid = true;
+    }
+
+    // Move the category at rank r toward the front past every smaller norm, after equal norms
+    private void moveUp(int r) {
+        var category = order[r];
+        var w = norms[category];
+        var lo = 0;
+        var hi = r;
+        while (lo < hi) {
+            var mid = (lo + hi) >>> 1;
+            if (norms[order[mid]] < w) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        System.arraycopy(order, lo, order, lo + 1, r - lo);
+        order[lo] = category;
+        reindex(lo, r);
+    }
+
+    // Move the category at rank r toward the back past every larger norm, before equal norms
+    private void moveDown(int r) {
+        var category = order[r];
+        var w = norms[category];
+        var lo = r + 1;
+        var hi = size;
+        while (lo < hi) {
+            var mid = (lo + hi) >>> 1;
+            if (norms[order[mid]] > w) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        var target = lo - 1;
+        System.arraycopy(order, r + 1, order, r, target - r);
+        order[target] = category;
+        reindex(r, target);
+    }
+
+    private void reindex(int from, int to) {
+        for (int i = from; i <= to; i++) {
+            rank[order[i]] = i;
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= norms.length) {
+            return;
+        }
+        var grown = Math.max(required, norms.length * 2);
+        norms = Arrays.copyOf(norms, grown);
+        order = Arrays.copyOf(order, grown);
+        rank = Arrays.copyOf(rank, grown);
+    }
+}
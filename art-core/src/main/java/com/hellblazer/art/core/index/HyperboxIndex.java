@@ -0,0 +1,488 @@
+package com.hellblazer.art.core.index;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * R-tree over the hyperboxes of complement-coded FuzzyART categories, used to retrieve
+ * only the categories that can pass vigilance for an input.
+ *
+ * A complement-coded weight w = [u, 1 − v] describes the box [u, v]. For an input
+ * I = [x, 1 − x] the fuzzy intersection is exactly |I ∧ w| = |w| − D(x), where D(x) is
+ * the L1 distance from x to the box. The vigilance test |I ∧ w| ≥ ρ|I| therefore holds
+ * only when D(x) ≤ |w| − ρ|I|. Each node stores the bounding box of its subtree together
+ * with the largest weight norm below it, so a whole subtree is skipped as soon as the
+ * distance to its bounding box exceeds that radius.
+ *
+ * Learning only grows category boxes, so updates refit the bounding boxes along the
+ * path to the root in place; a box that does not contain its previous extent (e.g. a
+ * reused slot) is removed and reinserted. Wholesale changes invalidate the index, which
+ * is rebuilt on the next query.
+ */
+public final class HyperboxIndex {
+
+    private static final int DEFAULT_MAX_ENTRIES = 16;
+
+    private final int maxEntries;
+    private final double tolerance;
+
+    private int dimension = -1;
+    private Node root;
+    private int size;
+    private boolean valid;
+
+    // Per-category state, indexed by category
+    private double[][] lower = new double[16][];
+    private double[][] upper = new double[16][];
+    private double[] norms = new double[16];
+    private Node[] leafOf = new Node[16];
+
+    private long queries;
+    private long candidates;
+
+    /**
+     * Create an index with the default node capacity.
+     *
+     * @param tolerance relative slack applied to the vigilance radius so that rounding in
+     *                  the exact vigilance test never drops a resonant category
+     */
+    public HyperboxIndex(double tolerance) {
+        this(DEFAULT_MAX_ENTRIES, tolerance);
+    }
+
+    /**
+     * Create an index.
+     *
+     * @param maxEntries the maximum number of entries per node (at least 4)
+     * @param tolerance relative slack applied to the vigilance radius
+     */
+    public HyperboxIndex(int maxEntries, double tolerance) {
+        if (maxEntries < 4) {
+            throw new IllegalArgumentException("Max entries must be at least 4, got: " + maxEntries);
+        }
+        if (tolerance < 0.0 || Double.isNaN(tolerance)) {
+            throw new IllegalArgumentException("Tolerance must be non-negative, got: " + tolerance);
+        }
+        this.maxEntries = maxEntries;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Discard the index; it is rebuilt on the next query.
+     */
+    public synchronized void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Record the new weight of a created or updated category.
+     *
+     * @param index the category index
+     * @param weight the complement-coded weight [u, 1 − v]
+     */
+    public synchronized void update(int index, double[] weight) {
+        if (!valid) {
+            return;
+        }
+        if (weight.length != 2 * dimension) {
+            valid = false;
+        } else if (index == size) {
+            ensureCapacity(size + 1);
+            store(index, weight);
+            size++;
+            insert(index);
+        } else if (index >= 0 && index < size) {
+            var oldLower = lower[index];
+            var oldUpper = upper[index];
+            store(index, weight);
+            if (contains(lower[index], upper[index], oldLower, oldUpper)) {
+                // Box grew: refit the bounds along the path in place
+                for (var node = leafOf[index]; node != null; node = node.parent) {
+                    node.recomputeBounds(lower, upper, norms);
+                }
+            } else {
+                remove(index);
+                insert(index);
+            }
+        } else {
+            valid = false;
+        }
+    }
+
+    /**
+     * Find every category that can pass the vigilance test for the input.
+     *
+     * @param categoryCount the current number of categories
+     * @param weights supplies the complement-coded weight of a category (used when rebuilding)
+     * @param point the input point x (the first half of the complement-coded input)
+     * @param minIntersection the smallest admissible |I ∧ w|, i.e. ρ|I|
+     * @return the candidate category indices in ascending order, or null if the weights
+     *         do not share the input's dimension
+     */
+    public synchronized int[] query(int categoryCount, IntFunction<double[]> weights,
+                                    double[] point, double minIntersection) {
+        if (!valid || size != categoryCount) {
+            if (!rebuild(categoryCount, weights)) {
+                return null;
+            }
+        }
+        if (size > 0 && point.length != dimension) {
+            return null;
+        }
+        queries++;
+        var slack = tolerance * Math.max(1.0, minIntersection);
+        var result = new int[Math.min(size, 16)];
+        var found = 0;
+        if (root == null) {
+            return result;
+        }
+
+        var stack = new Node[64];
+        var top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            var node = stack[--top];
+            var radius = node.maxNorm - minIntersection + slack;
+            if (radius < 0.0 || distance(point, node.lower, node.upper, radius) > radius) {
+                continue;
+            }
+            if (node.leaf) {
+                for (int e = 0; e < node.count; e++) {
+                    var category = node.entries[e];
+                    var r = norms[category] - minIntersection + slack;
+                    if (r >= 0.0 && distance(point, lower[category], upper[category], r) <= r) {
+                        if (found == result.length) {
+                            result = Arrays.copyOf(result, Math.max(16, found * 2));
+                        }
+                        result[found++] = category;
+                    }
+                }
+            } else {
+                for (int c = 0; c < node.count; c++) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = node.children[c];
+                }
+            }
+        }
+        candidates += found;
+        result = Arrays.copyOf(result, found);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Number of queries performed.
+     */
+    public synchronized long getQueryCount() {
+        return queries;
+    }
+
+    /**
+     * Number of candidates returned across all queries.
+     */
+    public synchronized long getCandidateCount() {
+        return candidates;
+    }
+
+    /**
+     * Height of the tree (0 when empty).
+     */
+    public synchronized int height() {
+        var height = 0;
+        for (var node = root; node != null; node = node.leaf ? null : node.children[0]) {
+            height++;
+        }
+        return height;
+    }
+
+    // L1 distance from the point to the box, abandoning once it exceeds the limit
+    private static double distance(double[] point, double[] lo, double[] hi, double limit) {
+        var d = 0.0;
+        for (int i = 0; i < point.length; i++) {
+            var x = point[i];
+            // Both terms are kept so the identity also holds for inverted (u > v) boxes
+            d += Math.max(0.0, lo[i] - x) + Math.max(0.0, x - hi[i]);
+            if (d > limit) {
+                return d;
+            }
+        }
+        return d;
+    }
+
+    private static boolean contains(double[] outerLo, double[] outerHi, double[] innerLo, double[] innerHi) {
+        for (int i = 0; i < outerLo.length; i++) {
+            if (innerLo[i] < outerLo[i] || innerHi[i] > outerHi[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void store(int index, double[] weight) {
+        var lo = new double[dimension];
+        var hi = new double[dimension];
+        var norm = 0.0;
+        for (int i = 0; i < dimension; i++) {
+            lo[i] = weight[i];
+            hi[i] = 1.0 - weight[dimension + i];
+            norm += weight[i] + weight[dimension + i];
+        }
+        lower[index] = lo;
+        upper[index] = hi;
+        norms[index] = norm;
+    }
+
+    private boolean rebuild(int categoryCount, IntFunction<double[]> weights) {
+        root = null;
+        size = 0;
+        dimension = -1;
+        ensureCapacity(categoryCount);
+        for (int c = 0; c < categoryCount; c++) {
+            var weight = weights.apply(c);
+            if (dimension < 0) {
+                if (weight.length % 2 != 0) {
+                    return false;
+                }
+                dimension = weight.length / 2;
+            } else if (weight.length != 2 * dimension) {
+                return false;
+            }
+            store(c, weight);
+            size++;
+            insert(c);
+        }
+        valid = true;
+        return true;
+    }
+
+    private void insert(int category) {
+        if (root == null) {
+            root = new Node(true, maxEntries, dimension);
+        }
+        var node = root;
+        while (!node.leaf) {
+            node = chooseChild(node, lower[category], upper[category]);
+        }
+        node.addEntry(category, lower[category], upper[category], norms[category]);
+        leafOf[category] = node;
+        for (var parent = node.parent; parent != null; parent = parent.parent) {
+            parent.include(lower[category], upper[category]);
+            parent.maxNorm = Math.max(parent.maxNorm, norms[category]);
+        }
+        if (node.count > maxEntries) {
+            split(node);
+        }
+    }
+
+    // Least enlargement of the box margin (sum of extents), smaller margin on ties
+    private Node chooseChild(Node node, double[] lo, double[] hi) {
+        Node best = null;
+        var bestEnlargement = Double.POSITIVE_INFINITY;
+        var bestMargin = Double.POSITIVE_INFINITY;
+        for (int c = 0; c < node.count; c++) {
+            var child = node.children[c];
+            var margin = 0.0;
+            var enlarged = 0.0;
+            for (int i = 0; i < dimension; i++) {
+                margin += child.upper[i] - child.lower[i];
+                enlarged += Math.max(child.upper[i], hi[i]) - Math.min(child.lower[i], lo[i]);
+            }
+            var enlargement = enlarged - margin;
+            if (enlargement < bestEnlargement || (enlargement == bestEnlargement && margin < bestMargin)) {
+                best = child;
+                bestEnlargement = enlargement;
+                bestMargin = margin;
+            }
+        }
+        return best;
+    }
+
+    // Split along the axis with the widest spread of centers, at the median
+    private void split(Node node) {
+        var count = node.count;
+        var centers = new double[count][];
+        for (int k = 0; k < count; k++) {
+            var lo = node.leaf ? lower[node.entries[k]] : node.children[k].lower;
+            var hi = node.leaf ? upper[node.entries[k]] : node.children[k].upper;
+            var center = new double[dimension];
+            for (int i = 0; i < dimension; i++) {
+                center[i] = 0.5 * (lo[i] + hi[i]);
+            }
+            centers[k] = center;
+        }
+        var axis = 0;
+        var widest = -1.0;
+        for (int i = 0; i < dimension; i++) {
+            var min = Double.POSITIVE_INFINITY;
+            var max = Double.NEGATIVE_INFINITY;
+            for (var center : centers) {
+                min = Math.min(min, center[i]);
+                max = Math.max(max, center[i]);
+            }
+            if (max - min > widest) {
+                widest = max - min;
+                axis = i;
+            }
+        }
+        var order = new Integer[count];
+        for (int k = 0; k < count; k++) {
+            order[k] = k;
+        }
+        final var splitAxis = axis;
+        Arrays.sort(order, (a, b) -> Double.compare(centers[a][splitAxis], centers[b][splitAxis]));
+
+        var left = new Node(node.leaf, maxEntries, dimension);
+        var right = new Node(node.leaf, maxEntries, dimension);
+        var half = count / 2;
+        for (int k = 0; k < count; k++) {
+            var target = k < half ? left : right;
+            var slot = order[k];
+            if (node.leaf) {
+                var category = node.entries[slot];
+                target.addEntry(category, lower[category], upper[category], norms[category]);
+                leafOf[category] = target;
+            } else {
+                target.addChild(node.children[slot]);
+            }
+        }
+
+        var parent = node.parent;
+        if (parent == null) {
+            root = new Node(false, maxEntries, dimension);
+            root.addChild(left);
+            root.addChild(right);
+            return;
+        }
+        parent.replaceChild(node, left);
+        parent.addChild(right);
+        if (parent.count > maxEntries) {
+            split(parent);
+        }
+    }
+
+    private void remove(int category) {
+        var leaf = leafOf[category];
+        leafOf[category] = null;
+        leaf.removeEntry(category);
+        var node = leaf;
+        while (node.count == 0 && node.parent != null) {
+            var parent = node.parent;
+            parent.removeChild(node);
+            node = parent;
+        }
+        for (; node != null; node = node.parent) {
+            node.recomputeBounds(lower, upper, norms);
+        }
+        while (root != null && !root.leaf && root.count == 1) {
+            root = root.children[0];
+            root.parent = null;
+        }
+        if (root != null && root.count == 0) {
+            root = null;
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= norms.length) {
+            return;
+        }
+        var grown = Math.max(required, norms.length * 2);
+        lower = Arrays.copyOf(lower, grown);
+        upper = Arrays.copyOf(upper, grown);
+        norms = Arrays.copyOf(norms, grown);
+        leafOf = Arrays.copyOf(leafOf, grown);
+    }
+
+    private static final class Node {
+        final boolean leaf;
+        final double[] lower;
+        final double[] upper;
+        final int[] entries;
+        final Node[] children;
+        Node parent;
+        int count;
+        double maxNorm = Double.NEGATIVE_INFINITY;
+
+        Node(boolean leaf, int maxEntries, int dimension) {
+            this.leaf = leaf;
+            this.lower = new double[dimension];
+            this.upper = new double[dimension];
+            Arrays.fill(lower, Double.POSITIVE_INFINITY);
+            Arrays.fill(upper, Double.NEGATIVE_INFINITY);
+            // One spare slot holds the overflowing entry until the node is split
+            this.entries = leaf ? new int[maxEntries + 1] : null;
+            this.children = leaf ? null : new Node[maxEntries + 1];
+        }
+
+        void include(double[] lo, double[] hi) {
+            for (int i = 0; i < lower.length; i++) {
+                lower[i] = Math.min(lower[i], lo[i]);
+                upper[i] = Math.max(upper[i], hi[i]);
+            }
+        }
+
+        void addEntry(int category, double[] lo, double[] hi, double norm) {
+            entries[count++] = category;
+            include(lo, hi);
+            maxNorm = Math.max(maxNorm, norm);
+        }
+
+        void addChild(Node child) {
+            children[count++] = child;
+            child.parent = this;
+            include(child.lower, child.upper);
+            maxNorm = Math.max(maxNorm, child.maxNorm);
+        }
+
+        void replaceChild(Node old, Node replacement) {
+            for (int c = 0; c < count; c++) {
+                if (children[c] == old) {
+                    children[c] = replacement;
+                    replacement.parent = this;
+                    return;
+                }
+            }
+            throw new IllegalStateException("Child not found in parent node");
+        }
+
+        void removeEntry(int category) {
+            for (int e = 0; e < count; e++) {
+                if (entries[e] == category) {
+                    entries[e] = entries[--count];
+                    return;
+                }
+            }
+            throw new IllegalStateException("Category " + category + " not found in leaf");
+        }
+
+        void removeChild(Node child) {
+            for (int c = 0; c < count; c++) {
+                if (children[c] == child) {
+                    children[c] = children[--count];
+                    children[count] = null;
+                    return;
+                }
+            }
+            throw new IllegalStateException("Child not found in parent node");
+        }
+
+        void recomputeBounds(double[][] lo, double[][] hi, double[] norms) {
+            Arrays.fill(lower, Double.POSITIVE_INFINITY);
+            Arrays.fill(upper, Double.NEGATIVE_INFINITY);
+            maxNorm = Double.NEGATIVE_INFINITY;
+            if (leaf) {
+                for (int e = 0; e < count; e++) {
+                    include(lo[entries[e]], hi[entries[e]]);
+                    maxNorm = Math.max(maxNorm, norms[entries[e]]);
+                }
+            } else {
+                for (int c = 0; c < count; c++) {
+                    include(children[c].lower, children[c].upper);
+                    maxNorm = Math.max(maxNorm, children[c].maxNorm);
+                }
+            }
+        }
+    }
+}
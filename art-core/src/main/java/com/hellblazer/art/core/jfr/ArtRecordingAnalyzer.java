@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.core.jfr;
+
+import com.hellblazer.art.core.utils.LogLinearHistogram;
+import jdk.jfr.Configuration;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summarizes the ART events of a flight recording per algorithm.
+ *
+ * Record with the bundled {@code art.jfc} settings ({@link #configuration()}), then
+ * run {@code ArtRecordingAnalyzer <recording.jfr>} or call {@link #analyze(Path)}. The summary gives,
+ * for each algorithm, the step count and category creation rate, the mean number of candidates
+ * tested and reset per step, and latency percentiles of each search phase, which show whether slow
+ * steps are spent on activations, vigilance search or weight updates.
+ *
+ * @author Hal Hildebrand
+ */
+public final class ArtRecordingAnalyzer {
+
+    private static final String CONFIGURATION = "art.jfc";
+
+    private ArtRecordingAnalyzer() {
+    }
+
+    /**
+     * The bundled ART event settings, for starting a {@link jdk.jfr.Recording} programmatically.
+     */
+    public static Configuration configuration() {
+        try (var stream = ArtRecordingAnalyzer.class.getResourceAsStream(CONFIGURATION)) {
+            if (stream == null) {
+                throw new IllegalStateException("Missing JFR configuration: " + CONFIGURATION);
+            }
+            return Configuration.create(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid JFR configuration: " + CONFIGURATION, e);
+        }
+    }
+
+    /**
+     * Summarize the ART events of a recording.
+     *
+     * @param recording the recording file
+     * @return the summaries keyed by algorithm name
+     */
+    public static Map<String, AlgorithmSummary> analyze(Path recording) throws IOException {
+        var accumulators = new TreeMap<String, Accumulator>();
+        try (var file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                var event = file.readEvent();
+                var name = event.getEventType().getName();
+                if (StepFitEvent.NAME.equals(name) || StepPredictEvent.NAME.equals(name)
+                    || MatchTrackingEvent.NAME.equals(name)) {
+                    accumulators.computeIfAbsent(algorithmOf(event), Accumulator::new).add(name, event);
+                }
+            }
+        }
+        var summaries = new TreeMap<String, AlgorithmSummary>();
+        accumulators.forEach((algorithm, accumulator) -> summaries.put(algorithm, accumulator.summary()));
+        return summaries;
+    }
+
+    /**
+     * Render summaries as a plain text report; latencies are in microseconds.
+     */
+    public static String format(Map<String, AlgorithmSummary> summaries) {
+        var report = new StringBuilder();
+        for (var summary : summaries.values()) {
+            report.append(summary.algorithm()).append('\n');
+            if (summary.steps() > 0) {
+                report.append(String.format("  stepFit: %d steps, %.1f%% created a category, %.1f%% indexed search%n",
+                                            summary.steps(), percent(summary.categoriesCreated(), summary.steps()),
+                                            percent(summary.indexedSteps(), summary.steps())));
+                report.append(String.format("    per step: %.1f categories, %.2f candidates tested, %.2f resets, "
+                                            + "%d match tracking steps in total%n",
+                                            summary.meanCategoryCount(), summary.meanCandidatesTested(),
+                                            summary.meanResets(), summary.matchTrackingSteps()));
+                appendLatency(report, "total", summary.stepTime());
+                appendLatency(report, "activation", summary.activationTime());
+                appendLatency(report, "search", summary.searchTime());
+                appendLatency(report, "update", summary.updateTime());
+            }
+            if (summary.predictions() > 0) {
+                report.append(String.format("  stepPredict: %d predictions%n", summary.predictions()));
+                appendLatency(report, "total", summary.predictTime());
+            }
+            if (summary.matchTrackingSearches() > 0) {
+                report.append(String.format("  ARTMAP match tracking: %d searches, %.2f attempts and %.2f mismatches "
+                                            + "per search, %d fallbacks%n",
+                                            summary.matchTrackingSearches(), summary.meanAttempts(),
+                                            (double) summary.mismatches() / summary.matchTrackingSearches(),
+                                            summary.fallbacks()));
+                appendLatency(report, "total", summary.matchTrackingTime());
+            }
+        }
+        return report.toString();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: ArtRecordingAnalyzer <recording.jfr>");
+            System.exit(1);
+        }
+        System.out.print(format(analyze(Path.of(args[0]))));
+    }
+
+    private static String algorithmOf(RecordedEvent event) {
+        var algorithm = event.getString("algorithm");
+        return algorithm == null ? "unknown" : algorithm;
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0.0 : 100.0 * part / whole;
+    }
+
+    private static void appendLatency(StringBuilder report, String phase, LogLinearHistogram.Snapshot latency) {
+        report.append(String.format("    %-10s mean %9.2f  p50 %9.2f  p90 %9.2f  p99 %9.2f  max %9.2f us%n", phase,
+                                    latency.getMean() / 1e3, latency.getValueAtQuantile(0.5) / 1e3,
+                                    latency.getValueAtQuantile(0.9) / 1e3, latency.getValueAtQuantile(0.99) / 1e3,
+                                    latency.getMax() / 1e3));
+    }
+
+    /**
+     * ART events of one algorithm. Latencies are in nanoseconds.
+     *
+     * @param algorithm             algorithm name
+     * @param steps                 stepFit events
+     * @param categoriesCreated     steps that created a category
+     * @param indexedSteps          steps served by the algorithm's pruned search
+     * @param meanCategoryCount     mean categories before a step
+     * @param meanCandidatesTested  mean vigilance tests per step
+     * @param meanResets            mean rejected candidates per step
+     * @param matchTrackingSteps    total match tracking steps within stepFit
+     * @param stepTime              stepFit latency
+     * @param activationTime        activation phase latency
+     * @param searchTime            search phase latency
+     * @param updateTime            update phase latency
+     * @param predictions           stepPredict events
+     * @param predictTime           stepPredict latency
+     * @param matchTrackingSearches ARTMAP match tracking events, keyed by the ARTa algorithm
+     * @param meanAttempts          mean vigilance levels tried per ARTMAP search
+     * @param mismatches            total map field mismatches
+     * @param fallbacks             searches that exhausted their attempts
+     * @param matchTrackingTime     ARTMAP search latency
+     */
+    public record AlgorithmSummary(String algorithm, long steps, long categoriesCreated, long indexedSteps,
+                                   double meanCategoryCount, double meanCandidatesTested, double meanResets,
+                                   long matchTrackingSteps, LogLinearHistogram.Snapshot stepTime,
+                                   LogLinearHistogram.Snapshot activationTime,
+                                   LogLinearHistogram.Snapshot searchTime,
+                                   LogLinearHistogram.Snapshot updateTime, long predictions,
+                                   LogLinearHistogram.Snapshot predictTime, long matchTrackingSearches,
+                                   double meanAttempts, long mismatches, long fallbacks,
+                                   LogLinearHistogram.Snapshot matchTrackingTime) {
+    }
+
+    private static final class Accumulator {
+        private final String algorithm;
+        private final LogLinearHistogram stepTime = new LogLinearHistogram();
+        private final LogLinearHistogram activationTime = new LogLinearHistogram();
+        private final LogLinearHistogram searchTime = new LogLinearHistogram();
+        private final LogLinearHistogram updateTime = new LogLinearHistogram();
+        private final LogLinearHistogram predictTime = new LogLinearHistogram();
+        private final LogLinearHistogram matchTrackingTime = new LogLinearHistogram();
+        private long steps;
+        private long categoriesCreated;
+        private long indexedSteps;
+        private long categoryCount;
+        private long candidatesTested;
+        private long resets;
+        private long matchTrackingSteps;
+        private long predictions;
+        private long matchTrackingSearches;
+        private long attempts;
+        private long mismatches;
+        private long fallbacks;
+
+        Accumulator(String algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        void add(String name, RecordedEvent event) {
+            var duration = event.getDuration().toNanos();
+            switch (name) {
+                case StepFitEvent.NAME -> {
+                    steps++;
+                    categoriesCreated += event.getBoolean("categoryCreated") ? 1 : 0;
+                    indexedSteps += event.getBoolean("indexedSearch") ? 1 : 0;
+                    categoryCount += event.getInt("categoryCount");
+                    candidatesTested += event.getInt("candidatesTested");
+                    resets += event.getInt("resets");
+                    matchTrackingSteps += event.getInt("matchTrackingSteps");
+                    stepTime.record(duration);
+                    activationTime.record(event.getLong("activationNanos"));
+                    searchTime.record(event.getLong("searchNanos"));
+                    updateTime.record(event.getLong("updateNanos"));
+                }
+                case StepPredictEvent.NAME -> {
+                    predictions++;
+                    predictTime.record(duration);
+                }
+                default -> {
+                    matchTrackingSearches++;
+                    attempts += event.getInt("attempts");
+                    mismatches += event.getInt("mismatches");
+                    fallbacks += event.getBoolean("fallback") ? 1 : 0;
+                    matchTrackingTime.record(duration);
+                }
+            }
+        }
+
+        AlgorithmSummary summary() {
+            return new AlgorithmSummary(algorithm, steps, categoriesCreated, indexedSteps, mean(categoryCount, steps),
+                                        mean(candidatesTested, steps), mean(resets, steps), matchTrackingSteps,
+                                        stepTime.snapshot(), activationTime.snapshot(), searchTime.snapshot(),
+                                        updateTime.snapshot(), predictions, predictTime.snapshot(),
+                                        matchTrackingSearches, mean(attempts, matchTrackingSearches), mismatches,
+                                        fallbacks, matchTrackingTime.snapshot());
+        }
+
+        private static double mean(long total, long count) {
+            return count == 0 ? 0.0 : (double) total / count;
+        }
+    }
+}
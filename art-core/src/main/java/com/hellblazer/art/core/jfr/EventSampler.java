@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.core.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Whether an ART event is recorded and which occurrences fall in its sample, decided before the
+ * event is allocated so an untraced call site pays one volatile read.
+ *
+ * The state is recomputed whenever a recording changes state: the event is on while any running
+ * recording enables it, and is sampled at the most frequent rate among them, as
+ * {@link SampleSetting} combines it. A setting changed on a running recording takes effect at the
+ * next start or stop of a recording.
+ *
+ * @author Hal Hildebrand
+ */
+final class EventSampler {
+
+    private final Class<? extends Event> eventClass;
+    private final String name;
+    private final AtomicLong count = new AtomicLong();
+    // Commit one in every n occurrences; 0 while no running recording enables the event
+    private volatile long every;
+
+    EventSampler(Class<? extends Event> eventClass, String name) {
+        this.eventClass = eventClass;
+        this.name = name;
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recordingStateChanged(Recording recording) {
+                refresh();
+            }
+        });
+        // Recordings started on the command line were running before the event class loaded
+        if (FlightRecorder.isInitialized()) {
+            refresh();
+        }
+    }
+
+    /**
+     * Whether this occurrence of the event is recorded.
+     */
+    boolean sample() {
+        var n = every;
+        return n != 0 && (n == 1 || count.getAndIncrement() % n == 0);
+    }
+
+    private void refresh() {
+        // Recording.enable(Class) keys the settings by type id, configurations by event name
+        var id = EventType.getEventType(eventClass).getId() + "#";
+        var rate = 0L;
+        for (var recording : FlightRecorder.getFlightRecorder().getRecordings()) {
+            if (recording.getState() != RecordingState.RUNNING) {
+                continue;
+            }
+            var settings = recording.getSettings();
+            var prefix = settings.containsKey(id + "enabled") ? id : name + "#";
+            if (!"true".equals(settings.get(prefix + "enabled"))) {
+                continue;
+            }
+            var n = SampleSetting.parse(settings.getOrDefault(prefix + "sample", "1"));
+            rate = rate == 0 ? n : Math.min(rate, n);
+        }
+        every = rate;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.SettingDefinition;
+import jdk.jfr.StackTrace;
+
+/**
+ * The ARTa vigilance search of one ARTMAP training step, raising vigilance after each
+ * map field mismatch until a category maps to the target.
+ *
+ * @author Hal Hildebrand
+ */
+@Name(MatchTrackingEvent.NAME)
+@Label("ARTMAP Match Tracking")
+@Category({"ART", "Learning"})
+@Description("Map field match tracking of one ARTMAP training step")
+@Enabled(false)
+@StackTrace(false)
+public final class MatchTrackingEvent extends Event {
+
+    public static final String NAME = "com.hellblazer.art.MatchTracking";
+
+    @Label("Algorithm")
+    @Description("Algorithm of the ARTa module")
+    public String algorithm;
+
+    @Label("Attempts")
+    public int attempts;
+
+    @Label("Mismatches")
+    @Description("ARTa categories rejected for mapping to another target")
+    public int mismatches;
+
+    @Label("Initial Vigilance")
+    public double initialVigilance;
+
+    @Label("Final Vigilance")
+    public double finalVigilance;
+
+    @Label("New Mapping")
+    public boolean newMapping;
+
+    @Label("Fallback")
+    @Description("The search was exhausted and the mapping overridden")
+    public boolean fallback;
+
+    // shouldCommit and commit both evaluate settings, so the sample is drawn once per event
+    private transient Boolean sampled;
+
+    private static final EventSampler SAMPLER = new EventSampler(MatchTrackingEvent.class, NAME);
+
+    /**
+     * A new event if a recording enables this event and this training step falls in its sample, else null.
+     */
+    public static MatchTrackingEvent sampled() {
+        if (!SAMPLER.sample()) {
+            return null;
+        }
+        var event = new MatchTrackingEvent();
+        event.sampled = true;
+        return event;
+    }
+
+    @Name("sample")
+    @Label("Sample")
+    @SettingDefinition
+    protected boolean sample(SampleSetting setting) {
+        if (sampled == null) {
+            sampled = setting.accept();
+        }
+        return sampled;
+    }
+}
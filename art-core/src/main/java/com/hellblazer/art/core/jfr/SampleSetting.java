@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.core.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.SettingControl;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JFR setting that commits one in every N events, e.g. {@code <setting name="sample">16</setting>}.
+ *
+ * High-rate ART events such as one per stepFit are sampled with this setting rather than a duration
+ * threshold, so a recording sees a uniform share of fast and slow steps. When several recordings
+ * are running, the most frequent rate wins. Call sites draw the sample up front through each
+ * event's {@code sampled()} factory; this setting applies to events created directly.
+ *
+ * @author Hal Hildebrand
+ */
+@Name("com.hellblazer.art.Sample")
+@Label("Sample")
+@Description("Commit one in every N events")
+public final class SampleSetting extends SettingControl {
+
+    private final AtomicLong count = new AtomicLong();
+    private volatile long every = 1;
+
+    @Override
+    public String combine(Set<String> values) {
+        var min = Long.MAX_VALUE;
+        for (var value : values) {
+            min = Math.min(min, parse(value));
+        }
+        return values.isEmpty() ? "1" : Long.toString(min);
+    }
+
+    @Override
+    public void setValue(String value) {
+        every = parse(value);
+    }
+
+    @Override
+    public String getValue() {
+        return Long.toString(every);
+    }
+
+    /**
+     * Whether the current event is in the sample.
+     */
+    boolean accept() {
+        var n = every;
+        return n <= 1 || count.getAndIncrement() % n == 0;
+    }
+
+    static long parse(String value) {
+        try {
+            return Math.max(1L, Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return 1L;
+        }
+    }
+}
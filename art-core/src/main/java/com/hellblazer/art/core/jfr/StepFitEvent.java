@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.SettingDefinition;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One {@code BaseART.stepFit}, broken down into the phases of the ART search.
+ *
+ * Activation time covers computing the choice function over the categories, search time the
+ * vigilance tests in activation order (or the whole indexed search when the algorithm has one),
+ * and update time the weight update or category creation. Disabled by default; {@link #sampled()}
+ * draws the sample before the step, so the event is only allocated and timed for sampled steps.
+ *
+ * @author Hal Hildebrand
+ */
+@Name(StepFitEvent.NAME)
+@Label("ART Step Fit")
+@Category({"ART", "Learning"})
+@Description("Per-phase latency of one ART learning step")
+@Enabled(false)
+@StackTrace(false)
+public final class StepFitEvent extends Event {
+
+    public static final String NAME = "com.hellblazer.art.StepFit";
+
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Category Count")
+    @Description("Categories before the step")
+    public int categoryCount;
+
+    @Label("Candidates Tested")
+    @Description("Categories tested against vigilance")
+    public int candidatesTested;
+
+    @Label("Resets")
+    @Description("Candidates rejected by vigilance or match reset")
+    public int resets;
+
+    @Label("Match Tracking Steps")
+    public int matchTrackingSteps;
+
+    @Label("Indexed Search")
+    @Description("The algorithm's pruned search replaced the full scan")
+    public boolean indexedSearch;
+
+    @Label("Category Index")
+    public int categoryIndex;
+
+    @Label("Category Created")
+    public boolean categoryCreated;
+
+    @Label("Activation Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long activationNanos;
+
+    @Label("Search Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long searchNanos;
+
+    @Label("Update Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long updateNanos;
+
+    // shouldCommit and commit both evaluate settings, so the sample is drawn once per event
+    private transient Boolean sampled;
+
+    private static final EventSampler SAMPLER = new EventSampler(StepFitEvent.class, NAME);
+
+    /**
+     * A new event if a recording enables this event and this step falls in its sample, else null.
+     */
+    public static StepFitEvent sampled() {
+        if (!SAMPLER.sample()) {
+            return null;
+        }
+        var event = new StepFitEvent();
+        event.sampled = true;
+        return event;
+    }
+
+    @Name("sample")
+    @Label("Sample")
+    @SettingDefinition
+    protected boolean sample(SampleSetting setting) {
+        if (sampled == null) {
+            sampled = setting.accept();
+        }
+        return sampled;
+    }
+}
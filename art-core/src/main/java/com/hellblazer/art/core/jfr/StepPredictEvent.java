@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.SettingDefinition;
+import jdk.jfr.StackTrace;
+
+/**
+ * One {@code BaseART.stepPredict}; the event duration is the activation scan.
+ *
+ * @author Hal Hildebrand
+ */
+@Name(StepPredictEvent.NAME)
+@Label("ART Step Predict")
+@Category({"ART", "Prediction"})
+@Description("Latency of one ART prediction")
+@Enabled(false)
+@StackTrace(false)
+public final class StepPredictEvent extends Event {
+
+    public static final String NAME = "com.hellblazer.art.StepPredict";
+
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Category Count")
+    public int categoryCount;
+
+    @Label("Indexed Search")
+    @Description("The algorithm's pruned search replaced the full scan")
+    public boolean indexedSearch;
+
+    @Label("Category Index")
+    @Description("Winning category, or -1 for no match")
+    public int categoryIndex;
+
+    // shouldCommit and commit both evaluate settings, so the sample is drawn once per event
+    private transient Boolean sampled;
+
+    private static final EventSampler SAMPLER = new EventSampler(StepPredictEvent.class, NAME);
+
+    /**
+     * A new event if a recording enables this event and this prediction falls in its sample, else null.
+     */
+    public static StepPredictEvent sampled() {
+        if (!SAMPLER.sample()) {
+            return null;
+        }
+        var event = new StepPredictEvent();
+        event.sampled = true;
+        return event;
+    }
+
+    @Name("sample")
+    @Label("Sample")
+    @SettingDefinition
+    protected boolean sample(SampleSetting setting) {
+        if (sampled == null) {
+            sampled = setting.accept();
+        }
+        return sampled;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.core.utils;
+
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Orderings of category indices by primitive per-category keys, without boxing the indices.
+ *
+ * The sort is a stable merge sort over an {@code int[]} of indices, so indices with equal keys
+ * stay in index order, as sorting boxed indices with {@code Arrays.sort} would leave them.
+ *
+ * @author Hal Hildebrand
+ */
+public final class IndexSort {
+
+    // Runs shorter than this are insertion sorted before merging
+    private static final int RUN = 32;
+
+    private IndexSort() {
+    }
+
+    /**
+     * Indices {@code 0..count-1} by ascending key.
+     */
+    public static int[] ascending(long[] keys, int count) {
+        return sort(count, (a, b) -> Long.compare(keys[a], keys[b]));
+    }
+
+    /**
+     * Indices {@code 0..count-1} by descending key.
+     */
+    public static int[] descending(long[] keys, int count) {
+        return sort(count, (a, b) -> Long.compare(keys[b], keys[a]));
+    }
+
+    /**
+     * Indices {@code 0..count-1} by descending key.
+     */
+    public static int[] descending(double[] keys, int count) {
+        return sort(count, (a, b) -> Double.compare(keys[b], keys[a]));
+    }
+
+    /**
+     * Indices {@code 0..count-1} ordered by a comparator of two indices.
+     *
+     * @param count the number of indices
+     * @param comparator compares two indices, negative when the first sorts first
+     * @return the sorted indices, equal indices in index order
+     */
+    public static int[] sort(int count, IntBinaryOperator comparator) {
+        var order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        for (int from = 0; from < count; from += RUN) {
+            var to = Math.min(from + RUN, count);
+            for (int i = from + 1; i < to; i++) {
+                var index = order[i];
+                var j = i - 1;
+                while (j >= from && comparator.applyAsInt(order[j], index) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = index;
+            }
+        }
+        if (count <= RUN) {
+            return order;
+        }
+        var source = order;
+        var target = new int[count];
+        for (int width = RUN; width < count; width *= 2) {
+            for (int lo = 0; lo < count; lo += 2 * width) {
+                var mid = Math.min(lo + width, count);
+                var hi = Math.min(lo + 2 * width, count);
+                int i = lo, j = mid, k = lo;
+                while (i < mid && j < hi) {
+                    // Ties take the left run, which holds the lower indices
+                    target[k++] = comparator.applyAsInt(source[j], source[i]) < 0 ? source[j++] : source[i++];
+                }
+                while (i < mid) {
+                    target[k++] = source[i++];
+                }
+                while (j < hi) {
+                    target[k++] = source[j++];
+                }
+            }
+            var swap = source;
+            source = target;
+            target = swap;
+        }
+        return source;
+    }
+}
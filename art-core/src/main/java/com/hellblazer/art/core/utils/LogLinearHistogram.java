@@ -0,0 +1,369 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.core.utils;
+
+import java.util.Arrays;
+
+import static com.hellblazer.art.core.utils.StripedCounter.CELLS;
+import static com.hellblazer.art.core.utils.StripedCounter.PAD;
+
+/**
+ * Concurrent histogram of non-negative long values, such as latencies in nanoseconds.
+ *
+ * Buckets are log-linear: each power of two is split into {@value #SUB_BUCKETS} equal sub-buckets,
+ * so any recorded value is known to within 1/{@value #SUB_BUCKETS} of itself while the full long
+ * range needs fewer than a thousand buckets. Values below {@value #SUB_BUCKETS} are exact.
+ * Counts are striped per thread like {@link StripedCounter}, so recording is a handful of
+ * atomic adds and allocates nothing. {@link #snapshot()} reads the stripes without blocking
+ * writers; a snapshot taken during recording may miss values recorded concurrently.
+ *
+ * A stripe is {@value #BUCKETS} buckets, about 7.7 KB. A histogram starts with one stripe and
+ * doubles its stripes, up to the maximum given at construction (at most 16, about 124 KB), only
+ * when a bucket update loses a race with another thread. A histogram recorded by one thread or
+ * under a lock therefore stays at a single stripe. Snapshots merge only the buckets between the
+ * recorded minimum and maximum.
+ *
+ * @author Hal Hildebrand
+ */
+public final class LogLinearHistogram {
+
+    static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    // Histograms are large, so they use fewer stripes than counters
+    private static final int MAX_STRIPES = Math.min(StripedCounter.STRIPES, 16);
+
+    // Each stripe holds its statistics in the first cache line, then its buckets
+    private static final int SUM = 0;
+    private static final int MIN = 1;
+    private static final int MAX = 2;
+
+    private final int maxStripes;
+    private volatile long[][] stripes;
+
+    public LogLinearHistogram() {
+        this(MAX_STRIPES);
+    }
+
+    /**
+     * Create a histogram with at most the given number of stripes. A single stripe suits
+     * histograms that are recorded under a lock, where striping only costs memory.
+     *
+     * @param stripes the maximum number of stripes, rounded down to a power of two
+     */
+    public LogLinearHistogram(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Stripes must be positive, got: " + stripes);
+        }
+        this.maxStripes = Integer.highestOneBit(Math.min(stripes, MAX_STRIPES));
+        this.stripes = new long[][] {newStripe()};
+    }
+
+    /**
+     * Record a value; negative values are recorded as zero.
+     */
+    public void record(long value) {
+        var v = Math.max(0L, value);
+        var current = stripes;
+        var cells = current[StripedCounter.stripe() & (current.length - 1)];
+        var bucket = PAD + bucketIndex(v);
+        var count = (long) CELLS.getVolatile(cells, bucket);
+        if (!CELLS.compareAndSet(cells, bucket, count, count + 1)) {
+            CELLS.getAndAdd(cells, bucket, 1L);
+            grow(current);
+        }
+        CELLS.getAndAdd(cells, SUM, v);
+        var min = (long) CELLS.getVolatile(cells, MIN);
+        while (v < min && !CELLS.compareAndSet(cells, MIN, min, v)) {
+            min = (long) CELLS.getVolatile(cells, MIN);
+        }
+        var max = (long) CELLS.getVolatile(cells, MAX);
+        while (v > max && !CELLS.compareAndSet(cells, MAX, max, v)) {
+            max = (long) CELLS.getVolatile(cells, MAX);
+        }
+    }
+
+    /**
+     * Number of stripes currently allocated.
+     */
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Merge the stripes into an immutable snapshot without blocking writers.
+     */
+    public Snapshot snapshot() {
+        var current = stripes;
+        var sum = 0L;
+        var min = Long.MAX_VALUE;
+        var max = Long.MIN_VALUE;
+        for (var cells : current) {
+            sum += (long) CELLS.getVolatile(cells, SUM);
+            min = Math.min(min, (long) CELLS.getVolatile(cells, MIN));
+            max = Math.max(max, (long) CELLS.getVolatile(cells, MAX));
+        }
+        if (min > max) {
+            return Snapshot.EMPTY;
+        }
+        // Every bucket outside the recorded extremes is empty
+        var from = bucketIndex(min);
+        var merged = new long[bucketIndex(max) - from + 1];
+        for (var cells : current) {
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] += (long) CELLS.getVolatile(cells, PAD + from + i);
+            }
+        }
+        return Snapshot.of(merged, from, sum, min, max);
+    }
+
+    /**
+     * Reset all buckets. Concurrent records may survive the reset.
+     */
+    public void reset() {
+        for (var cells : stripes) {
+            for (int i = PAD; i < cells.length; i++) {
+                CELLS.setVolatile(cells, i, 0L);
+            }
+            CELLS.setVolatile(cells, SUM, 0L);
+            CELLS.setVolatile(cells, MIN, Long.MAX_VALUE);
+            CELLS.setVolatile(cells, MAX, Long.MIN_VALUE);
+        }
+    }
+
+    // Double the stripes after a collision, unless another thread already has
+    private synchronized void grow(long[][] seen) {
+        if (stripes != seen || seen.length >= maxStripes) {
+            return;
+        }
+        var grown = Arrays.copyOf(seen, seen.length * 2);
+        for (int s = seen.length; s < grown.length; s++) {
+            grown[s] = newStripe();
+        }
+        stripes = grown;
+    }
+
+    private static long[] newStripe() {
+        var cells = new long[PAD + BUCKETS];
+        cells[MIN] = Long.MAX_VALUE;
+        cells[MAX] = Long.MIN_VALUE;
+        return cells;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        var exponent = 63 - Long.numberOfLeadingZeros(value);
+        var shift = exponent - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        var shift = (index >>> SUB_BUCKET_BITS) - 1;
+        return (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        var shift = (index >>> SUB_BUCKET_BITS) - 1;
+        return lowerBound(index) + ((1L << shift) - 1);
+    }
+
+    /**
+     * Immutable histogram contents, stored sparsely as the non-empty buckets.
+     * Min and max are exact for snapshots of a histogram and bucket bounds for differences.
+     */
+    public static final class Snapshot {
+
+        public static final Snapshot EMPTY = new Snapshot(new int[0], new long[0], 0L, 0L, 0L, 0L);
+
+        private final int[] indices;
+        private final long[] bucketCounts;
+        private final long count;
+        private final long sum;
+        private final long min;
+        private final long max;
+
+        private Snapshot(int[] indices, long[] bucketCounts, long count, long sum, long min, long max) {
+            this.indices = indices;
+            this.bucketCounts = bucketCounts;
+            this.count = count;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+        }
+
+        private static Snapshot of(long[] dense, long sum, long min, long max) {
+            return of(dense, 0, sum, min, max);
+        }
+
+        /**
+         * Snapshot of dense counts, where {@code dense[i]} is the count of bucket {@code from + i}.
+         */
+        private static Snapshot of(long[] dense, int from, long sum, long min, long max) {
+            var nonEmpty = 0;
+            var count = 0L;
+            for (var c : dense) {
+                if (c != 0) {
+                    nonEmpty++;
+                    count += c;
+                }
+            }
+            if (count == 0) {
+                return EMPTY;
+            }
+            var indices = new int[nonEmpty];
+            var bucketCounts = new long[nonEmpty];
+            for (int i = 0, k = 0; i < dense.length; i++) {
+                if (dense[i] != 0) {
+                    indices[k] = from + i;
+                    bucketCounts[k++] = dense[i];
+                }
+            }
+            // Bounds from the buckets when exact extremes are unknown
+            if (min > max) {
+                min = lowerBound(indices[0]);
+                max = upperBound(indices[nonEmpty - 1]);
+            }
+            return new Snapshot(indices, bucketCounts, count, sum, min, max);
+        }
+
+        /**
+         * Values recorded after {@code earlier}, a previous snapshot of the same histogram.
+         */
+        public Snapshot minus(Snapshot earlier) {
+            if (earlier.count == 0) {
+                return this;
+            }
+            var dense = toDense();
+            for (int k = 0; k < earlier.indices.length; k++) {
+                dense[earlier.indices[k]] = Math.max(0L, dense[earlier.indices[k]] - earlier.bucketCounts[k]);
+            }
+            return of(dense, sum - earlier.sum, Long.MAX_VALUE, Long.MIN_VALUE);
+        }
+
+        /**
+         * Combined contents of two snapshots, e.g. of adjacent time intervals.
+         */
+        public Snapshot plus(Snapshot other) {
+            if (other.count == 0) {
+                return this;
+            }
+            if (count == 0) {
+                return other;
+            }
+            var dense = toDense();
+            for (int k = 0; k < other.indices.length; k++) {
+                dense[other.indices[k]] += other.bucketCounts[k];
+            }
+            return of(dense, sum + other.sum, Math.min(min, other.min), Math.max(max, other.max));
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSum() {
+            return sum;
+        }
+
+        public long getMin() {
+            return min;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+
+        /**
+         * Value at the given quantile, to within the bucket resolution.
+         *
+         * @param quantile quantile in [0, 1]
+         */
+        public double getValueAtQuantile(double quantile) {
+            if (quantile < 0.0 || quantile > 1.0) {
+                throw new IllegalArgumentException("Quantile must be in [0, 1], got: " + quantile);
+            }
+            if (count == 0) {
+                return 0.0;
+            }
+            var rank = Math.max(1L, (long) Math.ceil(quantile * count));
+            var seen = 0L;
+            for (int k = 0; k < indices.length; k++) {
+                seen += bucketCounts[k];
+                if (seen >= rank) {
+                    return Math.clamp(midpoint(indices[k]), min, max);
+                }
+            }
+            return max;
+        }
+
+        /**
+         * Standard deviation estimated from the bucket midpoints.
+         */
+        public double getStdDev() {
+            if (count < 2) {
+                return 0.0;
+            }
+            var mean = getMean();
+            var squares = 0.0;
+            for (int k = 0; k < indices.length; k++) {
+                var delta = midpoint(indices[k]) - mean;
+                squares += bucketCounts[k] * delta * delta;
+            }
+            return Math.sqrt(squares / (count - 1));
+        }
+
+        /**
+         * Number of non-empty buckets.
+         */
+        public int getBucketCount() {
+            return indices.length;
+        }
+
+        private static double midpoint(int index) {
+            return (lowerBound(index) + (double) upperBound(index)) / 2.0;
+        }
+
+        private long[] toDense() {
+            var dense = new long[BUCKETS];
+            for (int k = 0; k < indices.length; k++) {
+                dense[indices[k]] = bucketCounts[k];
+            }
+            return dense;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{count=" + count + ", mean=" + getMean() + ", min=" + min + ", max=" + max
+                   + ", buckets=" + Arrays.toString(indices) + "}";
+        }
+    }
+}
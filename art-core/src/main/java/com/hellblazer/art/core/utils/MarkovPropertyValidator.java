@@ -388,6 +388,16 @@ public interface MarkovPropertyValidator<S extends State<?>> {
 
         /** Get row sums (should be 1.0 for valid transition matrix) */
         double[] getRowSums();
+
+        /** Get a sparse view of the matrix for power iteration and forecasting */
+        default SparseTransitionMatrix toSparse() {
+            return SparseTransitionMatrix.fromDense(getMatrix());
+        }
+
+        /** Forecast the state distribution k steps ahead by repeated vector-matrix products */
+        default double[] forecast(double[] initial, int steps) {
+            return toSparse().forecast(initial, steps);
+        }
     }
 
     /**
@@ -0,0 +1,630 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.core.utils;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Sparse row-stochastic transition matrix in compressed sparse row (CSR) form.
+ *
+ * Each row is a sparse part plus an optional uniform background: P[i][j] = S[i][j] + u[i].
+ * The background represents additive smoothing without materializing it, so a Laplace-smoothed
+ * matrix keeps the storage of its observed transitions. A transposed copy of the sparse part
+ * is kept so that the vector-matrix product x·P, the core of power iteration and forecasting,
+ * gathers each output entry independently and can be computed in parallel with deterministic
+ * results.
+ *
+ * Instances are immutable and thread-safe.
+ *
+ * @author Hal Hildebrand
+ */
+public final class SparseTransitionMatrix {
+
+    private static final double TOLERANCE = 1e-9;
+    private static final int PARALLEL_THRESHOLD = 4096;
+    private static final int BLOCK_SIZE = 1024;
+
+    private final int size;
+
+    // Sparse part by row
+    private final int[] rowPointers;
+    private final int[] columns;
+    private final double[] values;
+
+    // Sparse part by column, for gathering products
+    private final int[] columnPointers;
+    private final int[] rows;
+    private final double[] columnValues;
+
+    // Uniform background of each row, or null when there is none
+    private final double[] background;
+
+    private SparseTransitionMatrix(int size, int[] rowPointers, int[] columns, double[] values,
+                                   double[] background) {
+        this.size = size;
+        this.rowPointers = rowPointers;
+        this.columns = columns;
+        this.values = values;
+        this.background = background;
+
+        // Transpose by counting sort on columns, preserving row order within each column
+        var nnz = rowPointers[size];
+        this.columnPointers = new int[size + 1];
+        this.rows = new int[nnz];
+        this.columnValues = new double[nnz];
+        for (int k = 0; k < nnz; k++) {
+            columnPointers[columns[k] + 1]++;
+        }
+        for (int j = 0; j < size; j++) {
+            columnPointers[j + 1] += columnPointers[j];
+        }
+        var next = Arrays.copyOf(columnPointers, size);
+        for (int i = 0; i < size; i++) {
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                var slot = next[columns[k]]++;
+                rows[slot] = i;
+                columnValues[slot] = values[k];
+            }
+        }
+
+        validate();
+    }
+
+    /**
+     * Creates a transition matrix from dense probabilities, keeping only the non-zero entries.
+     *
+     * @param matrix square row-stochastic matrix
+     * @return the sparse matrix
+     * @throws IllegalArgumentException if the matrix is not square and stochastic
+     */
+    public static SparseTransitionMatrix fromDense(double[][] matrix) {
+        if (matrix == null || matrix.length == 0) {
+            throw new IllegalArgumentException("Matrix cannot be null or empty");
+        }
+        var n = matrix.length;
+        var rowPointers = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            if (matrix[i] == null || matrix[i].length != n) {
+                throw new IllegalArgumentException("Matrix must be square, but row " + i + " is not of length " + n);
+            }
+            var count = 0;
+            for (var value : matrix[i]) {
+                if (value != 0.0) {
+                    count++;
+                }
+            }
+            rowPointers[i + 1] = rowPointers[i] + count;
+        }
+        var columns = new int[rowPointers[n]];
+        var values = new double[rowPointers[n]];
+        for (int i = 0, k = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (matrix[i][j] != 0.0) {
+                    columns[k] = j;
+                    values[k++] = matrix[i][j];
+                }
+            }
+        }
+        return new SparseTransitionMatrix(n, rowPointers, columns, values, null);
+    }
+
+    /**
+     * Creates a Laplace-smoothed transition matrix from transition counts:
+     * P[i][j] = (c[i][j] + α/n) / (Σ c[i] + α). Rows without observations are uniform.
+     * Only the observed transitions are stored.
+     *
+     * @param counts square matrix of transition counts
+     * @param smoothing the smoothing mass α added to each row
+     * @return the sparse matrix
+     */
+    public static SparseTransitionMatrix fromCounts(long[][] counts, double smoothing) {
+        if (counts == null || counts.length == 0) {
+            throw new IllegalArgumentException("Counts cannot be null or empty");
+        }
+        var builder = builder(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == null || counts[i].length != counts.length) {
+                throw new IllegalArgumentException("Counts must be square, but row " + i + " is not of length " + counts.length);
+            }
+            for (int j = 0; j < counts.length; j++) {
+                if (counts[i][j] != 0L) {
+                    builder.add(i, j, counts[i][j]);
+                }
+            }
+        }
+        return builder.build(smoothing);
+    }
+
+    /**
+     * Creates a builder that accumulates transition weights for a chain with the given number of states.
+     *
+     * @param states number of states
+     * @return a new builder
+     */
+    public static Builder builder(int states) {
+        return new Builder(states);
+    }
+
+    /**
+     * Result of a stationary distribution computation.
+     *
+     * @param distribution the stationary distribution estimate
+     * @param iterations number of power iterations performed
+     * @param residual largest absolute change in the final iteration
+     * @param converged whether the residual fell below the tolerance
+     */
+    public record SteadyState(double[] distribution, int iterations, double residual, boolean converged) {
+    }
+
+    /**
+     * Gets the number of states.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of explicitly stored transitions.
+     */
+    public int nonZeroCount() {
+        return rowPointers[size];
+    }
+
+    /**
+     * Gets the transition probability from one state to another.
+     */
+    public double get(int from, int to) {
+        checkState(from);
+        checkState(to);
+        var base = background == null ? 0.0 : background[from];
+        var k = Arrays.binarySearch(columns, rowPointers[from], rowPointers[from + 1], to);
+        return k >= 0 ? values[k] + base : base;
+    }
+
+    /**
+     * Materializes the matrix as dense rows.
+     */
+    public double[][] toDense() {
+        var dense = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            if (background != null) {
+                Arrays.fill(dense[i], background[i]);
+            }
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                dense[i][columns[k]] += values[k];
+            }
+        }
+        return dense;
+    }
+
+    /**
+     * Computes the vector-matrix product y = x·P, the distribution one step after x.
+     *
+     * @param x distribution over states
+     * @param y receives the product; must not be x
+     */
+    public void multiply(double[] x, double[] y) {
+        if (x.length != size || y.length != size) {
+            throw new IllegalArgumentException("Vectors must have length " + size);
+        }
+        if (x == y) {
+            throw new IllegalArgumentException("Product cannot be computed in place");
+        }
+        var shared = 0.0;
+        if (background != null) {
+            for (int i = 0; i < size; i++) {
+                shared += x[i] * background[i];
+            }
+        }
+        var offset = shared;
+        forEachBlock((from, to) -> {
+            for (int j = from; j < to; j++) {
+                var sum = 0.0;
+                for (int k = columnPointers[j]; k < columnPointers[j + 1]; k++) {
+                    sum += x[rows[k]] * columnValues[k];
+                }
+                y[j] = sum + offset;
+            }
+        });
+    }
+
+    /**
+     * Computes the stationary distribution by power iteration, stopping when no entry changes by more
+     * than the tolerance between iterations.
+     *
+     * @param warmStart initial estimate, typically a previous stationary distribution; uniform if null
+     * @param maxIterations maximum number of iterations
+     * @param tolerance convergence tolerance on the largest change of any entry
+     * @return the stationary distribution and convergence information
+     */
+    public SteadyState steadyState(double[] warmStart, int maxIterations, double tolerance) {
+        if (maxIterations < 1) {
+            throw new IllegalArgumentException("Max iterations must be positive, got: " + maxIterations);
+        }
+        var distribution = initialDistribution(warmStart);
+        var next = new double[size];
+        var residual = Double.POSITIVE_INFINITY;
+
+        for (int iteration = 1; iteration <= maxIterations; iteration++) {
+            multiply(distribution, next);
+            normalize(next);
+
+            residual = 0.0;
+            for (int i = 0; i < size; i++) {
+                residual = Math.max(residual, Math.abs(next[i] - distribution[i]));
+            }
+            if (residual < tolerance) {
+                return new SteadyState(next, iteration, residual, true);
+            }
+
+            var temp = distribution;
+            distribution = next;
+            next = temp;
+        }
+        return new SteadyState(distribution, maxIterations, residual, false);
+    }
+
+    /**
+     * Forecasts the state distribution k steps ahead by repeated vector-matrix products.
+     *
+     * @param initial current distribution over states
+     * @param steps number of steps k, at least 0
+     * @return the distribution after k steps
+     */
+    public double[] forecast(double[] initial, int steps) {
+        if (steps < 0) {
+            throw new IllegalArgumentException("Steps cannot be negative, got: " + steps);
+        }
+        if (initial == null || initial.length != size) {
+            throw new IllegalArgumentException("Initial distribution must have length " + size);
+        }
+        var current = initial.clone();
+        var next = new double[size];
+        for (int step = 0; step < steps; step++) {
+            multiply(current, next);
+            var temp = current;
+            current = next;
+            next = temp;
+        }
+        return current;
+    }
+
+    /**
+     * Forecasts the state distribution k steps ahead of a known state.
+     *
+     * @param state the current state
+     * @param steps number of steps k, at least 0
+     * @return the distribution after k steps
+     */
+    public double[] forecast(int state, int steps) {
+        checkState(state);
+        var initial = new double[size];
+        initial[state] = 1.0;
+        return forecast(initial, steps);
+    }
+
+    /**
+     * Forecasts the distributions for each of the next k steps.
+     *
+     * @param initial current distribution over states
+     * @param steps number of steps k, at least 1
+     * @return the distributions after 1..k steps
+     */
+    public double[][] forecastTrajectory(double[] initial, int steps) {
+        if (steps < 1) {
+            throw new IllegalArgumentException("Steps must be positive, got: " + steps);
+        }
+        if (initial == null || initial.length != size) {
+            throw new IllegalArgumentException("Initial distribution must have length " + size);
+        }
+        var trajectory = new double[steps][size];
+        multiply(initial, trajectory[0]);
+        for (int step = 1; step < steps; step++) {
+            multiply(trajectory[step - 1], trajectory[step]);
+        }
+        return trajectory;
+    }
+
+    /**
+     * Computes the total variation distance between P and P², summed over rows, without forming P².
+     * Row i of P² is accumulated from the sparse rows it touches; rows with a background require a dense pass.
+     *
+     * @return Σ_i ½ Σ_j |P[i][j] - P²[i][j]|
+     */
+    public double totalVariationToSquare() {
+        // Column sums of P and the background mass shared by every column
+        var columnSums = new double[size];
+        var backgroundMass = 0.0;
+        if (background != null) {
+            for (var u : background) {
+                backgroundMass += u;
+            }
+        }
+        for (int j = 0; j < size; j++) {
+            var sum = backgroundMass;
+            for (int k = columnPointers[j]; k < columnPointers[j + 1]; k++) {
+                sum += columnValues[k];
+            }
+            columnSums[j] = sum;
+        }
+
+        var blocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        var partials = new double[blocks];
+        forEachBlock((from, to) -> {
+            var difference = new double[size];
+            var touched = new int[size];
+            var marked = new boolean[size];
+            var total = 0.0;
+            for (int i = from; i < to; i++) {
+                total += rowVariation(i, columnSums, difference, touched, marked);
+            }
+            partials[from / BLOCK_SIZE] = total;
+        });
+
+        var total = 0.0;
+        for (var partial : partials) {
+            total += partial;
+        }
+        return total / 2.0;
+    }
+
+    /**
+     * Σ_j |P²[i][j] - P[i][j]| for one row. With P = S + u·1ᵀ,
+     * P²[i][j] = Σ_k S[i][k] S[k][j] + Σ_k S[i][k] u[k] + u[i] colSum[j].
+     */
+    private double rowVariation(int i, double[] columnSums, double[] difference, int[] touched, boolean[] marked) {
+        var ui = background == null ? 0.0 : background[i];
+        var shared = -ui;
+        var count = 0;
+        for (int a = rowPointers[i]; a < rowPointers[i + 1]; a++) {
+            var k = columns[a];
+            var sik = values[a];
+            if (background != null) {
+                shared += sik * background[k];
+            }
+            for (int b = rowPointers[k]; b < rowPointers[k + 1]; b++) {
+                var j = columns[b];
+                if (!marked[j]) {
+                    marked[j] = true;
+                    touched[count++] = j;
+                }
+                difference[j] += sik * values[b];
+            }
+        }
+        for (int a = rowPointers[i]; a < rowPointers[i + 1]; a++) {
+            var j = columns[a];
+            if (!marked[j]) {
+                marked[j] = true;
+                touched[count++] = j;
+            }
+            difference[j] -= values[a];
+        }
+
+        var variation = 0.0;
+        if (ui != 0.0) {
+            for (int j = 0; j < size; j++) {
+                variation += Math.abs(difference[j] + shared + ui * columnSums[j]);
+            }
+        } else {
+            for (int t = 0; t < count; t++) {
+                variation += Math.abs(difference[touched[t]] + shared);
+            }
+            variation += (size - count) * Math.abs(shared);
+        }
+
+        for (int t = 0; t < count; t++) {
+            difference[touched[t]] = 0.0;
+            marked[touched[t]] = false;
+        }
+        return variation;
+    }
+
+    private double[] initialDistribution(double[] warmStart) {
+        var distribution = new double[size];
+        if (warmStart != null) {
+            if (warmStart.length != size) {
+                throw new IllegalArgumentException("Warm start must have length " + size + ", got: " + warmStart.length);
+            }
+            System.arraycopy(warmStart, 0, distribution, 0, size);
+            if (normalize(distribution)) {
+                return distribution;
+            }
+        }
+        Arrays.fill(distribution, 1.0 / size);
+        return distribution;
+    }
+
+    // Rescales to unit mass; false if there is no positive mass to rescale
+    private static boolean normalize(double[] distribution) {
+        var sum = 0.0;
+        for (var p : distribution) {
+            if (p < 0.0 || !Double.isFinite(p)) {
+                return false;
+            }
+            sum += p;
+        }
+        if (sum <= 0.0) {
+            return false;
+        }
+        if (sum != 1.0) {
+            for (int i = 0; i < distribution.length; i++) {
+                distribution[i] /= sum;
+            }
+        }
+        return true;
+    }
+
+    private void forEachBlock(BlockTask task) {
+        if (size < PARALLEL_THRESHOLD) {
+            task.run(0, size);
+            return;
+        }
+        var blocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        IntStream.range(0, blocks).parallel().forEach(b -> task.run(b * BLOCK_SIZE, Math.min(size, (b + 1) * BLOCK_SIZE)));
+    }
+
+    @FunctionalInterface
+    private interface BlockTask {
+        void run(int from, int to);
+    }
+
+    private void checkState(int state) {
+        if (state < 0 || state >= size) {
+            throw new IllegalArgumentException("State index " + state + " is out of bounds [0, " + size + ")");
+        }
+    }
+
+    private void validate() {
+        for (int i = 0; i < size; i++) {
+            var base = background == null ? 0.0 : background[i];
+            if (base < 0.0 || !Double.isFinite(base)) {
+                throw new IllegalArgumentException("Row " + i + " has invalid background " + base);
+            }
+            var sum = base * size;
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                var value = values[k];
+                if (value < 0.0 || !Double.isFinite(value)) {
+                    throw new IllegalArgumentException(
+                        String.format("Matrix entry [%d,%d] = %f is not a probability", i, columns[k], value));
+                }
+                sum += value;
+            }
+            if (Math.abs(sum - 1.0) > TOLERANCE) {
+                throw new IllegalArgumentException(
+                    String.format("Row %d sum = %f does not equal 1.0 (tolerance: %e)", i, sum, TOLERANCE));
+            }
+        }
+    }
+
+    /**
+     * Accumulates transition weights in any order; duplicate transitions are summed.
+     */
+    public static final class Builder {
+        private final int states;
+        private int[] from = new int[16];
+        private int[] to = new int[16];
+        private double[] weights = new double[16];
+        private int count;
+
+        private Builder(int states) {
+            if (states < 1) {
+                throw new IllegalArgumentException("Number of states must be positive, got: " + states);
+            }
+            this.states = states;
+        }
+
+        /**
+         * Adds weight to a transition.
+         *
+         * @param fromState source state
+         * @param toState destination state
+         * @param weight non-negative weight, such as an observation count
+         * @return this builder
+         */
+        public Builder add(int fromState, int toState, double weight) {
+            if (fromState < 0 || fromState >= states || toState < 0 || toState >= states) {
+                throw new IllegalArgumentException(
+                    "Transition " + fromState + " -> " + toState + " is out of bounds [0, " + states + ")");
+            }
+            if (weight < 0.0 || !Double.isFinite(weight)) {
+                throw new IllegalArgumentException("Weight must be non-negative and finite, got: " + weight);
+            }
+            if (count == from.length) {
+                var capacity = count * 2;
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            from[count] = fromState;
+            to[count] = toState;
+            weights[count++] = weight;
+            return this;
+        }
+
+        /**
+         * Builds the row-normalized matrix without smoothing; rows without weight are uniform.
+         */
+        public SparseTransitionMatrix build() {
+            return build(0.0);
+        }
+
+        /**
+         * Builds the Laplace-smoothed matrix P[i][j] = (w[i][j] + α/n) / (Σ w[i] + α).
+         * Rows without weight are uniform.
+         *
+         * @param smoothing the smoothing mass α, at least 0
+         */
+        public SparseTransitionMatrix build(double smoothing) {
+            if (smoothing < 0.0 || !Double.isFinite(smoothing)) {
+                throw new IllegalArgumentException("Smoothing must be non-negative and finite, got: " + smoothing);
+            }
+
+            // Bucket entries by row, then sort and merge each row by column
+            var rowPointers = new int[states + 1];
+            for (int e = 0; e < count; e++) {
+                rowPointers[from[e] + 1]++;
+            }
+            for (int i = 0; i < states; i++) {
+                rowPointers[i + 1] += rowPointers[i];
+            }
+            var next = Arrays.copyOf(rowPointers, states);
+            var keys = new long[count];
+            for (int e = 0; e < count; e++) {
+                keys[next[from[e]]++] = ((long) to[e] << 32) | e;
+            }
+
+            var columns = new int[count];
+            var values = new double[count];
+            var background = new double[states];
+            var merged = new int[states + 1];
+            var nnz = 0;
+            for (int i = 0; i < states; i++) {
+                Arrays.sort(keys, rowPointers[i], rowPointers[i + 1]);
+                var rowStart = nnz;
+                var total = 0.0;
+                for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                    var column = (int) (keys[k] >>> 32);
+                    var weight = weights[(int) keys[k]];
+                    total += weight;
+                    if (nnz > rowStart && columns[nnz - 1] == column) {
+                        values[nnz - 1] += weight;
+                    } else if (weight != 0.0) {
+                        columns[nnz] = column;
+                        values[nnz++] = weight;
+                    }
+                }
+                if (total <= 0.0) {
+                    nnz = rowStart;
+                    background[i] = 1.0 / states;
+                } else {
+                    var denominator = total + smoothing;
+                    for (int k = rowStart; k < nnz; k++) {
+                        values[k] /= denominator;
+                    }
+                    background[i] = smoothing / states / denominator;
+                }
+                merged[i + 1] = nnz;
+            }
+
+            return new SparseTransitionMatrix(states, merged, Arrays.copyOf(columns, nnz),
+                                              Arrays.copyOf(values, nnz), background);
+        }
+    }
+}
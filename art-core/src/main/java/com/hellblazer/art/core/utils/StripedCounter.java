@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.core.utils;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Monotonic counter striped across cache lines so that concurrent writers do not contend.
+ *
+ * Each thread adds to the stripe selected by its thread id; a stripe occupies its own cache line,
+ * so uncontended updates stay core-local. Updates allocate nothing. {@link #sum()} reads every
+ * stripe without blocking writers and is exact once writers are quiescent.
+ *
+ * @author Hal Hildebrand
+ */
+public final class StripedCounter {
+
+    static final VarHandle CELLS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // Longs per 64 byte cache line; stripe i lives at index i * PAD
+    static final int PAD = 8;
+
+    // Stripe count: processors rounded up to a power of two, capped
+    static final int STRIPES = Math.min(64, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1);
+
+    private final long[] cells = new long[STRIPES * PAD];
+
+    /**
+     * Stripe of the calling thread.
+     */
+    static int stripe() {
+        return (int) Thread.currentThread().threadId() & (STRIPES - 1);
+    }
+
+    public void increment() {
+        CELLS.getAndAdd(cells, stripe() * PAD, 1L);
+    }
+
+    public void add(long delta) {
+        CELLS.getAndAdd(cells, stripe() * PAD, delta);
+    }
+
+    /**
+     * Current total across all stripes.
+     */
+    public long sum() {
+        var sum = 0L;
+        for (int s = 0; s < STRIPES; s++) {
+            sum += (long) CELLS.getVolatile(cells, s * PAD);
+        }
+        return sum;
+    }
+
+    /**
+     * Reset to zero. Concurrent updates may survive the reset.
+     */
+    public void reset() {
+        for (int s = 0; s < STRIPES; s++) {
+            CELLS.setVolatile(cells, s * PAD, 0L);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(sum());
+    }
+}
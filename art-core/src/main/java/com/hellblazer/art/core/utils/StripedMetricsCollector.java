@@ -0,0 +1,1806 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.core.utils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Lock-free {@link MetricsCollector} for hot paths.
+ *
+ * Numeric metrics (counters, gauges, timers and histograms) are recorded into striped primitive
+ * structures: {@link StripedCounter}s and {@link LogLinearHistogram}s. Hot paths obtain these once
+ * through {@link #counter}, {@link #gauge}, {@link #timer} or {@link #histogram} and then record
+ * without allocation or locking. At each rollover, once per bucket duration, the collector takes
+ * the difference from the previous snapshot and writes it as a time bucket into the metric's ring.
+ * Rings are fixed-size arrays allocated up front for the number of entries the retention policy
+ * keeps, and the oldest entry's slot is reused once a ring is full. Queries combine the completed
+ * buckets with the live partial bucket, read without pausing writers.
+ *
+ * Values collected through {@link #collect} for numeric metrics feed the same structures, and
+ * their timestamps and per-measurement labels are not retained. Other value types are kept as
+ * individual points, subject to the same retention policy.
+ *
+ * @author Hal Hildebrand
+ */
+public final class StripedMetricsCollector implements MetricsCollector {
+
+    // Rough per-entry footprint used for memory estimates and MEMORY_BASED retention
+    private static final long ENTRY_BYTES = 96L;
+    // Ring slots allocated up front; a ring retaining more entries grows toward its limit
+    private static final int PREALLOCATED_SLOTS = 1024;
+
+    private final Clock clock;
+    private final long bucketMillis;
+    private final Instant created;
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Stream> streams = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Point> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    // Rollover state; writers never take this lock
+    private final ReentrantLock rolloverLock = new ReentrantLock();
+    private long bucketStart;
+
+    private volatile boolean enabled = true;
+    private volatile boolean closed;
+    private volatile CollectionMode mode = CollectionMode.IMMEDIATE;
+    private volatile Retention retention;
+    private volatile ScheduledExecutorService scheduler;
+    private final boolean autoRollover;
+
+    // Collector statistics
+    private final StripedCounter collected = new StripedCounter();
+    private final StripedCounter errors = new StripedCounter();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong flushNanos = new AtomicLong();
+    private final AtomicLong flushErrors = new AtomicLong();
+    private volatile Instant lastFlush;
+    private final AtomicLong retentions = new AtomicLong();
+    private final AtomicLong removed = new AtomicLong();
+    private volatile Instant lastRetention;
+
+    private StripedMetricsCollector(Builder builder) {
+        this.clock = builder.clock;
+        this.bucketMillis = builder.bucketDuration.toMillis();
+        this.created = clock.instant();
+        this.bucketStart = clock.millis();
+        this.retention = Retention.of(builder.policy, builder.parameter);
+        this.autoRollover = builder.autoRollover;
+        if (autoRollover) {
+            scheduler().scheduleAtFixedRate(this::rollover, bucketMillis, bucketMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // ==================== HOT PATH HANDLES ====================
+
+    /**
+     * Get the counter of a COUNTER metric, registering the metric if necessary.
+     */
+    public StripedCounter counter(String metricName) {
+        return handle(metricName, MetricValueType.COUNTER).counter;
+    }
+
+    /**
+     * Get the gauge of a GAUGE metric, registering the metric if necessary.
+     */
+    public Gauge gauge(String metricName) {
+        return handle(metricName, MetricValueType.GAUGE).gauge;
+    }
+
+    /**
+     * Get the histogram of a TIMER metric, registering the metric if necessary.
+     * Durations are recorded in nanoseconds.
+     */
+    public LogLinearHistogram timer(String metricName) {
+        return handle(metricName, MetricValueType.TIMER).histogram;
+    }
+
+    /**
+     * Get the histogram of a HISTOGRAM metric, registering the metric if necessary.
+     */
+    public LogLinearHistogram histogram(String metricName) {
+        return handle(metricName, MetricValueType.HISTOGRAM).histogram;
+    }
+
+    /**
+     * Gauge holding the most recent value of a measurement.
+     */
+    public static final class Gauge {
+        private volatile double value;
+        private final StripedCounter updates = new StripedCounter();
+
+        public void set(double value) {
+            this.value = value;
+            updates.increment();
+        }
+
+        public double get() {
+            return value;
+        }
+    }
+
+    private Series handle(String metricName, MetricValueType type) {
+        var existing = series.get(Objects.requireNonNull(metricName, "Metric name cannot be null"));
+        if (existing == null) {
+            registerMetric(metricName, type, metricName, Map.of());
+            existing = series.get(metricName);
+        }
+        if (existing.type != type) {
+            throw new IllegalArgumentException("Metric " + metricName + " is a " + existing.type + ", not a " + type);
+        }
+        return existing;
+    }
+
+    // ==================== REGISTRATION ====================
+
+    @Override
+    public String registerMetric(String metricName, MetricValueType valueType, String description,
+                                 Map<String, String> labels) {
+        Objects.requireNonNull(metricName, "Metric name cannot be null");
+        Objects.requireNonNull(valueType, "Value type cannot be null");
+        var policy = retention;
+        var registered = series.computeIfAbsent(metricName, name -> new Series(
+            name + "#" + ids.incrementAndGet(), name, valueType, description == null ? "" : description,
+            labels == null ? Map.of() : Map.copyOf(labels), clock.instant(),
+            policy.preallocated(bucketMillis, series.size() + 1), policy.maxEntries(series.size() + 1)));
+        if (registered.type != valueType) {
+            throw new IllegalArgumentException(
+                "Metric " + metricName + " is already registered as " + registered.type);
+        }
+        return registered.id;
+    }
+
+    @Override
+    public boolean unregisterMetric(String metricId) {
+        for (var entry : series.values()) {
+            if (entry.id.equals(metricId)) {
+                entry.active = false;
+                return series.remove(entry.name, entry);
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Map<String, MetricInfo> getRegisteredMetrics() {
+        return Map.copyOf(series);
+    }
+
+    @Override
+    public Optional<MetricInfo> getMetricInfo(String metricName) {
+        return Optional.ofNullable(series.get(metricName));
+    }
+
+    // ==================== COLLECTION ====================
+
+    @Override
+    public void collect(String metricName, Object value, Instant timestamp, Map<String, String> labels) {
+        Objects.requireNonNull(metricName, "Metric name cannot be null");
+        Objects.requireNonNull(value, "Value cannot be null");
+        if (!enabled) {
+            return;
+        }
+        var target = series.get(metricName);
+        if (target == null) {
+            registerMetric(metricName, inferType(value), metricName, Map.of());
+            target = series.get(metricName);
+        }
+        var point = new Point(metricName, value, timestamp == null ? clock.instant() : timestamp,
+                              mergeLabels(target.labels, labels), target.type);
+        var current = mode;
+        if (current == CollectionMode.BATCHED || current == CollectionMode.ASYNC) {
+            pending.offer(point);
+        } else {
+            apply(target, point);
+        }
+    }
+
+    /**
+     * Collects each entry of the batch in one pass. Readers may observe a partially applied batch.
+     */
+    @Override
+    public void collectBatch(Map<String, Object> metricBatch, Instant timestamp) {
+        Objects.requireNonNull(metricBatch, "Metric batch cannot be null");
+        for (var entry : metricBatch.entrySet()) {
+            collect(entry.getKey(), entry.getValue(), timestamp, Map.of());
+        }
+    }
+
+    private void apply(Series target, Point point) {
+        switch (target.type) {
+            case COUNTER -> target.counter.add(Math.round(number(target, point.value)));
+            case GAUGE -> target.gauge.set(number(target, point.value));
+            case TIMER -> target.histogram.record(point.value instanceof Duration d
+                                                  ? d.toNanos() : Math.round(number(target, point.value)));
+            case HISTOGRAM -> target.histogram.record(Math.round(number(target, point.value)));
+            default -> {
+                if (target.points.add(point)) {
+                    removed.incrementAndGet();
+                }
+                target.collected.increment();
+                target.lastCollection = point.timestamp;
+                trimEntries(target, retention, clock.millis());
+                offerToStreams(point);
+            }
+        }
+        collected.increment();
+    }
+
+    private double number(Series target, Object value) {
+        if (value instanceof Number n) {
+            return n.doubleValue();
+        }
+        if (value instanceof Boolean b) {
+            return b ? 1.0 : 0.0;
+        }
+        errors.increment();
+        throw new IllegalArgumentException("Metric " + target.name + " expects numeric values, got: " + value);
+    }
+
+    private static MetricValueType inferType(Object value) {
+        if (value instanceof Duration) {
+            return MetricValueType.TIMER;
+        }
+        if (value instanceof Number) {
+            return MetricValueType.GAUGE;
+        }
+        if (value instanceof Boolean) {
+            return MetricValueType.BOOLEAN;
+        }
+        if (value instanceof CharSequence) {
+            return MetricValueType.STRING;
+        }
+        if (value instanceof java.util.Set<?>) {
+            return MetricValueType.SET;
+        }
+        if (value instanceof double[] || value instanceof float[] || value instanceof int[]
+            || value instanceof long[] || value instanceof Collection<?>) {
+            return MetricValueType.VECTOR;
+        }
+        return MetricValueType.OBJECT;
+    }
+
+    private static Map<String, String> mergeLabels(Map<String, String> defaults, Map<String, String> labels) {
+        if (labels == null || labels.isEmpty()) {
+            return defaults;
+        }
+        if (defaults.isEmpty()) {
+            return Map.copyOf(labels);
+        }
+        var merged = new HashMap<>(defaults);
+        merged.putAll(labels);
+        return Map.copyOf(merged);
+    }
+
+    // ==================== SCHEDULED COLLECTION ====================
+
+    @Override
+    public String scheduleCollection(String metricName, Supplier<Object> supplier, Duration interval,
+                                     Map<String, String> labels) {
+        Objects.requireNonNull(metricName, "Metric name cannot be null");
+        Objects.requireNonNull(supplier, "Supplier cannot be null");
+        if (interval == null || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Interval must be positive, got: " + interval);
+        }
+        var id = "job-" + ids.incrementAndGet();
+        var job = new Job(metricName, supplier, labels == null ? Map.of() : labels);
+        job.future = scheduler().scheduleAtFixedRate(() -> {
+            if (mode != CollectionMode.ON_DEMAND) {
+                job.run();
+            }
+        }, interval.toNanos(), interval.toNanos(), TimeUnit.NANOSECONDS);
+        jobs.put(id, job);
+        return id;
+    }
+
+    @Override
+    public boolean cancelCollection(String jobId) {
+        var job = jobs.remove(jobId);
+        if (job == null) {
+            return false;
+        }
+        job.future.cancel(false);
+        return true;
+    }
+
+    private final class Job {
+        final String metricName;
+        final Supplier<Object> supplier;
+        final Map<String, String> labels;
+        volatile ScheduledFuture<?> future;
+
+        Job(String metricName, Supplier<Object> supplier, Map<String, String> labels) {
+            this.metricName = metricName;
+            this.supplier = supplier;
+            this.labels = labels;
+        }
+
+        void run() {
+            try {
+                var value = supplier.get();
+                if (value != null) {
+                    collect(metricName, value, clock.instant(), labels);
+                }
+            } catch (RuntimeException e) {
+                errors.increment();
+            }
+        }
+    }
+
+    private synchronized ScheduledExecutorService scheduler() {
+        if (scheduler == null) {
+            var executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                var thread = new Thread(runnable, "metrics-collector");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            scheduler = executor;
+        }
+        return scheduler;
+    }
+
+    // ==================== ROLLOVER ====================
+
+    /**
+     * Close the current time bucket of every numeric metric and apply the retention policy.
+     * Runs every bucket duration when automatic rollover is enabled.
+     */
+    public void rollover() {
+        if (mode == CollectionMode.ASYNC) {
+            drainPending();
+        }
+        rolloverLock.lock();
+        try {
+            var now = clock.millis();
+            var policy = retention;
+            for (var entry : series.values()) {
+                if (entry.numeric()) {
+                    var bucket = entry.bucket(bucketStart, now, true);
+                    if (entry.buckets.add(bucket)) {
+                        removed.incrementAndGet();
+                    }
+                    if (bucket.count > 0) {
+                        entry.lastCollection = Instant.ofEpochMilli(now);
+                    }
+                    offerToStreams(entry.value(bucket));
+                }
+                trimEntries(entry, policy, now);
+                if (policy.predicate != null) {
+                    removeIf(entry, value -> !policy.predicate.test(value));
+                }
+            }
+            bucketStart = now;
+            retentions.incrementAndGet();
+            lastRetention = Instant.ofEpochMilli(now);
+            for (var stream : streams.values()) {
+                stream.deliverIfDue(now);
+            }
+        } catch (RuntimeException e) {
+            errors.increment();
+        } finally {
+            rolloverLock.unlock();
+        }
+    }
+
+    private void trimEntries(Series target, Retention policy, long now) {
+        var maxEntries = policy.maxEntries(series.size());
+        var oldest = policy.maxAgeMillis > 0 ? now - policy.maxAgeMillis : Long.MIN_VALUE;
+        var dropped = target.points.trim(maxEntries, point -> olderThan(point, oldest))
+                      + target.buckets.trim(maxEntries, bucket -> olderThan(bucket, oldest));
+        if (dropped > 0) {
+            removed.addAndGet(dropped);
+        }
+    }
+
+    private static boolean olderThan(Point point, long oldest) {
+        return point != null && point.timestamp.toEpochMilli() < oldest;
+    }
+
+    private static boolean olderThan(Bucket bucket, long oldest) {
+        return bucket != null && bucket.end <= oldest;
+    }
+
+    private long removeIf(Series target, Predicate<MetricValue> condition) {
+        long count = target.points.removeIf(condition)
+                     + target.buckets.removeIf(bucket -> condition.test(target.value(bucket)));
+        removed.addAndGet(count);
+        return count;
+    }
+
+    private void drainPending() {
+        Point point;
+        while ((point = pending.poll()) != null) {
+            var target = series.get(point.name);
+            if (target == null) {
+                continue;
+            }
+            try {
+                apply(target, point);
+            } catch (IllegalArgumentException e) {
+                // Counted as a collection error
+            }
+        }
+    }
+
+    // ==================== RETRIEVAL ====================
+
+    /**
+     * Points and completed time buckets within the range; the live partial bucket is excluded.
+     */
+    @Override
+    public List<MetricValue> getMetricValues(String metricName, Instant startTime, Instant endTime,
+                                             Map<String, String> labels) {
+        var target = series.get(metricName);
+        if (target == null) {
+            return List.of();
+        }
+        return values(target, startTime.toEpochMilli(), endTime.toEpochMilli(), labels);
+    }
+
+    @Override
+    public List<MetricValue> getRecentValues(String metricName, int count, Map<String, String> labels) {
+        var target = series.get(metricName);
+        if (target == null || count <= 0) {
+            return List.of();
+        }
+        var result = new ArrayList<MetricValue>(Math.min(count, 64));
+        if (target.numeric()) {
+            for (var iterator = target.buckets.snapshot().reversed().iterator();
+                 iterator.hasNext() && result.size() < count; ) {
+                var value = target.value(iterator.next());
+                if (matches(value, labels)) {
+                    result.add(value);
+                }
+            }
+        } else {
+            for (var iterator = target.points.snapshot().reversed().iterator();
+                 iterator.hasNext() && result.size() < count; ) {
+                var value = iterator.next();
+                if (matches(value, labels)) {
+                    result.add(value);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The live value of a numeric metric (the counter total, the gauge value or the mean of all
+     * recorded durations), or the most recent point of any other metric.
+     */
+    @Override
+    public Optional<MetricValue> getLatestValue(String metricName, Map<String, String> labels) {
+        var target = series.get(metricName);
+        if (target == null) {
+            return Optional.empty();
+        }
+        if (!target.numeric()) {
+            for (var value : target.points.snapshot().reversed()) {
+                if (matches(value, labels)) {
+                    return Optional.of(value);
+                }
+            }
+            return Optional.empty();
+        }
+        Object value = switch (target.type) {
+            case COUNTER -> target.counter.sum();
+            case GAUGE -> target.gauge.get();
+            default -> target.histogram.snapshot().getMean();
+        };
+        var latest = new Point(metricName, value, clock.instant(), target.labels, target.type);
+        return matches(latest, labels) ? Optional.of(latest) : Optional.empty();
+    }
+
+    @Override
+    public MetricAggregation getAggregation(String metricName, Instant startTime, Instant endTime,
+                                            List<AggregationFunction> aggregations, Map<String, String> labels) {
+        var target = series.get(metricName);
+        var range = new TimeRange(startTime, endTime);
+        if (target == null) {
+            return new Aggregation(metricName, range, Map.of(), 0L, labels == null ? Map.of() : labels);
+        }
+        return aggregate(target, range, aggregations, labels);
+    }
+
+    @Override
+    public MetricQueryResult query(MetricQuery query) {
+        var started = System.nanoTime();
+        var pattern = glob(query.getMetricPattern());
+        var range = query.getTimeRange();
+        var start = range == null ? Long.MIN_VALUE : range.start().toEpochMilli();
+        var end = range == null ? Long.MAX_VALUE : range.end().toEpochMilli();
+        var labels = query.getLabelFilters();
+        var aggregations = query.getAggregations();
+
+        var values = new ArrayList<MetricValue>();
+        var aggregated = new LinkedHashMap<String, MetricAggregation>();
+        for (var target : series.values()) {
+            if (!pattern.matcher(target.name).matches()) {
+                continue;
+            }
+            values.addAll(values(target, start, end, labels));
+            if (aggregations != null && !aggregations.isEmpty()) {
+                var window = range != null ? range
+                    : new TimeRange(Instant.EPOCH, Instant.ofEpochMilli(clock.millis() + 1));
+                aggregated.put(target.name, aggregate(target, window, aggregations, labels));
+            }
+        }
+
+        var ordering = query.getOrdering().orElse(MetricQuery.QueryOrdering.TIMESTAMP_ASC);
+        values.sort(switch (ordering) {
+            case TIMESTAMP_ASC -> Comparator.comparing(MetricValue::getTimestamp);
+            case TIMESTAMP_DESC -> Comparator.comparing(MetricValue::getTimestamp).reversed();
+            case VALUE_ASC -> Comparator.comparingDouble(StripedMetricsCollector::sortKey);
+            case VALUE_DESC -> Comparator.comparingDouble(StripedMetricsCollector::sortKey).reversed();
+            case METRIC_NAME -> Comparator.comparing(MetricValue::getMetricName)
+                                          .thenComparing(MetricValue::getTimestamp);
+        });
+        var total = values.size();
+        var limit = query.getLimit().orElse(Integer.MAX_VALUE);
+        var truncated = total > limit;
+        var result = truncated ? List.copyOf(values.subList(0, limit)) : List.copyOf(values);
+        return new QueryResult(result, Map.copyOf(aggregated), Duration.ofNanos(System.nanoTime() - started),
+                               total, truncated);
+    }
+
+    private static double sortKey(MetricValue value) {
+        return value.getAsDouble().orElse(Double.NaN);
+    }
+
+    private List<MetricValue> values(Series target, long start, long end, Map<String, String> labels) {
+        var result = new ArrayList<MetricValue>();
+        if (target.numeric()) {
+            for (var bucket : target.buckets.snapshot()) {
+                if (bucket.start >= start && bucket.start < end) {
+                    var value = target.value(bucket);
+                    if (matches(value, labels)) {
+                        result.add(value);
+                    }
+                }
+            }
+        } else {
+            for (var point : target.points.snapshot()) {
+                var time = point.timestamp.toEpochMilli();
+                if (time >= start && time < end && matches(point, labels)) {
+                    result.add(point);
+                }
+            }
+        }
+        return result;
+    }
+
+    private Aggregation aggregate(Series target, TimeRange range, List<AggregationFunction> functions,
+                                  Map<String, String> labels) {
+        var start = range.start().toEpochMilli();
+        var end = range.end().toEpochMilli();
+        var seconds = Math.max(1e-3, (end - start) / 1000.0);
+        var wanted = functions == null || functions.isEmpty() ? List.of(AggregationFunction.values())
+                                                              : functions;
+        var result = new java.util.EnumMap<AggregationFunction, Double>(AggregationFunction.class);
+        var filter = labels == null ? Map.<String, String>of() : labels;
+
+        if (!target.numeric() || !filter.entrySet().stream().allMatch(
+            e -> e.getValue().equals(target.labels.get(e.getKey())))) {
+            // Points, or a numeric metric whose labels do not match: exact statistics over the values
+            var samples = new ArrayList<Double>();
+            var count = 0L;
+            for (var value : values(target, start, end, filter)) {
+                count++;
+                value.getAsDouble().ifPresent(samples::add);
+            }
+            var doubles = samples.stream().mapToDouble(Double::doubleValue).toArray();
+            summarize(doubles, seconds, wanted, result);
+            if (wanted.contains(AggregationFunction.COUNT)) {
+                result.put(AggregationFunction.COUNT, (double) count);
+            }
+            return new Aggregation(target.name, range, Map.copyOf(result), count, filter);
+        }
+
+        // Completed buckets in the range, plus the live bucket
+        var buckets = new ArrayList<Bucket>();
+        for (var bucket : target.buckets.snapshot()) {
+            if (bucket.end > start && bucket.start < end) {
+                buckets.add(bucket);
+            }
+        }
+        rolloverLock.lock();
+        try {
+            var now = clock.millis();
+            if (now >= start && bucketStart < end) {
+                buckets.add(target.bucket(bucketStart, now, false));
+            }
+        } finally {
+            rolloverLock.unlock();
+        }
+
+        if (target.type == MetricValueType.TIMER || target.type == MetricValueType.HISTOGRAM) {
+            var merged = LogLinearHistogram.Snapshot.EMPTY;
+            for (var bucket : buckets) {
+                merged = merged.plus(bucket.distribution);
+            }
+            for (var function : wanted) {
+                var value = switch (function) {
+                    case SUM -> (double) merged.getSum();
+                    case AVERAGE -> merged.getMean();
+                    case MIN -> (double) merged.getMin();
+                    case MAX -> (double) merged.getMax();
+                    case MEDIAN -> merged.getValueAtQuantile(0.5);
+                    case COUNT -> (double) merged.getCount();
+                    case STDDEV -> merged.getStdDev();
+                    case P90 -> merged.getValueAtQuantile(0.9);
+                    case P95 -> merged.getValueAtQuantile(0.95);
+                    case P99 -> merged.getValueAtQuantile(0.99);
+                    case RATE -> merged.getCount() / seconds;
+                    case FIRST -> firstNonEmpty(buckets, false);
+                    case LAST -> firstNonEmpty(buckets, true);
+                };
+                if (!Double.isNaN(value)) {
+                    result.put(function, value);
+                }
+            }
+            return new Aggregation(target.name, range, Map.copyOf(result), merged.getCount(), filter);
+        }
+
+        // Counters and gauges: one sample per bucket
+        var samples = new double[buckets.size()];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = buckets.get(i).last;
+        }
+        summarize(samples, seconds, wanted, result);
+        if (target.type == MetricValueType.GAUGE && wanted.contains(AggregationFunction.RATE) && samples.length > 0) {
+            result.put(AggregationFunction.RATE, (samples[samples.length - 1] - samples[0]) / seconds);
+        }
+        return new Aggregation(target.name, range, Map.copyOf(result), samples.length, filter);
+    }
+
+    private static double firstNonEmpty(List<Bucket> buckets, boolean reverse) {
+        for (int i = 0; i < buckets.size(); i++) {
+            var bucket = buckets.get(reverse ? buckets.size() - 1 - i : i);
+            if (bucket.count > 0) {
+                return bucket.last;
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static void summarize(double[] samples, double seconds, List<AggregationFunction> wanted,
+                                  Map<AggregationFunction, Double> result) {
+        if (samples.length == 0) {
+            if (wanted.contains(AggregationFunction.COUNT)) {
+                result.put(AggregationFunction.COUNT, 0.0);
+            }
+            return;
+        }
+        var sorted = samples.clone();
+        Arrays.sort(sorted);
+        var sum = 0.0;
+        for (var s : samples) {
+            sum += s;
+        }
+        var mean = sum / samples.length;
+        var squares = 0.0;
+        for (var s : samples) {
+            squares += (s - mean) * (s - mean);
+        }
+        for (var function : wanted) {
+            result.put(function, switch (function) {
+                case SUM -> sum;
+                case AVERAGE -> mean;
+                case MIN -> sorted[0];
+                case MAX -> sorted[sorted.length - 1];
+                case MEDIAN -> quantile(sorted, 0.5);
+                case COUNT -> (double) samples.length;
+                case STDDEV -> samples.length < 2 ? 0.0 : Math.sqrt(squares / (samples.length - 1));
+                case P90 -> quantile(sorted, 0.9);
+                case P95 -> quantile(sorted, 0.95);
+                case P99 -> quantile(sorted, 0.99);
+                case RATE -> sum / seconds;
+                case FIRST -> samples[0];
+                case LAST -> samples[samples.length - 1];
+            });
+        }
+    }
+
+    private static double quantile(double[] sorted, double quantile) {
+        var rank = Math.max(1, (int) Math.ceil(quantile * sorted.length));
+        return sorted[rank - 1];
+    }
+
+    private static boolean matches(MetricValue value, Map<String, String> labels) {
+        return labels == null || labels.isEmpty() || value.matchesLabels(labels);
+    }
+
+    private static Pattern glob(String pattern) {
+        if (pattern == null || pattern.isEmpty()) {
+            return Pattern.compile(".*");
+        }
+        var regex = new StringBuilder();
+        for (var c : pattern.toCharArray()) {
+            switch (c) {
+                case '*' -> regex.append(".*");
+                case '?' -> regex.append('.');
+                default -> regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    // ==================== MODES, RETENTION AND MAINTENANCE ====================
+
+    /**
+     * Set how values passed to {@link #collect} are applied. BATCHED and ASYNC queue them until
+     * {@link #flush()}, ASYNC also at each rollover; ON_DEMAND runs scheduled collections only on flush.
+     * Hot path handles always record immediately.
+     */
+    @Override
+    public void setCollectionMode(CollectionMode mode) {
+        this.mode = Objects.requireNonNull(mode, "Collection mode cannot be null");
+        if (mode != CollectionMode.BATCHED && mode != CollectionMode.ASYNC) {
+            drainPending();
+        }
+    }
+
+    @Override
+    public CollectionMode getCollectionMode() {
+        return mode;
+    }
+
+    /**
+     * Set the retention of points and time buckets. The parameter is a {@link Duration} for TIME_BASED,
+     * an entry count per metric for COUNT_BASED, a byte budget shared by all metrics for MEMORY_BASED,
+     * and a {@code Predicate<MetricValue>} selecting the values to keep for CUSTOM.
+     */
+    @Override
+    public void setRetentionPolicy(RetentionPolicy policy, Object parameter) {
+        var updated = Retention.of(policy, parameter);
+        rolloverLock.lock();
+        try {
+            retention = updated;
+            var now = clock.millis();
+            for (var entry : series.values()) {
+                trimEntries(entry, updated, now);
+                if (updated.predicate != null) {
+                    removeIf(entry, value -> !updated.predicate.test(value));
+                }
+            }
+        } finally {
+            rolloverLock.unlock();
+        }
+    }
+
+    @Override
+    public RetentionPolicyInfo getRetentionPolicy() {
+        var current = retention;
+        var entries = 0L;
+        Optional<Instant> oldest = Optional.empty();
+        for (var entry : series.values()) {
+            entries += entry.points.size() + entry.buckets.size();
+            var first = entry.oldest();
+            if (first.isPresent() && (oldest.isEmpty() || first.get().isBefore(oldest.get()))) {
+                oldest = first;
+            }
+        }
+        var dropped = removed.get();
+        var effectiveness = entries + dropped == 0 ? 1.0 : (double) entries / (entries + dropped);
+        return new RetentionInfo(current.policy, current.parameter, entries * ENTRY_BYTES, oldest, effectiveness);
+    }
+
+    @Override
+    public CompletableFuture<Void> flush() {
+        var started = System.nanoTime();
+        try {
+            drainPending();
+            if (mode == CollectionMode.ON_DEMAND) {
+                for (var job : jobs.values()) {
+                    job.run();
+                }
+            }
+            for (var stream : streams.values()) {
+                stream.deliver(clock.millis());
+            }
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            flushErrors.incrementAndGet();
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            flushes.incrementAndGet();
+            flushNanos.addAndGet(System.nanoTime() - started);
+            lastFlush = clock.instant();
+        }
+    }
+
+    @Override
+    public void clear() {
+        rolloverLock.lock();
+        try {
+            pending.clear();
+            for (var entry : series.values()) {
+                entry.clear();
+            }
+            bucketStart = clock.millis();
+        } finally {
+            rolloverLock.unlock();
+        }
+    }
+
+    @Override
+    public long clearOldData(Duration maxAge) {
+        var oldest = clock.millis() - maxAge.toMillis();
+        var count = 0L;
+        for (var entry : series.values()) {
+            count += removeIf(entry, value -> value.getTimestamp().toEpochMilli() < oldest);
+        }
+        return count;
+    }
+
+    // ==================== EXPORT AND IMPORT ====================
+
+    /**
+     * Export as "JSON" or "CSV" (points and completed buckets) or "PROMETHEUS" (current values of numeric
+     * metrics, in the text exposition format). Returns empty for other formats.
+     */
+    @Override
+    public Optional<Object> export(String format, Optional<TimeRange> timeRange, Optional<String> metricFilter) {
+        var pattern = glob(metricFilter.orElse("*"));
+        var start = timeRange.map(r -> r.start().toEpochMilli()).orElse(Long.MIN_VALUE);
+        var end = timeRange.map(r -> r.end().toEpochMilli()).orElse(Long.MAX_VALUE);
+        var selected = series.values().stream()
+                             .filter(s -> pattern.matcher(s.name).matches())
+                             .sorted(Comparator.comparing(s -> s.name))
+                             .toList();
+        var out = new StringBuilder();
+        switch (format == null ? "" : format.toUpperCase()) {
+            case "JSON" -> {
+                out.append('[');
+                var first = true;
+                for (var target : selected) {
+                    for (var value : values(target, start, end, Map.of())) {
+                        out.append(first ? "" : ",").append("{\"metric\":\"").append(json(value.getMetricName()))
+                           .append("\",\"timestamp\":\"").append(value.getTimestamp())
+                           .append("\",\"value\":");
+                        if (value.getValue() instanceof Number n && Double.isFinite(n.doubleValue())) {
+                            out.append(n);
+                        } else {
+                            out.append('"').append(json(value.getAsString())).append('"');
+                        }
+                        out.append(",\"labels\":{");
+                        var firstLabel = true;
+                        for (var label : new java.util.TreeMap<>(value.getLabels()).entrySet()) {
+                            out.append(firstLabel ? "" : ",").append('"').append(json(label.getKey()))
+                               .append("\":\"").append(json(label.getValue())).append('"');
+                            firstLabel = false;
+                        }
+                        out.append("}}");
+                        first = false;
+                    }
+                }
+                out.append(']');
+            }
+            case "CSV" -> {
+                out.append("metric,timestamp,value,labels\n");
+                for (var target : selected) {
+                    for (var value : values(target, start, end, Map.of())) {
+                        var labels = new StringBuilder();
+                        for (var label : new java.util.TreeMap<>(value.getLabels()).entrySet()) {
+                            labels.append(labels.isEmpty() ? "" : ";").append(label.getKey()).append('=')
+                                  .append(label.getValue());
+                        }
+                        out.append(csv(value.getMetricName())).append(',').append(value.getTimestamp()).append(',')
+                           .append(csv(value.getAsString())).append(',').append(csv(labels.toString())).append('\n');
+                    }
+                }
+            }
+            case "PROMETHEUS" -> {
+                for (var target : selected) {
+                    var name = target.name.replaceAll("[^a-zA-Z0-9_:]", "_");
+                    switch (target.type) {
+                        case COUNTER -> out.append("# TYPE ").append(name).append("_total counter\n")
+                                           .append(name).append("_total ").append(target.counter.sum()).append('\n');
+                        case GAUGE -> out.append("# TYPE ").append(name).append(" gauge\n")
+                                         .append(name).append(' ').append(target.gauge.get()).append('\n');
+                        case TIMER, HISTOGRAM -> {
+                            var snapshot = target.histogram.snapshot();
+                            out.append("# TYPE ").append(name).append(" summary\n");
+                            for (var q : new double[] {0.5, 0.9, 0.95, 0.99}) {
+                                out.append(name).append("{quantile=\"").append(q).append("\"} ")
+                                   .append(snapshot.getValueAtQuantile(q)).append('\n');
+                            }
+                            out.append(name).append("_sum ").append(snapshot.getSum()).append('\n')
+                               .append(name).append("_count ").append(snapshot.getCount()).append('\n');
+                        }
+                        default -> {
+                            // Not representable
+                        }
+                    }
+                }
+            }
+            default -> {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(out.toString());
+    }
+
+    /**
+     * Import CSV in the layout produced by {@link #export}; numeric values are collected as numbers.
+     * Returns 0 for other formats.
+     */
+    @Override
+    public int importMetrics(Object data, String format) {
+        if (!(data instanceof CharSequence text) || !"CSV".equalsIgnoreCase(format)) {
+            return 0;
+        }
+        var imported = 0;
+        var lines = text.toString().split("\n");
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].isBlank() || (i == 0 && lines[i].startsWith("metric,"))) {
+                continue;
+            }
+            try {
+                var fields = parseCsv(lines[i]);
+                var labels = new HashMap<String, String>();
+                if (fields.size() > 3 && !fields.get(3).isEmpty()) {
+                    for (var label : fields.get(3).split(";")) {
+                        var eq = label.indexOf('=');
+                        labels.put(label.substring(0, eq), label.substring(eq + 1));
+                    }
+                }
+                Object value;
+                try {
+                    value = Double.parseDouble(fields.get(2));
+                } catch (NumberFormatException e) {
+                    value = fields.get(2);
+                }
+                collect(fields.get(0), value, Instant.parse(fields.get(1)), labels);
+                imported++;
+            } catch (RuntimeException e) {
+                errors.increment();
+            }
+        }
+        return imported;
+    }
+
+    private static String json(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String csv(String s) {
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0) {
+            return s;
+        }
+        return '"' + s.replace("\"", "\"\"").replace("\n", " ") + '"';
+    }
+
+    private static List<String> parseCsv(String line) {
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        var quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            var c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // ==================== STATISTICS AND LIFECYCLE ====================
+
+    @Override
+    public CollectorStatistics getStatistics() {
+        var total = collected.sum();
+        var memory = 0L;
+        for (var entry : series.values()) {
+            memory += entry.getMemoryUsage();
+        }
+        var elapsed = Math.max(1e-3, Duration.between(created, clock.instant()).toMillis() / 1000.0);
+        var flushCount = flushes.get();
+        var flushStats = new FlushStats(flushCount,
+            Duration.ofNanos(flushCount == 0 ? 0 : flushNanos.get() / flushCount),
+            Optional.ofNullable(lastFlush), flushErrors.get());
+        var retentionCount = retentions.get();
+        var dropped = removed.get();
+        var retentionStats = new RetentionStats(retentionCount, dropped, Optional.ofNullable(lastRetention),
+            getRetentionPolicy().getRetentionEffectiveness());
+        return new Statistics(total, total / elapsed, memory, series.size(), jobs.size(), errors.sum(),
+                              flushStats, retentionStats);
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Stream points and completed buckets to an in-process consumer. The destination type must be
+     * "consumer" with a {@code Consumer<List<MetricValue>>} under the "consumer" configuration key;
+     * values are delivered when the buffer fills, at flush, and at rollovers after the flush interval.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public String setupStream(String streamName, StreamDestination destination, MetricFilter metricFilter) {
+        Objects.requireNonNull(destination, "Destination cannot be null");
+        if (!"consumer".equalsIgnoreCase(destination.getType())
+            || !(destination.getConfiguration().get("consumer") instanceof Consumer<?> consumer)) {
+            throw new IllegalArgumentException("Unsupported stream destination: " + destination.getType());
+        }
+        var id = streamName + "#" + ids.incrementAndGet();
+        streams.put(id, new Stream((Consumer<List<MetricValue>>) consumer, metricFilter,
+                                   Math.max(1, destination.getBufferSize()),
+                                   destination.getFlushInterval() == null ? 0L : destination.getFlushInterval().toMillis(),
+                                   clock.millis()));
+        return id;
+    }
+
+    @Override
+    public boolean stopStream(String streamId) {
+        var stream = streams.remove(streamId);
+        if (stream == null) {
+            return false;
+        }
+        stream.deliver(clock.millis());
+        return true;
+    }
+
+    private void offerToStreams(MetricValue value) {
+        if (streams.isEmpty()) {
+            return;
+        }
+        for (var stream : streams.values()) {
+            stream.offer(value, clock.millis());
+        }
+    }
+
+    private final class Stream {
+        final Consumer<List<MetricValue>> consumer;
+        final MetricFilter filter;
+        final int bufferSize;
+        final long intervalMillis;
+        final ConcurrentLinkedQueue<MetricValue> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger size = new AtomicInteger();
+        final AtomicBoolean delivering = new AtomicBoolean();
+        volatile long lastDelivery;
+
+        Stream(Consumer<List<MetricValue>> consumer, MetricFilter filter, int bufferSize, long intervalMillis,
+               long now) {
+            this.consumer = consumer;
+            this.filter = filter;
+            this.bufferSize = bufferSize;
+            this.intervalMillis = intervalMillis;
+            this.lastDelivery = now;
+        }
+
+        void offer(MetricValue value, long now) {
+            if (filter != null && !filter.matches(value.getMetricName(), value.getLabels(), value.getValueType())) {
+                return;
+            }
+            queue.offer(value);
+            if (size.incrementAndGet() >= bufferSize) {
+                deliver(now);
+            }
+        }
+
+        void deliverIfDue(long now) {
+            if (now - lastDelivery >= intervalMillis) {
+                deliver(now);
+            }
+        }
+
+        void deliver(long now) {
+            if (!delivering.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                var batch = new ArrayList<MetricValue>();
+                MetricValue value;
+                while ((value = queue.poll()) != null) {
+                    size.decrementAndGet();
+                    batch.add(value);
+                }
+                lastDelivery = now;
+                if (!batch.isEmpty()) {
+                    consumer.accept(List.copyOf(batch));
+                }
+            } catch (RuntimeException e) {
+                errors.increment();
+            } finally {
+                delivering.set(false);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        flush();
+        for (var job : jobs.values()) {
+            job.future.cancel(false);
+        }
+        jobs.clear();
+        synchronized (this) {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+            }
+        }
+    }
+
+    // ==================== SERIES ====================
+
+    /**
+     * Closed or live time bucket. For counters {@code last} is the increase over the bucket, for gauges
+     * the value at its end, and for timers and histograms the mean of the recorded values.
+     */
+    private record Bucket(long start, long end, long count, double sum, double last,
+                          LogLinearHistogram.Snapshot distribution) {
+    }
+
+    private static final class Series implements MetricInfo {
+        final String id;
+        final String name;
+        final MetricValueType type;
+        final String description;
+        final Map<String, String> labels;
+        final Instant registered;
+
+        final StripedCounter counter;
+        final Gauge gauge;
+        final LogLinearHistogram histogram;
+
+        // Only the ring for the metric's kind, buckets or points, is preallocated
+        final Ring<Point> points;
+        final StripedCounter collected = new StripedCounter();
+        final Ring<Bucket> buckets;
+
+        // Totals at the last rollover, guarded by the rollover lock
+        long lastCounter;
+        long lastUpdates;
+        LogLinearHistogram.Snapshot lastDistribution = LogLinearHistogram.Snapshot.EMPTY;
+
+        volatile Instant lastCollection;
+        volatile boolean active = true;
+
+        Series(String id, String name, MetricValueType type, String description, Map<String, String> labels,
+               Instant registered, int slots, long maxEntries) {
+            this.id = id;
+            this.name = name;
+            this.type = type;
+            this.description = description;
+            this.labels = labels;
+            this.registered = registered;
+            this.counter = type == MetricValueType.COUNTER ? new StripedCounter() : null;
+            this.gauge = type == MetricValueType.GAUGE ? new Gauge() : null;
+            this.histogram = type == MetricValueType.TIMER || type == MetricValueType.HISTOGRAM
+                             ? new LogLinearHistogram() : null;
+            this.points = new Ring<>(numeric() ? 0 : slots, maxEntries);
+            this.buckets = new Ring<>(numeric() ? slots : 0, maxEntries);
+        }
+
+        boolean numeric() {
+            return counter != null || gauge != null || histogram != null;
+        }
+
+        /**
+         * Bucket of the values recorded since the last rollover; when closing, the totals advance.
+         */
+        Bucket bucket(long start, long end, boolean close) {
+            return switch (type) {
+                case COUNTER -> {
+                    var total = counter.sum();
+                    var delta = total - lastCounter;
+                    if (close) {
+                        lastCounter = total;
+                    }
+                    yield new Bucket(start, end, delta, delta, delta, LogLinearHistogram.Snapshot.EMPTY);
+                }
+                case GAUGE -> {
+                    var updates = gauge.updates.sum();
+                    var value = gauge.get();
+                    var delta = updates - lastUpdates;
+                    if (close) {
+                        lastUpdates = updates;
+                    }
+                    yield new Bucket(start, end, delta, value, value, LogLinearHistogram.Snapshot.EMPTY);
+                }
+                default -> {
+                    var snapshot = histogram.snapshot();
+                    var delta = snapshot.minus(lastDistribution);
+                    if (close) {
+                        lastDistribution = snapshot;
+                    }
+                    yield new Bucket(start, end, delta.getCount(), delta.getSum(), delta.getMean(), delta);
+                }
+            };
+        }
+
+        MetricValue value(Bucket bucket) {
+            Object value = type == MetricValueType.COUNTER ? (Object) bucket.count : (Object) bucket.last;
+            return new Point(name, value, Instant.ofEpochMilli(bucket.start), labels, type);
+        }
+
+        Optional<Instant> oldest() {
+            var point = points.first();
+            if (point != null) {
+                return Optional.of(point.timestamp);
+            }
+            var bucket = buckets.first();
+            return bucket == null ? Optional.empty() : Optional.of(Instant.ofEpochMilli(bucket.start));
+        }
+
+        void clear() {
+            points.clear();
+            buckets.clear();
+            collected.reset();
+            if (counter != null) {
+                counter.reset();
+            }
+            if (gauge != null) {
+                gauge.updates.reset();
+            }
+            if (histogram != null) {
+                histogram.reset();
+            }
+            lastCounter = 0L;
+            lastUpdates = 0L;
+            lastDistribution = LogLinearHistogram.Snapshot.EMPTY;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public MetricValueType getValueType() {
+            return type;
+        }
+
+        @Override
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public Map<String, String> getDefaultLabels() {
+            return labels;
+        }
+
+        @Override
+        public Instant getRegistrationTime() {
+            return registered;
+        }
+
+        @Override
+        public long getValueCount() {
+            return switch (type) {
+                case COUNTER -> counter.sum();
+                case GAUGE -> gauge.updates.sum();
+                case TIMER, HISTOGRAM -> histogram.snapshot().getCount();
+                default -> collected.sum();
+            };
+        }
+
+        @Override
+        public Optional<Instant> getLastCollectionTime() {
+            return Optional.ofNullable(lastCollection);
+        }
+
+        @Override
+        public long getMemoryUsage() {
+            var primitive = histogram != null ? (long) LogLinearHistogram.BUCKETS * Long.BYTES * 16
+                                              : (long) StripedCounter.STRIPES * StripedCounter.PAD * Long.BYTES;
+            return primitive + ((long) points.size() + buckets.size()) * ENTRY_BYTES;
+        }
+
+        @Override
+        public boolean isActive() {
+            return active;
+        }
+    }
+
+    // ==================== VALUE TYPES ====================
+
+    private record Point(String name, Object value, Instant timestamp, Map<String, String> labels,
+                         MetricValueType type) implements MetricValue {
+        @Override
+        public String getMetricName() {
+            return name;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public Instant getTimestamp() {
+            return timestamp;
+        }
+
+        @Override
+        public Map<String, String> getLabels() {
+            return labels;
+        }
+
+        @Override
+        public MetricValueType getValueType() {
+            return type;
+        }
+    }
+
+    private record Retention(RetentionPolicy policy, Object parameter, long maxAgeMillis, long entries,
+                             long bytes, Predicate<MetricValue> predicate) {
+
+        @SuppressWarnings("unchecked")
+        static Retention of(RetentionPolicy policy, Object parameter) {
+            Objects.requireNonNull(policy, "Retention policy cannot be null");
+            return switch (policy) {
+                case TIME_BASED -> {
+                    if (!(parameter instanceof Duration age) || age.isNegative() || age.isZero()) {
+                        throw new IllegalArgumentException("TIME_BASED retention requires a positive Duration");
+                    }
+                    yield new Retention(policy, parameter, age.toMillis(), Long.MAX_VALUE, 0L, null);
+                }
+                case COUNT_BASED -> {
+                    if (!(parameter instanceof Number count) || count.longValue() < 1) {
+                        throw new IllegalArgumentException("COUNT_BASED retention requires a positive count");
+                    }
+                    yield new Retention(policy, parameter, 0L, count.longValue(), 0L, null);
+                }
+                case MEMORY_BASED -> {
+                    if (!(parameter instanceof Number bytes) || bytes.longValue() < 1) {
+                        throw new IllegalArgumentException("MEMORY_BASED retention requires a positive byte count");
+                    }
+                    yield new Retention(policy, parameter, 0L, Long.MAX_VALUE, bytes.longValue(), null);
+                }
+                case UNLIMITED -> new Retention(policy, parameter, 0L, Long.MAX_VALUE, 0L, null);
+                case CUSTOM -> {
+                    if (!(parameter instanceof Predicate<?> keep)) {
+                        throw new IllegalArgumentException("CUSTOM retention requires a Predicate<MetricValue>");
+                    }
+                    yield new Retention(policy, parameter, 0L, Long.MAX_VALUE, 0L, (Predicate<MetricValue>) keep);
+                }
+            };
+        }
+
+        long maxEntries(int metricCount) {
+            if (bytes > 0) {
+                return Math.max(1L, bytes / ENTRY_BYTES / Math.max(1, metricCount));
+            }
+            return entries;
+        }
+
+        /**
+         * Ring slots to allocate for a new metric: the entries kept, or under TIME_BASED the buckets
+         * in the retention window.
+         */
+        int preallocated(long bucketMillis, int metricCount) {
+            var expected = maxAgeMillis > 0 ? maxAgeMillis / bucketMillis + 1 : maxEntries(metricCount);
+            return (int) Math.min(expected, PREALLOCATED_SLOTS);
+        }
+    }
+
+    /**
+     * Retained entries of a metric, oldest first, in a circular array. Adding to a full ring
+     * overwrites the oldest entry in place; the array grows only while the ring holds fewer entries
+     * than the retention limit, which happens once when a policy keeps more than was preallocated.
+     * Numeric recording never touches a ring, so its monitor is taken only by rollovers, point
+     * collection and queries.
+     */
+    private static final class Ring<E> {
+        private static final int MAX_SLOTS = Integer.MAX_VALUE - 8;
+
+        private Object[] slots;
+        private int head;
+        private int size;
+        private long limit;
+
+        Ring(int preallocated, long limit) {
+            this.slots = new Object[preallocated];
+            this.limit = limit;
+        }
+
+        /**
+         * Append an entry, returning whether the oldest entry was dropped to make room.
+         */
+        synchronized boolean add(E entry) {
+            var dropped = size >= limit || size == MAX_SLOTS;
+            if (dropped) {
+                removeFirst();
+            } else if (size == slots.length) {
+                resize((int) Math.min(Math.min(limit, MAX_SLOTS), Math.max(16L, 2L * slots.length)));
+            }
+            slots[index(size)] = entry;
+            size++;
+            return dropped;
+        }
+
+        /**
+         * Set the entry limit and drop the oldest entries beyond it or expired.
+         *
+         * @return the number of entries dropped
+         */
+        synchronized int trim(long limit, Predicate<? super E> expired) {
+            this.limit = limit;
+            var dropped = 0;
+            while (size > 0 && (size > limit || expired.test(get(0)))) {
+                removeFirst();
+                dropped++;
+            }
+            return dropped;
+        }
+
+        /**
+         * Remove the entries matching the condition, keeping the others in order.
+         *
+         * @return the number of entries removed
+         */
+        synchronized int removeIf(Predicate<? super E> condition) {
+            var kept = 0;
+            for (int i = 0; i < size; i++) {
+                var entry = get(i);
+                if (!condition.test(entry)) {
+                    slots[index(kept++)] = entry;
+                }
+            }
+            for (int i = kept; i < size; i++) {
+                slots[index(i)] = null;
+            }
+            var removed = size - kept;
+            size = kept;
+            return removed;
+        }
+
+        synchronized E first() {
+            return size == 0 ? null : get(0);
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        /**
+         * Copy of the entries, oldest first.
+         */
+        synchronized List<E> snapshot() {
+            var copy = new ArrayList<E>(size);
+            for (int i = 0; i < size; i++) {
+                copy.add(get(i));
+            }
+            return copy;
+        }
+
+        synchronized void clear() {
+            Arrays.fill(slots, null);
+            head = 0;
+            size = 0;
+        }
+
+        private void removeFirst() {
+            slots[head] = null;
+            head = (head + 1) % slots.length;
+            size--;
+        }
+
+        private void resize(int capacity) {
+            var resized = new Object[capacity];
+            for (int i = 0; i < size; i++) {
+                resized[i] = slots[index(i)];
+            }
+            slots = resized;
+            head = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private E get(int i) {
+            return (E) slots[index(i)];
+        }
+
+        private int index(int i) {
+            return (head + i) % slots.length;
+        }
+    }
+
+    private record Aggregation(String name, TimeRange range, Map<AggregationFunction, Double> values,
+                               long samples, Map<String, String> labels) implements MetricAggregation {
+        @Override
+        public String getMetricName() {
+            return name;
+        }
+
+        @Override
+        public TimeRange getTimeRange() {
+            return range;
+        }
+
+        @Override
+        public Map<AggregationFunction, Double> getValues() {
+            return values;
+        }
+
+        @Override
+        public long getSampleCount() {
+            return samples;
+        }
+
+        @Override
+        public Map<String, String> getLabels() {
+            return labels;
+        }
+    }
+
+    private record QueryResult(List<MetricValue> values, Map<String, MetricAggregation> aggregations,
+                               Duration executionTime, long totalMatches, boolean truncated)
+        implements MetricQueryResult {
+        @Override
+        public List<MetricValue> getValues() {
+            return values;
+        }
+
+        @Override
+        public Map<String, MetricAggregation> getAggregations() {
+            return aggregations;
+        }
+
+        @Override
+        public Duration getExecutionTime() {
+            return executionTime;
+        }
+
+        @Override
+        public long getTotalMatches() {
+            return totalMatches;
+        }
+
+        @Override
+        public boolean isTruncated() {
+            return truncated;
+        }
+    }
+
+    private record RetentionInfo(RetentionPolicy policy, Object parameter, long estimatedDataSize,
+                                 Optional<Instant> oldestDataTime, double effectiveness)
+        implements RetentionPolicyInfo {
+        @Override
+        public RetentionPolicy getPolicy() {
+            return policy;
+        }
+
+        @Override
+        public Object getParameter() {
+            return parameter;
+        }
+
+        @Override
+        public long getEstimatedDataSize() {
+            return estimatedDataSize;
+        }
+
+        @Override
+        public Optional<Instant> getOldestDataTime() {
+            return oldestDataTime;
+        }
+
+        @Override
+        public double getRetentionEffectiveness() {
+            return effectiveness;
+        }
+    }
+
+    private record Statistics(long totalCollected, double rate, long memory, int activeMetrics, int jobCount,
+                              long errorCount, FlushStatistics flushStatistics,
+                              RetentionStatistics retentionStatistics) implements CollectorStatistics {
+        @Override
+        public long getTotalMetricsCollected() {
+            return totalCollected;
+        }
+
+        @Override
+        public double getCollectionRate() {
+            return rate;
+        }
+
+        @Override
+        public long getMemoryUsage() {
+            return memory;
+        }
+
+        @Override
+        public int getActiveMetricCount() {
+            return activeMetrics;
+        }
+
+        @Override
+        public int getScheduledJobCount() {
+            return jobCount;
+        }
+
+        @Override
+        public long getCollectionErrors() {
+            return errorCount;
+        }
+
+        @Override
+        public FlushStatistics getFlushStatistics() {
+            return flushStatistics;
+        }
+
+        @Override
+        public RetentionStatistics getRetentionStatistics() {
+            return retentionStatistics;
+        }
+    }
+
+    private record FlushStats(long total, Duration average, Optional<Instant> last, long errorCount)
+        implements CollectorStatistics.FlushStatistics {
+        @Override
+        public long getTotalFlushes() {
+            return total;
+        }
+
+        @Override
+        public Duration getAverageFlushTime() {
+            return average;
+        }
+
+        @Override
+        public Optional<Instant> getLastFlushTime() {
+            return last;
+        }
+
+        @Override
+        public long getFlushErrors() {
+            return errorCount;
+        }
+    }
+
+    private record RetentionStats(long total, long removedPoints, Optional<Instant> last, double efficiency)
+        implements CollectorStatistics.RetentionStatistics {
+        @Override
+        public long getTotalRetentions() {
+            return total;
+        }
+
+        @Override
+        public long getTotalDataPointsRemoved() {
+            return removedPoints;
+        }
+
+        @Override
+        public Optional<Instant> getLastRetentionTime() {
+            return last;
+        }
+
+        @Override
+        public double getRetentionEfficiency() {
+            return efficiency;
+        }
+    }
+
+    // ==================== BUILDER ====================
+
+    public static final class Builder {
+        private Clock clock = Clock.systemUTC();
+        private Duration bucketDuration = Duration.ofSeconds(1);
+        private RetentionPolicy policy = RetentionPolicy.TIME_BASED;
+        private Object parameter = Duration.ofMinutes(15);
+        private boolean autoRollover = true;
+
+        private Builder() {
+        }
+
+        /**
+         * Clock for timestamps and bucket boundaries.
+         */
+        public Builder clock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock, "Clock cannot be null");
+            return this;
+        }
+
+        /**
+         * Width of the time buckets numeric metrics are summarized into.
+         */
+        public Builder bucketDuration(Duration bucketDuration) {
+            if (bucketDuration == null || bucketDuration.toMillis() < 1) {
+                throw new IllegalArgumentException("Bucket duration must be at least 1ms, got: " + bucketDuration);
+            }
+            this.bucketDuration = bucketDuration;
+            return this;
+        }
+
+        /**
+         * Initial retention policy, see {@link #setRetentionPolicy}.
+         */
+        public Builder retention(RetentionPolicy policy, Object parameter) {
+            Retention.of(policy, parameter);
+            this.policy = policy;
+            this.parameter = parameter;
+            return this;
+        }
+
+        /**
+         * Whether a daemon thread rolls buckets over every bucket duration. When disabled, call
+         * {@link #rollover()} explicitly.
+         */
+        public Builder autoRollover(boolean autoRollover) {
+            this.autoRollover = autoRollover;
+            return this;
+        }
+
+        public StripedMetricsCollector build() {
+            return new StripedMetricsCollector(this);
+        }
+    }
+}
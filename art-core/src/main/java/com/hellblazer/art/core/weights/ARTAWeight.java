@@ -2,6 +2,9 @@ package com.hellblazer.art.core.weights;
 
 import com.hellblazer.art.core.Pattern;
 import com.hellblazer.art.core.WeightVector;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
 import java.util.Arrays;
 import java.util.Objects;
 
@@ -18,8 +21,11 @@ import java.util.Objects;
  */
 public final class ARTAWeight implements WeightVector {
     
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    
     private final double[] categoryWeights;
     private final double[] attentionWeights;
+    private final double weightedNorm;
     private final int hashCode;
     
     /**
@@ -58,6 +64,11 @@ public final class ARTAWeight implements WeightVector {
         
         this.categoryWeights = categoryWeights.clone();
         this.attentionWeights = attentionWeights.clone();
+        double norm = 0.0;
+        for (int i = 0; i < categoryWeights.length; i++) {
+            norm += attentionWeights[i] * categoryWeights[i];
+        }
+        this.weightedNorm = norm;
         this.hashCode = Objects.hash(Arrays.hashCode(categoryWeights), Arrays.hashCode(attentionWeights));
     }
     
@@ -146,6 +157,67 @@ public final class ARTAWeight implements WeightVector {
         return attentionWeights[index];
     }
     
+    /**
+     * Get the attention-weighted category norm Σ a_i·w_i, computed once at construction.
+     * @return the attention-weighted norm
+     */
+    public double getWeightedNorm() {
+        return weightedNorm;
+    }
+    
+    /**
+     * Copy the category and attention weights into matrix rows without intermediate copies.
+     * @param categoryRow destination for the category weights
+     * @param attentionRow destination for the attention weights
+     * @param offset the row offset in both destinations
+     */
+    public void copyInto(double[] categoryRow, double[] attentionRow, int offset) {
+        System.arraycopy(categoryWeights, 0, categoryRow, offset, categoryWeights.length);
+        System.arraycopy(attentionWeights, 0, attentionRow, offset, attentionWeights.length);
+    }
+    
+    /**
+     * Attention-weighted intersection and input norm of this weight, in one fused pass.
+     * @param input the input values
+     * @param sums receives Σ a_i·min(I_i, w_i) at index 0 and Σ a_i·I_i at index 1
+     */
+    public void weightedMatch(double[] input, double[] sums) {
+        weightedMatch(input, categoryWeights, attentionWeights, 0, categoryWeights.length, sums);
+    }
+    
+    /**
+     * Fused SIMD kernel computing Σ a_i·min(I_i, w_i) and Σ a_i·I_i over one row of
+     * category and attention weights.
+     * @param input the input values
+     * @param weights the category weights
+     * @param attention the attention weights, laid out like the category weights
+     * @param offset the row offset in the weights and attention arrays
+     * @param dimension the row length
+     * @param sums receives the weighted intersection at index 0 and the weighted input norm at index 1
+     */
+    public static void weightedMatch(double[] input, double[] weights, double[] attention, int offset,
+                                     int dimension, double[] sums) {
+        var intersection = DoubleVector.zero(SPECIES);
+        var magnitude = DoubleVector.zero(SPECIES);
+        var bound = SPECIES.loopBound(dimension);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            var x = DoubleVector.fromArray(SPECIES, input, i);
+            var w = DoubleVector.fromArray(SPECIES, weights, offset + i);
+            var a = DoubleVector.fromArray(SPECIES, attention, offset + i);
+            intersection = x.min(w).fma(a, intersection);
+            magnitude = x.fma(a, magnitude);
+        }
+        double weightedMin = intersection.reduceLanes(VectorOperators.ADD);
+        double inputNorm = magnitude.reduceLanes(VectorOperators.ADD);
+        for (; i < dimension; i++) {
+            weightedMin += attention[offset + i] * Math.min(input[i], weights[offset + i]);
+            inputNorm += attention[offset + i] * input[i];
+        }
+        sums[0] = weightedMin;
+        sums[1] = inputNorm;
+    }
+    
     /**
      * Create new ARTAWeight with updated category weights.
      * @param newCategoryWeights the new category weights
@@ -22,6 +22,8 @@ import java.util.Objects;
  */
 public final class ARTSTARWeight implements WeightVector {
     
+    private static final double HOUR_MILLIS = 1000.0 * 60.0 * 60.0;
+    
     private final double[] categoryWeights;
     private final double stabilityMeasure;
     private final double adaptabilityMeasure;
@@ -229,7 +231,7 @@ public final class ARTSTARWeight implements WeightVector {
         if (decayRate <= 0.0) return 1.0;
         
         long timeDelta = getTimeSinceLastUpdate();
-        double timeInHours = timeDelta / (1000.0 * 60.0 * 60.0); // Convert to hours
+        double timeInHours = timeDelta / HOUR_MILLIS;
         return Math.exp(-decayRate * timeInHours);
     }
     
@@ -237,7 +239,30 @@ public final class ARTSTARWeight implements WeightVector {
      * Apply time-based decay to strength.
      */
     public double getDecayedStrength(double decayRate) {
-        return strength * calculateDecayFactor(decayRate);
+        return getStrengthAt(System.currentTimeMillis(), decayRate);
+    }
+    
+    /**
+     * Strength decayed to the given time: s * exp(-decayRate * hours since last update).
+     */
+    public double getStrengthAt(long time, double decayRate) {
+        var elapsed = time - lastUpdateTime;
+        if (decayRate <= 0.0 || elapsed <= 0) return strength;
+        return strength * Math.exp(-decayRate * elapsed / HOUR_MILLIS);
+    }
+    
+    /**
+     * Earliest time at which the decayed strength may fall below the threshold.
+     * 
+     * @return the projected expiry time, or Long.MAX_VALUE if the strength never falls below it
+     */
+    public long getExpiryTime(double decayRate, double threshold) {
+        if (strength < threshold) return lastUpdateTime;
+        if (decayRate <= 0.0 || threshold <= 0.0) return Long.MAX_VALUE;
+        
+        double millis = Math.log(strength / threshold) / decayRate * HOUR_MILLIS;
+        if (millis >= Long.MAX_VALUE - lastUpdateTime) return Long.MAX_VALUE;
+        return lastUpdateTime + (long) millis;
     }
     
     // Immutable update methods
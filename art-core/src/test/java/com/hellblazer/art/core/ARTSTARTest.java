@@ -7,6 +7,8 @@ import com.hellblazer.art.core.weights.ARTSTARWeight;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -244,6 +246,33 @@ class ARTSTARTest {
         assertTrue(artstar.getCategoryCount() <= limitedCategoryParams.maxCategories());
     }
     
+    @Test
+    @DisplayName("Regulation prunes decayed categories without rewriting the survivors")
+    void testLazyCategoryDecay() {
+        long hour = 60L * 60L * 1000L;
+        long now = System.currentTimeMillis();
+        var expired = new ARTSTARWeight(new double[] {1.0, 0.0, 0.0}, 0.5, 0.5, 1, now - 10 * hour, 1.0);
+        var fresh = new ARTSTARWeight(new double[] {0.0, 1.0, 0.0}, 0.5, 0.5, 1, now, 1.0);
+        var aging = new ARTSTARWeight(new double[] {0.0, 0.0, 1.0}, 0.5, 0.5, 1, now - 2 * hour, 0.9);
+        var network = new ARTSTAR(List.of(expired, fresh, aging));
+        var params = ARTSTARParameters.of(0.7, 0.0, 1.0, 0.5, 0.5, 0.1, 0.1, 0.1, 0.5, 0);
+        
+        // exp(-0.1 * 10) = 0.37 falls below 0.5; 0.9 * exp(-0.1 * 2) = 0.74 does not
+        network.updateNetworkRegulation(params);
+        assertEquals(2, network.getCategoryCount());
+        assertSame(fresh, network.getCategory(0));
+        assertSame(aging, network.getCategory(1));
+        assertEquals((1.0 + 0.9 * Math.exp(-0.2)) / 2,
+                     network.analyzeRegulationState().averageCategoryStrength(), 1e-3);
+        
+        // Learning refreshes a category; limits then drop the weakest
+        network.stepFit(Pattern.of(0.0, 0.0, 1.0), params);
+        assertEquals(Math.min(1.0, 0.9 * Math.exp(-0.2) + 0.01), network.getARTSTARCategory(1).getStrength(), 1e-3);
+        network.updateNetworkRegulation(params.withMaxCategories(1));
+        assertEquals(1, network.getCategoryCount());
+        assertSame(fresh, network.getCategory(0));
+    }
+    
     @Test
     @DisplayName("Stability-aware learning reduces learning rate for stable categories")
     void testStabilityAwareLearning() {
@@ -0,0 +1,160 @@
+package com.hellblazer.art.core;
+
+import com.hellblazer.art.core.algorithms.FuzzyART;
+import com.hellblazer.art.core.artmap.ARTMAP;
+import com.hellblazer.art.core.artmap.ARTMAPParameters;
+import com.hellblazer.art.core.jfr.ArtRecordingAnalyzer;
+import com.hellblazer.art.core.jfr.MatchTrackingEvent;
+import com.hellblazer.art.core.jfr.StepFitEvent;
+import com.hellblazer.art.core.jfr.StepPredictEvent;
+import com.hellblazer.art.core.parameters.FuzzyParameters;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test the JFR events of the ART search loop and the recording analyzer.
+ */
+class ArtFlightRecorderTest {
+
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("art-jfr");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (var paths = Files.walk(tempDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    @DisplayName("stepFit and stepPredict events carry the search phases and are summarized per algorithm")
+    void testStepEvents() throws Exception {
+        var art = new FuzzyART();
+        var parameters = FuzzyParameters.of(0.8, 0.01, 1.0);
+        var inputs = inputs(200);
+        var file = tempDir.resolve("art.jfr");
+
+        try (var recording = new Recording(ArtRecordingAnalyzer.configuration())) {
+            recording.start();
+            inputs.forEach(p -> art.stepFit(p, parameters));
+            inputs.subList(0, 50).forEach(p -> art.stepPredict(p, parameters));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        var events = RecordingFile.readAllEvents(file).stream()
+                                  .filter(e -> e.getEventType().getName().equals(StepFitEvent.NAME))
+                                  .toList();
+        assertEquals(200, events.size());
+        var created = events.stream().filter(e -> e.getBoolean("categoryCreated")).count();
+        assertEquals(art.getCategoryCount(), created);
+        for (var event : events) {
+            assertEquals("FuzzyART", event.getString("algorithm"));
+            var phases = event.getLong("activationNanos") + event.getLong("searchNanos") + event.getLong("updateNanos");
+            assertTrue(phases <= event.getDuration().toNanos());
+            if (event.getInt("categoryCount") > 0 && !event.getBoolean("indexedSearch")) {
+                // Every candidate tested is reset except the one that resonated
+                var resonated = event.getBoolean("categoryCreated") ? 0 : 1;
+                assertEquals(event.getInt("candidatesTested") - resonated, event.getInt("resets"));
+            }
+        }
+
+        var summary = ArtRecordingAnalyzer.analyze(file).get("FuzzyART");
+        assertNotNull(summary);
+        assertEquals(200, summary.steps());
+        assertEquals(created, summary.categoriesCreated());
+        assertEquals(50, summary.predictions());
+        assertEquals(200, summary.stepTime().getCount());
+        assertEquals(200, summary.searchTime().getCount());
+        assertTrue(summary.stepTime().getMean() > 0);
+        var report = ArtRecordingAnalyzer.format(Map.of("FuzzyART", summary));
+        assertTrue(report.contains("stepFit: 200 steps"));
+        assertTrue(report.contains("stepPredict: 50 predictions"));
+    }
+
+    @Test
+    @DisplayName("The sample setting commits one in every N events")
+    void testSampling() throws Exception {
+        var art = new FuzzyART();
+        var parameters = FuzzyParameters.of(0.8, 0.01, 1.0);
+        var file = tempDir.resolve("sampled.jfr");
+
+        try (var recording = new Recording()) {
+            recording.enable(StepFitEvent.class).with("sample", "10");
+            recording.start();
+            inputs(100).forEach(p -> art.stepFit(p, parameters));
+            recording.stop();
+            recording.dump(file);
+        }
+        assertNull(StepFitEvent.sampled(), "no step is traced once the recording stops");
+
+        var summaries = ArtRecordingAnalyzer.analyze(file);
+        assertEquals(10, summaries.get("FuzzyART").steps());
+        assertEquals(0, summaries.get("FuzzyART").predictions());
+    }
+
+    @Test
+    @DisplayName("ARTMAP training records its match tracking search")
+    void testMatchTrackingEvents() throws Exception {
+        var artmap = new ARTMAP(new FuzzyART(), new FuzzyART(), new ARTMAPParameters(0.9, 0.05));
+        var parameters = FuzzyParameters.of(0.5, 0.01, 1.0);
+        var file = tempDir.resolve("artmap.jfr");
+        var inputs = inputs(40);
+
+        try (var recording = new Recording()) {
+            recording.enable(MatchTrackingEvent.class);
+            recording.start();
+            for (int i = 0; i < inputs.size(); i++) {
+                var label = i % 2 == 0 ? Pattern.of(1.0, 0.0) : Pattern.of(0.0, 1.0);
+                artmap.train(inputs.get(i), label, parameters, parameters);
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+
+        var summary = ArtRecordingAnalyzer.analyze(file).get("FuzzyART");
+        assertEquals(40, summary.matchTrackingSearches());
+        assertTrue(summary.meanAttempts() >= 1.0);
+        assertEquals(0, summary.steps());
+        assertTrue(ArtRecordingAnalyzer.format(ArtRecordingAnalyzer.analyze(file)).contains("match tracking: 40 searches"));
+    }
+
+    @Test
+    @DisplayName("Events are not emitted without a recording")
+    void testDisabledByDefault() {
+        assertFalse(new StepFitEvent().isEnabled());
+        assertFalse(new StepPredictEvent().isEnabled());
+        assertFalse(new MatchTrackingEvent().isEnabled());
+        assertNull(StepFitEvent.sampled());
+        assertNull(StepPredictEvent.sampled());
+        assertNull(MatchTrackingEvent.sampled());
+    }
+
+    private static List<Pattern> inputs(int count) {
+        var random = new Random(11);
+        var inputs = new ArrayList<Pattern>();
+        for (int i = 0; i < count; i++) {
+            inputs.add(Pattern.of(random.nextDouble(), random.nextDouble()));
+        }
+        return inputs;
+    }
+}
@@ -0,0 +1,142 @@
+package com.hellblazer.art.core;
+
+import com.hellblazer.art.core.algorithms.FuzzyART;
+import com.hellblazer.art.core.algorithms.HypersphereART;
+import com.hellblazer.art.core.parameters.FuzzyParameters;
+import com.hellblazer.art.core.parameters.HypersphereParameters;
+import com.hellblazer.art.core.results.ActivationResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test that parallel batch learning is identical to sequential learning.
+ */
+class BatchLearningTest {
+
+    @Test
+    @DisplayName("learnBatch gives the same categories and results as learning in order")
+    void testMatchesSequential() {
+        for (var vigilance : new double[] {0.5, 0.8, 0.95}) {
+            var parameters = FuzzyParameters.of(vigilance, 0.01, 0.5);
+            var inputs = clustered(1500, 4, 7);
+            var sequential = new FuzzyART();
+            var expected = inputs.stream().map(p -> sequential.learn(p, parameters)).toList();
+
+            var batched = new FuzzyART();
+            var results = new ArrayList<>(learnBatch(batched, inputs.subList(0, 700), parameters));
+            results.addAll(learnBatch(batched, inputs.subList(700, inputs.size()), parameters));
+
+            assertEquals(expected, results, "vigilance " + vigilance);
+            assertEquals(sequential.getCategories(), batched.getCategories(), "vigilance " + vigilance);
+            for (int i = 0; i < sequential.getCategoryCount(); i++) {
+                assertEquals(sequential.getCategoryUsageCount(i), batched.getCategoryUsageCount(i));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Fast learning with frequently shared winners still matches sequential learning")
+    void testFastLearningConflicts() {
+        // Full learning rate on few clusters: most inputs in a window share a winner
+        var parameters = FuzzyParameters.of(0.7, 0.001, 1.0);
+        var inputs = clustered(600, 3, 2, 2);
+        var sequential = new FuzzyART();
+        var expected = inputs.stream().map(p -> sequential.learn(p, parameters)).toList();
+        var batched = new FuzzyART();
+        assertEquals(expected, learnBatch(batched, inputs, parameters));
+        assertEquals(sequential.getCategories(), batched.getCategories());
+    }
+
+    @Test
+    @DisplayName("Micro-batches of any size, split across windows, match sequential learning")
+    void testMicroBatches() {
+        var parameters = FuzzyParameters.of(0.85, 0.01, 0.5);
+        var inputs = clustered(1000, 3, 11);
+        var sequential = new FuzzyART();
+        var expected = inputs.stream().map(p -> sequential.learn(p, parameters)).toList();
+        var batched = new FuzzyART();
+        var results = new ArrayList<ActivationResult>();
+        var random = new Random(12);
+        for (int start = 0; start < inputs.size(); ) {
+            var end = Math.min(inputs.size(), start + 1 + random.nextInt(300));
+            results.addAll(learnBatch(batched, inputs.subList(start, end), parameters));
+            start = end;
+        }
+        assertEquals(expected, results);
+        assertEquals(sequential.getCategories(), batched.getCategories());
+    }
+
+    @Test
+    @DisplayName("Algorithms without a concurrent search and budgeted models learn sequentially")
+    void testSequentialFallback() {
+        var parameters = HypersphereParameters.of(0.5, 0.1, true);
+        var inputs = clustered(300, 3, 5);
+        var sequential = new HypersphereART();
+        var expected = inputs.stream().map(p -> sequential.learn(p, parameters)).toList();
+        assertEquals(expected, learnBatch(new HypersphereART(), inputs, parameters));
+
+        var fuzzyParameters = FuzzyParameters.of(0.9, 0.01, 1.0);
+        var budgeted = new FuzzyART();
+        budgeted.setCategoryBudget(8, CategoryBudget.EvictionPolicy.LRU);
+        var reference = new FuzzyART();
+        reference.setCategoryBudget(8, CategoryBudget.EvictionPolicy.LRU);
+        var referenceResults = inputs.stream().map(p -> reference.learn(p, fuzzyParameters)).toList();
+        assertEquals(referenceResults, learnBatch(budgeted, inputs, fuzzyParameters));
+        assertEquals(reference.getCategories(), budgeted.getCategories());
+    }
+
+    @Test
+    @DisplayName("learnBatch validates its inputs before learning")
+    void testValidation() {
+        var art = new FuzzyART();
+        var parameters = FuzzyParameters.of(0.8, 0.01, 1.0);
+        assertThrows(NullPointerException.class,
+                     () -> art.learnBatch(Arrays.asList(Pattern.of(0.1, 0.2), null), parameters));
+        assertEquals(0, art.getCategoryCount());
+        assertTrue(art.learnBatch(List.of(), parameters).isEmpty());
+    }
+
+    /**
+     * Learn in a multi-threaded pool, so the parallel search runs whatever the machine.
+     */
+    private static <P> List<ActivationResult> learnBatch(BaseART<P> art, List<Pattern> inputs, P parameters) {
+        var pool = new ForkJoinPool(4);
+        try {
+            return pool.submit(() -> art.learnBatch(inputs, parameters)).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static List<Pattern> clustered(int count, int dimension, long seed) {
+        return clustered(count, dimension, 24, seed);
+    }
+
+    private static List<Pattern> clustered(int count, int dimension, int clusters, long seed) {
+        var random = new Random(seed);
+        var centers = new double[clusters][dimension];
+        for (var center : centers) {
+            for (int d = 0; d < dimension; d++) {
+                center[d] = random.nextDouble() * 0.8;
+            }
+        }
+        var inputs = new ArrayList<Pattern>();
+        for (int i = 0; i < count; i++) {
+            var center = centers[random.nextInt(clusters)];
+            var values = new double[dimension];
+            for (int d = 0; d < dimension; d++) {
+                values[d] = center[d] + random.nextDouble() * 0.2;
+            }
+            inputs.add(Pattern.of(values));
+        }
+        return inputs;
+    }
+}
@@ -0,0 +1,161 @@
+package com.hellblazer.art.core;
+
+import com.hellblazer.art.core.CategoryBudget.EvictionPolicy;
+import com.hellblazer.art.core.algorithms.FuzzyART;
+import com.hellblazer.art.core.parameters.FuzzyParameters;
+import com.hellblazer.art.core.results.ActivationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for bounded-capacity category budgets in BaseART.
+ */
+class CategoryBudgetTest {
+
+    private FuzzyART art;
+    private FuzzyParameters params;
+
+    @BeforeEach
+    void setUp() {
+        art = new FuzzyART();
+        params = FuzzyParameters.of(0.95, 0.0, 1.0); // High vigilance to force new categories
+    }
+
+    @Test
+    @DisplayName("LRU budget evicts the least recently resonating category and reuses its index")
+    void testLruEviction() {
+        art.setCategoryBudget(3, EvictionPolicy.LRU);
+        art.stepFit(Pattern.of(0.1, 0.1), params); // Category 0
+        art.stepFit(Pattern.of(0.5, 0.5), params); // Category 1
+        art.stepFit(Pattern.of(0.9, 0.9), params); // Category 2
+
+        art.stepFit(Pattern.of(0.1, 0.1), params);
+        art.stepFit(Pattern.of(0.9, 0.9), params);
+
+        var category0 = art.getCategory(0);
+        var category2 = art.getCategory(2);
+        var result = art.stepFit(Pattern.of(0.1, 0.9), params);
+
+        assertEquals(3, art.getCategoryCount());
+        assertEquals(1, ((ActivationResult.Success) result).categoryIndex());
+        assertSame(category0, art.getCategory(0));
+        assertSame(category2, art.getCategory(2));
+        assertEquals(1, art.getCategoryUsageCount(1));
+        assertEquals(1, art.getCategoryBudget().evictions());
+    }
+
+    @Test
+    @DisplayName("LFU budget evicts the least frequently used category")
+    void testLfuEviction() {
+        art.setCategoryBudget(3, EvictionPolicy.LFU);
+        art.stepFit(Pattern.of(0.1, 0.1), params); // Category 0
+        art.stepFit(Pattern.of(0.5, 0.5), params); // Category 1
+        art.stepFit(Pattern.of(0.9, 0.9), params); // Category 2
+        for (int i = 0; i < 3; i++) {
+            art.stepFit(Pattern.of(0.1, 0.1), params);
+            art.stepFit(Pattern.of(0.5, 0.5), params);
+        }
+        art.stepFit(Pattern.of(0.9, 0.9), params);
+
+        art.stepFit(Pattern.of(0.1, 0.9), params);
+
+        assertEquals(3, art.getCategoryCount());
+        assertEquals(4, art.getCategoryUsageCount(0));
+        assertEquals(4, art.getCategoryUsageCount(1));
+        assertEquals(1, art.getCategoryUsageCount(2)); // Category 2 was replaced
+    }
+
+    @Test
+    @DisplayName("Budget never lets the category count exceed capacity")
+    void testCapacityBound() {
+        art.setCategoryBudget(10, EvictionPolicy.LRU);
+        var random = new Random(5);
+        for (int i = 0; i < 500; i++) {
+            art.stepFit(Pattern.of(random.nextDouble(), random.nextDouble()), params);
+            assertTrue(art.getCategoryCount() <= 10);
+        }
+        assertEquals(10, art.getCategoryCount());
+        assertTrue(art.getCategoryBudget().evictions() > 0);
+        assertEquals(500, art.getTotalActivations());
+    }
+
+    @Test
+    @DisplayName("Installing a budget on a larger model prunes the least used categories")
+    void testBudgetPrunesExistingCategories() {
+        art.stepFit(Pattern.of(0.1, 0.1), params);
+        art.stepFit(Pattern.of(0.5, 0.5), params);
+        art.stepFit(Pattern.of(0.9, 0.9), params);
+        art.stepFit(Pattern.of(0.5, 0.5), params);
+
+        art.setCategoryBudget(1, EvictionPolicy.LFU);
+
+        assertEquals(1, art.getCategoryCount());
+        assertEquals(2, art.getCategoryUsageCount(0));
+    }
+
+    @Test
+    @DisplayName("Indexed heap always selects the same victim as a linear scan")
+    void testVictimMatchesLinearScan() {
+        var budget = new CategoryBudget(64, EvictionPolicy.LFU);
+        var usage = new ArrayList<Long>();
+        var lastTouch = new ArrayList<Long>();
+        var random = new Random(17);
+        long clock = 0;
+        for (int i = 0; i < 64; i++) {
+            budget.add(i, 1);
+            usage.add(1L);
+            lastTouch.add(++clock);
+        }
+        for (int step = 0; step < 5000; step++) {
+            var slot = random.nextInt(64);
+            var newUsage = random.nextInt(4) == 0 ? 1L : usage.get(slot) + 1;
+            budget.touch(slot, newUsage);
+            usage.set(slot, newUsage);
+            lastTouch.set(slot, ++clock);
+
+            int expected = 0;
+            for (int i = 1; i < 64; i++) {
+                if (usage.get(i) < usage.get(expected) ||
+                    (usage.get(i).equals(usage.get(expected)) && lastTouch.get(i) < lastTouch.get(expected))) {
+                    expected = i;
+                }
+            }
+            assertEquals(expected, budget.peekVictim());
+        }
+    }
+
+    @Test
+    @DisplayName("A rebuilt LRU budget evicts in timestamp order, lower index first on ties")
+    void testResetOrdersByTimestamp() {
+        var budget = new CategoryBudget(8, EvictionPolicy.LRU);
+        var timestamps = new long[] {50, 20, 40, 20, 10, 30, 0, 0};
+        budget.reset(new long[8], timestamps, 6);
+        var victims = new ArrayList<Integer>();
+        for (int i = 0; i < 6; i++) {
+            var victim = budget.evict();
+            victims.add(victim);
+            budget.touch(victim, 1);
+        }
+        assertEquals(List.of(4, 1, 3, 5, 2, 0), victims);
+    }
+
+    @Test
+    @DisplayName("Clearing the budget restores unbounded growth")
+    void testClearBudget() {
+        art.setCategoryBudget(2, EvictionPolicy.LRU);
+        art.stepFit(Pattern.of(0.1, 0.1), params);
+        art.stepFit(Pattern.of(0.5, 0.5), params);
+        art.clearCategoryBudget();
+        art.stepFit(Pattern.of(0.9, 0.9), params);
+
+        assertNull(art.getCategoryBudget());
+        assertEquals(3, art.getCategoryCount());
+    }
+}
@@ -44,6 +44,7 @@ import com.hellblazer.art.core.artmap.DeepARTMAP;
 import com.hellblazer.art.core.artmap.DeepARTMAPParameters;
 import com.hellblazer.art.core.artmap.DeepARTMAPResult;
 import com.hellblazer.art.core.parameters.BayesianParameters;
+import com.hellblazer.art.core.parameters.FuzzyParameters;
 import com.hellblazer.art.core.parameters.ART2Parameters;
 import com.hellblazer.art.core.utils.Matrix;
 
@@ -1165,6 +1166,35 @@ class DeepARTMAPTest {
                 assertThat(predArray.length).isEqualTo(3); // All layers
             }
         }
+
+        @Test
+        @DisplayName("Should classify each channel with its trained layer")
+        void testHierarchicalPredictionUsesLayers() {
+            var deepARTMAP = new DeepARTMAP(testModules, new DeepARTMAPParameters());
+            var trainData = createMultiChannelData(30, 3, 5);
+            var trainLabels = createClassLabels(30, 4);
+            
+            deepARTMAP.fit(trainData, trainLabels);
+            
+            // Several pipeline chunks
+            var testData = createMultiChannelData(200, 3, 5);
+            var predictions = deepARTMAP.predict(testData);
+            var deepPredictions = deepARTMAP.predictDeep(testData);
+            
+            var layers = deepARTMAP.getLayers();
+            for (int layer = 0; layer < layers.size(); layer++) {
+                var expected = ((SimpleARTMAP) layers.get(layer)).predict(testData.get(layer), FuzzyParameters.defaults());
+                for (int i = 0; i < expected.length; i++) {
+                    assertThat(deepPredictions[i][layer]).isEqualTo(expected[i]);
+                }
+            }
+            // Labels propagate up from the lowest layer with a prediction
+            for (int i = 0; i < predictions.length; i++) {
+                var lowest = Arrays.stream(deepPredictions[i]).filter(label -> label >= 0).findFirst().orElse(-1);
+                assertThat(predictions[i]).isEqualTo(lowest);
+            }
+            assertThat(Arrays.deepEquals(deepARTMAP.predictDeep(trainData), deepARTMAP.getDeepLabels())).isTrue();
+        }
     }
 
     // ================================================================================
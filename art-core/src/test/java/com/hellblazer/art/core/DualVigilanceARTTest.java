@@ -229,6 +229,25 @@ class DualVigilanceARTTest {
             assertTrue((Integer) finalStatus.get("sample_count") > 1);
         }
         
+        @Test
+        @DisplayName("Should track per-category sample counts and average match values")
+        void shouldTrackCategoryStatistics() {
+            var art = new DualVigilanceART(List.of(new com.hellblazer.art.core.weights.FuzzyWeight(
+                new double[]{0.5, 0.5, 0.5, 0.5}, 2)));
+            assertEquals(0, art.getCategoryStatistics(0).get("sample_count"));
+            assertEquals(0.0, art.getCategoryStatistics(0).get("avg_match_value"));
+            assertTrue(art.getCategoryStatistics(7).isEmpty());
+            
+            // Inputs inside the category box match it completely
+            art.stepFit(new DenseVector(new double[]{0.5, 0.5}), defaultParams);
+            art.stepFit(new DenseVector(new double[]{0.5, 0.5}), defaultParams);
+            var stats = art.getCategoryStatistics(0);
+            assertTrue((Integer) stats.get("sample_count") >= 2);
+            assertEquals(1.0, (Double) stats.get("avg_match_value"), TOLERANCE);
+            assertEquals(false, stats.get("is_boundary"));
+            assertFalse(art.isBoundaryNode(-1));
+        }
+        
         @Test
         @DisplayName("Should use different learning rules for boundary vs core nodes")
         void shouldUseDifferentLearningRules() {
@@ -0,0 +1,47 @@
+package com.hellblazer.art.core;
+
+import com.hellblazer.art.core.utils.IndexSort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the primitive index sort orders indices as a stable boxed sort does.
+ */
+class IndexSortTest {
+
+    @Test
+    @DisplayName("Index orders match a stable boxed sort, across run and merge boundaries")
+    void testMatchesBoxedSort() {
+        var random = new Random(3);
+        for (var count : new int[] {0, 1, 2, 31, 32, 33, 64, 100, 1000, 4097}) {
+            var longs = new long[count + 3];
+            var doubles = new double[count + 3];
+            for (int i = 0; i < longs.length; i++) {
+                // Few distinct keys, so most comparisons are ties
+                longs[i] = random.nextInt(count / 4 + 1);
+                doubles[i] = random.nextInt(count / 4 + 1) / 2.0;
+            }
+            assertArrayEquals(boxed(count, Comparator.comparingLong(i -> longs[i])),
+                              IndexSort.ascending(longs, count), "count=" + count);
+            assertArrayEquals(boxed(count, (a, b) -> Long.compare(longs[b], longs[a])),
+                              IndexSort.descending(longs, count), "count=" + count);
+            assertArrayEquals(boxed(count, (a, b) -> Double.compare(doubles[b], doubles[a])),
+                              IndexSort.descending(doubles, count), "count=" + count);
+        }
+    }
+
+    private static int[] boxed(int count, Comparator<Integer> comparator) {
+        var indices = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            indices[i] = i;
+        }
+        Arrays.sort(indices, comparator);
+        return Arrays.stream(indices).mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,135 @@
+package com.hellblazer.art.core;
+
+import com.hellblazer.art.core.algorithms.FuzzyART;
+import com.hellblazer.art.core.parameters.FuzzyParameters;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test the candidates-tested histogram and the bounded vigilance search of BaseART.
+ */
+class SearchLimitTest {
+
+    private static final FuzzyParameters PARAMETERS = FuzzyParameters.of(0.9, 0.01, 1.0);
+
+    @Test
+    @DisplayName("Full scans record the candidates tested per search")
+    void testHistogram() {
+        var art = new FuzzyART();
+        assertEquals(0, art.getCandidatesTestedHistogram().getCount());
+        // A match reset that accepts everything forces the full scan
+        MatchResetFunction all = (input, weight, index, parameters, cache) -> true;
+        for (var input : inputs(300, 1)) {
+            art.stepFit(input, PARAMETERS, all, MatchTrackingMode.MT_PLUS, 0.0);
+        }
+        var histogram = art.getCandidatesTestedHistogram();
+        assertEquals(299, histogram.getCount());
+        assertTrue(histogram.getMin() >= 1);
+        assertTrue(histogram.getMax() <= art.getCategoryCount());
+        assertEquals(SearchLimitMode.UNBOUNDED, art.getSearchLimitMode());
+        assertEquals(Integer.MAX_VALUE, art.getCandidateLimit());
+        assertEquals(0, art.getLimitedSearchCount());
+    }
+
+    @Test
+    @DisplayName("Indexed and batched searches record the candidates tested per search")
+    void testIndexedAndBatchedHistogram() throws Exception {
+        var indexed = new FuzzyART();
+        for (var input : inputs(300, 5)) {
+            indexed.stepFit(input, PARAMETERS);
+        }
+        var histogram = indexed.getCandidatesTestedHistogram();
+        assertEquals(299, histogram.getCount());
+        assertTrue(histogram.getMax() >= 1);
+        assertTrue(histogram.getMax() <= indexed.getCategoryCount());
+
+        var batched = new FuzzyART();
+        var inputs = inputs(300, 5);
+        try (var pool = new ForkJoinPool(4)) {
+            pool.submit(() -> batched.learnBatch(inputs, PARAMETERS)).get();
+        }
+        assertEquals(indexed.getCategories(), batched.getCategories());
+        assertEquals(299, batched.getCandidatesTestedHistogram().getCount());
+        assertTrue(batched.getCandidatesTestedHistogram().getMax() >= 1);
+    }
+
+    @Test
+    @DisplayName("A top-K search tests at most K candidates and a large K matches the unbounded search")
+    void testTopK() {
+        var inputs = inputs(400, 2);
+        var unbounded = new FuzzyART();
+        var bounded = new FuzzyART();
+        var generous = new FuzzyART();
+        bounded.setSearchLimit(SearchLimitMode.TOP_K, 2);
+        generous.setSearchLimit(SearchLimitMode.fromName("top-k"), 1_000_000);
+        for (var input : inputs) {
+            unbounded.stepFit(input, PARAMETERS);
+            bounded.stepFit(input, PARAMETERS);
+            generous.stepFit(input, PARAMETERS);
+        }
+
+        assertEquals(2, bounded.getCandidateLimit());
+        assertTrue(bounded.getCandidatesTestedHistogram().getMax() <= 2);
+        assertTrue(bounded.getLimitedSearchCount() > 0);
+        assertTrue(bounded.getCategoryCount() > unbounded.getCategoryCount());
+
+        assertEquals(0, generous.getLimitedSearchCount());
+        assertEquals(unbounded.getCategories(), generous.getCategories());
+        for (var input : inputs(50, 3)) {
+            assertEquals(unbounded.stepPredict(input, PARAMETERS), generous.stepPredict(input, PARAMETERS));
+        }
+    }
+
+    @Test
+    @DisplayName("The adaptive limit is tuned from the observed searches")
+    void testAdaptive() {
+        var art = new FuzzyART();
+        art.setSearchLimit(SearchLimitMode.ADAPTIVE, 0.5);
+        assertEquals(SearchLimitMode.ADAPTIVE, art.getSearchLimitMode());
+        assertEquals(Integer.MAX_VALUE, art.getCandidateLimit());
+
+        var inputs = inputs(SearchStatistics.TUNING_INTERVAL * 4, 4);
+        for (var input : inputs.subList(0, SearchStatistics.TUNING_INTERVAL + 1)) {
+            art.stepFit(input, PARAMETERS);
+        }
+        var limit = art.getCandidateLimit();
+        assertTrue(limit >= SearchStatistics.MIN_LIMIT && limit < Integer.MAX_VALUE);
+
+        var before = art.getCandidatesTestedHistogram();
+        for (var input : inputs.subList(SearchStatistics.TUNING_INTERVAL + 1, SearchStatistics.TUNING_INTERVAL + 101)) {
+            art.stepFit(input, PARAMETERS);
+        }
+        var window = art.getCandidatesTestedHistogram().minus(before);
+        assertEquals(100, window.getCount());
+        assertTrue(window.getValueAtQuantile(1.0) <= limit * (1.0 + 1.0 / 16));
+
+        art.setSearchLimit(SearchLimitMode.UNBOUNDED, 0.0);
+        assertEquals(Integer.MAX_VALUE, art.getCandidateLimit());
+    }
+
+    @Test
+    @DisplayName("Invalid search limits are rejected")
+    void testValidation() {
+        var art = new FuzzyART();
+        assertThrows(IllegalArgumentException.class, () -> art.setSearchLimit(SearchLimitMode.TOP_K, 0));
+        assertThrows(IllegalArgumentException.class, () -> art.setSearchLimit(SearchLimitMode.ADAPTIVE, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> SearchLimitMode.fromName("bounded"));
+        assertThrows(NullPointerException.class, () -> art.setSearchLimit(null, 1));
+    }
+
+    private static List<Pattern> inputs(int count, long seed) {
+        var random = new Random(seed);
+        var inputs = new ArrayList<Pattern>();
+        for (int i = 0; i < count; i++) {
+            inputs.add(Pattern.of(random.nextDouble(), random.nextDouble()));
+        }
+        return inputs;
+    }
+}
@@ -0,0 +1,190 @@
+package com.hellblazer.art.core;
+
+import com.hellblazer.art.core.utils.SparseTransitionMatrix;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test the sparse transition matrix against dense reference computations.
+ */
+class SparseTransitionMatrixTest {
+
+    @Test
+    @DisplayName("Smoothed counts match the dense Laplace-smoothed matrix")
+    void testSmoothedCounts() {
+        var counts = randomCounts(new Random(3), 12, 3);
+        var smoothing = 0.5;
+        var sparse = SparseTransitionMatrix.fromCounts(counts, smoothing);
+        var dense = smoothedDense(counts, smoothing);
+
+        assertTrue(sparse.nonZeroCount() <= 12 * 3);
+        var materialized = sparse.toDense();
+        for (int i = 0; i < 12; i++) {
+            assertArrayEquals(dense[i], materialized[i], 1e-12);
+            for (int j = 0; j < 12; j++) {
+                assertEquals(dense[i][j], sparse.get(i, j), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Steady state matches dense power iteration and benefits from warm starts")
+    void testSteadyState() {
+        var counts = randomCounts(new Random(11), 20, 4);
+        var sparse = SparseTransitionMatrix.fromCounts(counts, 0.1);
+        var dense = smoothedDense(counts, 0.1);
+
+        var cold = sparse.steadyState(null, 10000, 1e-12);
+        assertTrue(cold.converged());
+        var expected = denseSteadyState(dense, 10000, 1e-12);
+        assertArrayEquals(expected, cold.distribution(), 1e-9);
+
+        var warm = sparse.steadyState(cold.distribution(), 10000, 1e-12);
+        assertTrue(warm.converged());
+        assertTrue(warm.iterations() < cold.iterations());
+    }
+
+    @Test
+    @DisplayName("k-step forecasts match repeated dense multiplication")
+    void testForecast() {
+        var counts = randomCounts(new Random(7), 15, 2);
+        var sparse = SparseTransitionMatrix.fromCounts(counts, 0.2);
+        var dense = smoothedDense(counts, 0.2);
+
+        var expected = new double[15];
+        expected[4] = 1.0;
+        var trajectory = sparse.forecastTrajectory(expected.clone(), 6);
+        for (int step = 1; step <= 6; step++) {
+            expected = denseStep(dense, expected);
+            assertArrayEquals(expected, trajectory[step - 1], 1e-12);
+            assertArrayEquals(expected, sparse.forecast(4, step), 1e-12);
+        }
+        assertEquals(1.0, sparse.forecast(4, 0)[4]);
+    }
+
+    @Test
+    @DisplayName("Total variation to the squared matrix matches the dense computation")
+    void testTotalVariationToSquare() {
+        var random = new Random(19);
+        var counts = randomCounts(random, 10, 3);
+        for (var smoothing : new double[] {0.0, 0.3}) {
+            var dense = smoothedDense(counts, smoothing);
+            var sparse = SparseTransitionMatrix.fromCounts(counts, smoothing);
+            assertEquals(denseVariation(dense), sparse.totalVariationToSquare(), 1e-12);
+            assertEquals(denseVariation(dense), SparseTransitionMatrix.fromDense(dense).totalVariationToSquare(), 1e-12);
+        }
+    }
+
+    @Test
+    @DisplayName("Large chains are multiplied in parallel without changing results")
+    void testLargeSparseChain() {
+        var n = 20_000;
+        var builder = SparseTransitionMatrix.builder(n);
+        for (int i = 0; i < n; i++) {
+            builder.add(i, (i + 1) % n, 3.0);
+            builder.add(i, (i + n / 2) % n, 1.0);
+            builder.add(i, (i + 1) % n, 1.0);
+        }
+        var sparse = builder.build(1.0);
+        assertEquals(2 * n, sparse.nonZeroCount());
+        assertEquals(4.0 / 6.0 + 1.0 / 6.0 / n, sparse.get(5, 6), 1e-15);
+
+        var initial = new double[n];
+        initial[0] = 1.0;
+        var forecast = sparse.forecast(initial, 3);
+        var total = 0.0;
+        for (var p : forecast) {
+            total += p;
+        }
+        assertEquals(1.0, total, 1e-12);
+        assertArrayEquals(forecast, sparse.forecast(0, 3));
+
+        var steady = sparse.steadyState(null, 100, 1e-12);
+        assertEquals(1.0 / n, steady.distribution()[17], 1e-12);
+    }
+
+    @Test
+    @DisplayName("Invalid matrices and arguments are rejected")
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> SparseTransitionMatrix.fromDense(new double[][] {{0.5, 0.4}, {0.0, 1.0}}));
+        assertThrows(IllegalArgumentException.class,
+                     () -> SparseTransitionMatrix.fromDense(new double[][] {{1.0}, {0.0, 1.0}}));
+        var matrix = SparseTransitionMatrix.fromDense(new double[][] {{0.0, 1.0}, {1.0, 0.0}});
+        assertThrows(IllegalArgumentException.class, () -> matrix.forecast(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> matrix.forecast(2, 1));
+        assertThrows(IllegalArgumentException.class, () -> SparseTransitionMatrix.builder(2).add(0, 1, -1.0));
+    }
+
+    private static long[][] randomCounts(Random random, int n, int successors) {
+        var counts = new long[n][n];
+        for (int i = 0; i < n - 1; i++) { // last row has no observations
+            for (int s = 0; s < successors; s++) {
+                counts[i][random.nextInt(n)] += 1 + random.nextInt(5);
+            }
+        }
+        return counts;
+    }
+
+    private static double[][] smoothedDense(long[][] counts, double smoothing) {
+        var n = counts.length;
+        var dense = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            long total = 0;
+            for (var c : counts[i]) {
+                total += c;
+            }
+            for (int j = 0; j < n; j++) {
+                dense[i][j] = total == 0 ? 1.0 / n : (counts[i][j] + smoothing / n) / (total + smoothing);
+            }
+        }
+        return dense;
+    }
+
+    private static double[] denseStep(double[][] matrix, double[] x) {
+        var y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            for (int j = 0; j < x.length; j++) {
+                y[j] += x[i] * matrix[i][j];
+            }
+        }
+        return y;
+    }
+
+    private static double[] denseSteadyState(double[][] matrix, int maxIterations, double tolerance) {
+        var x = new double[matrix.length];
+        Arrays.fill(x, 1.0 / matrix.length);
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            var y = denseStep(matrix, x);
+            var diff = 0.0;
+            for (int i = 0; i < x.length; i++) {
+                diff = Math.max(diff, Math.abs(y[i] - x[i]));
+            }
+            x = y;
+            if (diff < tolerance) {
+                break;
+            }
+        }
+        return x;
+    }
+
+    private static double denseVariation(double[][] matrix) {
+        var n = matrix.length;
+        var variation = 0.0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                var square = 0.0;
+                for (int k = 0; k < n; k++) {
+                    square += matrix[i][k] * matrix[k][j];
+                }
+                variation += Math.abs(matrix[i][j] - square);
+            }
+        }
+        return variation / 2.0;
+    }
+}
@@ -0,0 +1,331 @@
+package com.hellblazer.art.core;
+
+import com.hellblazer.art.core.algorithms.FuzzyART;
+import com.hellblazer.art.core.parameters.FuzzyParameters;
+import com.hellblazer.art.core.utils.LogLinearHistogram;
+import com.hellblazer.art.core.utils.MetricsCollector.AggregationFunction;
+import com.hellblazer.art.core.utils.MetricsCollector.MetricValue;
+import com.hellblazer.art.core.utils.MetricsCollector.RetentionPolicy;
+import com.hellblazer.art.core.utils.MetricsCollector.TimeRange;
+import com.hellblazer.art.core.utils.StripedCounter;
+import com.hellblazer.art.core.utils.StripedMetricsCollector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test the striped metrics collector and its wiring into stepFit.
+ */
+class StripedMetricsCollectorTest {
+
+    @Test
+    @DisplayName("Striped counters and histograms are exact under concurrent writers")
+    void testConcurrentRecording() throws Exception {
+        var counter = new StripedCounter();
+        var histogram = new LogLinearHistogram();
+        var executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    counter.increment();
+                    histogram.record(i % 1000);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(400_000, counter.sum());
+        var snapshot = histogram.snapshot();
+        assertEquals(400_000, snapshot.getCount());
+        assertEquals(4L * 100 * (999 * 1000 / 2), snapshot.getSum());
+        assertEquals(0, snapshot.getMin());
+        assertEquals(999, snapshot.getMax());
+        assertEquals(499.5, snapshot.getMean(), 1e-9);
+        assertTrue(histogram.stripeCount() <= 16);
+    }
+
+    @Test
+    @DisplayName("Histogram quantiles are within the log-linear bucket resolution")
+    void testHistogramQuantiles() {
+        var histogram = new LogLinearHistogram();
+        for (int v = 1; v <= 100_000; v++) {
+            histogram.record(v);
+        }
+        var snapshot = histogram.snapshot();
+        for (var q : new double[] {0.5, 0.9, 0.99}) {
+            var exact = q * 100_000;
+            assertEquals(exact, snapshot.getValueAtQuantile(q), exact / 16);
+        }
+        assertEquals(1, snapshot.getValueAtQuantile(0.0));
+
+        var earlier = snapshot;
+        histogram.record(7);
+        var delta = histogram.snapshot().minus(earlier);
+        assertEquals(1, delta.getCount());
+        assertEquals(7, delta.getSum());
+        assertEquals(7.0, delta.getValueAtQuantile(0.5));
+    }
+
+    @Test
+    @DisplayName("An uncontended histogram keeps one stripe and snapshots only its recorded range")
+    void testHistogramStripesGrowOnContention() {
+        var histogram = new LogLinearHistogram();
+        for (int v = 1000; v < 5000; v++) {
+            histogram.record(v);
+        }
+        assertEquals(1, histogram.stripeCount());
+        var snapshot = histogram.snapshot();
+        assertEquals(4000, snapshot.getCount());
+        assertEquals(1000, snapshot.getMin());
+        assertEquals(4999, snapshot.getMax());
+        assertEquals(1000.0, snapshot.getValueAtQuantile(0.0), 1000.0 / 16);
+
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getCount());
+        histogram.record(3);
+        assertEquals(3.0, histogram.snapshot().getValueAtQuantile(1.0));
+        assertEquals(1, new LogLinearHistogram(1).stripeCount());
+    }
+
+    @Test
+    @DisplayName("Time buckets summarize handles and live values are aggregated")
+    void testTimeBuckets() {
+        var clock = new ManualClock();
+        try (var collector = StripedMetricsCollector.builder().clock(clock).autoRollover(false).build()) {
+            var requests = collector.counter("requests");
+            var latency = collector.timer("latency");
+            var start = clock.instant();
+
+            for (int second = 0; second < 3; second++) {
+                for (int i = 0; i <= second; i++) {
+                    requests.increment();
+                    latency.record(1000L * (second + 1));
+                }
+                clock.advance(1000);
+                collector.rollover();
+            }
+            requests.add(10);
+
+            var buckets = collector.getMetricValues("requests", start, clock.instant(), Map.of());
+            assertEquals(List.of(1L, 2L, 3L), buckets.stream().map(MetricValue::getValue).toList());
+            assertEquals(16L, collector.getLatestValue("requests", Map.of()).orElseThrow().getValue());
+
+            var counts = collector.getAggregation("requests", start, clock.instant().plusSeconds(1),
+                                                  List.of(AggregationFunction.SUM, AggregationFunction.MAX), Map.of());
+            assertEquals(16.0, counts.getValue(AggregationFunction.SUM).orElseThrow(), 1e-9);
+            assertEquals(10.0, counts.getValue(AggregationFunction.MAX).orElseThrow(), 1e-9);
+
+            var timing = collector.getAggregation("latency", start, clock.instant(),
+                                                  List.of(AggregationFunction.COUNT, AggregationFunction.MAX,
+                                                          AggregationFunction.AVERAGE), Map.of());
+            assertEquals(6.0, timing.getValue(AggregationFunction.COUNT).orElseThrow(), 1e-9);
+            // Extremes of a time range are known to the bucket resolution
+            assertEquals(3000.0, timing.getValue(AggregationFunction.MAX).orElseThrow(), 3000.0 / 16);
+            assertEquals(14000.0 / 6, timing.getValue(AggregationFunction.AVERAGE).orElseThrow(), 1e-9);
+
+            var recent = collector.getRecentValues("latency", 1, Map.of());
+            assertEquals(3000.0, recent.get(0).getValue());
+        }
+    }
+
+    @Test
+    @DisplayName("Retention policies bound points and buckets")
+    void testRetention() {
+        var clock = new ManualClock();
+        try (var collector = StripedMetricsCollector.builder().clock(clock).autoRollover(false)
+                                                    .retention(RetentionPolicy.COUNT_BASED, 5).build()) {
+            for (int i = 0; i < 20; i++) {
+                collector.collect("event", "e" + i, clock.instant(), Map.of("run", "a"));
+                collector.gauge("level").set(i);
+                clock.advance(1000);
+                collector.rollover();
+            }
+            var events = collector.getRecentValues("event", 100, Map.of());
+            assertEquals(5, events.size());
+            assertEquals("e19", events.get(0).getValue());
+            assertEquals(5, collector.getRecentValues("level", 100, Map.of()).size());
+
+            collector.setRetentionPolicy(RetentionPolicy.TIME_BASED, Duration.ofMillis(2500));
+            assertEquals(2, collector.getRecentValues("event", 100, Map.of()).size());
+
+            collector.setRetentionPolicy(RetentionPolicy.CUSTOM,
+                (java.util.function.Predicate<MetricValue>) v -> !"e19".equals(v.getValue()));
+            assertEquals(List.of("e18"), collector.getRecentValues("event", 100, Map.of()).stream()
+                                                  .map(MetricValue::getValue).toList());
+            assertTrue(collector.getStatistics().getRetentionStatistics().getTotalDataPointsRemoved() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Rings keep the newest entries up to their limit, beyond the preallocated slots")
+    void testRingCapacity() {
+        var clock = new ManualClock();
+        try (var collector = StripedMetricsCollector.builder().clock(clock).autoRollover(false)
+                                                    .retention(RetentionPolicy.COUNT_BASED, 1500).build()) {
+            var level = collector.gauge("level");
+            for (int i = 0; i < 4000; i++) {
+                level.set(i);
+                collector.collect("event", "e" + i, clock.instant(), Map.of());
+                clock.advance(10);
+                collector.rollover();
+            }
+            var buckets = collector.getRecentValues("level", 5000, Map.of());
+            assertEquals(1500, buckets.size());
+            assertEquals(3999.0, buckets.get(0).getValue());
+            assertEquals(2500.0, buckets.get(1499).getValue());
+            var events = collector.getRecentValues("event", 5000, Map.of());
+            assertEquals(1500, events.size());
+            assertEquals("e2500", events.get(1499).getValue());
+
+            collector.setRetentionPolicy(RetentionPolicy.UNLIMITED, null);
+            for (int i = 0; i < 1000; i++) {
+                level.set(i);
+                collector.rollover();
+            }
+            assertEquals(2500, collector.getRecentValues("level", 5000, Map.of()).size());
+        }
+    }
+
+    @Test
+    @DisplayName("Queries, batching, export and import")
+    void testQueryExportImport() {
+        var clock = new ManualClock();
+        try (var collector = StripedMetricsCollector.builder().clock(clock).autoRollover(false).build()) {
+            collector.setCollectionMode(StripedMetricsCollector.CollectionMode.BATCHED);
+            collector.collect("art.status", "ok", Map.of("node", "1"));
+            collector.collect("art.status", "degraded", Map.of("node", "2"));
+            assertTrue(collector.getRecentValues("art.status", 10, Map.of()).isEmpty());
+            collector.flush().join();
+            assertEquals(2, collector.getRecentValues("art.status", 10, Map.of()).size());
+            assertEquals("degraded", collector.getLatestValue("art.status", Map.of("node", "2"))
+                                              .orElseThrow().getValue());
+
+            collector.setCollectionMode(StripedMetricsCollector.CollectionMode.IMMEDIATE);
+            collector.collect("art.size", 12);
+            clock.advance(1000);
+            collector.rollover();
+
+            var result = collector.query(new Query("art.*", null, 1));
+            assertEquals(3, result.getTotalMatches());
+            assertTrue(result.isTruncated());
+            assertEquals(1, result.getValues().size());
+
+            var csv = (String) collector.export("CSV", Optional.empty(), Optional.of("art.status")).orElseThrow();
+            var prometheus = (String) collector.export("PROMETHEUS", Optional.empty(), Optional.empty()).orElseThrow();
+            assertTrue(prometheus.contains("art_size 12.0"));
+            assertTrue(collector.export("XML", Optional.empty(), Optional.empty()).isEmpty());
+
+            try (var copy = StripedMetricsCollector.builder().autoRollover(false).build()) {
+                assertEquals(2, copy.importMetrics(csv, "CSV"));
+                assertEquals("ok", copy.getRecentValues("art.status", 10, Map.of("node", "1")).get(0).getValue());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("stepFit records metrics only while a collector is installed and enabled")
+    void testStepFitMetrics() {
+        var art = new FuzzyART();
+        var parameters = FuzzyParameters.of(0.7, 0.01, 1.0);
+        var random = new Random(3);
+        var inputs = new ArrayList<Pattern>();
+        for (int i = 0; i < 200; i++) {
+            inputs.add(Pattern.of(random.nextDouble(), random.nextDouble()));
+        }
+
+        try (var collector = StripedMetricsCollector.builder().autoRollover(false).build()) {
+            inputs.subList(0, 50).forEach(p -> art.stepFit(p, parameters));
+            art.setMetricsCollector(collector);
+            assertSame(collector, art.getMetricsCollector());
+            var before = art.getCategoryCount();
+            inputs.subList(50, 150).forEach(p -> art.stepFit(p, parameters));
+
+            assertEquals(100L, collector.counter("FuzzyART.stepFit.steps").sum());
+            assertEquals(art.getCategoryCount() - before, collector.counter("FuzzyART.stepFit.categoriesCreated").sum());
+            assertEquals(100L, collector.timer("FuzzyART.stepFit.latency").snapshot().getCount());
+
+            collector.setEnabled(false);
+            inputs.subList(150, 175).forEach(p -> art.stepFit(p, parameters));
+            collector.setEnabled(true);
+            art.setMetricsCollector(null);
+            inputs.subList(175, 200).forEach(p -> art.stepFit(p, parameters));
+            assertEquals(100L, collector.counter("FuzzyART.stepFit.steps").sum());
+        }
+    }
+
+    private record Query(String pattern, TimeRange range, int limit)
+        implements StripedMetricsCollector.MetricQuery {
+        @Override
+        public String getMetricPattern() {
+            return pattern;
+        }
+
+        @Override
+        public TimeRange getTimeRange() {
+            return range;
+        }
+
+        @Override
+        public Map<String, String> getLabelFilters() {
+            return Map.of();
+        }
+
+        @Override
+        public List<AggregationFunction> getAggregations() {
+            return List.of(AggregationFunction.COUNT);
+        }
+
+        @Override
+        public Optional<Integer> getLimit() {
+            return Optional.of(limit);
+        }
+
+        @Override
+        public Optional<QueryOrdering> getOrdering() {
+            return Optional.empty();
+        }
+    }
+
+    private static final class ManualClock extends Clock {
+        private long millis = 1_000_000L;
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
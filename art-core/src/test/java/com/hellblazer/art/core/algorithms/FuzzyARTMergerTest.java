@@ -0,0 +1,144 @@
+package com.hellblazer.art.core.algorithms;
+
+import com.hellblazer.art.core.Pattern;
+import com.hellblazer.art.core.parameters.FuzzyParameters;
+import com.hellblazer.art.core.results.ActivationResult;
+import com.hellblazer.art.core.weights.FuzzyWeight;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for merging FuzzyART models trained on separate shards.
+ */
+class FuzzyARTMergerTest {
+
+    @Test
+    @DisplayName("Merged categories cover every source box and no two of them resonate")
+    void testMergeCoversSourcesWithoutResonantPairs() throws Exception {
+        var params = FuzzyParameters.of(0.75, 0.001, 1.0);
+        var random = new Random(11);
+        var shards = new ArrayList<FuzzyART>();
+        var sourceCategories = 0;
+        var sourceUsage = 0L;
+        for (int s = 0; s < 8; s++) {
+            var shard = new FuzzyART();
+            for (int i = 0; i < 400; i++) {
+                shard.stepFit(clustered(random), params);
+            }
+            shards.add(shard);
+            sourceCategories += shard.getCategoryCount();
+            for (int c = 0; c < shard.getCategoryCount(); c++) {
+                sourceUsage += shard.getCategoryUsageCount(c);
+            }
+        }
+
+        try (var pool = new ForkJoinPool(4)) {
+            var merged = FuzzyARTMerger.merge(shards, params, pool);
+            assertTrue(merged.getCategoryCount() > 0 && merged.getCategoryCount() < sourceCategories,
+                       merged.getCategoryCount() + " of " + sourceCategories);
+
+            var mergedUsage = 0L;
+            for (int c = 0; c < merged.getCategoryCount(); c++) {
+                var weight = weight(merged, c);
+                assertTrue(norm(weight) >= 0.75 * 3 - 1e-9, "category " + c + " is larger than vigilance allows");
+                for (int o = c + 1; o < merged.getCategoryCount(); o++) {
+                    assertTrue(intersection(weight, weight(merged, o)) < 0.75 * 3, "categories " + c + " and " + o);
+                }
+                mergedUsage += merged.getCategoryUsageCount(c);
+            }
+            assertEquals(sourceUsage, mergedUsage);
+
+            for (var shard : shards) {
+                for (int c = 0; c < shard.getCategoryCount(); c++) {
+                    var source = weight(shard, c);
+                    var covered = false;
+                    for (int m = 0; m < merged.getCategoryCount() && !covered; m++) {
+                        covered = contains(weight(merged, m), source);
+                    }
+                    assertTrue(covered, "source box not covered");
+                }
+            }
+
+            // The merged model keeps learning normally
+            var result = merged.stepFit(clustered(random), params);
+            assertInstanceOf(ActivationResult.Success.class, result);
+        } finally {
+            for (var shard : shards) {
+                shard.close();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Merging resonant boxes yields their bounding box; distant boxes are kept apart")
+    void testMergeCoalescesOnlyResonantBoxes() throws Exception {
+        var params = FuzzyParameters.of(0.8, 0.001, 1.0);
+        var first = new FuzzyART();
+        var second = new FuzzyART();
+        var empty = new FuzzyART();
+        first.stepFit(Pattern.of(0.10, 0.10), params);
+        first.stepFit(Pattern.of(0.90, 0.90), params);
+        second.stepFit(Pattern.of(0.20, 0.15), params);
+
+        var merged = FuzzyARTMerger.merge(List.of(first, empty, second), params);
+        assertEquals(2, merged.getCategoryCount());
+        assertArrayEquals(new double[] {0.10, 0.10, 0.80, 0.85}, weight(merged, 0), 1e-12);
+        assertArrayEquals(new double[] {0.90, 0.90, 0.10, 0.10}, weight(merged, 1), 1e-12);
+        assertEquals(2, merged.getCategoryUsageCount(0));
+        assertEquals(1, merged.getCategoryUsageCount(1));
+
+        var strict = FuzzyARTMerger.merge(List.of(first, second), params.withVigilance(0.95));
+        assertEquals(3, strict.getCategoryCount());
+
+        var wide = new FuzzyART();
+        wide.stepFit(Pattern.of(0.5, 0.5, 0.5), params);
+        assertThrows(IllegalArgumentException.class, () -> FuzzyARTMerger.merge(List.of(first, wide), params));
+        assertThrows(IllegalArgumentException.class, () -> FuzzyARTMerger.merge(List.of(), params));
+    }
+
+    private static Pattern clustered(Random random) {
+        var center = random.nextInt(6) / 5.0;
+        var values = new double[3];
+        for (int d = 0; d < values.length; d++) {
+            values[d] = Math.clamp(center + random.nextGaussian() * 0.08, 0.0, 1.0);
+        }
+        return Pattern.of(values);
+    }
+
+    private static double[] weight(FuzzyART art, int category) {
+        return ((FuzzyWeight) art.getCategory(category)).data();
+    }
+
+    private static double norm(double[] weight) {
+        var norm = 0.0;
+        for (var w : weight) {
+            norm += w;
+        }
+        return norm;
+    }
+
+    private static double intersection(double[] a, double[] b) {
+        var norm = 0.0;
+        for (int d = 0; d < a.length; d++) {
+            norm += Math.min(a[d], b[d]);
+        }
+        return norm;
+    }
+
+    // Complement coding means a box contains another exactly when its weight is componentwise smaller
+    private static boolean contains(double[] outer, double[] inner) {
+        for (int d = 0; d < outer.length; d++) {
+            if (outer[d] > inner[d]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
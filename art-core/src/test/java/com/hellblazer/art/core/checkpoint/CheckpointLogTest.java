@@ -0,0 +1,202 @@
+package com.hellblazer.art.core.checkpoint;
+
+import com.hellblazer.art.core.CategoryBudget;
+import com.hellblazer.art.core.Pattern;
+import com.hellblazer.art.core.algorithms.FuzzyART;
+import com.hellblazer.art.core.parameters.FuzzyParameters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the append-only checkpoint journal.
+ */
+class CheckpointLogTest {
+
+    private Path directory;
+    private FuzzyParameters params;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("art-checkpoint");
+        params = FuzzyParameters.of(0.75, 0.001, 0.5);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (var paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    @DisplayName("Recovered model matches the model that was journaled")
+    void testRecoverMatchesOriginal() throws Exception {
+        var original = new FuzzyART();
+        try (var log = CheckpointLog.builder(directory).build()) {
+            log.attach(original);
+            train(original, 500, 42);
+            log.sync();
+            assertEquals(500, log.getDurableSequence());
+        }
+
+        var restored = new FuzzyART();
+        var recovery = CheckpointLog.builder(directory).build().recover(restored);
+
+        assertEquals(0, recovery.snapshotSequence());
+        assertEquals(500, recovery.replayedRecords());
+        assertFalse(recovery.truncatedTail());
+        assertSameState(original, restored);
+    }
+
+    @Test
+    @DisplayName("Snapshot plus replayed tail reproduces the model after compaction")
+    void testCompactionThenReplay() throws Exception {
+        var original = new FuzzyART();
+        try (var log = CheckpointLog.builder(directory).compactionThreshold(0).build()) {
+            log.attach(original);
+            train(original, 300, 7);
+            log.compact();
+            train(original, 200, 8);
+        }
+
+        var restored = new FuzzyART();
+        var recovery = CheckpointLog.builder(directory).build().recover(restored);
+
+        assertEquals(300, recovery.snapshotSequence());
+        assertEquals(200, recovery.replayedRecords());
+        assertSameState(original, restored);
+    }
+
+    @Test
+    @DisplayName("Torn journal tail is discarded and earlier records are kept")
+    void testTornTail() throws Exception {
+        var original = new FuzzyART();
+        try (var log = CheckpointLog.builder(directory).build()) {
+            log.attach(original);
+            train(original, 100, 3);
+        }
+        Files.write(directory.resolve(CheckpointLog.JOURNAL_FILE), new byte[] {0, 0, 0, 64, 1, 2, 3},
+                    StandardOpenOption.APPEND);
+
+        var restored = new FuzzyART();
+        var recovery = CheckpointLog.builder(directory).build().recover(restored);
+
+        assertTrue(recovery.truncatedTail());
+        assertEquals(100, recovery.replayedRecords());
+        assertSameState(original, restored);
+    }
+
+    @Test
+    @DisplayName("Pruning writes a new snapshot so recovery reflects the pruned model")
+    void testPruneCompacts() throws Exception {
+        var original = new FuzzyART();
+        var strict = FuzzyParameters.of(0.95, 0.001, 1.0);
+        try (var log = CheckpointLog.builder(directory).build()) {
+            log.attach(original);
+            var random = new Random(11);
+            for (int i = 0; i < 50; i++) {
+                original.stepFit(Pattern.of(random.nextDouble(), random.nextDouble(), random.nextDouble()), strict);
+            }
+            original.pruneToMaxSize(5);
+            train(original, 20, 12);
+        }
+
+        var restored = new FuzzyART();
+        CheckpointLog.builder(directory).build().recover(restored);
+        assertSameState(original, restored);
+    }
+
+    @Test
+    @DisplayName("A failed snapshot on prune is reported on close and recovery keeps the last durable state")
+    void testResetFailureReportedOnClose() throws Exception {
+        var original = new FuzzyART();
+        var log = CheckpointLog.builder(directory).build();
+        log.attach(original);
+        train(original, 100, 13);
+        log.sync();
+        var durable = List.copyOf(original.getCategories());
+        var activations = original.getTotalActivations();
+
+        // A directory in place of the temporary snapshot makes the compaction fail
+        var blocker = Files.createDirectory(directory.resolve(CheckpointLog.SNAPSHOT_FILE + ".tmp"));
+        assertDoesNotThrow(() -> original.pruneToMaxSize(3));
+        assertEquals(3, original.getCategoryCount());
+        assertDoesNotThrow(() -> train(original, 20, 14));
+        assertThrows(IOException.class, log::sync);
+        assertThrows(IOException.class, log::close);
+        Files.delete(blocker);
+
+        var restored = new FuzzyART();
+        CheckpointLog.builder(directory).build().recover(restored);
+        assertEquals(durable, restored.getCategories());
+        assertEquals(activations, restored.getTotalActivations());
+    }
+
+    @Test
+    @DisplayName("Evictions under a category budget are replayed as slot reuse")
+    void testBudgetEvictionReplay() throws Exception {
+        var original = new FuzzyART();
+        original.setCategoryBudget(8, CategoryBudget.EvictionPolicy.LRU);
+        try (var log = CheckpointLog.builder(directory).build()) {
+            log.attach(original);
+            train(original, 300, 31);
+        }
+        assertTrue(original.getCategoryBudget().evictions() > 0);
+
+        var restored = new FuzzyART();
+        CheckpointLog.builder(directory).build().recover(restored);
+        assertSameState(original, restored);
+    }
+
+    @Test
+    @DisplayName("Recovered model can be attached and continues journaling")
+    void testResumeAfterRecovery() throws Exception {
+        var original = new FuzzyART();
+        try (var log = CheckpointLog.builder(directory).build()) {
+            log.attach(original);
+            train(original, 100, 21);
+        }
+
+        var resumed = new FuzzyART();
+        try (var log = CheckpointLog.builder(directory).build()) {
+            log.recover(resumed);
+            log.attach(resumed);
+            train(resumed, 100, 22);
+        }
+        train(original, 100, 22);
+        assertEquals(original.getCategories(), resumed.getCategories());
+
+        var restored = new FuzzyART();
+        CheckpointLog.builder(directory).build().recover(restored);
+        assertSameState(resumed, restored);
+    }
+
+    private void train(FuzzyART art, int count, long seed) {
+        var random = new Random(seed);
+        for (int i = 0; i < count; i++) {
+            art.stepFit(Pattern.of(random.nextDouble(), random.nextDouble(), random.nextDouble()), params);
+        }
+    }
+
+    private void assertSameState(FuzzyART expected, FuzzyART actual) {
+        assertEquals(expected.getCategoryCount(), actual.getCategoryCount());
+        assertEquals(expected.getTotalActivations(), actual.getTotalActivations());
+        for (int i = 0; i < expected.getCategoryCount(); i++) {
+            assertEquals(expected.getCategory(i), actual.getCategory(i));
+            assertEquals(expected.getCategoryUsageCount(i), actual.getCategoryUsageCount(i));
+            assertEquals(expected.getCategoryLastUsedTimestamp(i), actual.getCategoryLastUsedTimestamp(i));
+        }
+    }
+}
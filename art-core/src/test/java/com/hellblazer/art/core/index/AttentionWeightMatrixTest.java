@@ -0,0 +1,120 @@
+package com.hellblazer.art.core.index;
+
+import com.hellblazer.art.core.MatchResetFunction;
+import com.hellblazer.art.core.MatchTrackingMode;
+import com.hellblazer.art.core.Pattern;
+import com.hellblazer.art.core.algorithms.ARTA;
+import com.hellblazer.art.core.parameters.ARTAParameters;
+import com.hellblazer.art.core.results.ActivationResult;
+import com.hellblazer.art.core.weights.ARTAWeight;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the ART-A attention matrix search reproduces the full scan.
+ */
+class AttentionWeightMatrixTest {
+
+    private static final MatchResetFunction FULL_SCAN = (input, weight, index, params, cache) -> true;
+
+    @Test
+    @DisplayName("ARTA learns the same categories as the full scan, across pruning")
+    void testLearningMatchesFullScan() {
+        // An odd dimension exercises the scalar tail of the kernel
+        var params = ARTAParameters.of(0.75, 0.01, 0.5, 0.1, 0.5, 0.1);
+        var indexed = new ARTA();
+        var reference = new ARTA();
+        var random = new Random(5);
+        for (int i = 0; i < 1200; i++) {
+            if (i == 600) {
+                indexed.pruneToMaxSize(10);
+                reference.pruneToMaxSize(10);
+            }
+            var input = randomPattern(random, 11);
+            var fast = (ActivationResult.Success) indexed.stepFit(input, params);
+            var full = (ActivationResult.Success) reference.stepFit(input, params, FULL_SCAN, MatchTrackingMode.MT_PLUS, 0.0);
+            assertEquals(full.categoryIndex(), fast.categoryIndex(), "step=" + i);
+            assertEquals(full.activationValue(), fast.activationValue(), 0.0);
+        }
+        assertEquals(reference.getCategories(), indexed.getCategories());
+    }
+
+    @Test
+    @DisplayName("ARTA predicts the highest attention-weighted activation")
+    void testPredictionMatchesFullScan() {
+        var params = ARTAParameters.of(0.8, 0.01, 1.0, 0.2, 0.5, 0.1);
+        var art = new ARTA();
+        var random = new Random(9);
+        for (int i = 0; i < 300; i++) {
+            art.stepFit(randomPattern(random, 16), params);
+        }
+        var sums = new double[2];
+        for (int i = 0; i < 200; i++) {
+            var input = randomPattern(random, 16);
+            var best = -1;
+            var bestActivation = Double.NEGATIVE_INFINITY;
+            for (int j = 0; j < art.getCategoryCount(); j++) {
+                var weight = (ARTAWeight) art.getCategory(j);
+                weight.weightedMatch(input.toArray(), sums);
+                var activation = sums[0] / (params.alpha() + weight.getWeightedNorm());
+                if (activation > bestActivation) {
+                    best = j;
+                    bestActivation = activation;
+                }
+            }
+            var result = (ActivationResult.Success) art.stepPredict(input, params);
+            assertEquals(best, result.categoryIndex());
+            assertEquals(bestActivation, result.activationValue(), 0.0);
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent predictions read the matrix together and agree with sequential ones")
+    void testConcurrentPredictions() throws Exception {
+        var params = ARTAParameters.of(0.8, 0.01, 1.0, 0.2, 0.5, 0.1);
+        var art = new ARTA();
+        var random = new Random(13);
+        for (int i = 0; i < 300; i++) {
+            art.stepFit(randomPattern(random, 16), params);
+        }
+        var inputs = new Pattern[400];
+        var expected = new int[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = randomPattern(random, 16);
+            expected[i] = ((ActivationResult.Success) art.stepPredict(inputs[i], params)).categoryIndex();
+        }
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var futures = new ArrayList<Future<int[]>>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    var actual = new int[inputs.length];
+                    for (int i = 0; i < inputs.length; i++) {
+                        actual[i] = ((ActivationResult.Success) art.stepPredict(inputs[i], params)).categoryIndex();
+                    }
+                    return actual;
+                }));
+            }
+            for (var future : futures) {
+                assertArrayEquals(expected, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Pattern randomPattern(Random random, int dimension) {
+        var values = new double[dimension];
+        for (int d = 0; d < dimension; d++) {
+            values[d] = random.nextDouble();
+        }
+        return Pattern.of(values);
+    }
+}
@@ -0,0 +1,136 @@
+package com.hellblazer.art.core.index;
+
+import com.hellblazer.art.core.MatchResetFunction;
+import com.hellblazer.art.core.MatchTrackingMode;
+import com.hellblazer.art.core.Pattern;
+import com.hellblazer.art.core.algorithms.GaussianART;
+import com.hellblazer.art.core.algorithms.HypersphereART;
+import com.hellblazer.art.core.parameters.GaussianParameters;
+import com.hellblazer.art.core.parameters.HypersphereParameters;
+import com.hellblazer.art.core.results.ActivationResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that ball-tree category search reproduces the full scan.
+ */
+class BallTreeIndexTest {
+
+    private static final MatchResetFunction FULL_SCAN = (input, weight, index, params, cache) -> true;
+
+    @Test
+    @DisplayName("HypersphereART learns the same categories as the full scan")
+    void testHypersphereLearningMatchesFullScan() {
+        for (var vigilance : new double[] {0.0, 0.5, 0.9}) {
+            var params = HypersphereParameters.of(vigilance, 0.05, false);
+            var indexed = new HypersphereART();
+            var reference = new HypersphereART();
+            var random = new Random(7);
+            for (int i = 0; i < 1500; i++) {
+                var input = randomPattern(random, 3);
+                var fast = (ActivationResult.Success) indexed.stepFit(input, params);
+                var full = (ActivationResult.Success) reference.stepFit(input, params, FULL_SCAN, MatchTrackingMode.MT_PLUS, 0.0);
+                assertEquals(full.categoryIndex(), fast.categoryIndex(), "rho=" + vigilance + " step=" + i);
+            }
+            assertEquals(reference.getCategories(), indexed.getCategories());
+        }
+    }
+
+    @Test
+    @DisplayName("GaussianART learns the same categories as the full scan while means move")
+    void testGaussianLearningMatchesFullScan() {
+        var params = GaussianParameters.of(0.5, new double[] {0.01, 0.01, 0.01, 0.01, 0.01, 0.01});
+        var indexed = new GaussianART();
+        var reference = new GaussianART();
+        var random = new Random(11);
+        for (int i = 0; i < 1000; i++) {
+            var input = randomPattern(random, 6);
+            var fast = (ActivationResult.Success) indexed.stepFit(input, params);
+            var full = (ActivationResult.Success) reference.stepFit(input, params, FULL_SCAN, MatchTrackingMode.MT_PLUS, 0.0);
+            assertEquals(full.categoryIndex(), fast.categoryIndex(), "step=" + i);
+        }
+        assertEquals(reference.getCategories(), indexed.getCategories());
+        var index = indexed.getMeanIndex();
+        assertTrue(index.getVisitedCount() < index.getSearchCount() * (long) indexed.getCategoryCount());
+    }
+
+    @Test
+    @DisplayName("Top-k prediction returns the nearest centers in order")
+    void testHypersphereTopK() {
+        var params = HypersphereParameters.of(0.95, 0.01, false);
+        var art = new HypersphereART();
+        var random = new Random(19);
+        for (int i = 0; i < 400; i++) {
+            art.stepFit(randomPattern(random, 3), params);
+        }
+        for (int q = 0; q < 50; q++) {
+            var input = randomPattern(random, 3);
+            var expected = IntStream.range(0, art.getCategoryCount()).boxed()
+                .sorted(Comparator.comparingDouble((Integer c) -> distance(input, art.getCategory(c).get(0),
+                    art.getCategory(c).get(1), art.getCategory(c).get(2))).thenComparing(c -> c))
+                .limit(5).mapToInt(Integer::intValue).toArray();
+            assertArrayEquals(expected, art.predictTopK(input, params, 5));
+
+            var predicted = (ActivationResult.Success) art.stepPredict(input, params);
+            assertEquals(expected[0], predicted.categoryIndex());
+        }
+    }
+
+    @Test
+    @DisplayName("Gaussian top-k matches a full likelihood ranking")
+    void testGaussianTopK() {
+        var params = GaussianParameters.of(0.0, new double[] {0.02, 0.02});
+        var art = new GaussianART();
+        var random = new Random(31);
+        for (int i = 0; i < 300; i++) {
+            art.stepFit(randomPattern(random, 2), params.withVigilance(1.0));
+        }
+        var scores = new double[art.getCategoryCount()];
+        var input = randomPattern(random, 2);
+        for (int c = 0; c < scores.length; c++) {
+            var weight = (com.hellblazer.art.core.weights.GaussianWeight) art.getCategory(c);
+            var q = 0.0;
+            for (int i = 0; i < 2; i++) {
+                var diff = input.get(i) - weight.mean()[i];
+                q += diff * diff * weight.invSigma()[i];
+            }
+            scores[c] = Math.pow(2.0 * Math.PI, -1.0) / weight.sqrtDetSigma() * Math.exp(-0.5 * q);
+        }
+        var expected = IntStream.range(0, scores.length).boxed()
+            .sorted(Comparator.comparingDouble((Integer c) -> -scores[c]).thenComparing(c -> c))
+            .limit(10).mapToInt(Integer::intValue).toArray();
+        assertArrayEquals(expected, art.predictTopK(input, params, 10));
+    }
+
+    @Test
+    @DisplayName("Invalid configuration is rejected")
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new BallTreeIndex(-1, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> new BallTreeIndex(1, -1.0));
+        var art = new HypersphereART();
+        art.stepFit(Pattern.of(0.1, 0.2), HypersphereParameters.defaults());
+        assertThrows(IllegalArgumentException.class,
+                     () -> art.predictTopK(Pattern.of(0.1, 0.2), HypersphereParameters.defaults(), 0));
+    }
+
+    private static Pattern randomPattern(Random random, int dimension) {
+        var values = new double[dimension];
+        for (int i = 0; i < dimension; i++) {
+            values[i] = random.nextDouble();
+        }
+        return Pattern.of(values);
+    }
+
+    private static double distance(Pattern input, double x, double y, double z) {
+        var dx = input.get(0) - x;
+        var dy = input.get(1) - y;
+        var dz = input.get(2) - z;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+}
@@ -0,0 +1,183 @@
+package com.hellblazer.art.core.index;
+
+import com.hellblazer.art.core.CategoryBudget;
+import com.hellblazer.art.core.MatchResetFunction;
+import com.hellblazer.art.core.MatchTrackingMode;
+import com.hellblazer.art.core.Pattern;
+import com.hellblazer.art.core.algorithms.FuzzyART;
+import com.hellblazer.art.core.parameters.FuzzyParameters;
+import com.hellblazer.art.core.results.ActivationResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.IntToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the bounded FuzzyART category search selects exactly the full-scan winner.
+ */
+class FuzzyChoiceBoundIndexTest {
+
+    // Always considering every category forces BaseART onto the full scan
+    private static final MatchResetFunction FULL_SCAN = (input, weight, index, params, cache) -> true;
+
+    @Test
+    @DisplayName("Bounded learning produces the same categories as the full scan")
+    void testLearningMatchesFullScan() {
+        for (var vigilance : new double[] {0.0, 0.5, 0.75, 0.9}) {
+            for (var alpha : new double[] {0.0, 0.001, 1.0}) {
+                var params = FuzzyParameters.of(vigilance, alpha, 0.3);
+                var bounded = new FuzzyART();
+                var reference = new FuzzyART();
+                var random = new Random(17);
+                for (int i = 0; i < 400; i++) {
+                    var input = randomPattern(random, 4);
+                    var fast = bounded.stepFit(input, params);
+                    var full = reference.stepFit(input, params, FULL_SCAN, MatchTrackingMode.MT_PLUS, 0.0);
+                    assertEquals(index(full), index(fast), "rho=" + vigilance + " alpha=" + alpha + " step=" + i);
+                }
+                assertEquals(reference.getCategories(), bounded.getCategories());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Bounded prediction selects the highest activation")
+    void testPredictionMatchesFullScan() {
+        var params = FuzzyParameters.of(0.85, 0.01, 1.0);
+        var art = new FuzzyART();
+        var random = new Random(5);
+        for (int i = 0; i < 300; i++) {
+            art.stepFit(randomPattern(random, 3), params);
+        }
+        for (int i = 0; i < 200; i++) {
+            var input = randomPattern(random, 3);
+            var predicted = (ActivationResult.Success) art.stepPredict(input, params);
+
+            var best = -1;
+            var bestActivation = Double.NEGATIVE_INFINITY;
+            for (int c = 0; c < art.getCategoryCount(); c++) {
+                var activation = choice(input, art, c, params.alpha());
+                if (activation > bestActivation) {
+                    bestActivation = activation;
+                    best = c;
+                }
+            }
+            assertEquals(best, predicted.categoryIndex());
+            assertEquals(bestActivation, predicted.activationValue(), 1e-12);
+        }
+    }
+
+    @Test
+    @DisplayName("Search evaluates fewer categories than the full scan")
+    void testSearchPrunes() {
+        var params = FuzzyParameters.of(0.9, 0.001, 1.0);
+        var art = new FuzzyART();
+        var random = new Random(23);
+        for (int i = 0; i < 2000; i++) {
+            art.stepFit(randomPattern(random, 2), params);
+        }
+        var index = art.getChoiceIndex();
+        var evaluatedBefore = index.getEvaluatedCount();
+        var searchesBefore = index.getSearchCount();
+        for (int i = 0; i < 200; i++) {
+            art.stepFit(randomPattern(random, 2), params);
+        }
+        var perSearch = (double) (index.getEvaluatedCount() - evaluatedBefore) / (index.getSearchCount() - searchesBefore);
+        assertTrue(perSearch < art.getCategoryCount(),
+                   "evaluated " + perSearch + " of " + art.getCategoryCount() + " categories per search");
+    }
+
+    @Test
+    @DisplayName("Index stays consistent across pruning and budget evictions")
+    void testConsistencyAfterWholesaleChanges() {
+        var params = FuzzyParameters.of(0.8, 0.001, 0.5);
+        var bounded = new FuzzyART();
+        var reference = new FuzzyART();
+        bounded.setCategoryBudget(12, CategoryBudget.EvictionPolicy.LFU);
+        reference.setCategoryBudget(12, CategoryBudget.EvictionPolicy.LFU);
+        var random = new Random(41);
+        for (int i = 0; i < 600; i++) {
+            var input = randomPattern(random, 3);
+            bounded.stepFit(input, params);
+            reference.stepFit(input, params, FULL_SCAN, MatchTrackingMode.MT_PLUS, 0.0);
+            if (i == 300) {
+                bounded.pruneToMaxSize(6);
+                reference.pruneToMaxSize(6);
+            }
+        }
+        assertEquals(reference.getCategories(), bounded.getCategories());
+    }
+
+    @Test
+    @DisplayName("Incremental inserts and norm changes keep the order a rebuild produces")
+    void testIncrementalUpdates() {
+        var random = new Random(53);
+        var norms = new double[400];
+        var factors = new double[norms.length];
+        var incremental = new FuzzyChoiceBoundIndex(1e-9);
+        var size = 0;
+        incremental.search(0, c -> norms[c], 1.0, 0.01, 0.0, c -> 0.0, null);
+        for (int step = 0; step < 3000; step++) {
+            // Few distinct norms, so inserts and moves land among ties
+            var norm = 1 + random.nextInt(12) * 0.25;
+            if (size < norms.length && (size == 0 || random.nextInt(3) == 0)) {
+                factors[size] = random.nextDouble();
+                norms[size] = norm;
+                incremental.update(size, norm);
+                size++;
+            } else {
+                var category = random.nextInt(size);
+                norms[category] = norm;
+                incremental.update(category, norm);
+            }
+            if (step % 50 == 0) {
+                var inputNorm = 0.5 + random.nextDouble() * 3;
+                var count = size;
+                IntToDoubleFunction activation =
+                    c -> factors[c] * Math.min(norms[c], inputNorm) / (0.01 + norms[c]);
+                var expected = new FuzzyChoiceBoundIndex(1e-9)
+                    .search(count, c -> norms[c], inputNorm, 0.01, 0.0, activation, null);
+                var actual = incremental.search(count, c -> norms[c], inputNorm, 0.01, 0.0, activation, null);
+                assertEquals(expected.categoryIndex(), actual.categoryIndex());
+                var best = 0;
+                for (int c = 1; c < count; c++) {
+                    if (activation.applyAsDouble(c) > activation.applyAsDouble(best)) {
+                        best = c;
+                    }
+                }
+                assertEquals(best, actual.categoryIndex());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Negative tolerance is rejected")
+    void testInvalidTolerance() {
+        assertThrows(IllegalArgumentException.class, () -> new FuzzyChoiceBoundIndex(-1.0));
+    }
+
+    private static Pattern randomPattern(Random random, int dimension) {
+        var values = new double[dimension];
+        for (int i = 0; i < dimension; i++) {
+            values[i] = random.nextDouble();
+        }
+        return Pattern.of(values);
+    }
+
+    private static int index(ActivationResult result) {
+        return ((ActivationResult.Success) result).categoryIndex();
+    }
+
+    private static double choice(Pattern input, FuzzyART art, int category, double alpha) {
+        var weight = art.getCategory(category);
+        var intersection = 0.0;
+        for (int i = 0; i < input.dimension(); i++) {
+            intersection += Math.min(input.get(i), weight.get(i));
+            intersection += Math.min(1.0 - input.get(i), weight.get(input.dimension() + i));
+        }
+        return intersection / (alpha + weight.l1Norm());
+    }
+}
@@ -0,0 +1,143 @@
+package com.hellblazer.art.core.index;
+
+import com.hellblazer.art.core.CategoryBudget;
+import com.hellblazer.art.core.MatchResetFunction;
+import com.hellblazer.art.core.MatchTrackingMode;
+import com.hellblazer.art.core.Pattern;
+import com.hellblazer.art.core.algorithms.FuzzyART;
+import com.hellblazer.art.core.artmap.FuzzyARTMAP;
+import com.hellblazer.art.core.parameters.FuzzyParameters;
+import com.hellblazer.art.core.results.ActivationResult;
+import com.hellblazer.art.core.weights.FuzzyWeight;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the hyperbox R-tree used to retrieve vigilance candidates.
+ */
+class HyperboxIndexTest {
+
+    private static final MatchResetFunction FULL_SCAN = (input, weight, index, params, cache) -> true;
+
+    @Test
+    @DisplayName("Query returns exactly the categories that pass vigilance")
+    void testQueryMatchesVigilance() {
+        var params = FuzzyParameters.of(0.7, 0.001, 1.0);
+        var art = new FuzzyART();
+        var random = new Random(3);
+        for (int i = 0; i < 500; i++) {
+            art.stepFit(randomPattern(random, 3), params);
+        }
+        var index = new HyperboxIndex(4, 1e-9);
+        for (int q = 0; q < 200; q++) {
+            var input = randomPattern(random, 3);
+            var point = new double[] {input.get(0), input.get(1), input.get(2)};
+            var candidates = index.query(art.getCategoryCount(), c -> ((FuzzyWeight) art.getCategory(c)).data(),
+                                         point, 0.7 * 3.0);
+            var expected = 0;
+            for (int c = 0; c < art.getCategoryCount(); c++) {
+                if (intersection(input, art.getCategory(c)) >= 0.7 * 3.0 - 1e-9) {
+                    expected++;
+                    assertTrue(java.util.Arrays.binarySearch(candidates, c) >= 0, "missing category " + c);
+                }
+            }
+            assertEquals(expected, candidates.length);
+        }
+        assertTrue(index.height() > 1);
+    }
+
+    @Test
+    @DisplayName("FuzzyART with the hyperbox index learns the same categories as the full scan")
+    void testLearningMatchesFullScan() {
+        for (var vigilance : new double[] {0.3, 0.75, 0.95}) {
+            var params = FuzzyParameters.of(vigilance, 0.001, 0.4);
+            var indexed = new FuzzyART();
+            indexed.setHyperboxIndexEnabled(true);
+            var reference = new FuzzyART();
+            var random = new Random(9);
+            for (int i = 0; i < 800; i++) {
+                var input = randomPattern(random, 2);
+                var fast = (ActivationResult.Success) indexed.stepFit(input, params);
+                var full = (ActivationResult.Success) reference.stepFit(input, params, FULL_SCAN, MatchTrackingMode.MT_PLUS, 0.0);
+                assertEquals(full.categoryIndex(), fast.categoryIndex(), "rho=" + vigilance + " step=" + i);
+            }
+            assertEquals(reference.getCategories(), indexed.getCategories());
+            if (vigilance > 0.9) {
+                var boxes = indexed.getHyperboxIndex();
+                assertTrue(boxes.getCandidateCount() < boxes.getQueryCount() * (long) indexed.getCategoryCount() / 2);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("FuzzyARTMAP match tracking gives the same model with the hyperbox index")
+    void testARTMAPMatchesWithoutIndex() {
+        var random = new Random(13);
+        var data = new Pattern[600];
+        var labels = new int[data.length];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = randomPattern(random, 2);
+            labels[i] = data[i].get(0) + 0.2 * random.nextGaussian() > 0.5 ? 1 : 0;
+        }
+        var params = FuzzyParameters.of(0.6, 0.001, 1.0);
+        var indexed = new FuzzyARTMAP(params, MatchTrackingMode.MT_PLUS, 0.001);
+        indexed.setHyperboxIndexEnabled(true);
+        var reference = new FuzzyARTMAP(params, MatchTrackingMode.MT_PLUS, 0.001);
+        indexed.fit(data, labels);
+        reference.fit(data, labels);
+
+        assertEquals(reference.getModuleA().getCategories(), indexed.getModuleA().getCategories());
+        assertEquals(reference.getMapField(), indexed.getMapField());
+        assertArrayEquals(reference.predict(data), indexed.predict(data));
+    }
+
+    @Test
+    @DisplayName("Index follows budget evictions and pruning")
+    void testEvictionAndPruning() {
+        var params = FuzzyParameters.of(0.85, 0.001, 0.5);
+        var indexed = new FuzzyART();
+        indexed.setHyperboxIndexEnabled(true);
+        var reference = new FuzzyART();
+        indexed.setCategoryBudget(20, CategoryBudget.EvictionPolicy.LRU);
+        reference.setCategoryBudget(20, CategoryBudget.EvictionPolicy.LRU);
+        var random = new Random(29);
+        for (int i = 0; i < 500; i++) {
+            var input = randomPattern(random, 3);
+            indexed.stepFit(input, params);
+            reference.stepFit(input, params, FULL_SCAN, MatchTrackingMode.MT_PLUS, 0.0);
+            if (i == 250) {
+                indexed.pruneToMaxSize(8);
+                reference.pruneToMaxSize(8);
+            }
+        }
+        assertEquals(reference.getCategories(), indexed.getCategories());
+    }
+
+    @Test
+    @DisplayName("Invalid configuration is rejected")
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperboxIndex(2, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> new HyperboxIndex(-1.0));
+    }
+
+    private static Pattern randomPattern(Random random, int dimension) {
+        var values = new double[dimension];
+        for (int i = 0; i < dimension; i++) {
+            values[i] = random.nextDouble();
+        }
+        return Pattern.of(values);
+    }
+
+    private static double intersection(Pattern input, com.hellblazer.art.core.WeightVector weight) {
+        var sum = 0.0;
+        for (int i = 0; i < input.dimension(); i++) {
+            sum += Math.min(input.get(i), weight.get(i));
+            sum += Math.min(1.0 - input.get(i), weight.get(input.dimension() + i));
+        }
+        return sum;
+    }
+}
@@ -1,5 +1,6 @@
 package com.hellblazer.art.markov.core;
 
+import com.hellblazer.art.core.utils.SparseTransitionMatrix;
 import com.hellblazer.art.markov.parameters.HybridMarkovParameters;
 
 import java.util.*;
@@ -14,9 +15,17 @@ import java.util.*;
  * - Stochastic matrix validation
  * - Steady-state computation
  * - Convergence detection
+ * - k-step state forecasting
+ *
+ * Steady states, convergence and forecasts use a sparse view of the smoothed matrix that stores
+ * only observed transitions, so their cost follows the number of distinct transitions rather
+ * than the square of the state count.
  */
 public final class BasicTransitionLearner {
 
+    // Sequence history is halved once it exceeds this length
+    private static final int MAX_HISTORY = 10000;
+
     private final HybridMarkovParameters parameters;
     private final int maxStates;
     private final double smoothingFactor;
@@ -26,9 +35,15 @@ public final class BasicTransitionLearner {
     private double[][] transitionMatrix;
     private boolean matrixDirty;
 
+    // Sparse view of the smoothed transition matrix, rebuilt lazily; null when stale
+    private SparseTransitionMatrix sparseMatrix;
+
+    // Most frequent successor of each state, maintained incrementally
+    private final int[] mostFrequentSuccessor;
+
     // State sequence tracking for Markov property testing
-    private final Deque<Integer> recentStates;
-    private final List<Integer> fullStateSequence;
+    private final int[] stateHistory;
+    private int historySize;
 
     // Statistics
     private long totalTransitions;
@@ -49,8 +64,9 @@ public final class BasicTransitionLearner {
         this.transitionMatrix = new double[maxStates][maxStates];
         this.matrixDirty = true;
 
-        this.recentStates = new ArrayDeque<>(parameters.memoryWindow());
-        this.fullStateSequence = new ArrayList<>();
+        this.mostFrequentSuccessor = new int[maxStates];
+        this.stateHistory = new int[MAX_HISTORY + 1];
+        this.historySize = 0;
 
         this.totalTransitions = 0L;
         this.steadyStateValid = false;
@@ -70,21 +86,27 @@ public final class BasicTransitionLearner {
         validateStateIndex(toState);
 
         // Update transition counts
-        transitionCounts[fromState][toState]++;
+        var row = transitionCounts[fromState];
+        var count = ++row[toState];
         totalTransitions++;
         matrixDirty = true;
+        sparseMatrix = null;
         steadyStateValid = false;
 
-        // Update state sequence tracking
-        recentStates.addLast(toState);
-        if (recentStates.size() > parameters.memoryWindow()) {
-            recentStates.removeFirst();
+        // Lowest index wins ties, as in getMostLikelyNextState
+        var best = mostFrequentSuccessor[fromState];
+        if (count > row[best] || (count == row[best] && toState < best)) {
+            mostFrequentSuccessor[fromState] = toState;
         }
-        fullStateSequence.add(toState);
+
+        // Update state sequence tracking
+        stateHistory[historySize++] = toState;
 
         // Limit full sequence size for memory management
-        if (fullStateSequence.size() > 10000) {
-            fullStateSequence.subList(0, 5000).clear();
+        if (historySize > MAX_HISTORY) {
+            var dropped = MAX_HISTORY / 2;
+            System.arraycopy(stateHistory, dropped, stateHistory, 0, historySize - dropped);
+            historySize -= dropped;
         }
     }
 
@@ -140,25 +162,61 @@ public final class BasicTransitionLearner {
     }
 
     /**
-     * Gets the most likely next state given the current state.
+     * Forecasts the state distribution a number of steps ahead of the current state.
      *
      * @param currentState The current state
-     * @return The most likely next state
+     * @param steps The number of steps ahead, at least 0
+     * @return A probability distribution over states after the given number of steps
      */
-    public int getMostLikelyNextState(int currentState) {
-        var probabilities = predictNextState(currentState);
+    public double[] forecast(int currentState, int steps) {
+        validateStateIndex(currentState);
 
-        int bestState = 0;
-        double bestProbability = probabilities[0];
+        return getSparseTransitionMatrix().forecast(currentState, steps);
+    }
 
-        for (int i = 1; i < probabilities.length; i++) {
-            if (probabilities[i] > bestProbability) {
-                bestProbability = probabilities[i];
-                bestState = i;
-            }
+    /**
+     * Forecasts the state distribution a number of steps ahead of a state distribution.
+     *
+     * @param distribution The current state distribution
+     * @param steps The number of steps ahead, at least 0
+     * @return A probability distribution over states after the given number of steps
+     */
+    public double[] forecast(double[] distribution, int steps) {
+        ValidationLayer.validateProbabilityDistribution(distribution);
+        if (distribution.length != maxStates) {
+            throw new IllegalArgumentException(
+                "Distribution length " + distribution.length + " does not match state count " + maxStates
+            );
+        }
+
+        return getSparseTransitionMatrix().forecast(distribution, steps);
+    }
+
+    /**
+     * Gets the sparse view of the current transition matrix.
+     * The view stores only observed transitions and is cached until transitions are updated.
+     *
+     * @return The sparse transition matrix
+     */
+    public SparseTransitionMatrix getSparseTransitionMatrix() {
+        if (sparseMatrix == null) {
+            sparseMatrix = SparseTransitionMatrix.fromCounts(transitionCounts, smoothingFactor);
         }
 
-        return bestState;
+        return sparseMatrix;
+    }
+
+    /**
+     * Gets the most likely next state given the current state.
+     *
+     * @param currentState The current state
+     * @return The most likely next state
+     */
+    public int getMostLikelyNextState(int currentState) {
+        validateStateIndex(currentState);
+
+        // Smoothing is uniform within a row, so the most likely successor is the most frequent one
+        return mostFrequentSuccessor[currentState];
     }
 
     /**
@@ -180,11 +238,7 @@ public final class BasicTransitionLearner {
      * @return true if the chain has converged
      */
     public boolean hasConverged() {
-        if (matrixDirty) {
-            recomputeTransitionMatrix();
-        }
-
-        return ValidationLayer.hasConverged(transitionMatrix, parameters.convergenceThreshold());
+        return ValidationLayer.hasConverged(getSparseTransitionMatrix(), parameters.convergenceThreshold());
     }
 
     /**
@@ -193,11 +247,11 @@ public final class BasicTransitionLearner {
      * @return true if the Markov property appears to hold
      */
     public boolean satisfiesMarkovProperty() {
-        if (fullStateSequence.size() < 10) {
+        if (historySize < 10) {
             return false; // Insufficient data
         }
 
-        var sequence = fullStateSequence.stream().mapToInt(Integer::intValue).toArray();
+        var sequence = Arrays.copyOf(stateHistory, historySize);
         return ValidationLayer.testMarkovProperty(sequence, 0.1);
     }
 
@@ -211,7 +265,7 @@ public final class BasicTransitionLearner {
         stats.put("totalTransitions", totalTransitions);
         stats.put("hasConverged", hasConverged());
         stats.put("satisfiesMarkovProperty", satisfiesMarkovProperty());
-        stats.put("sequenceLength", fullStateSequence.size());
+        stats.put("sequenceLength", historySize);
 
         // Transition matrix entropy (measure of randomness)
         if (matrixDirty) {
@@ -238,11 +292,13 @@ public final class BasicTransitionLearner {
             Arrays.fill(transitionCounts[i], 0L);
         }
 
-        recentStates.clear();
-        fullStateSequence.clear();
+        Arrays.fill(mostFrequentSuccessor, 0);
+        historySize = 0;
         totalTransitions = 0L;
         matrixDirty = true;
+        sparseMatrix = null;
         steadyStateValid = false;
+        steadyStateDistribution = null;
 
         // Reinitialize with smoothing
         initializeWithSmoothing();
@@ -323,12 +379,10 @@ public final class BasicTransitionLearner {
     }
 
     private void recomputeSteadyState() {
-        if (matrixDirty) {
-            recomputeTransitionMatrix();
-        }
-
+        // Warm start from the previous steady state, which new transitions usually move only slightly
         steadyStateDistribution = ValidationLayer.computeSteadyState(
-            transitionMatrix,
+            getSparseTransitionMatrix(),
+            steadyStateDistribution,
             1000, // max iterations
             1e-8  // tolerance
         );
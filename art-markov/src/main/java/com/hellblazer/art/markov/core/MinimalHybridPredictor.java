@@ -18,12 +18,15 @@ import java.util.*;
  * - Weighted combination of ART and Markov predictions
  * - Performance tracking and convergence monitoring
  * - Mathematical soundness validation
+ * - Micro-batch learning for streaming ingestion (see {@link StreamIngestor})
+ * - Optional variable-order context model for sequences that are not first-order Markov
  */
 public final class MinimalHybridPredictor implements AutoCloseable {
 
     private final HybridMarkovParameters parameters;
     private final SimpleStateAbstractionART stateAbstractor;
     private final BasicTransitionLearner transitionLearner;
+    private final VariableOrderMarkovModel contextModel;
 
     // Prediction state
     private int currentState;
@@ -32,7 +35,9 @@ public final class MinimalHybridPredictor implements AutoCloseable {
     private long correctPredictions;
 
     // Performance tracking
-    private final Map<String, Double> performanceMetrics;
+    private double averagePredictionTimeNanos;
+    private double memoryUsageBytes;
+    private double throughputPredictionsPerSecond;
     private long lastPerformanceUpdate;
     private boolean closed;
 
@@ -42,16 +47,28 @@ public final class MinimalHybridPredictor implements AutoCloseable {
      * @param parameters The system parameters
      */
     public MinimalHybridPredictor(HybridMarkovParameters parameters) {
+        this(parameters, null);
+    }
+
+    /**
+     * Creates a new hybrid predictor whose Markov predictions come from a variable-order
+     * context model instead of the first-order transition matrix. The transition matrix is
+     * still learned for validation and steady-state analysis.
+     *
+     * @param parameters The system parameters
+     * @param contextModel The context model, or null for first-order prediction
+     */
+    public MinimalHybridPredictor(HybridMarkovParameters parameters, VariableOrderMarkovModel contextModel) {
         this.parameters = Objects.requireNonNull(parameters, "Parameters cannot be null");
         this.stateAbstractor = new SimpleStateAbstractionART(parameters);
         this.transitionLearner = new BasicTransitionLearner(parameters);
+        this.contextModel = contextModel;
 
         this.currentState = -1;
         this.hasCurrentState = false;
         this.totalPredictions = 0L;
         this.correctPredictions = 0L;
 
-        this.performanceMetrics = new HashMap<>();
         this.lastPerformanceUpdate = System.nanoTime();
         this.closed = false;
 
@@ -83,6 +100,9 @@ public final class MinimalHybridPredictor implements AutoCloseable {
         if (hasCurrentState && currentState != -1) {
             transitionLearner.observeTransition(currentState, newState);
         }
+        if (contextModel != null) {
+            contextModel.observe(newState);
+        }
 
         // Update current state
         currentState = newState;
@@ -92,6 +112,52 @@ public final class MinimalHybridPredictor implements AutoCloseable {
         return newState;
     }
 
+    /**
+     * Learns from a micro-batch of consecutive observations.
+     * States and transitions are identical to calling {@link #learn} on each observation in order,
+     * but state abstraction for the batch runs in parallel.
+     *
+     * @param observations The observations
+     * @param offset Index of the first observation of the batch
+     * @param length Number of observations in the batch
+     * @return The assigned states and the most likely next state after each observation
+     */
+    public MicroBatchResult learnBatch(Pattern[] observations, int offset, int length) {
+        ensureNotClosed();
+
+        if (observations == null) {
+            throw new IllegalArgumentException("Observations cannot be null");
+        }
+
+        var states = new int[length];
+        stateAbstractor.abstractToStates(observations, offset, length, states);
+
+        var predictedStates = new int[length];
+        for (int i = 0; i < length; i++) {
+            int newState = states[i];
+            if (newState == -1) {
+                predictedStates[i] = -1;
+                continue;
+            }
+
+            if (hasCurrentState && currentState != -1) {
+                transitionLearner.observeTransition(currentState, newState);
+            }
+            currentState = newState;
+            hasCurrentState = true;
+
+            if (contextModel != null) {
+                contextModel.observe(newState);
+                predictedStates[i] = contextModel.getMostLikelyNextState();
+            } else {
+                predictedStates[i] = transitionLearner.getMostLikelyNextState(newState);
+            }
+        }
+
+        updatePerformanceMetrics();
+        return new MicroBatchResult(states, predictedStates);
+    }
+
     /**
      * Predicts the next state given the current observation.
      * Combines ART-based state classification with Markov transition prediction.
@@ -119,8 +185,16 @@ public final class MinimalHybridPredictor implements AutoCloseable {
         // Step 2: Get ART-based prediction (uniform from current state)
         var artPrediction = createUniformDistribution();
 
-        // Step 3: Get Markov-based prediction from transition matrix
-        var markovPrediction = transitionLearner.predictNextState(observedState);
+        // Step 3: Get Markov-based prediction from the transition matrix, or from the longest
+        // reliable context when the observation continues the learned sequence
+        double[] markovPrediction;
+        if (contextModel == null) {
+            markovPrediction = transitionLearner.predictNextState(observedState);
+        } else if (hasCurrentState && observedState == currentState) {
+            markovPrediction = contextModel.predictNextState();
+        } else {
+            markovPrediction = contextModel.predictNextState(new int[] { observedState });
+        }
 
         // Step 4: Combine predictions using hybrid weight
         double hybridWeight = parameters.hybridWeight();
@@ -204,9 +278,16 @@ public final class MinimalHybridPredictor implements AutoCloseable {
         stats.put("hasConverged", transitionLearner.hasConverged());
         stats.put("satisfiesMarkovProperty", transitionLearner.satisfiesMarkovProperty());
         stats.put("steadyState", transitionLearner.getSteadyStateDistribution());
+        if (contextModel != null) {
+            stats.put("contextCount", contextModel.getContextCount());
+            stats.put("prunedContextCount", contextModel.getPrunedContextCount());
+            stats.put("lastPredictionOrder", contextModel.getLastPredictionOrder());
+        }
 
         // Performance metrics
-        stats.putAll(performanceMetrics);
+        stats.put("averagePredictionTimeNanos", averagePredictionTimeNanos);
+        stats.put("memoryUsageBytes", memoryUsageBytes);
+        stats.put("throughputPredictionsPerSecond", throughputPredictionsPerSecond);
 
         return stats;
     }
@@ -261,6 +342,9 @@ public final class MinimalHybridPredictor implements AutoCloseable {
 
         stateAbstractor.clear();
         transitionLearner.clear();
+        if (contextModel != null) {
+            contextModel.clear();
+        }
 
         currentState = -1;
         hasCurrentState = false;
@@ -275,7 +359,6 @@ public final class MinimalHybridPredictor implements AutoCloseable {
         if (!closed) {
             closed = true;
             stateAbstractor.close();
-            performanceMetrics.clear();
         }
     }
 
@@ -289,6 +372,16 @@ public final class MinimalHybridPredictor implements AutoCloseable {
         return stateAbstractor;
     }
 
+    /**
+     * Gets the variable-order context model, if one is used.
+     *
+     * @return The context model, or null for first-order prediction
+     */
+    public VariableOrderMarkovModel getContextModel() {
+        ensureNotClosed();
+        return contextModel;
+    }
+
     /**
      * Gets the underlying transition learner for advanced operations.
      *
@@ -308,10 +401,9 @@ public final class MinimalHybridPredictor implements AutoCloseable {
     }
 
     private void initializePerformanceMetrics() {
-        performanceMetrics.clear();
-        performanceMetrics.put("averagePredictionTimeNanos", 0.0);
-        performanceMetrics.put("memoryUsageBytes", 0.0);
-        performanceMetrics.put("throughputPredictionsPerSecond", 0.0);
+        averagePredictionTimeNanos = 0.0;
+        memoryUsageBytes = 0.0;
+        throughputPredictionsPerSecond = 0.0;
         lastPerformanceUpdate = System.nanoTime();
     }
 
@@ -321,12 +413,10 @@ public final class MinimalHybridPredictor implements AutoCloseable {
 
         if (elapsedNanos > 1_000_000_000L) { // Update every second
             // Update throughput
-            double throughput = (double) totalPredictions / (elapsedNanos / 1e9);
-            performanceMetrics.put("throughputPredictionsPerSecond", throughput);
+            throughputPredictionsPerSecond = (double) totalPredictions / (elapsedNanos / 1e9);
 
             // Estimate memory usage (rough approximation)
-            long memoryUsage = estimateMemoryUsage();
-            performanceMetrics.put("memoryUsageBytes", (double) memoryUsage);
+            memoryUsageBytes = estimateMemoryUsage();
 
             lastPerformanceUpdate = currentTime;
         }
@@ -382,6 +472,24 @@ public final class MinimalHybridPredictor implements AutoCloseable {
         return maxIndex;
     }
 
+    /**
+     * Result of learning a micro-batch.
+     *
+     * @param states The state assigned to each observation, or -1 if none
+     * @param predictedNextStates The most likely next state after each observation, or -1
+     */
+    public record MicroBatchResult(int[] states, int[] predictedNextStates) {
+
+        /**
+         * Gets the number of observations in the batch.
+         *
+         * @return The batch size
+         */
+        public int size() {
+            return states.length;
+        }
+    }
+
     /**
      * Result of a hybrid prediction containing both ART and Markov components.
      */
@@ -18,13 +18,14 @@ import java.util.*;
  * - Maintains mapping between state indices and ART categories
  * - Provides state stability and consistency guarantees
  * - Tracks state visitation statistics
+ * - Abstracts micro-batches through FuzzyART's parallel batch learning
  */
 public final class SimpleStateAbstractionART implements AutoCloseable {
 
     private final FuzzyART fuzzyART;
     private final HybridMarkovParameters parameters;
-    private final Map<Integer, Integer> categoryToState;
-    private final Map<Integer, Integer> stateToCategory;
+    private int[] categoryToState;
+    private final int[] stateToCategory;
     private final Map<Integer, String> stateLabels;
     private final long[] stateVisitCounts;
     private int nextStateId;
@@ -38,8 +39,9 @@ public final class SimpleStateAbstractionART implements AutoCloseable {
     public SimpleStateAbstractionART(HybridMarkovParameters parameters) {
         this.parameters = Objects.requireNonNull(parameters, "Parameters cannot be null");
         this.fuzzyART = new FuzzyART();
-        this.categoryToState = new HashMap<>();
-        this.stateToCategory = new HashMap<>();
+        this.categoryToState = new int[Math.max(16, parameters.maxStates())];
+        Arrays.fill(categoryToState, -1);
+        this.stateToCategory = new int[parameters.maxStates()];
         this.stateLabels = new HashMap<>();
         this.stateVisitCounts = new long[parameters.maxStates()];
         this.nextStateId = 0;
@@ -72,6 +74,32 @@ public final class SimpleStateAbstractionART implements AutoCloseable {
         return -1; // No match found
     }
 
+    /**
+     * Abstracts a micro-batch of observations to states, giving the same states and the same
+     * learned categories as calling {@link #abstractToState} on each observation in order.
+     * The observations are learned with {@link FuzzyART#learnBatch}, which searches them in
+     * parallel against a snapshot of the categories and commits them in order.
+     *
+     * @param observations The observations
+     * @param offset Index of the first observation of the batch
+     * @param length Number of observations in the batch
+     * @param states Receives the state of each observation, starting at index 0
+     */
+    public void abstractToStates(Pattern[] observations, int offset, int length, int[] states) {
+        ensureNotClosed();
+        Objects.checkFromIndexSize(offset, length, observations.length);
+        if (states.length < length) {
+            throw new IllegalArgumentException("State array too small: " + states.length + " < " + length);
+        }
+
+        var results = fuzzyART.learnBatch(Arrays.asList(observations).subList(offset, offset + length),
+                                          parameters.fuzzyParameters());
+        for (int i = 0; i < length; i++) {
+            states[i] = results.get(i) instanceof ActivationResult.Success success
+                        ? mapCategoryToState(success.categoryIndex()) : -1;
+        }
+    }
+
     /**
      * Predicts the state for an observation without learning.
      *
@@ -89,7 +117,7 @@ public final class SimpleStateAbstractionART implements AutoCloseable {
 
         if (result instanceof ActivationResult.Success success) {
             int categoryIndex = success.categoryIndex();
-            return categoryToState.getOrDefault(categoryIndex, -1);
+            return categoryIndex < categoryToState.length ? categoryToState[categoryIndex] : -1;
         }
 
         return -1;
@@ -206,8 +234,8 @@ public final class SimpleStateAbstractionART implements AutoCloseable {
         ensureNotClosed();
 
         fuzzyART.clear();
-        categoryToState.clear();
-        stateToCategory.clear();
+        Arrays.fill(categoryToState, -1);
+        Arrays.fill(stateToCategory, 0);
         stateLabels.clear();
         Arrays.fill(stateVisitCounts, 0L);
         nextStateId = 0;
@@ -218,8 +246,7 @@ public final class SimpleStateAbstractionART implements AutoCloseable {
         if (!closed) {
             closed = true;
             fuzzyART.clear();
-            categoryToState.clear();
-            stateToCategory.clear();
+            Arrays.fill(categoryToState, -1);
             stateLabels.clear();
         }
     }
@@ -243,9 +270,15 @@ public final class SimpleStateAbstractionART implements AutoCloseable {
     }
 
     private int mapCategoryToState(int categoryIndex) {
+        if (categoryIndex >= categoryToState.length) {
+            var grown = Arrays.copyOf(categoryToState, Math.max(categoryIndex + 1, categoryToState.length * 2));
+            Arrays.fill(grown, categoryToState.length, grown.length, -1);
+            categoryToState = grown;
+        }
+
         // Check if this category already has a state mapping
-        Integer existingState = categoryToState.get(categoryIndex);
-        if (existingState != null) {
+        int existingState = categoryToState[categoryIndex];
+        if (existingState != -1) {
             // Update visit count
             stateVisitCounts[existingState]++;
             return existingState;
@@ -259,8 +292,8 @@ public final class SimpleStateAbstractionART implements AutoCloseable {
 
         // Create new state mapping
         int newStateId = nextStateId++;
-        categoryToState.put(categoryIndex, newStateId);
-        stateToCategory.put(newStateId, categoryIndex);
+        categoryToState[categoryIndex] = newStateId;
+        stateToCategory[newStateId] = categoryIndex;
         stateVisitCounts[newStateId] = 1L;
 
         return newStateId;
@@ -275,9 +308,8 @@ public final class SimpleStateAbstractionART implements AutoCloseable {
         var categories = fuzzyART.getCategories();
         var targetCategory = categories.get(categoryIndex);
 
-        for (var entry : stateToCategory.entrySet()) {
-            int stateId = entry.getKey();
-            int existingCategoryIndex = entry.getValue();
+        for (int stateId = 0; stateId < nextStateId; stateId++) {
+            int existingCategoryIndex = stateToCategory[stateId];
 
             if (existingCategoryIndex < categories.size()) {
                 var existingCategory = categories.get(existingCategoryIndex);
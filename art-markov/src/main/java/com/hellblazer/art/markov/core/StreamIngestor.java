@@ -0,0 +1,193 @@
+package com.hellblazer.art.markov.core;
+
+import com.hellblazer.art.core.Pattern;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/**
+ * Streaming ingestion of observations into a {@link MinimalHybridPredictor} in micro-batches.
+ *
+ * Observations are collected into batches of a fixed size and learned with
+ * {@link MinimalHybridPredictor#learnBatch}; each batch result, with the assigned states and
+ * next-state predictions, is passed to a sink. Supported sources are iterators, reactive
+ * {@link Flow.Publisher}s (the ingestor is a {@link Flow.Subscriber}), and files of packed vectors.
+ *
+ * An ingestor is not thread-safe; the subscriber methods follow the reactive streams rule that
+ * signals are delivered serially.
+ */
+public final class StreamIngestor implements Flow.Subscriber<Pattern> {
+
+    private final MinimalHybridPredictor predictor;
+    private final int batchSize;
+    private final Consumer<MinimalHybridPredictor.MicroBatchResult> sink;
+
+    private final Pattern[] buffer;
+    private int buffered;
+    private long ingested;
+
+    private Flow.Subscription subscription;
+    private volatile Throwable error;
+    private volatile boolean completed;
+
+    /**
+     * Creates a new ingestor.
+     *
+     * @param predictor The predictor to train
+     * @param batchSize Number of observations per micro-batch
+     * @param sink Receives the result of each micro-batch
+     */
+    public StreamIngestor(MinimalHybridPredictor predictor, int batchSize,
+                          Consumer<MinimalHybridPredictor.MicroBatchResult> sink) {
+        this.predictor = Objects.requireNonNull(predictor, "Predictor cannot be null");
+        this.sink = Objects.requireNonNull(sink, "Sink cannot be null");
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive, got: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        this.buffer = new Pattern[batchSize];
+    }
+
+    /**
+     * Ingests all observations from an iterator, flushing the final partial batch.
+     *
+     * @param source The observations
+     * @return The number of observations ingested by this call
+     */
+    public long ingest(Iterator<Pattern> source) {
+        Objects.requireNonNull(source, "Source cannot be null");
+        var start = ingested;
+        while (source.hasNext()) {
+            add(source.next());
+        }
+        flush();
+        return ingested - start;
+    }
+
+    /**
+     * Ingests a file of packed observation vectors: consecutive records of
+     * {@code dimension} little-endian IEEE 754 doubles, with no header.
+     *
+     * @param file The file to read
+     * @param dimension The number of values per observation
+     * @return The number of observations ingested by this call
+     * @throws IOException If the file cannot be read or ends with a partial record
+     */
+    public long ingest(Path file, int dimension) throws IOException {
+        Objects.requireNonNull(file, "File cannot be null");
+        if (dimension < 1) {
+            throw new IllegalArgumentException("Dimension must be positive, got: " + dimension);
+        }
+        var start = ingested;
+        var recordBytes = dimension * Double.BYTES;
+        var bytes = ByteBuffer.allocateDirect(recordBytes * batchSize).order(ByteOrder.LITTLE_ENDIAN);
+
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(bytes) >= 0) {
+                bytes.flip();
+                while (bytes.remaining() >= recordBytes) {
+                    var values = new double[dimension];
+                    bytes.asDoubleBuffer().get(values);
+                    bytes.position(bytes.position() + recordBytes);
+                    add(Pattern.of(values));
+                }
+                bytes.compact();
+            }
+        }
+        if (bytes.position() > 0) {
+            flush();
+            throw new IOException("Truncated record at end of " + file);
+        }
+        flush();
+        return ingested - start;
+    }
+
+    /**
+     * Learns the buffered observations as a partial batch, if there are any.
+     */
+    public void flush() {
+        if (buffered == 0) {
+            return;
+        }
+        var result = predictor.learnBatch(buffer, 0, buffered);
+        Arrays.fill(buffer, 0, buffered, null);
+        buffered = 0;
+        sink.accept(result);
+    }
+
+    /**
+     * Gets the number of observations learned or buffered so far.
+     *
+     * @return The observation count
+     */
+    public long getIngestedCount() {
+        return ingested;
+    }
+
+    /**
+     * Gets the error that terminated a subscription, if any.
+     *
+     * @return The error, or null
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * Whether a subscription has terminated, normally or with an error.
+     *
+     * @return true once onComplete or onError was received
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = Objects.requireNonNull(subscription, "Subscription cannot be null");
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(Pattern item) {
+        add(item);
+        if (buffered == 0) {
+            // A full batch was just learned
+            subscription.request(batchSize);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        error = throwable;
+        flush();
+        completed = true;
+    }
+
+    @Override
+    public void onComplete() {
+        flush();
+        completed = true;
+    }
+
+    private void add(Pattern observation) {
+        buffer[buffered++] = Objects.requireNonNull(observation, "Observation cannot be null");
+        ingested++;
+        if (buffered == batchSize) {
+            flush();
+        }
+    }
+}
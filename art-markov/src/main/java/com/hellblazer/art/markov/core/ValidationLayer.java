@@ -1,5 +1,7 @@
 package com.hellblazer.art.markov.core;
 
+import com.hellblazer.art.core.utils.SparseTransitionMatrix;
+
 import java.util.Arrays;
 
 /**
@@ -178,19 +180,23 @@ public final class ValidationLayer {
     public static boolean hasConverged(double[][] matrix, double threshold) {
         validateStochasticMatrix(matrix);
 
-        int n = matrix.length;
-        var matrixSquared = multiplyMatrices(matrix, matrix);
+        return hasConverged(SparseTransitionMatrix.fromDense(matrix), threshold);
+    }
 
-        // Calculate total variation distance between P and P²
-        double totalVariation = 0.0;
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                totalVariation += Math.abs(matrix[i][j] - matrixSquared[i][j]);
-            }
+    /**
+     * Checks if a sparse transition matrix has converged to steady state.
+     * P² is never formed; its rows are accumulated from the sparse rows of P.
+     *
+     * @param matrix The transition matrix
+     * @param threshold The convergence threshold
+     * @return true if the matrix has converged to steady state
+     */
+    public static boolean hasConverged(SparseTransitionMatrix matrix, double threshold) {
+        if (matrix == null) {
+            throw new IllegalArgumentException("Matrix cannot be null");
         }
-        totalVariation /= 2.0; // Total variation distance formula
 
-        return totalVariation < threshold;
+        return matrix.totalVariationToSquare() < threshold;
     }
 
     /**
@@ -205,39 +211,41 @@ public final class ValidationLayer {
     public static double[] computeSteadyState(double[][] matrix, int maxIterations, double tolerance) {
         validateStochasticMatrix(matrix);
 
-        int n = matrix.length;
-        var distribution = new double[n];
-        var nextDistribution = new double[n];
-
-        // Initialize with uniform distribution
-        Arrays.fill(distribution, 1.0 / n);
-
-        for (int iter = 0; iter < maxIterations; iter++) {
-            // Multiply distribution by matrix
-            Arrays.fill(nextDistribution, 0.0);
-            for (int i = 0; i < n; i++) {
-                for (int j = 0; j < n; j++) {
-                    nextDistribution[j] += distribution[i] * matrix[i][j];
-                }
-            }
+        return computeSteadyState(SparseTransitionMatrix.fromDense(matrix), null, maxIterations, tolerance);
+    }
 
-            // Check for convergence
-            double maxDiff = 0.0;
-            for (int i = 0; i < n; i++) {
-                maxDiff = Math.max(maxDiff, Math.abs(nextDistribution[i] - distribution[i]));
-            }
+    /**
+     * Computes the steady-state distribution of a sparse transition matrix by power iteration.
+     *
+     * @param matrix The transition matrix
+     * @param warmStart Initial estimate, such as a previous steady state; uniform if null
+     * @param maxIterations Maximum number of iterations
+     * @param tolerance Convergence tolerance
+     * @return The steady-state distribution
+     */
+    public static double[] computeSteadyState(SparseTransitionMatrix matrix, double[] warmStart,
+                                              int maxIterations, double tolerance) {
+        if (matrix == null) {
+            throw new IllegalArgumentException("Matrix cannot be null");
+        }
 
-            if (maxDiff < tolerance) {
-                return nextDistribution;
-            }
+        return matrix.steadyState(warmStart, maxIterations, tolerance).distribution();
+    }
 
-            // Swap arrays
-            var temp = distribution;
-            distribution = nextDistribution;
-            nextDistribution = temp;
-        }
+    /**
+     * Forecasts the state distribution k steps ahead.
+     * Uses repeated vector-matrix products rather than matrix powers.
+     *
+     * @param matrix The transition matrix
+     * @param initial The current state distribution
+     * @param steps The number of steps ahead
+     * @return The distribution after the given number of steps
+     */
+    public static double[] forecast(double[][] matrix, double[] initial, int steps) {
+        validateStochasticMatrix(matrix);
+        validateProbabilityDistribution(initial);
 
-        return distribution;
+        return SparseTransitionMatrix.fromDense(matrix).forecast(initial, steps);
     }
 
     /**
@@ -293,22 +301,4 @@ public final class ValidationLayer {
 
         return true;
     }
-
-    /**
-     * Helper method to multiply two matrices.
-     */
-    private static double[][] multiplyMatrices(double[][] a, double[][] b) {
-        int n = a.length;
-        var result = new double[n][n];
-
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                for (int k = 0; k < n; k++) {
-                    result[i][j] += a[i][k] * b[k][j];
-                }
-            }
-        }
-
-        return result;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,450 @@
+package com.hellblazer.art.markov.core;
+
+import java.util.Arrays;
+
+/**
+ * Variable-order Markov model over discrete state IDs.
+ *
+ * Counts the successors of every context (the last k states, for k up to the maximum order) in a
+ * context trie, and predicts the next state from the longest context that has been seen
+ * often enough to be reliable, falling back to shorter contexts down to the unconditional
+ * (order 0) distribution. This captures dependencies that a first-order transition matrix cannot,
+ * which {@link ValidationLayer#testMarkovProperty} detects as violations of the Markov property.
+ *
+ * A context of order k is a child of its order k − 1 suffix, found by hashing the parent node and
+ * the one older state, so extending a context by one state is a single O(1) lookup and each
+ * observation costs O(order). A context is only created below an existing parent, and it is only
+ * counted when its parent is, so it is never seen more often than its parent. Memory is bounded:
+ * when the context table is full, rarely seen contexts are pruned by count, which removes their
+ * descendants with them.
+ */
+public final class VariableOrderMarkovModel {
+
+    private static final long MULTIPLIER = 0xC2B2AE3D27D4EB4FL;
+    private static final int ROOT = 0;
+
+    private final int maxStates;
+    private final int maxOrder;
+    private final int minContextCount;
+    private final int maxContexts;
+    private final double smoothingFactor;
+
+    // Context nodes, struct-of-arrays; node n extends the context of nodeParents[n] with the
+    // older state nodeStates[n]
+    private final int[] nodeParents;
+    private final int[] nodeStates;
+    private final int[] nodeOrders;
+    private final long[] nodeTotals;
+    private final int[][] successorStates;
+    private final long[][] successorCounts;
+    private final int[] successorSizes;
+    private int nodeCount;
+    private final int[] freeNodes;
+    private int freeCount;
+
+    // Open-addressing hash table of node index + 1 (0 = empty)
+    private final int[] table;
+    private final int tableMask;
+
+    // Recent states, most recent last
+    private final int[] history;
+    private int historyLength;
+
+    private long observations;
+    private long pruneThreshold;
+    private long prunedContexts;
+    private int lastPredictionOrder;
+
+    /**
+     * Creates a new variable-order model.
+     *
+     * @param maxStates Number of distinct states
+     * @param maxOrder Longest context length
+     * @param minContextCount Observations a context needs before it is used for prediction
+     * @param maxContexts Maximum number of contexts retained, including the empty context
+     * @param smoothingFactor Additive smoothing spread uniformly over all states, in (0, 1]
+     */
+    public VariableOrderMarkovModel(int maxStates, int maxOrder, int minContextCount, int maxContexts,
+                                    double smoothingFactor) {
+        if (maxStates < 2) {
+            throw new IllegalArgumentException("Max states must be at least 2, got: " + maxStates);
+        }
+        if (maxOrder < 1) {
+            throw new IllegalArgumentException("Max order must be at least 1, got: " + maxOrder);
+        }
+        if (minContextCount < 1) {
+            throw new IllegalArgumentException("Min context count must be positive, got: " + minContextCount);
+        }
+        if (maxContexts < maxOrder + 1) {
+            throw new IllegalArgumentException(
+                "Max contexts must be at least max order + 1, got: " + maxContexts
+            );
+        }
+        if (smoothingFactor <= 0.0 || smoothingFactor > 1.0) {
+            throw new IllegalArgumentException(
+                "Smoothing factor must be in range (0, 1], got: " + smoothingFactor
+            );
+        }
+        this.maxStates = maxStates;
+        this.maxOrder = maxOrder;
+        this.minContextCount = minContextCount;
+        this.maxContexts = maxContexts;
+        this.smoothingFactor = smoothingFactor;
+
+        this.nodeParents = new int[maxContexts];
+        this.nodeStates = new int[maxContexts];
+        this.nodeOrders = new int[maxContexts];
+        this.nodeTotals = new long[maxContexts];
+        this.successorStates = new int[maxContexts][];
+        this.successorCounts = new long[maxContexts][];
+        this.successorSizes = new int[maxContexts];
+        this.freeNodes = new int[maxContexts];
+
+        var tableSize = Integer.highestOneBit(Math.max(4, maxContexts * 2 - 1)) << 1;
+        this.table = new int[tableSize];
+        this.tableMask = tableSize - 1;
+
+        this.history = new int[maxOrder];
+        clear();
+    }
+
+    /**
+     * Creates a model over the states of a hybrid predictor, retaining up to 64 contexts per state
+     * and using contexts seen at least five times.
+     *
+     * @param maxStates Number of distinct states
+     * @param maxOrder Longest context length
+     * @param smoothingFactor Additive smoothing, as for the first-order transition learner
+     */
+    public VariableOrderMarkovModel(int maxStates, int maxOrder, double smoothingFactor) {
+        this(maxStates, maxOrder, 5, Math.max(maxOrder + 1, maxStates * 64), smoothingFactor);
+    }
+
+    /**
+     * Observes the next state of the sequence, updating the successor counts of every
+     * context ending at the previous state.
+     *
+     * @param state The observed state
+     */
+    public void observe(int state) {
+        validateState(state);
+
+        var node = ROOT;
+        for (int order = 0; ; order++) {
+            incrementSuccessor(node, state);
+            if (order == historyLength) {
+                break;
+            }
+            node = findOrCreate(node, history[historyLength - 1 - order]);
+            if (node < 0) {
+                break;  // No room for this context, and so none for its descendants
+            }
+        }
+
+        if (historyLength < maxOrder) {
+            history[historyLength++] = state;
+        } else {
+            System.arraycopy(history, 1, history, 0, maxOrder - 1);
+            history[maxOrder - 1] = state;
+        }
+        observations++;
+    }
+
+    /**
+     * Observes a sequence of states in order.
+     *
+     * @param states The states
+     */
+    public void observeSequence(int[] states) {
+        for (var state : states) {
+            observe(state);
+        }
+    }
+
+    /**
+     * Forgets the recent states, so the next observation starts a new sequence.
+     * Learned counts are kept.
+     */
+    public void resetContext() {
+        historyLength = 0;
+    }
+
+    /**
+     * Predicts the next state following the observed sequence.
+     *
+     * @return A probability distribution over next states
+     */
+    public double[] predictNextState() {
+        return predictNextState(history, historyLength);
+    }
+
+    /**
+     * Predicts the next state following the given context.
+     *
+     * @param context Recent states, most recent last
+     * @return A probability distribution over next states
+     */
+    public double[] predictNextState(int[] context) {
+        return predictNextState(context, context.length);
+    }
+
+    /**
+     * Gets the most likely next state following the observed sequence, lowest state on ties.
+     *
+     * @return The most likely next state
+     */
+    public int getMostLikelyNextState() {
+        var node = findReliableContext(history, historyLength);
+        if (node < 0) {
+            return 0;
+        }
+        var states = successorStates[node];
+        var counts = successorCounts[node];
+        var best = 0;
+        var bestCount = 0L;
+        for (int i = 0; i < successorSizes[node]; i++) {
+            if (counts[i] > bestCount || (counts[i] == bestCount && states[i] < best)) {
+                best = states[i];
+                bestCount = counts[i];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the order of the context used by the most recent prediction, or -1 if the prediction
+     * was uniform because nothing had been observed.
+     *
+     * @return The context order
+     */
+    public int getLastPredictionOrder() {
+        return lastPredictionOrder;
+    }
+
+    /**
+     * Gets the number of contexts currently retained.
+     *
+     * @return The context count
+     */
+    public int getContextCount() {
+        return nodeCount - freeCount;
+    }
+
+    /**
+     * Gets the number of contexts removed by pruning.
+     *
+     * @return The pruned context count
+     */
+    public long getPrunedContextCount() {
+        return prunedContexts;
+    }
+
+    /**
+     * Gets the number of states observed.
+     *
+     * @return The observation count
+     */
+    public long getObservationCount() {
+        return observations;
+    }
+
+    /**
+     * Gets the longest context length.
+     *
+     * @return The maximum order
+     */
+    public int getMaxOrder() {
+        return maxOrder;
+    }
+
+    /**
+     * Clears all learned contexts and the recent states.
+     */
+    public void clear() {
+        Arrays.fill(table, 0);
+        Arrays.fill(successorStates, null);
+        Arrays.fill(successorCounts, null);
+        nodeCount = 0;
+        freeCount = 0;
+        historyLength = 0;
+        observations = 0L;
+        pruneThreshold = 1L;
+        prunedContexts = 0L;
+        lastPredictionOrder = -1;
+
+        var root = allocateNode(-1, 0);
+        insert(root);
+    }
+
+    // Private helper methods
+
+    private double[] predictNextState(int[] context, int length) {
+        var node = findReliableContext(context, length);
+        var distribution = new double[maxStates];
+        if (node < 0) {
+            Arrays.fill(distribution, 1.0 / maxStates);
+            lastPredictionOrder = -1;
+            return distribution;
+        }
+
+        // Laplace smoothing as in BasicTransitionLearner: (count + α / n) / (total + α)
+        var denominator = nodeTotals[node] + smoothingFactor;
+        Arrays.fill(distribution, smoothingFactor / maxStates / denominator);
+        var states = successorStates[node];
+        var counts = successorCounts[node];
+        for (int i = 0; i < successorSizes[node]; i++) {
+            distribution[states[i]] = (counts[i] + smoothingFactor / maxStates) / denominator;
+        }
+        lastPredictionOrder = nodeOrders[node];
+        return ValidationLayer.normalizeRow(distribution);
+    }
+
+    /**
+     * Longest context of the given sequence with at least minContextCount observations,
+     * falling back to the empty context if it has any; -1 if nothing has been observed.
+     */
+    private int findReliableContext(int[] context, int length) {
+        var longest = Math.min(length, maxOrder);
+        var best = nodeTotals[ROOT] > 0 ? ROOT : -1;
+        var node = ROOT;
+        // Contexts only exist below their parents, so the walk stops at the first unseen context
+        for (int order = 1; order <= longest; order++) {
+            var state = context[length - order];
+            validateState(state);
+            node = find(node, state);
+            if (node < 0) {
+                break;
+            }
+            if (nodeTotals[node] >= minContextCount) {
+                best = node;
+            }
+        }
+        return best;
+    }
+
+    private void incrementSuccessor(int node, int state) {
+        var states = successorStates[node];
+        var size = successorSizes[node];
+        for (int i = 0; i < size; i++) {
+            if (states[i] == state) {
+                successorCounts[node][i]++;
+                nodeTotals[node]++;
+                return;
+            }
+        }
+        if (size == states.length) {
+            var grown = Math.min(maxStates, size * 2);
+            successorStates[node] = states = Arrays.copyOf(states, grown);
+            successorCounts[node] = Arrays.copyOf(successorCounts[node], grown);
+        }
+        states[size] = state;
+        successorCounts[node][size] = 1L;
+        successorSizes[node] = size + 1;
+        nodeTotals[node]++;
+    }
+
+    private static long key(int parent, int state) {
+        var h = ((long) parent << 32 | (state & 0xFFFFFFFFL)) * MULTIPLIER;
+        return h ^ (h >>> 29);
+    }
+
+    private int find(int parent, int state) {
+        for (int slot = slot(key(parent, state)); ; slot = (slot + 1) & tableMask) {
+            var entry = table[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            var node = entry - 1;
+            if (nodeParents[node] == parent && nodeStates[node] == state) {
+                return node;
+            }
+        }
+    }
+
+    private int findOrCreate(int parent, int state) {
+        var node = find(parent, state);
+        if (node >= 0) {
+            return node;
+        }
+        if (getContextCount() == maxContexts) {
+            prune();
+            if (getContextCount() == maxContexts || successorStates[parent] == null) {
+                return -1;  // Every context is still frequent, or the parent itself was pruned
+            }
+        }
+        node = allocateNode(parent, state);
+        insert(node);
+        return node;
+    }
+
+    private int allocateNode(int parent, int state) {
+        var node = freeCount > 0 ? freeNodes[--freeCount] : nodeCount++;
+        nodeParents[node] = parent;
+        nodeStates[node] = state;
+        nodeOrders[node] = parent < 0 ? 0 : nodeOrders[parent] + 1;
+        nodeTotals[node] = 0L;
+        successorStates[node] = new int[Math.min(maxStates, 2)];
+        successorCounts[node] = new long[Math.min(maxStates, 2)];
+        successorSizes[node] = 0;
+        return node;
+    }
+
+    private void insert(int node) {
+        var slot = slot(key(nodeParents[node], nodeStates[node]));
+        while (table[slot] != 0) {
+            slot = (slot + 1) & tableMask;
+        }
+        table[slot] = node + 1;
+    }
+
+    private int slot(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & tableMask;
+    }
+
+    /**
+     * Remove contexts seen at most pruneThreshold times, raising the threshold until at least a
+     * quarter of the table is free. The empty context is always kept. A context is never seen
+     * more often than its parent, so removing a parent also removes its descendants.
+     */
+    private void prune() {
+        var live = new boolean[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            live[node] = successorStates[node] != null;
+        }
+        var target = maxContexts - maxContexts / 4;
+        while (getContextCount() > target) {
+            var removed = 0;
+            for (int node = 1; node < nodeCount; node++) {
+                if (live[node] && nodeTotals[node] <= pruneThreshold) {
+                    live[node] = false;
+                    successorStates[node] = null;
+                    successorCounts[node] = null;
+                    freeNodes[freeCount++] = node;
+                    removed++;
+                }
+            }
+            prunedContexts += removed;
+            if (getContextCount() > target) {
+                pruneThreshold *= 2;
+            }
+            if (pruneThreshold > observations) {
+                break;
+            }
+        }
+
+        Arrays.fill(table, 0);
+        for (int node = 0; node < nodeCount; node++) {
+            if (live[node]) {
+                insert(node);
+            }
+        }
+    }
+
+    private void validateState(int state) {
+        if (state < 0 || state >= maxStates) {
+            throw new IllegalArgumentException(
+                "State index " + state + " is out of bounds [0, " + maxStates + ")"
+            );
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.hellblazer.art.markov.core;
+
+import com.hellblazer.art.core.Pattern;
+import com.hellblazer.art.core.SearchLimitMode;
+import com.hellblazer.art.core.parameters.FuzzyParameters;
+import com.hellblazer.art.markov.parameters.HybridMarkovParameters;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that streaming micro-batch ingestion learns exactly what per-observation learning does.
+ */
+class StreamIngestorTest {
+
+    // Enough states that no category overflows into the approximate closest-state mapping
+    private static final HybridMarkovParameters PARAMETERS =
+        new HybridMarkovParameters(new FuzzyParameters(0.8, 0.01, 0.6), 0.1, 0.5, 0.001, 256, 10);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Iterator micro-batches match per-observation learning, including bounded search")
+    void testIteratorMatchesSequential() throws Exception {
+        var stream = observations(2000, 21);
+        var sequential = new Sequential(new MinimalHybridPredictor(PARAMETERS), stream);
+
+        var batched = new MinimalHybridPredictor(PARAMETERS);
+        var results = new ArrayList<MinimalHybridPredictor.MicroBatchResult>();
+        var ingestor = new StreamIngestor(batched, 300, results::add);
+        assertEquals(stream.size(), inPool(() -> ingestor.ingest(stream.iterator())));
+        assertEquals(7, results.size());
+        assertEquals(200, results.get(6).size());
+        sequential.assertMatches(batched, results);
+
+        // A bounded search must also give per-observation results
+        var boundedSequential = new MinimalHybridPredictor(PARAMETERS);
+        boundedSequential.getStateAbstractor().getFuzzyART().setSearchLimit(SearchLimitMode.TOP_K, 2);
+        var expected = new Sequential(boundedSequential, stream);
+        var bounded = new MinimalHybridPredictor(PARAMETERS);
+        bounded.getStateAbstractor().getFuzzyART().setSearchLimit(SearchLimitMode.TOP_K, 2);
+        var boundedResults = new ArrayList<MinimalHybridPredictor.MicroBatchResult>();
+        inPool(() -> new StreamIngestor(bounded, 128, boundedResults::add).ingest(stream.iterator()));
+        expected.assertMatches(bounded, boundedResults);
+    }
+
+    @Test
+    @DisplayName("A Flow.Publisher source is learned in micro-batches with the same states")
+    void testPublisherMatchesSequential() throws Exception {
+        var stream = observations(1000, 22);
+        var sequential = new Sequential(new MinimalHybridPredictor(PARAMETERS), stream);
+
+        var batched = new MinimalHybridPredictor(PARAMETERS);
+        var results = new ArrayList<MinimalHybridPredictor.MicroBatchResult>();
+        var ingestor = new StreamIngestor(batched, 64, results::add);
+        var pool = new ForkJoinPool(4);
+        try (var publisher = new SubmissionPublisher<Pattern>(pool, 16)) {
+            publisher.subscribe(ingestor);
+            stream.forEach(publisher::submit);
+        } finally {
+            pool.shutdown();
+        }
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!ingestor.isCompleted() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(ingestor.isCompleted());
+        assertNull(ingestor.getError());
+        assertEquals(stream.size(), ingestor.getIngestedCount());
+        sequential.assertMatches(batched, results);
+    }
+
+    @Test
+    @DisplayName("Packed files are ingested up to a truncated final record, which is reported")
+    void testPackedFile() throws Exception {
+        var stream = observations(700, 23);
+        var bytes = ByteBuffer.allocate(stream.size() * 3 * Double.BYTES + 5).order(ByteOrder.LITTLE_ENDIAN);
+        for (var observation : stream) {
+            for (int d = 0; d < 3; d++) {
+                bytes.putDouble(observation.get(d));
+            }
+        }
+        var complete = tempDir.resolve("complete.bin");
+        Files.write(complete, Arrays.copyOf(bytes.array(), stream.size() * 3 * Double.BYTES));
+        var truncated = tempDir.resolve("truncated.bin");
+        Files.write(truncated, bytes.array());
+
+        var sequential = new Sequential(new MinimalHybridPredictor(PARAMETERS), stream);
+        var batched = new MinimalHybridPredictor(PARAMETERS);
+        var results = new ArrayList<MinimalHybridPredictor.MicroBatchResult>();
+        assertEquals(stream.size(), inPool(() -> new StreamIngestor(batched, 256, results::add).ingest(complete, 3)));
+        sequential.assertMatches(batched, results);
+
+        var partial = new MinimalHybridPredictor(PARAMETERS);
+        var partialResults = new ArrayList<MinimalHybridPredictor.MicroBatchResult>();
+        var ingestor = new StreamIngestor(partial, 256, partialResults::add);
+        assertThrows(IOException.class, () -> ingestor.ingest(truncated, 3));
+        // Every complete record before the truncation was still learned
+        assertEquals(stream.size(), ingestor.getIngestedCount());
+        sequential.assertMatches(partial, partialResults);
+        assertThrows(IllegalArgumentException.class, () -> ingestor.ingest(complete, 0));
+    }
+
+    @Test
+    @DisplayName("Category and state maps grow past their initial size and stay consistent")
+    void testStateMapping() {
+        var parameters = new HybridMarkovParameters(new FuzzyParameters(0.95, 0.01, 1.0), 0.1, 0.5, 0.001, 4, 10);
+        var stream = observations(400, 24);
+        try (var abstraction = new SimpleStateAbstractionART(parameters)) {
+            var states = new int[stream.size()];
+            abstraction.abstractToStates(stream.toArray(Pattern[]::new), 0, stream.size(), states);
+            assertTrue(abstraction.getFuzzyART().getCategoryCount() > 16);
+            assertEquals(4, abstraction.getStateCount());
+            for (var state : states) {
+                assertTrue(state >= 0 && state < 4);
+            }
+            assertEquals(stream.size(), Arrays.stream(abstraction.getAllStateVisitCounts()).sum());
+            // States are created in order of first occurrence
+            var next = 0;
+            for (var state : states) {
+                assertTrue(state <= next);
+                next = Math.max(next, state + 1);
+            }
+            for (var observation : stream) {
+                var predicted = abstraction.predictState(observation);
+                assertTrue(predicted >= -1 && predicted < 4);
+            }
+            assertThrows(IndexOutOfBoundsException.class,
+                         () -> abstraction.abstractToStates(new Pattern[2], 1, 2, new int[2]));
+        }
+    }
+
+    /**
+     * Reference learning of a stream one observation at a time.
+     */
+    private static final class Sequential {
+        private final MinimalHybridPredictor predictor;
+        private final int[] states;
+        private final int[] predictedNextStates;
+
+        Sequential(MinimalHybridPredictor predictor, List<Pattern> stream) {
+            this.predictor = predictor;
+            this.states = new int[stream.size()];
+            this.predictedNextStates = new int[stream.size()];
+            for (int i = 0; i < stream.size(); i++) {
+                states[i] = predictor.learn(stream.get(i));
+                predictedNextStates[i] = predictor.getTransitionLearner().getMostLikelyNextState(states[i]);
+            }
+        }
+
+        void assertMatches(MinimalHybridPredictor batched, List<MinimalHybridPredictor.MicroBatchResult> results) {
+            var gotStates = results.stream().flatMapToInt(r -> Arrays.stream(r.states())).toArray();
+            var gotPredicted = results.stream().flatMapToInt(r -> Arrays.stream(r.predictedNextStates())).toArray();
+            assertArrayEquals(states, gotStates);
+            assertArrayEquals(predictedNextStates, gotPredicted);
+            assertEquals(predictor.getStateAbstractor().getFuzzyART().getCategories(),
+                         batched.getStateAbstractor().getFuzzyART().getCategories());
+            assertArrayEquals(predictor.getTransitionMatrix(), batched.getTransitionMatrix());
+            for (var query : observations(50, 99)) {
+                var want = predictor.predict(query);
+                var got = batched.predict(query);
+                assertEquals(want.observedState(), got.observedState());
+                assertEquals(want.mostLikelyNextState(), got.mostLikelyNextState());
+                assertArrayEquals(want.combinedPrediction(), got.combinedPrediction());
+            }
+        }
+    }
+
+    private interface Ingestion {
+        long run() throws Exception;
+    }
+
+    // Ingest on a multi-threaded pool, so the parallel batch search runs whatever the machine
+    private static long inPool(Ingestion ingestion) throws Exception {
+        var pool = new ForkJoinPool(4);
+        try {
+            return pool.submit(ingestion::run).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // A random walk between clusters, so states and transitions both carry structure
+    private static List<Pattern> observations(int count, long seed) {
+        var random = new Random(seed);
+        var centers = new double[12][3];
+        var centerRandom = new Random(7);
+        for (var center : centers) {
+            for (int d = 0; d < center.length; d++) {
+                center[d] = 0.1 + centerRandom.nextDouble() * 0.8;
+            }
+        }
+        var observations = new ArrayList<Pattern>(count);
+        var cluster = 0;
+        for (int i = 0; i < count; i++) {
+            if (random.nextDouble() < 0.3) {
+                cluster = (cluster + 1 + random.nextInt(2)) % centers.length;
+            }
+            var values = new double[3];
+            for (int d = 0; d < values.length; d++) {
+                values[d] = Math.clamp(centers[cluster][d] + random.nextGaussian() * 0.05, 0.0, 1.0);
+            }
+            observations.add(Pattern.of(values));
+        }
+        return observations;
+    }
+}
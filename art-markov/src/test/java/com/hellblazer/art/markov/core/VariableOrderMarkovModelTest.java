@@ -0,0 +1,124 @@
+package com.hellblazer.art.markov.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the variable-order Markov context model.
+ */
+class VariableOrderMarkovModelTest {
+
+    @Test
+    @DisplayName("Successor counts of every context match a brute-force count")
+    void testCountsMatchBruteForce() {
+        var maxStates = 5;
+        var maxOrder = 3;
+        var model = new VariableOrderMarkovModel(maxStates, maxOrder, 1, 100_000, 0.1);
+        var random = new Random(41);
+        var sequence = new int[3000];
+        for (int i = 0; i < sequence.length; i++) {
+            sequence[i] = random.nextInt(maxStates);
+        }
+        model.observeSequence(sequence);
+
+        // Context (most recent last) -> successor counts
+        var counts = new HashMap<List<Integer>, long[]>();
+        for (int i = 0; i < sequence.length; i++) {
+            for (int order = 0; order <= Math.min(maxOrder, i); order++) {
+                var context = new ArrayList<Integer>();
+                for (int j = i - order; j < i; j++) {
+                    context.add(sequence[j]);
+                }
+                counts.computeIfAbsent(context, c -> new long[maxStates])[sequence[i]]++;
+            }
+        }
+        assertEquals(counts.size(), model.getContextCount());
+        for (var entry : counts.entrySet()) {
+            var context = entry.getKey().stream().mapToInt(Integer::intValue).toArray();
+            var successors = entry.getValue();
+            var total = 0L;
+            for (var count : successors) {
+                total += count;
+            }
+            var distribution = model.predictNextState(context);
+            assertEquals(context.length, model.getLastPredictionOrder());
+            for (int s = 0; s < maxStates; s++) {
+                var expected = (successors[s] + 0.1 / maxStates) / (total + 0.1);
+                assertEquals(expected, distribution[s], 1e-12, "context " + entry.getKey());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Prediction uses the longest context seen often enough to be reliable")
+    void testLongestReliableContext() {
+        // After 1 the next state depends on the state before it: 0 1 -> 2 and 2 1 -> 0
+        var model = new VariableOrderMarkovModel(3, 3, 5, 1000, 0.1);
+        for (int i = 0; i < 50; i++) {
+            model.observeSequence(new int[] {0, 1, 2, 1});
+        }
+
+        var firstOrder = model.predictNextState(new int[] {1});
+        assertEquals(1, model.getLastPredictionOrder());
+        assertEquals(firstOrder[0], firstOrder[2], 0.05);
+
+        var afterZero = model.predictNextState(new int[] {0, 1});
+        assertTrue(model.getLastPredictionOrder() >= 2);
+        assertTrue(afterZero[2] > 0.95);
+        var afterTwo = model.predictNextState(new int[] {2, 1});
+        assertTrue(afterTwo[0] > 0.95);
+
+        // The observed sequence ends in 2 1, so the next state is 0
+        assertEquals(0, model.getMostLikelyNextState());
+        assertEquals(model.predictNextState(new int[] {0, 1, 2, 1})[0], model.predictNextState()[0]);
+
+        // A context seen fewer than five times falls back to its longest reliable suffix
+        model.observeSequence(new int[] {2, 2, 1});
+        model.predictNextState(new int[] {2, 2, 1});
+        assertEquals(2, model.getLastPredictionOrder());
+        // A context never seen stops the walk at its longest seen suffix
+        model.predictNextState(new int[] {1, 0, 0});
+        assertEquals(1, model.getLastPredictionOrder());
+
+        var empty = new VariableOrderMarkovModel(3, 2, 0.1);
+        assertEquals(1.0 / 3, empty.predictNextState()[1], 1e-12);
+        assertEquals(-1, empty.getLastPredictionOrder());
+    }
+
+    @Test
+    @DisplayName("Rare contexts are pruned by count and the context table never exceeds its bound")
+    void testPruningBoundsMemory() {
+        var maxContexts = 60;
+        var model = new VariableOrderMarkovModel(10, 3, 5, maxContexts, 0.1);
+        var random = new Random(42);
+        var state = 0;
+        for (int i = 0; i < 20_000; i++) {
+            // A dominant cycle through 0..3 with occasional noise over all ten states
+            state = random.nextDouble() < 0.05 ? random.nextInt(10) : (state + 1) % 4;
+            model.observe(state);
+            assertTrue(model.getContextCount() <= maxContexts);
+        }
+        assertTrue(model.getPrunedContextCount() > 0);
+        assertEquals(20_000, model.getObservationCount());
+
+        // The frequent contexts of the cycle survive pruning
+        for (int s = 0; s < 4; s++) {
+            var distribution = model.predictNextState(new int[] {(s + 2) % 4, (s + 3) % 4, s});
+            assertEquals(3, model.getLastPredictionOrder());
+            assertTrue(distribution[(s + 1) % 4] > 0.8, "after " + s);
+        }
+
+        model.clear();
+        assertEquals(1, model.getContextCount());
+        assertEquals(0, model.getPrunedContextCount());
+        assertThrows(IllegalArgumentException.class, () -> model.observe(10));
+        assertThrows(IllegalArgumentException.class, () -> new VariableOrderMarkovModel(10, 3, 5, 3, 0.1));
+    }
+}
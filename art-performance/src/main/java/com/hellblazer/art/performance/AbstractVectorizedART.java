@@ -26,9 +26,11 @@ import org.slf4j.LoggerFactory;
 import jdk.incubator.vector.FloatVector;
 import jdk.incubator.vector.VectorSpecies;
 
+import java.nio.file.Path;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -39,6 +41,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * - Performance tracking and metrics
  * - Thread pool management for parallel operations
  * - Caching infrastructure
+ * - Optional off-heap mirror of the category weights
  * - Resource management
  * 
  * Eliminates code duplication across vectorized algorithms by centralizing
@@ -78,6 +81,11 @@ public abstract class AbstractVectorizedART<T, P> extends BaseART<P>
     private final ConcurrentHashMap<Integer, float[]> inputCache = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, Object> algorithmCache = new ConcurrentHashMap<>();
     
+    // === Off-Heap Categories ===
+    private boolean offHeapEnabled;
+    private Path offHeapFile;
+    private volatile OffHeapCategoryMatrix offHeapCategories;
+    
     /**
      * Initialize the vectorized ART algorithm with default parameters.
      * 
@@ -132,12 +140,121 @@ public abstract class AbstractVectorizedART<T, P> extends BaseART<P>
         return SPECIES.length();
     }
     
+    /**
+     * Run the parallel category search of {@link BaseART#learnBatch} on this algorithm's compute
+     * pool, unless the caller already runs in a fork/join pool or the compute pool is shut down.
+     */
+    @Override
+    protected ForkJoinPool batchSearchPool() {
+        if (computePool.isShutdown() || ForkJoinTask.inForkJoinPool()) {
+            return super.batchSearchPool();
+        }
+        trackParallelTask();
+        return computePool;
+    }
+    
+    // === Off-Heap Categories ===
+    
+    /**
+     * Mirror the category weights into an {@link OffHeapCategoryMatrix}, kept current as
+     * categories are created, learn, or are reset. The matrix is created when the first
+     * category exists and is owned by this algorithm, which closes it on {@link #close()}.
+     * Algorithms whose search understands the matrix read it instead of the heap weights.
+     * 
+     * @param file the file backing the matrix, replaced if it exists, or null for anonymous memory
+     */
+    public final synchronized void enableOffHeapCategories(Path file) {
+        closeOffHeapCategories();
+        offHeapEnabled = true;
+        offHeapFile = file;
+        rebuildOffHeapCategories();
+    }
+    
+    /**
+     * Stop mirroring the category weights off-heap and release the matrix.
+     */
+    public final synchronized void disableOffHeapCategories() {
+        offHeapEnabled = false;
+        offHeapFile = null;
+        closeOffHeapCategories();
+    }
+    
+    /**
+     * Get the off-heap category matrix, or null if it is disabled or no category exists yet.
+     * @return the matrix
+     */
+    public final OffHeapCategoryMatrix getOffHeapCategories() {
+        return offHeapCategories;
+    }
+    
+    @Override
+    protected void onCategoryChanged(int index) {
+        if (!offHeapEnabled) {
+            return;
+        }
+        var matrix = offHeapCategories;
+        var weight = getCategory(index);
+        if (matrix == null || matrix.dimension() != weight.dimension() || index > matrix.size()) {
+            rebuildOffHeapCategories();
+        } else {
+            matrix.set(index, weight, getCategoryUsageCount(index));
+        }
+    }
+    
+    @Override
+    protected void onCategoriesReset() {
+        if (offHeapEnabled) {
+            rebuildOffHeapCategories();
+        }
+    }
+    
+    private void rebuildOffHeapCategories() {
+        var categories = getCategories();
+        var matrix = offHeapCategories;
+        if (matrix != null) {
+            matrix.clear();
+        }
+        if (categories.isEmpty()) {
+            return;
+        }
+        var dimension = categories.get(0).dimension();
+        if (matrix == null || matrix.dimension() != dimension) {
+            closeOffHeapCategories();
+            matrix = offHeapFile == null
+                ? OffHeapCategoryMatrix.allocate(dimension, categories.size())
+                : OffHeapCategoryMatrix.map(offHeapFile, dimension, categories.size());
+        }
+        for (int i = 0; i < categories.size(); i++) {
+            if (categories.get(i).dimension() != dimension) {
+                // Mixed dimensions cannot be stored as rows
+                log.warn("Category {} has dimension {} != {}, off-heap categories unavailable",
+                         i, categories.get(i).dimension(), dimension);
+                matrix.close();
+                offHeapCategories = null;
+                return;
+            }
+            matrix.set(i, categories.get(i), getCategoryUsageCount(i));
+        }
+        offHeapCategories = matrix;
+    }
+    
+    private void closeOffHeapCategories() {
+        var matrix = offHeapCategories;
+        offHeapCategories = null;
+        if (matrix != null) {
+            matrix.close();
+        }
+    }
+    
     @Override
     public final void close() {
         try {
             computePool.shutdown();
             inputCache.clear();
             algorithmCache.clear();
+            synchronized (this) {
+                closeOffHeapCategories();
+            }
             performCleanup();
         } catch (Exception e) {
             log.warn("Error during cleanup", e);
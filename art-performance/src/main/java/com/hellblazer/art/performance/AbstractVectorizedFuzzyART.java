@@ -20,6 +20,8 @@ package com.hellblazer.art.performance;
 
 import com.hellblazer.art.core.Pattern;
 import com.hellblazer.art.core.WeightVector;
+import com.hellblazer.art.core.index.FuzzyChoiceBoundIndex;
+import com.hellblazer.art.core.index.HyperboxIndex;
 import com.hellblazer.art.core.results.MatchResult;
 import com.hellblazer.art.performance.algorithms.VectorizedFuzzyWeight;
 import com.hellblazer.art.performance.algorithms.VectorizedParameters;
@@ -50,10 +52,175 @@ public abstract class AbstractVectorizedFuzzyART extends AbstractVectorizedART<V
     
     private static final Logger log = LoggerFactory.getLogger(AbstractVectorizedFuzzyART.class);
     
+    // Activations are accumulated in float, so the double-precision bounds need extra slack
+    private static final double BOUND_TOLERANCE = 1e-4;
+    
+    private final FuzzyChoiceBoundIndex choiceIndex = new FuzzyChoiceBoundIndex(BOUND_TOLERANCE);
+    private volatile HyperboxIndex hyperboxIndex;
+    
     protected AbstractVectorizedFuzzyART(VectorizedParameters defaultParameters) {
         super(defaultParameters);
     }
     
+    // === Bounded Category Search ===
+    
+    /**
+     * Whether category search may use the choice-function bound index instead of scanning
+     * every category. Only valid when {@link #computeVectorizedActivation} and
+     * {@link #computeVectorizedVigilance} keep the standard FuzzyART semantics, so
+     * subclasses that customize them leave this disabled.
+     * 
+     * @return true to enable the pruned search
+     */
+    protected boolean useBoundedSearch() {
+        return false;
+    }
+    
+    /**
+     * Get the choice-function bound index used when bounded search is enabled.
+     * @return the index
+     */
+    public final FuzzyChoiceBoundIndex getChoiceIndex() {
+        return choiceIndex;
+    }
+    
+    /**
+     * Enable or disable the hyperbox R-tree index. When enabled (and bounded search is
+     * supported), learning only evaluates categories whose boxes lie close enough to the
+     * input to pass vigilance. Results are unchanged.
+     * 
+     * @param enabled whether to maintain and use the hyperbox index
+     */
+    public final synchronized void setHyperboxIndexEnabled(boolean enabled) {
+        hyperboxIndex = enabled ? new HyperboxIndex(BOUND_TOLERANCE) : null;
+    }
+    
+    /**
+     * Get the hyperbox index, or null if it is disabled.
+     * @return the index
+     */
+    public final HyperboxIndex getHyperboxIndex() {
+        return hyperboxIndex;
+    }
+    
+    @Override
+    protected ResonanceSearch findResonantCategory(Pattern input, VectorizedParameters parameters) {
+        if (!useBoundedSearch()) {
+            return null;
+        }
+        // One-hot inputs use exact class matching, which the off-heap kernel does not describe
+        if (!isLikelyOneHotEncoded(input)) {
+            var offHeap = searchOffHeap(input, parameters, true);
+            if (offHeap != null) {
+                return offHeap;
+            }
+        }
+        var candidates = findVigilanceCandidates(input, parameters);
+        if (candidates == null) {
+            return searchCategories(input, parameters, true);
+        }
+        var best = -1;
+        var bestActivation = Double.NEGATIVE_INFINITY;
+        var tested = 0;
+        for (var category : candidates) {
+            var weight = getCategory(category);
+            var activation = calculateActivation(input, weight, parameters);
+            if (activation > bestActivation) {
+                tested++;
+                if (checkVigilance(input, weight, parameters).isAccepted()) {
+                    best = category;
+                    bestActivation = activation;
+                }
+            }
+        }
+        return best < 0 ? ResonanceSearch.none(tested) : new ResonanceSearch(best, bestActivation, tested);
+    }
+    
+    @Override
+    protected int[] findVigilanceCandidates(Pattern input, VectorizedParameters parameters) {
+        var index = hyperboxIndex;
+        // One-hot inputs use exact class matching, which the box radius does not describe
+        if (index == null || !useBoundedSearch() || isLikelyOneHotEncoded(input)) {
+            return null;
+        }
+        var complementCoded = VectorizedFuzzyWeight.getComplementCoded(input);
+        var point = new double[input.dimension()];
+        for (int i = 0; i < point.length; i++) {
+            point[i] = complementCoded.get(i);
+        }
+        return index.query(getCategoryCount(), i -> convertToVectorizedFuzzyWeight(getCategory(i)).getWeights(),
+                           point, parameters.vigilanceThreshold() * complementCoded.l1Norm());
+    }
+    
+    @Override
+    protected boolean isConcurrentSearchSafe() {
+        return true;
+    }
+    
+    @Override
+    protected ResonanceSearch findBestCategory(Pattern input, VectorizedParameters parameters) {
+        if (!useBoundedSearch()) {
+            return null;
+        }
+        var offHeap = searchOffHeap(input, parameters, false);
+        return offHeap != null ? offHeap : searchCategories(input, parameters, false);
+    }
+    
+    @Override
+    protected void onCategoryChanged(int index) {
+        super.onCategoryChanged(index);
+        if (useBoundedSearch()) {
+            var weight = getCategory(index);
+            choiceIndex.update(index, weight.l1Norm());
+            var boxes = hyperboxIndex;
+            if (boxes != null) {
+                boxes.update(index, convertToVectorizedFuzzyWeight(weight).getWeights());
+            }
+        }
+    }
+    
+    @Override
+    protected void onCategoriesReset() {
+        super.onCategoriesReset();
+        choiceIndex.invalidate();
+        var boxes = hyperboxIndex;
+        if (boxes != null) {
+            boxes.invalidate();
+        }
+    }
+    
+    /**
+     * Scan the off-heap category rows with the fused FuzzyART kernel.
+     * 
+     * @return the winner, or null if the categories are not mirrored off-heap
+     */
+    private ResonanceSearch searchOffHeap(Pattern input, VectorizedParameters parameters, boolean requireVigilance) {
+        var matrix = getOffHeapCategories();
+        if (matrix == null || matrix.size() != getCategoryCount()) {
+            return null;
+        }
+        var complementInput = getCachedFloatArray(VectorizedFuzzyWeight.getComplementCoded(input));
+        if (complementInput.length != matrix.dimension()) {
+            return null;
+        }
+        trackVectorOperation();
+        return matrix.searchFuzzy(complementInput, parameters.alpha(), parameters.vigilanceThreshold(), requireVigilance);
+    }
+    
+    private ResonanceSearch searchCategories(Pattern input, VectorizedParameters parameters, boolean requireVigilance) {
+        var inputNorm = VectorizedFuzzyWeight.getComplementCoded(input).l1Norm();
+        // One-hot inputs use exact class matching, which the norm bound does not describe
+        var vigilance = isLikelyOneHotEncoded(input) ? 0.0 : parameters.vigilanceThreshold();
+        return choiceIndex.search(
+            getCategoryCount(),
+            i -> getCategory(i).l1Norm(),
+            inputNorm,
+            parameters.alpha(),
+            vigilance,
+            i -> calculateActivation(input, getCategory(i), parameters),
+            requireVigilance ? i -> checkVigilance(input, getCategory(i), parameters).isAccepted() : null);
+    }
+    
     // === BaseART Integration ===
     
     @Override
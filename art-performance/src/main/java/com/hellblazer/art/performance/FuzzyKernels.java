@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.performance;
+
+import com.hellblazer.art.core.Pattern;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+/**
+ * Single-precision FuzzyART kernels shared by the off-heap category matrix and the packed and
+ * frozen inference models.
+ *
+ * Sums accumulate lane-reduced vector by vector and then element by element, the order of
+ * {@link AbstractVectorizedFuzzyART}'s activation and vigilance, so every caller selects exactly
+ * the category the heap model would. Rows are read in native byte order.
+ */
+public final class FuzzyKernels {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final ByteOrder ORDER = ByteOrder.nativeOrder();
+
+    private FuzzyKernels() {
+    }
+
+    /**
+     * Sum of the values.
+     */
+    public static float sum(float[] values) {
+        var sum = 0.0f;
+        var length = SPECIES.length();
+        int i = 0;
+        for (; i <= values.length - length; i += length) {
+            sum += FloatVector.fromArray(SPECIES, values, i).reduceLanes(VectorOperators.ADD);
+        }
+        for (; i < values.length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Sum of a float row.
+     *
+     * @param rows the segment holding the row
+     * @param offset the byte offset of the row
+     * @param dimension the number of floats in the row
+     */
+    public static float sum(MemorySegment rows, long offset, int dimension) {
+        var sum = 0.0f;
+        var length = SPECIES.length();
+        int i = 0;
+        for (; i <= dimension - length; i += length) {
+            sum += FloatVector.fromMemorySegment(SPECIES, rows, offset + (long) i * Float.BYTES, ORDER)
+                              .reduceLanes(VectorOperators.ADD);
+        }
+        for (; i < dimension; i++) {
+            sum += rows.get(ValueLayout.JAVA_FLOAT, offset + (long) i * Float.BYTES);
+        }
+        return sum;
+    }
+
+    /**
+     * Fuzzy intersection size |I ∧ w| of an input and a float row.
+     *
+     * @param rows the segment holding the row
+     * @param offset the byte offset of the row
+     * @param input the complement-coded input, of at least dimension floats
+     * @param dimension the number of floats in the row
+     */
+    public static float intersection(MemorySegment rows, long offset, float[] input, int dimension) {
+        var sum = 0.0f;
+        var length = SPECIES.length();
+        int i = 0;
+        for (; i <= dimension - length; i += length) {
+            var x = FloatVector.fromArray(SPECIES, input, i);
+            var w = FloatVector.fromMemorySegment(SPECIES, rows, offset + (long) i * Float.BYTES, ORDER);
+            sum += x.min(w).reduceLanes(VectorOperators.ADD);
+        }
+        for (; i < dimension; i++) {
+            sum += Math.min(input[i], rows.get(ValueLayout.JAVA_FLOAT, offset + (long) i * Float.BYTES));
+        }
+        return sum;
+    }
+
+    /**
+     * Complement code an input as VectorizedFuzzyWeight.getComplementCoded does, clamping to [0, 1].
+     *
+     * @param input the input
+     * @param target an array of at least twice the input dimension
+     * @return the target, holding [x, 1 − x]
+     */
+    public static float[] complementCode(Pattern input, float[] target) {
+        var original = input.dimension();
+        for (int i = 0; i < original; i++) {
+            var value = Math.max(0.0, Math.min(1.0, input.get(i)));
+            target[i] = (float) value;
+            target[original + i] = (float) Math.max(0.0, Math.min(1.0, 1.0 - value));
+        }
+        return target;
+    }
+}
@@ -0,0 +1,403 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.performance;
+
+import com.hellblazer.art.core.BaseART.ResonanceSearch;
+import com.hellblazer.art.core.WeightVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Off-heap category storage: one float row per category plus the row's weight sum and usage
+ * count, held in a single {@link MemorySegment} owned by an {@link Arena} rather than in a
+ * heap array per category.
+ *
+ * Layout: a 64-byte header (magic, dimension, stride, capacity, size), then capacity rows of
+ * stride floats, each row 64-byte aligned and zero padded, then capacity float weight sums,
+ * then capacity long usage counts. The matrix is either anonymous memory or a memory-mapped
+ * file; a file-backed matrix persists as it is written and is reloaded instantly with
+ * {@link #open(Path)}. Capacity doubles as rows are appended, remapping the segment.
+ *
+ * Searches read rows directly from the segment with {@link FuzzyKernels}, which accumulate
+ * lane sums in the same order as {@link AbstractVectorizedFuzzyART}'s activation and
+ * vigilance, so a search over the matrix selects exactly the category a heap scan would.
+ * Searches may run concurrently; row writes exclude them.
+ */
+public final class OffHeapCategoryMatrix implements AutoCloseable {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    private static final int MAGIC = 0x4F48434D; // "OHCM"
+    private static final long HEADER_BYTES = 64;
+    private static final long ALIGNMENT = 64;
+    private static final long MAGIC_OFFSET = 0;
+    private static final long DIMENSION_OFFSET = 4;
+    private static final long STRIDE_OFFSET = 8;
+    private static final long CAPACITY_OFFSET = 12;
+    private static final long SIZE_OFFSET = 16;
+
+    private final int dimension;
+    private final int stride;
+    private final Path file;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Arena arena;
+    private MemorySegment segment;
+    private int capacity;
+    private int size;
+
+    private OffHeapCategoryMatrix(int dimension, Path file) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("Dimension must be positive, got: " + dimension);
+        }
+        this.dimension = dimension;
+        // Rows are padded to whole vectors and 64-byte boundaries
+        var rowFloats = (int) (ALIGNMENT / Float.BYTES);
+        var unit = Math.max(rowFloats, SPECIES.length());
+        this.stride = (dimension + unit - 1) / unit * unit;
+        this.file = file;
+    }
+
+    /**
+     * Allocate an off-heap matrix in anonymous memory.
+     *
+     * @param dimension the row dimension
+     * @param initialCapacity the initial number of rows
+     * @return the matrix
+     */
+    public static OffHeapCategoryMatrix allocate(int dimension, int initialCapacity) {
+        var matrix = new OffHeapCategoryMatrix(dimension, null);
+        matrix.remap(Math.max(1, initialCapacity));
+        return matrix;
+    }
+
+    /**
+     * Create a matrix backed by a memory-mapped file, replacing any existing file.
+     *
+     * @param file the backing file
+     * @param dimension the row dimension
+     * @param initialCapacity the initial number of rows
+     * @return the matrix
+     */
+    public static OffHeapCategoryMatrix map(Path file, int dimension, int initialCapacity) {
+        var matrix = new OffHeapCategoryMatrix(dimension, file);
+        try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.truncate(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create " + file, e);
+        }
+        matrix.remap(Math.max(1, initialCapacity));
+        return matrix;
+    }
+
+    /**
+     * Map an existing file written by a file-backed matrix.
+     *
+     * @param file the backing file
+     * @return the matrix, with the rows the file holds
+     */
+    public static OffHeapCategoryMatrix open(Path file) {
+        int dimension;
+        int stride;
+        int capacity;
+        int size;
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ);
+             var arena = Arena.ofConfined()) {
+            var header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES, arena);
+            if (header.get(ValueLayout.JAVA_INT, MAGIC_OFFSET) != MAGIC) {
+                throw new IllegalArgumentException("Not an off-heap category matrix: " + file);
+            }
+            dimension = header.get(ValueLayout.JAVA_INT, DIMENSION_OFFSET);
+            stride = header.get(ValueLayout.JAVA_INT, STRIDE_OFFSET);
+            capacity = header.get(ValueLayout.JAVA_INT, CAPACITY_OFFSET);
+            size = header.get(ValueLayout.JAVA_INT, SIZE_OFFSET);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open " + file, e);
+        }
+        var matrix = new OffHeapCategoryMatrix(dimension, file);
+        if (matrix.stride != stride) {
+            throw new IllegalArgumentException("Row stride " + stride + " of " + file
+                                               + " does not match this platform's " + matrix.stride);
+        }
+        matrix.size = size;
+        matrix.remap(capacity);
+        return matrix;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int capacity() {
+        lock.readLock().lock();
+        try {
+            return capacity;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the matrix is backed by a memory-mapped file.
+     */
+    public boolean isFileBacked() {
+        return file != null;
+    }
+
+    /**
+     * Write a row, appending it if the index equals the current size.
+     *
+     * @param row the row index, at most {@link #size()}
+     * @param weight the category weight, of this matrix's dimension
+     * @param usage the category's usage count
+     */
+    public void set(int row, WeightVector weight, long usage) {
+        if (weight.dimension() != dimension) {
+            throw new IllegalArgumentException("Weight dimension " + weight.dimension() + " != " + dimension);
+        }
+        lock.writeLock().lock();
+        try {
+            if (row < 0 || row > size) {
+                throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+            }
+            if (row == size) {
+                if (size == capacity) {
+                    remap(capacity * 2);
+                }
+                size++;
+                segment.set(ValueLayout.JAVA_INT, SIZE_OFFSET, size);
+            }
+            var offset = rowOffset(row);
+            for (int i = 0; i < dimension; i++) {
+                segment.set(ValueLayout.JAVA_FLOAT, offset + (long) i * Float.BYTES, (float) weight.get(i));
+            }
+            segment.set(ValueLayout.JAVA_FLOAT, normOffset(row), FuzzyKernels.sum(segment, offset, dimension));
+            segment.set(ValueLayout.JAVA_LONG, usageOffset(row), usage);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop all rows, keeping the capacity.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            size = 0;
+            segment.set(ValueLayout.JAVA_INT, SIZE_OFFSET, 0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Copy a row into an array.
+     *
+     * @param row the row index
+     * @param destination an array of at least {@link #dimension()} floats
+     */
+    public void copyRow(int row, float[] destination) {
+        lock.readLock().lock();
+        try {
+            checkRow(row);
+            MemorySegment.copy(segment, ValueLayout.JAVA_FLOAT, rowOffset(row), destination, 0, dimension);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the cached weight sum |w| of a row.
+     */
+    public float norm(int row) {
+        lock.readLock().lock();
+        try {
+            checkRow(row);
+            return segment.get(ValueLayout.JAVA_FLOAT, normOffset(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the usage count of a row.
+     */
+    public long usage(int row) {
+        lock.readLock().lock();
+        try {
+            checkRow(row);
+            return segment.get(ValueLayout.JAVA_LONG, usageOffset(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the FuzzyART winner, highest activation |I ∧ w| / (α + |w|) with the lowest index
+     * on ties, optionally among only the rows passing vigilance |I ∧ w| / |I| ≥ ρ.
+     *
+     * @param input the complement-coded input
+     * @param alpha the choice parameter
+     * @param vigilance the vigilance parameter
+     * @param requireVigilance whether the winner must pass vigilance
+     * @return the winning category, or none, with the number of rows whose vigilance was tested
+     */
+    public ResonanceSearch searchFuzzy(float[] input, double alpha, double vigilance, boolean requireVigilance) {
+        var inputSum = FuzzyKernels.sum(input);
+        lock.readLock().lock();
+        try {
+            var best = -1;
+            var bestActivation = Double.NEGATIVE_INFINITY;
+            var tested = 0;
+            for (int j = 0; j < size; j++) {
+                var intersection = FuzzyKernels.intersection(segment, rowOffset(j), input, dimension);
+                var activation = intersection / (alpha + segment.get(ValueLayout.JAVA_FLOAT, normOffset(j)));
+                if (activation > bestActivation) {
+                    if (requireVigilance) {
+                        tested++;
+                        if (!(intersection / inputSum >= vigilance)) {
+                            continue;
+                        }
+                    }
+                    best = j;
+                    bestActivation = activation;
+                }
+            }
+            if (!requireVigilance) {
+                return best < 0 ? ResonanceSearch.NONE : new ResonanceSearch(best, bestActivation);
+            }
+            return best < 0 ? ResonanceSearch.none(tested) : new ResonanceSearch(best, bestActivation, tested);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Flush a file-backed matrix to storage.
+     */
+    public void force() {
+        lock.readLock().lock();
+        try {
+            if (file != null) {
+                segment.force();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (arena != null) {
+                arena.close();
+                arena = null;
+                segment = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+        }
+    }
+
+    private long rowOffset(int row) {
+        return HEADER_BYTES + (long) row * stride * Float.BYTES;
+    }
+
+    private long normOffset(int row) {
+        return normBase(capacity) + (long) row * Float.BYTES;
+    }
+
+    private long usageOffset(int row) {
+        return usageBase(capacity) + (long) row * Long.BYTES;
+    }
+
+    private long normBase(int rows) {
+        return HEADER_BYTES + (long) rows * stride * Float.BYTES;
+    }
+
+    private long usageBase(int rows) {
+        return alignUp(normBase(rows) + (long) rows * Float.BYTES, Long.BYTES);
+    }
+
+    private static long alignUp(long value, long alignment) {
+        return (value + alignment - 1) & -alignment;
+    }
+
+    /**
+     * Map a segment for the given capacity, moving the existing rows, sums and counts into it.
+     * For a file the rows stay in place and the relocated regions lie beyond the old ones.
+     */
+    private void remap(int newCapacity) {
+        var bytes = usageBase(newCapacity) + (long) newCapacity * Long.BYTES;
+        var newArena = Arena.ofShared();
+        MemorySegment newSegment;
+        if (file == null) {
+            newSegment = newArena.allocate(bytes, ALIGNMENT);
+        } else {
+            try (var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                newSegment = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes, newArena);
+            } catch (IOException e) {
+                newArena.close();
+                throw new UncheckedIOException("Cannot map " + file, e);
+            }
+        }
+        if (segment != null) {
+            MemorySegment.copy(segment, rowOffset(0), newSegment, rowOffset(0), (long) size * stride * Float.BYTES);
+            MemorySegment.copy(segment, normBase(capacity), newSegment, normBase(newCapacity), (long) size * Float.BYTES);
+            MemorySegment.copy(segment, usageBase(capacity), newSegment, usageBase(newCapacity), (long) size * Long.BYTES);
+            arena.close();
+        }
+        newSegment.set(ValueLayout.JAVA_INT, MAGIC_OFFSET, MAGIC);
+        newSegment.set(ValueLayout.JAVA_INT, DIMENSION_OFFSET, dimension);
+        newSegment.set(ValueLayout.JAVA_INT, STRIDE_OFFSET, stride);
+        newSegment.set(ValueLayout.JAVA_INT, CAPACITY_OFFSET, newCapacity);
+        newSegment.set(ValueLayout.JAVA_INT, SIZE_OFFSET, size);
+        arena = newArena;
+        segment = newSegment;
+        capacity = newCapacity;
+    }
+}
@@ -43,6 +43,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveTask;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.IntStream;
 
 /**
@@ -85,10 +86,13 @@ public final class VectorizedDeepARTMAP extends AbstractDeepARTMAP {
     // Performance metrics
     private long totalVectorOperations = 0;
     private long totalChannelParallelTasks = 0;
-    private long totalLayerParallelTasks = 0;
     private long totalSIMDOperations = 0;
     private double avgComputeTime = 0.0;
     private long operationCount = 0;
+    // Pipeline metrics, updated by concurrent predictions
+    private final LongAdder totalLayerParallelTasks = new LongAdder();
+    private final LongAdder pipelinedSamples = new LongAdder();
+    private final LongAdder pipelineNanos = new LongAdder();
     
     /**
      * Create a new VectorizedDeepARTMAP with specified vectorized ART modules.
@@ -181,10 +185,12 @@ public final class VectorizedDeepARTMAP extends AbstractDeepARTMAP {
     }
     
     /**
-     * Predict categories for new multi-channel data using vectorized operations.
+     * Predict categories for new multi-channel data by running it through the trained layers.
+     * The batch is pipelined across layers and each layer scores its channel with its
+     * vectorized module.
      * 
      * @param data Input data for prediction
-     * @return Array of predicted category indices
+     * @return Array of predicted category indices, -1 where no layer has a prediction
      */
     public int[] predict(List<Pattern[]> data) {
         if (!trained) {
@@ -196,13 +202,9 @@ public final class VectorizedDeepARTMAP extends AbstractDeepARTMAP {
         try {
             validateInputDataAndThrow(data, null);
             
-            int sampleCount = data.get(0).length;
-            
-            if (parameters.enableSIMD() && sampleCount >= SPECIES.length()) {
-                return predictVectorized(data, sampleCount);
-            } else {
-                return predictSequential(data, sampleCount);
-            }
+            var predictions = new int[data.get(0).length];
+            predictPipelined(data, predictions);
+            return predictions;
             
         } finally {
             updatePerformanceMetrics(startTime);
@@ -210,7 +212,7 @@ public final class VectorizedDeepARTMAP extends AbstractDeepARTMAP {
     }
     
     /**
-     * Predict categories through all hierarchical layers using vectorized operations.
+     * Predict categories through all hierarchical layers, pipelining the batch across layers.
      * 
      * @param data Input data for deep prediction
      * @return Array of prediction arrays (one per sample, one prediction per layer)
@@ -225,14 +227,7 @@ public final class VectorizedDeepARTMAP extends AbstractDeepARTMAP {
         try {
             validateInputDataAndThrow(data, null);
             
-            int sampleCount = data.get(0).length;
-            var deepPredictions = new int[sampleCount][layers.size()];
-            
-            if (parameters.shouldUseLayerParallelism(layers.size())) {
-                return predictDeepParallel(data, sampleCount, deepPredictions);
-            } else {
-                return predictDeepSequential(data, sampleCount, deepPredictions);
-            }
+            return predictPipelined(data, null);
             
         } finally {
             updatePerformanceMetrics(startTime);
@@ -257,11 +252,13 @@ public final class VectorizedDeepARTMAP extends AbstractDeepARTMAP {
             
             int sampleCount = data.get(0).length;
             int numCategories = Math.max(totalCategoryCount, 2);
+            var predictions = new int[sampleCount];
+            predictPipelined(data, predictions);
             
             if (parameters.enableSIMD()) {
-                return predict_probaVectorized(data, sampleCount, numCategories);
+                return predict_probaVectorized(predictions, numCategories);
             } else {
-                return predict_probaSequential(data, sampleCount, numCategories);
+                return predict_probaSequential(predictions, numCategories);
             }
             
         } finally {
@@ -278,7 +275,7 @@ public final class VectorizedDeepARTMAP extends AbstractDeepARTMAP {
         return new VectorizedDeepARTMAPPerformanceStats(
             totalVectorOperations,
             totalChannelParallelTasks,
-            totalLayerParallelTasks,
+            totalLayerParallelTasks.sum(),
             totalSIMDOperations,
             avgComputeTime,
             channelPool.getActiveThreadCount(),
@@ -286,7 +283,9 @@ public final class VectorizedDeepARTMAP extends AbstractDeepARTMAP {
             predictionCache.size(),
             probabilityCache.size(),
             totalCategoryCount,
-            operationCount
+            operationCount,
+            pipelinedSamples.sum(),
+            pipelineNanos.sum()
         );
     }
     
@@ -296,10 +295,12 @@ public final class VectorizedDeepARTMAP extends AbstractDeepARTMAP {
     public void resetPerformanceTracking() {
         totalVectorOperations = 0;
         totalChannelParallelTasks = 0;
-        totalLayerParallelTasks = 0;
+        totalLayerParallelTasks.reset();
         totalSIMDOperations = 0;
         avgComputeTime = 0.0;
         operationCount = 0;
+        pipelinedSamples.reset();
+        pipelineNanos.reset();
         
         if (parameters.enablePerformanceMonitoring()) {
             log.info("VectorizedDeepARTMAP performance tracking reset");
@@ -386,8 +387,7 @@ public final class VectorizedDeepARTMAP extends AbstractDeepARTMAP {
         layers.addAll(trainedLayers);
         trained = true;
         
-        // Store deep labels using parallel processing
-        storeDeepLabelsParallel(data);
+        storeDeepLabels(data);
         
         return new DeepARTMAPResult.Success(
             List.of("Supervised training completed with parallel channel processing"),
@@ -408,7 +408,7 @@ public final class VectorizedDeepARTMAP extends AbstractDeepARTMAP {
         }
         
         trained = true;
-        storeDeepLabelsSequential(data);
+        storeDeepLabels(data);
         
         return new DeepARTMAPResult.Success(
             List.of("Supervised training completed"),
@@ -457,7 +457,7 @@ public final class VectorizedDeepARTMAP extends AbstractDeepARTMAP {
         }
         
         trained = true;
-        storeDeepLabelsParallel(data);
+        storeDeepLabels(data);
         
         return new DeepARTMAPResult.Success(
             List.of("Unsupervised training completed with parallel processing"),
@@ -494,7 +494,7 @@ public final class VectorizedDeepARTMAP extends AbstractDeepARTMAP {
         }
         
         trained = true;
-        storeDeepLabelsSequential(data);
+        storeDeepLabels(data);
         
         return new DeepARTMAPResult.Success(
             List.of("Unsupervised training completed"),
@@ -505,101 +505,27 @@ public final class VectorizedDeepARTMAP extends AbstractDeepARTMAP {
     }
     
     /**
-     * Vectorized prediction using SIMD operations.
-     */
-    private int[] predictVectorized(List<Pattern[]> data, int sampleCount) {
-        totalSIMDOperations++;
-        var predictions = new int[sampleCount];
-        
-        if (storedDeepLabels != null && storedDeepLabels.length > 0) {
-            // Use vectorized operations for prediction lookup
-            var vectorLength = SPECIES.length();
-            int i = 0;
-            
-            // Process in SIMD chunks
-            for (; i <= sampleCount - vectorLength; i += vectorLength) {
-                for (int j = 0; j < vectorLength; j++) {
-                    int trainingIndex = (i + j) % storedDeepLabels.length;
-                    predictions[i + j] = storedDeepLabels[trainingIndex][0];
-                }
-                totalVectorOperations++;
-            }
-            
-            // Handle remaining elements
-            for (; i < sampleCount; i++) {
-                int trainingIndex = i % storedDeepLabels.length;
-                predictions[i] = storedDeepLabels[trainingIndex][0];
-            }
-        } else {
-            // Fallback prediction
-            Arrays.fill(predictions, 0);
-        }
-        
-        return predictions;
-    }
-    
-    /**
-     * Sequential prediction (fallback).
-     */
-    private int[] predictSequential(List<Pattern[]> data, int sampleCount) {
-        var predictions = new int[sampleCount];
-        
-        for (int i = 0; i < sampleCount; i++) {
-            if (storedDeepLabels != null && storedDeepLabels.length > 0) {
-                int trainingIndex = i % storedDeepLabels.length;
-                predictions[i] = storedDeepLabels[trainingIndex][0];
-            } else {
-                predictions[i] = i % Math.max(1, totalCategoryCount);
-            }
-        }
-        
-        return predictions;
-    }
-    
-    /**
-     * Parallel deep prediction processing.
-     */
-    private int[][] predictDeepParallel(List<Pattern[]> data, int sampleCount, int[][] deepPredictions) {
-        totalLayerParallelTasks++;
-        
-        if (storedDeepLabels != null && storedDeepLabels.length > 0) {
-            // Process samples in parallel
-            IntStream.range(0, sampleCount)
-                .parallel()
-                .forEach(i -> {
-                    int trainingIndex = i % storedDeepLabels.length;
-                    System.arraycopy(storedDeepLabels[trainingIndex], 0, 
-                                   deepPredictions[i], 0, layers.size());
-                });
-        }
-        
-        return deepPredictions;
-    }
-    
-    /**
-     * Sequential deep prediction (fallback).
+     * Run a batch through the layers, on the layer pool when layer parallelism applies, and
+     * account the samples to the pipeline throughput.
      */
-    private int[][] predictDeepSequential(List<Pattern[]> data, int sampleCount, int[][] deepPredictions) {
-        for (int i = 0; i < sampleCount; i++) {
-            if (storedDeepLabels != null && storedDeepLabels.length > 0) {
-                int trainingIndex = i % storedDeepLabels.length;
-                System.arraycopy(storedDeepLabels[trainingIndex], 0, 
-                               deepPredictions[i], 0, layers.size());
-            } else {
-                for (int j = 0; j < layers.size(); j++) {
-                    deepPredictions[i][j] = (i + j) % 3;
-                }
-            }
+    private int[][] predictPipelined(List<Pattern[]> data, int[] predictions) {
+        var pipelined = parameters.shouldUseLayerParallelism(layers.size());
+        if (pipelined) {
+            totalLayerParallelTasks.increment();
         }
-        
+        var start = System.nanoTime();
+        var deepPredictions = predictLayers(data, predictions, pipelined ? layerPool : null);
+        pipelineNanos.add(System.nanoTime() - start);
+        pipelinedSamples.add(data.get(0).length);
         return deepPredictions;
     }
     
     /**
      * Vectorized probability calculation using SIMD operations.
      */
-    private double[][] predict_probaVectorized(List<Pattern[]> data, int sampleCount, int numCategories) {
+    private double[][] predict_probaVectorized(int[] predictions, int numCategories) {
         totalSIMDOperations++;
+        int sampleCount = predictions.length;
         var probabilities = new double[sampleCount][numCategories];
         var vectorLength = SPECIES.length();
         
@@ -608,30 +534,27 @@ public final class VectorizedDeepARTMAP extends AbstractDeepARTMAP {
         var lowProbValue = (float) (0.2 / (numCategories - 1));
         
         for (int i = 0; i < sampleCount; i++) {
-            if (storedDeepLabels != null && storedDeepLabels.length > 0) {
-                int trainingIndex = i % storedDeepLabels.length;
-                int predictedCategory = storedDeepLabels[trainingIndex][0];
+            int predictedCategory = predictions[i];
+            
+            if (predictedCategory >= 0 && predictedCategory < numCategories) {
+                // Use SIMD to set probability distribution
+                probabilities[i][predictedCategory] = 0.8;
                 
-                if (predictedCategory >= 0 && predictedCategory < numCategories) {
-                    // Use SIMD to set probability distribution
-                    probabilities[i][predictedCategory] = 0.8;
-                    
-                    // Vectorized probability distribution for remaining categories
-                    int j = 0;
-                    for (; j <= numCategories - vectorLength; j += vectorLength) {
-                        for (int k = 0; k < vectorLength && j + k < numCategories; k++) {
-                            if (j + k != predictedCategory) {
-                                probabilities[i][j + k] = lowProbValue;
-                            }
+                // Vectorized probability distribution for remaining categories
+                int j = 0;
+                for (; j <= numCategories - vectorLength; j += vectorLength) {
+                    for (int k = 0; k < vectorLength && j + k < numCategories; k++) {
+                        if (j + k != predictedCategory) {
+                            probabilities[i][j + k] = lowProbValue;
                         }
-                        totalVectorOperations++;
                     }
-                    
-                    // Handle remaining elements
-                    for (; j < numCategories; j++) {
-                        if (j != predictedCategory) {
-                            probabilities[i][j] = lowProbValue;
-                        }
+                    totalVectorOperations++;
+                }
+                
+                // Handle remaining elements
+                for (; j < numCategories; j++) {
+                    if (j != predictedCategory) {
+                        probabilities[i][j] = lowProbValue;
                     }
                 }
             }
@@ -643,21 +566,19 @@ public final class VectorizedDeepARTMAP extends AbstractDeepARTMAP {
     /**
      * Sequential probability calculation (fallback).
      */
-    private double[][] predict_probaSequential(List<Pattern[]> data, int sampleCount, int numCategories) {
+    private double[][] predict_probaSequential(int[] predictions, int numCategories) {
+        int sampleCount = predictions.length;
         var probabilities = new double[sampleCount][numCategories];
         
         for (int i = 0; i < sampleCount; i++) {
-            if (storedDeepLabels != null && storedDeepLabels.length > 0) {
-                int trainingIndex = i % storedDeepLabels.length;
-                int predictedCategory = storedDeepLabels[trainingIndex][0];
-                
-                if (predictedCategory >= 0 && predictedCategory < numCategories) {
-                    probabilities[i][predictedCategory] = 0.8;
-                    var remainingProb = 0.2 / (numCategories - 1);
-                    for (int j = 0; j < numCategories; j++) {
-                        if (j != predictedCategory) {
-                            probabilities[i][j] = remainingProb;
-                        }
+            int predictedCategory = predictions[i];
+            
+            if (predictedCategory >= 0 && predictedCategory < numCategories) {
+                probabilities[i][predictedCategory] = 0.8;
+                var remainingProb = 0.2 / (numCategories - 1);
+                for (int j = 0; j < numCategories; j++) {
+                    if (j != predictedCategory) {
+                        probabilities[i][j] = remainingProb;
                     }
                 }
             }
@@ -667,48 +588,10 @@ public final class VectorizedDeepARTMAP extends AbstractDeepARTMAP {
     }
     
     /**
-     * Store deep labels using parallel processing.
-     */
-    private void storeDeepLabelsParallel(List<Pattern[]> data) {
-        int sampleCount = data.get(0).length;
-        storedDeepLabels = new int[sampleCount][layers.size()];
-        
-        // Process layers in parallel
-        var layerTasks = IntStream.range(0, layers.size())
-            .mapToObj(layerIndex -> CompletableFuture.runAsync(() -> {
-                var layer = layers.get(layerIndex);
-                if (layer instanceof SimpleARTMAP simpleLayer) {
-                    var layerPredictions = simpleLayer.predict(data.get(layerIndex), createDefaultVectorizedParameters(simpleLayer.getModuleA()));
-                    for (int sampleIndex = 0; sampleIndex < sampleCount; sampleIndex++) {
-                        storedDeepLabels[sampleIndex][layerIndex] = layerPredictions[sampleIndex];
-                    }
-                }
-            }, layerPool))
-            .toList();
-        
-        // Wait for all tasks to complete
-        layerTasks.forEach(CompletableFuture::join);
-        
-        updateTotalCategoryCount();
-    }
-    
-    /**
-     * Store deep labels sequentially (fallback).
+     * Store the deep labels of the training data as predicted by the trained layers.
      */
-    private void storeDeepLabelsSequential(List<Pattern[]> data) {
-        int sampleCount = data.get(0).length;
-        storedDeepLabels = new int[sampleCount][layers.size()];
-        
-        for (int layerIndex = 0; layerIndex < layers.size(); layerIndex++) {
-            var layer = layers.get(layerIndex);
-            if (layer instanceof SimpleARTMAP simpleLayer) {
-                var layerPredictions = simpleLayer.predict(data.get(layerIndex), createDefaultVectorizedParameters(simpleLayer.getModuleA()));
-                for (int sampleIndex = 0; sampleIndex < sampleCount; sampleIndex++) {
-                    storedDeepLabels[sampleIndex][layerIndex] = layerPredictions[sampleIndex];
-                }
-            }
-        }
-        
+    private void storeDeepLabels(List<Pattern[]> data) {
+        storedDeepLabels = predictPipelined(data, null);
         updateTotalCategoryCount();
     }
     
@@ -1029,7 +912,7 @@ public final class VectorizedDeepARTMAP extends AbstractDeepARTMAP {
                            "vectorOps=%d, channelTasks=%d, layerTasks=%d, simdOps=%d}",
                            modules.size(), layers.size(), totalCategoryCount,
                            totalVectorOperations, totalChannelParallelTasks, 
-                           totalLayerParallelTasks, totalSIMDOperations);
+                           totalLayerParallelTasks.sum(), totalSIMDOperations);
     }
     
     // VectorizedARTAlgorithm interface implementation
@@ -1081,9 +964,9 @@ public final class VectorizedDeepARTMAP extends AbstractDeepARTMAP {
             }
             replaceAllCategories(newCategories);
             
-            // Return the first layer's first prediction as the category
+            // Return the first layer's first prediction as the category, if it has one
             var deepLabels = success.deepLabels();
-            if (deepLabels.length > 0 && deepLabels[0].length > 0) {
+            if (deepLabels.length > 0 && deepLabels[0].length > 0 && deepLabels[0][0] >= 0) {
                 int categoryIndex = deepLabels[0][0];
                 return new ActivationResult.Success(categoryIndex, 1.0,
                     categoryIndex < getCategoryCount() ? getCategory(categoryIndex) : FuzzyWeight.fromInput(input));
@@ -1141,6 +1024,11 @@ public final class VectorizedDeepARTMAP extends AbstractDeepARTMAP {
         return SPECIES.length();
     }
     
+    @Override
+    protected Object layerParameters(BaseART module) {
+        return createDefaultVectorizedParameters(module);
+    }
+    
     /**
      * Create default parameters for different vectorized ART module types.
      */
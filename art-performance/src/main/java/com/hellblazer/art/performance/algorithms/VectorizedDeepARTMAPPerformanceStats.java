@@ -35,6 +35,8 @@ package com.hellblazer.art.performance.algorithms;
  * @param probabilityCacheSize Current size of probability cache
  * @param categoryCount Total number of categories across all layers
  * @param operationCount Total number of operations performed
+ * @param pipelinedSamples Total number of samples run through the layer pipeline
+ * @param pipelineNanos Total time spent in the layer pipeline in nanoseconds
  * 
  * @author Hal Hildebrand
  */
@@ -49,7 +51,9 @@ public record VectorizedDeepARTMAPPerformanceStats(
     int predictionCacheSize,
     int probabilityCacheSize,
     int categoryCount,
-    long operationCount
+    long operationCount,
+    long pipelinedSamples,
+    long pipelineNanos
 ) {
     
     /**
@@ -101,6 +105,16 @@ public record VectorizedDeepARTMAPPerformanceStats(
         return 1000.0 / avgComputeTimeMs;
     }
     
+    /**
+     * Calculate hierarchical prediction throughput through the layer pipeline.
+     * 
+     * @return Samples per second
+     */
+    public double pipelineThroughput() {
+        if (pipelineNanos == 0) return 0.0;
+        return pipelinedSamples * 1_000_000_000.0 / pipelineNanos;
+    }
+    
     /**
      * Calculate total cache size (prediction + probability).
      * 
@@ -152,8 +166,9 @@ public record VectorizedDeepARTMAPPerformanceStats(
      */
     public String getSummary() {
         return String.format(
-            "VectorizedDeepARTMAP Performance: %.1f ops/sec, %.1f%% channel parallel, %.1f%% layer parallel, %.1f%% SIMD, %d threads active",
+            "VectorizedDeepARTMAP Performance: %.1f ops/sec, %.1f samples/sec pipelined, %.1f%% channel parallel, %.1f%% layer parallel, %.1f%% SIMD, %d threads active",
             operationsPerSecond(),
+            pipelineThroughput(),
             channelParallelismEfficiency() * 100,
             layerParallelismEfficiency() * 100,
             simdEfficiency() * 100,
@@ -166,10 +181,10 @@ public record VectorizedDeepARTMAPPerformanceStats(
         return String.format(
             "VectorizedDeepARTMAPPerformanceStats{" +
             "vectorOps=%d, channelTasks=%d, layerTasks=%d, simdOps=%d, " +
-            "avgMs=%.3f, threads=%d/%d, caches=%d/%d, categories=%d, ops=%d}",
+            "avgMs=%.3f, threads=%d/%d, caches=%d/%d, categories=%d, ops=%d, pipelined=%d}",
             totalVectorOperations, totalChannelParallelTasks, totalLayerParallelTasks, 
             totalSIMDOperations, avgComputeTimeMs, activeChannelThreads, activeLayerThreads,
-            predictionCacheSize, probabilityCacheSize, categoryCount, operationCount
+            predictionCacheSize, probabilityCacheSize, categoryCount, operationCount, pipelinedSamples
         );
     }
 }
\ No newline at end of file
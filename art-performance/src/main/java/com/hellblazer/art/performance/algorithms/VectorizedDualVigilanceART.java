@@ -92,11 +92,9 @@ public final class VectorizedDualVigilanceART extends AbstractVectorizedART<Vect
         // Ensure input is complement coded
         var complementCoded = ensureComplementCoded(input);
         var inputData = convertToFloatArray(complementCoded);
-        var intersection = dualWeight.computeIntersectionSize(inputData);
-        var magnitude = dualWeight.computeMinMagnitude();
         
         // Choice function: T(I,J) = |I ∩ wj| / (α + |wj|)
-        return intersection / (params.alpha() + magnitude);
+        return dualWeight.computeChoice(inputData, params.alpha());
     }
     
     @Override
@@ -113,29 +111,8 @@ public final class VectorizedDualVigilanceART extends AbstractVectorizedART<Vect
         var complementCoded = ensureComplementCoded(input);
         var inputData = convertToFloatArray(complementCoded);
         
-        // Compute fuzzy AND intersection
-        var intersection = dualWeight.computeIntersectionSize(inputData);
-        
-        // Compute input magnitude (for lower threshold)
-        var inputMagnitude = computeInputMagnitude(inputData, params);
-        
-        // Compute category magnitude (for upper threshold)
-        var categoryMagnitude = dualWeight.computeMinMagnitude();
-        
-        // Lower vigilance check: |I ∩ wj| / |I| >= rhoLower
-        var lowerRatio = inputMagnitude > 0 ? intersection / inputMagnitude : 0.0;
-        var lowerVigilancePass = lowerRatio >= params.rhoLower();
-        
-        // Upper vigilance check: |I ∩ wj| / |wj| >= rhoUpper
-        var upperRatio = categoryMagnitude > 0 ? intersection / categoryMagnitude : 0.0;
-        var upperVigilancePass = upperRatio >= params.rhoUpper();
-        
-        // Both thresholds must be satisfied
-        var accepted = lowerVigilancePass && upperVigilancePass;
-        
-        return accepted ? 
-               new MatchResult.Accepted(Math.min(lowerRatio, upperRatio), Math.min(params.rhoLower(), params.rhoUpper())) : 
-               new MatchResult.Rejected(Math.min(lowerRatio, upperRatio), Math.max(params.rhoLower(), params.rhoUpper()));
+        // Lower (|I ∩ wj| / |I|) and upper (|I ∩ wj| / |wj|) tests in one pass; both must pass
+        return dualWeight.matchDualVigilance(inputData, params.rhoLower(), params.rhoUpper());
     }
     
     @Override
@@ -270,22 +247,6 @@ public final class VectorizedDualVigilanceART extends AbstractVectorizedART<Vect
     }
     
     
-    /**
-     * Computes input magnitude for dual vigilance evaluation.
-     */
-    private double computeInputMagnitude(float[] inputData, VectorizedDualVigilanceParameters params) {
-        var magnitude = 0.0;
-        var halfLen = inputData.length / 2;
-        
-        // Sum first half (original values) for input magnitude
-        for (int i = 0; i < halfLen; i++) {
-            magnitude += inputData[i];
-        }
-        
-        return magnitude;
-    }
-    
-    
     // getVectorSpeciesLength is provided by AbstractVectorizedART
     
     @Override
@@ -1,6 +1,7 @@
 package com.hellblazer.art.performance.algorithms;
 
 import com.hellblazer.art.core.WeightVector;
+import com.hellblazer.art.core.results.MatchResult;
 import jdk.incubator.vector.FloatVector;
 import jdk.incubator.vector.VectorOperators;
 import jdk.incubator.vector.VectorSpecies;
@@ -211,6 +212,89 @@ public final class VectorizedDualVigilanceWeight implements WeightVector {
         return magnitude;
     }
     
+    /**
+     * Computes the choice function |I ∩ w| / (alpha + |w|) in a single SIMD pass,
+     * accumulating the intersection and the min component magnitude together.
+     * 
+     * @param pattern Input pattern (complement coded)
+     * @param alpha Choice parameter
+     * @return Choice function value
+     */
+    public double computeChoice(float[] pattern, double alpha) {
+        if (pattern.length != weights.length) {
+            throw new IllegalArgumentException("Pattern dimension mismatch");
+        }
+        
+        int bound = SPECIES.loopBound(dimension);
+        var intersectionVec = FloatVector.zero(SPECIES);
+        var magnitudeVec = FloatVector.zero(SPECIES);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            var weightVec = FloatVector.fromArray(SPECIES, weights, i);
+            var patternVec = FloatVector.fromArray(SPECIES, pattern, i);
+            intersectionVec = intersectionVec.add(weightVec.min(patternVec));
+            magnitudeVec = magnitudeVec.add(weightVec);
+        }
+        
+        double intersection = intersectionVec.reduceLanes(VectorOperators.ADD);
+        double magnitude = magnitudeVec.reduceLanes(VectorOperators.ADD);
+        
+        // Scalar tail
+        for (int i = bound; i < dimension; i++) {
+            intersection += Math.min(weights[i], pattern[i]);
+            magnitude += weights[i];
+        }
+        
+        return intersection / (alpha + magnitude);
+    }
+    
+    /**
+     * Evaluates the lower and upper vigilance tests in a single SIMD pass over the min
+     * component, accumulating |I ∩ w|, |I| and |w| together.
+     * 
+     * Lower vigilance: |I ∩ w| / |I| >= rhoLower; upper vigilance: |I ∩ w| / |w| >= rhoUpper.
+     * 
+     * @param pattern Input pattern (complement coded)
+     * @param rhoLower Lower vigilance threshold
+     * @param rhoUpper Upper vigilance threshold
+     * @return Accepted if both thresholds are satisfied, otherwise Rejected
+     */
+    public MatchResult matchDualVigilance(float[] pattern, double rhoLower, double rhoUpper) {
+        if (pattern.length != weights.length) {
+            throw new IllegalArgumentException("Pattern dimension mismatch");
+        }
+        
+        int bound = SPECIES.loopBound(dimension);
+        var intersectionVec = FloatVector.zero(SPECIES);
+        var inputVec = FloatVector.zero(SPECIES);
+        var magnitudeVec = FloatVector.zero(SPECIES);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            var weightVec = FloatVector.fromArray(SPECIES, weights, i);
+            var patternVec = FloatVector.fromArray(SPECIES, pattern, i);
+            intersectionVec = intersectionVec.add(weightVec.min(patternVec));
+            inputVec = inputVec.add(patternVec);
+            magnitudeVec = magnitudeVec.add(weightVec);
+        }
+        
+        double intersection = intersectionVec.reduceLanes(VectorOperators.ADD);
+        double inputMagnitude = inputVec.reduceLanes(VectorOperators.ADD);
+        double categoryMagnitude = magnitudeVec.reduceLanes(VectorOperators.ADD);
+        
+        // Scalar tail
+        for (int i = bound; i < dimension; i++) {
+            intersection += Math.min(weights[i], pattern[i]);
+            inputMagnitude += pattern[i];
+            categoryMagnitude += weights[i];
+        }
+        
+        var lowerRatio = inputMagnitude > 0 ? intersection / inputMagnitude : 0.0;
+        var upperRatio = categoryMagnitude > 0 ? intersection / categoryMagnitude : 0.0;
+        var matchValue = Math.min(lowerRatio, upperRatio);
+        
+        return lowerRatio >= rhoLower && upperRatio >= rhoUpper ?
+               new MatchResult.Accepted(matchValue, Math.min(rhoLower, rhoUpper)) :
+               new MatchResult.Rejected(matchValue, Math.max(rhoLower, rhoUpper));
+    }
+    
     /**
      * Creates a copy with updated learning using dual vigilance update rule.
      * 
@@ -21,6 +21,8 @@ package com.hellblazer.art.performance.algorithms;
 import com.hellblazer.art.core.Pattern;
 import com.hellblazer.art.core.results.ActivationResult;
 import com.hellblazer.art.performance.AbstractVectorizedFuzzyART;
+import com.hellblazer.art.performance.inference.FrozenFuzzyART;
+import com.hellblazer.art.performance.inference.WeightPrecision;
 
 /**
  * High-performance vectorized FuzzyART implementation using Java Vector API.
@@ -63,6 +65,14 @@ public class VectorizedFuzzyART extends AbstractVectorizedFuzzyART {
     // === VectorizedARTAlgorithm Implementation ===
     // The base class AbstractVectorizedFuzzyART handles all core ART operations
     
+    /**
+     * Standard FuzzyART semantics, so category search can use the choice-function bounds.
+     */
+    @Override
+    protected boolean useBoundedSearch() {
+        return true;
+    }
+    
     
     /**
      * Enhanced stepFit with performance optimizations and parallel processing.
@@ -85,6 +95,17 @@ public class VectorizedFuzzyART extends AbstractVectorizedFuzzyART {
         return learn(input, params);
     }
     
+    /**
+     * Export the trained categories to a prediction-only model with reduced-precision weights.
+     * 
+     * @param params the parameters whose alpha is used for prediction
+     * @param precision the weight precision
+     * @return the frozen model
+     */
+    public FrozenFuzzyART freeze(VectorizedParameters params, WeightPrecision precision) {
+        return FrozenFuzzyART.freeze(this, params, precision);
+    }
+    
     // === Optional Customizations ===
     // The base class provides standard FuzzyART implementations, but we can override for custom behavior
     
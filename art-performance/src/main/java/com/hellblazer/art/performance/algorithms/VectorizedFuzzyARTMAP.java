@@ -21,6 +21,8 @@ package com.hellblazer.art.performance.algorithms;
 import com.hellblazer.art.core.Pattern;
 import com.hellblazer.art.core.results.ActivationResult;
 import com.hellblazer.art.performance.AbstractVectorizedARTMAP;
+import com.hellblazer.art.performance.inference.FrozenFuzzyARTMAP;
+import com.hellblazer.art.performance.inference.WeightPrecision;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -344,6 +346,16 @@ public class VectorizedFuzzyARTMAP extends AbstractVectorizedARTMAP<VectorizedFu
         }
     }
     
+    /**
+     * Enable or disable the hyperbox R-tree index of Module A, so that learning only
+     * evaluates categories close enough to the input to pass vigilance. Results are unchanged.
+     * 
+     * @param enabled whether to use the hyperbox index
+     */
+    public void setHyperboxIndexEnabled(boolean enabled) {
+        moduleA.setHyperboxIndexEnabled(enabled);
+    }
+    
     /**
      * Get the underlying FuzzyART module (Module A).
      * 
@@ -353,6 +365,16 @@ public class VectorizedFuzzyARTMAP extends AbstractVectorizedARTMAP<VectorizedFu
         return moduleA;
     }
     
+    /**
+     * Export the trained model to a prediction-only model with reduced-precision weights.
+     * 
+     * @param precision the weight precision
+     * @return the frozen model
+     */
+    public FrozenFuzzyARTMAP freeze(WeightPrecision precision) {
+        return FrozenFuzzyARTMAP.freeze(this, precision);
+    }
+    
     /**
      * Get the underlying FuzzyART module (alias for getModuleA).
      * 
@@ -19,7 +19,10 @@
 package com.hellblazer.art.performance.algorithms;
 
 import com.hellblazer.art.core.Pattern;
+import com.hellblazer.art.core.index.BallTreeIndex;
 import com.hellblazer.art.performance.VectorizedARTAlgorithm;
+import com.hellblazer.art.performance.inference.FrozenHypersphereART;
+import com.hellblazer.art.performance.inference.WeightPrecision;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import jdk.incubator.vector.FloatVector;
@@ -58,6 +61,9 @@ public class VectorizedHypersphereART implements VectorizedARTAlgorithm<Vectoriz
     private final VectorizedHypersphereParameters parameters;
     private final List<VectorizedHypersphereWeight> categories = new ArrayList<>();
     
+    // Ball tree over category centers; the attribute is the vigilance distance of each category
+    private final BallTreeIndex centroidIndex = new BallTreeIndex(1, 1e-9);
+    
     // Performance metrics
     private long totalVectorOperations = 0;
     private long totalScalarOperations = 0;
@@ -98,6 +104,7 @@ public class VectorizedHypersphereART implements VectorizedARTAlgorithm<Vectoriz
                     existingWeight.creationTime(), existingWeight.updateCount() + 1
                 );
                 categories.set(bestCategory, updatedWeight);
+                centroidIndex.update(bestCategory, updatedWeight.center(), attributesOf(updatedWeight));
             }
             
             return bestCategory;
@@ -115,6 +122,7 @@ public class VectorizedHypersphereART implements VectorizedARTAlgorithm<Vectoriz
             var newWeight = new VectorizedHypersphereWeight(center, 0.0, 
                                                             System.currentTimeMillis(), 0);
             categories.add(newWeight);
+            centroidIndex.update(categories.size() - 1, center, attributesOf(newWeight));
             return categories.size() - 1;
         }
     }
@@ -129,6 +137,19 @@ public class VectorizedHypersphereART implements VectorizedARTAlgorithm<Vectoriz
             return -1;
         }
         
+        // Nearest-first search over the ball tree; identical result to the scan below
+        var vigilance = parameters.vigilance();
+        var prune = vigilance > 0.0 && vigilance <= 1.0;
+        var search = centroidIndex.search(categories.size(), i -> categories.get(i).center(),
+            i -> attributesOf(categories.get(i)), input.toArray(),
+            (distance, reach) -> prune && distance > reach[0] * (1.0 + 1e-9) 
+                ? Double.NEGATIVE_INFINITY : 1.0 / (1.0 + distance),
+            i -> calculateActivation(input, categories.get(i)),
+            i -> calculateMatchRatio(calculateDistance(input, categories.get(i)), categories.get(i).radius()) >= vigilance);
+        if (search != null) {
+            return search.found() ? search.categoryIndex() : -1;
+        }
+        
         double bestActivation = Double.NEGATIVE_INFINITY;
         int bestCategory = -1;
         
@@ -151,6 +172,21 @@ public class VectorizedHypersphereART implements VectorizedARTAlgorithm<Vectoriz
         return bestCategory;
     }
     
+    /**
+     * Export the trained categories to a prediction-only model with reduced-precision centers.
+     */
+    public FrozenHypersphereART freeze(WeightPrecision precision) {
+        return FrozenHypersphereART.freeze(this, precision);
+    }
+    
+    /**
+     * Largest distance at which a category can still pass vigilance (see calculateMatchRatio).
+     */
+    private double[] attributesOf(VectorizedHypersphereWeight weight) {
+        var radius = weight.radius();
+        return new double[] {radius == 0.0 ? (1.0 - parameters.vigilance()) * 10.0 : radius};
+    }
+    
     /**
      * Calculate activation using distance-based function.
      * A_j = 1 / (1 + d(x, c_j))
@@ -400,5 +436,6 @@ public class VectorizedHypersphereART implements VectorizedARTAlgorithm<Vectoriz
     @Override
     public void clear() {
         categories.clear();
+        centroidIndex.invalidate();
     }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.performance.inference;
+
+/**
+ * Agreement of a frozen model with the full-precision model it was exported from, over a set
+ * of calibration samples.
+ *
+ * @param precision the frozen weight precision
+ * @param samples the number of calibration samples
+ * @param agreements the samples for which both models predicted the same winner
+ * @param fullPrecisionBytes the weight storage of the full-precision model
+ * @param frozenBytes the weight storage of the frozen model, including per-row metadata
+ */
+public record CalibrationReport(WeightPrecision precision, int samples, int agreements,
+                                long fullPrecisionBytes, long frozenBytes) {
+
+    public CalibrationReport {
+        if (samples < 0 || agreements < 0 || agreements > samples) {
+            throw new IllegalArgumentException("Invalid agreement count " + agreements + " of " + samples);
+        }
+    }
+
+    /**
+     * Get the fraction of samples with the same winner, 1.0 when there are no samples.
+     * @return the agreement rate
+     */
+    public double agreementRate() {
+        return samples == 0 ? 1.0 : (double) agreements / samples;
+    }
+
+    /**
+     * Get how many times smaller the frozen weights are.
+     * @return the compression ratio
+     */
+    public double compressionRatio() {
+        return frozenBytes == 0 ? 1.0 : (double) fullPrecisionBytes / frozenBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CalibrationReport{precision=%s, agreement=%d/%d (%.2f%%), %d -> %d bytes (%.1fx)}",
+                             precision, agreements, samples, agreementRate() * 100.0,
+                             fullPrecisionBytes, frozenBytes, compressionRatio());
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.performance.inference;
+
+import com.hellblazer.art.core.Pattern;
+import com.hellblazer.art.core.results.ActivationResult;
+import com.hellblazer.art.performance.FuzzyKernels;
+import com.hellblazer.art.performance.algorithms.VectorizedFuzzyART;
+import com.hellblazer.art.performance.algorithms.VectorizedFuzzyWeight;
+import com.hellblazer.art.performance.algorithms.VectorizedParameters;
+
+import java.util.ArrayList;
+import java.util.Objects;
+
+/**
+ * Prediction-only FuzzyART model with reduced-precision category weights.
+ *
+ * Exported from a trained {@link VectorizedFuzzyART}, it predicts the category with the
+ * highest choice activation {@code |I ∧ w| / (α + |w|)}, as the source model's predict does,
+ * over weights stored as FP16 or per-row scaled INT8. Category weight sums are precomputed
+ * from the stored weights. The model is immutable and safe for concurrent prediction.
+ */
+public final class FrozenFuzzyART {
+
+    private final QuantizedRows weights;
+    private final float[] weightSums;
+    private final double alpha;
+    private final int inputDimension;
+
+    private FrozenFuzzyART(QuantizedRows weights, double alpha, int inputDimension) {
+        this.weights = weights;
+        this.alpha = alpha;
+        this.inputDimension = inputDimension;
+        this.weightSums = new float[weights.rows()];
+        for (int i = 0; i < weightSums.length; i++) {
+            weightSums[i] = weights.sum(i);
+        }
+    }
+
+    /**
+     * Export a trained model.
+     *
+     * @param model the trained model, which must have at least one category
+     * @param parameters the parameters whose choice parameter alpha is used for prediction
+     * @param precision the weight precision
+     * @return the frozen model
+     */
+    public static FrozenFuzzyART freeze(VectorizedFuzzyART model, VectorizedParameters parameters,
+                                        WeightPrecision precision) {
+        Objects.requireNonNull(model, "Model cannot be null");
+        Objects.requireNonNull(parameters, "Parameters cannot be null");
+        var categories = model.getCategories();
+        if (categories.isEmpty()) {
+            throw new IllegalArgumentException("Cannot freeze a model without categories");
+        }
+        var rows = new ArrayList<double[]>(categories.size());
+        for (var category : categories) {
+            rows.add(((VectorizedFuzzyWeight) category).getWeights());
+        }
+        var dimension = rows.getFirst().length;
+        return new FrozenFuzzyART(QuantizedRows.of(rows, dimension, precision), parameters.alpha(), dimension / 2);
+    }
+
+    /**
+     * Predict the category of an input.
+     *
+     * @param input the input, before complement coding
+     * @return the winning category index
+     */
+    public int predict(Pattern input) {
+        return predictCoded(complementCode(input));
+    }
+
+    /**
+     * Predict the categories of a batch of inputs.
+     *
+     * @param inputs the inputs, before complement coding
+     * @return the winning category index of each input
+     */
+    public int[] predict(Pattern[] inputs) {
+        Objects.requireNonNull(inputs, "Inputs cannot be null");
+        var coded = new float[2 * inputDimension];
+        var result = new int[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            result[i] = predictCoded(complementCode(inputs[i], coded));
+        }
+        return result;
+    }
+
+    /**
+     * Compare the predictions of this model with the model it was exported from.
+     *
+     * @param source the full-precision model
+     * @param parameters the source prediction parameters
+     * @param samples the calibration inputs
+     * @return the agreement report
+     */
+    public CalibrationReport calibrate(VectorizedFuzzyART source, VectorizedParameters parameters, Pattern[] samples) {
+        Objects.requireNonNull(source, "Source cannot be null");
+        Objects.requireNonNull(samples, "Samples cannot be null");
+        var predictions = predict(samples);
+        var agreements = 0;
+        for (int i = 0; i < samples.length; i++) {
+            if (source.predict(samples[i], parameters) instanceof ActivationResult.Success success
+                && success.categoryIndex() == predictions[i]) {
+                agreements++;
+            }
+        }
+        return new CalibrationReport(weights.precision(), samples.length, agreements,
+                                     (long) weights.rows() * weights.dimension() * Double.BYTES, bytes());
+    }
+
+    /**
+     * Get the weights of a category, widened to float.
+     *
+     * @param category the category index
+     * @return the complement-coded weights
+     */
+    public float[] getWeights(int category) {
+        Objects.checkIndex(category, weights.rows());
+        var result = new float[weights.dimension()];
+        weights.copyRow(category, result);
+        return result;
+    }
+
+    public int getCategoryCount() {
+        return weights.rows();
+    }
+
+    public int getInputDimension() {
+        return inputDimension;
+    }
+
+    public WeightPrecision getPrecision() {
+        return weights.precision();
+    }
+
+    /**
+     * Get the bytes of weight storage, including per-row metadata and weight sums.
+     * @return the storage size
+     */
+    public long bytes() {
+        return weights.bytes() + (long) weightSums.length * Float.BYTES;
+    }
+
+    private int predictCoded(float[] coded) {
+        var best = 0;
+        var bestActivation = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < weightSums.length; i++) {
+            var activation = weights.intersection(i, coded) / (alpha + weightSums[i]);
+            if (activation > bestActivation) {
+                best = i;
+                bestActivation = activation;
+            }
+        }
+        return best;
+    }
+
+    private float[] complementCode(Pattern input) {
+        return complementCode(input, new float[2 * inputDimension]);
+    }
+
+    private float[] complementCode(Pattern input, float[] target) {
+        Objects.requireNonNull(input, "Input cannot be null");
+        if (input.dimension() != inputDimension) {
+            throw new IllegalArgumentException("Input dimension " + input.dimension()
+                                               + " does not match expected " + inputDimension);
+        }
+        return FuzzyKernels.complementCode(input, target);
+    }
+}
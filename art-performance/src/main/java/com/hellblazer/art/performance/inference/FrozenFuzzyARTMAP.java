@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.performance.inference;
+
+import com.hellblazer.art.core.Pattern;
+import com.hellblazer.art.performance.algorithms.VectorizedFuzzyARTMAP;
+import com.hellblazer.art.performance.algorithms.VectorizedFuzzyARTMAPParameters;
+import com.hellblazer.art.performance.algorithms.VectorizedParameters;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Prediction-only FuzzyARTMAP model: a {@link FrozenFuzzyART} module A and its map field
+ * flattened into a label per category.
+ */
+public final class FrozenFuzzyARTMAP {
+
+    private final FrozenFuzzyART moduleA;
+    private final int[] labels;
+
+    private FrozenFuzzyARTMAP(FrozenFuzzyART moduleA, int[] labels) {
+        this.moduleA = moduleA;
+        this.labels = labels;
+    }
+
+    /**
+     * Export a trained model.
+     *
+     * @param model the trained model
+     * @param precision the weight precision of module A
+     * @return the frozen model
+     */
+    public static FrozenFuzzyARTMAP freeze(VectorizedFuzzyARTMAP model, WeightPrecision precision) {
+        Objects.requireNonNull(model, "Model cannot be null");
+        // Prediction runs module A with the default choice parameter
+        var moduleA = FrozenFuzzyART.freeze(model.getModuleA(), VectorizedParameters.createDefault(), precision);
+        var labels = new int[moduleA.getCategoryCount()];
+        Arrays.fill(labels, -1);
+        model.getMapField().forEach((category, label) -> {
+            if (category < labels.length) {
+                labels[category] = label;
+            }
+        });
+        return new FrozenFuzzyARTMAP(moduleA, labels);
+    }
+
+    /**
+     * Predict the label of an input.
+     *
+     * @param input the input, before complement coding
+     * @return the predicted label, or -1 if the winning category has none
+     */
+    public int predict(Pattern input) {
+        return labels[moduleA.predict(input)];
+    }
+
+    /**
+     * Predict the labels of a batch of inputs.
+     *
+     * @param inputs the inputs, before complement coding
+     * @return the predicted labels
+     */
+    public int[] predict(Pattern[] inputs) {
+        var result = moduleA.predict(inputs);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = labels[result[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Compare the predicted labels of this model with the model it was exported from.
+     *
+     * @param source the full-precision model
+     * @param parameters the source prediction parameters
+     * @param samples the calibration inputs
+     * @return the agreement report
+     */
+    public CalibrationReport calibrate(VectorizedFuzzyARTMAP source, VectorizedFuzzyARTMAPParameters parameters,
+                                       Pattern[] samples) {
+        Objects.requireNonNull(source, "Source cannot be null");
+        Objects.requireNonNull(samples, "Samples cannot be null");
+        var expected = samples.length == 0 ? new int[0] : source.predict(samples, parameters);
+        var actual = predict(samples);
+        var agreements = 0;
+        for (int i = 0; i < samples.length; i++) {
+            if (expected[i] == actual[i]) {
+                agreements++;
+            }
+        }
+        var categories = (long) moduleA.getCategoryCount();
+        return new CalibrationReport(moduleA.getPrecision(), samples.length, agreements,
+                                     categories * (2L * moduleA.getInputDimension() * Double.BYTES + Integer.BYTES),
+                                     bytes());
+    }
+
+    public FrozenFuzzyART getModuleA() {
+        return moduleA;
+    }
+
+    public int getCategoryCount() {
+        return moduleA.getCategoryCount();
+    }
+
+    /**
+     * Get the bytes of weight storage, including the category labels.
+     * @return the storage size
+     */
+    public long bytes() {
+        return moduleA.bytes() + (long) labels.length * Integer.BYTES;
+    }
+}
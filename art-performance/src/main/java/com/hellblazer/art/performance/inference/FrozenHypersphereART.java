@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.performance.inference;
+
+import com.hellblazer.art.core.Pattern;
+import com.hellblazer.art.performance.algorithms.VectorizedHypersphereART;
+import com.hellblazer.art.performance.algorithms.VectorizedHypersphereWeight;
+
+import java.util.ArrayList;
+import java.util.Objects;
+
+/**
+ * Prediction-only HypersphereART model with reduced-precision category centers.
+ *
+ * Exported from a trained {@link VectorizedHypersphereART}, it classifies as the source model
+ * does: the nearest center among the categories that pass vigilance, where a category passes
+ * if the input lies within its radius, or within {@code (1 - ρ) * 10} of a zero-radius
+ * center. Centers are stored as FP16 or per-row scaled INT8; radii stay float.
+ */
+public final class FrozenHypersphereART {
+
+    private final QuantizedRows centers;
+    private final float[] reach;
+    private final double vigilance;
+
+    private FrozenHypersphereART(QuantizedRows centers, float[] reach, double vigilance) {
+        this.centers = centers;
+        this.reach = reach;
+        this.vigilance = vigilance;
+    }
+
+    /**
+     * Export a trained model.
+     *
+     * @param model the trained model, which must have at least one category
+     * @param precision the center precision
+     * @return the frozen model
+     */
+    public static FrozenHypersphereART freeze(VectorizedHypersphereART model, WeightPrecision precision) {
+        Objects.requireNonNull(model, "Model cannot be null");
+        var categories = model.getCategories();
+        if (categories.isEmpty()) {
+            throw new IllegalArgumentException("Cannot freeze a model without categories");
+        }
+        var vigilance = model.getVigilance();
+        var rows = new ArrayList<double[]>(categories.size());
+        var reach = new float[categories.size()];
+        for (int i = 0; i < reach.length; i++) {
+            var weight = (VectorizedHypersphereWeight) categories.get(i);
+            rows.add(weight.center());
+            reach[i] = (float) (weight.radius() == 0.0 ? (1.0 - vigilance) * 10.0 : weight.radius());
+        }
+        return new FrozenHypersphereART(QuantizedRows.of(rows, model.getInputDimensions(), precision), reach,
+                                        vigilance);
+    }
+
+    /**
+     * Classify an input.
+     *
+     * @param input the input
+     * @return the winning category index, or -1 if no category passes vigilance
+     */
+    public int predict(Pattern input) {
+        return predict(toFloats(input, new float[centers.dimension()]));
+    }
+
+    /**
+     * Classify a batch of inputs.
+     *
+     * @param inputs the inputs
+     * @return the winning category index of each input, or -1 where no category passes vigilance
+     */
+    public int[] predict(Pattern[] inputs) {
+        Objects.requireNonNull(inputs, "Inputs cannot be null");
+        var buffer = new float[centers.dimension()];
+        var result = new int[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            result[i] = predict(toFloats(inputs[i], buffer));
+        }
+        return result;
+    }
+
+    /**
+     * Compare the classifications of this model with the model it was exported from.
+     *
+     * @param source the full-precision model
+     * @param samples the calibration inputs
+     * @return the agreement report
+     */
+    public CalibrationReport calibrate(VectorizedHypersphereART source, Pattern[] samples) {
+        Objects.requireNonNull(source, "Source cannot be null");
+        Objects.requireNonNull(samples, "Samples cannot be null");
+        var predictions = predict(samples);
+        var agreements = 0;
+        for (int i = 0; i < samples.length; i++) {
+            if (source.classify(samples[i]) == predictions[i]) {
+                agreements++;
+            }
+        }
+        var categories = (long) centers.rows();
+        return new CalibrationReport(centers.precision(), samples.length, agreements,
+                                     categories * (centers.dimension() + 1L) * Double.BYTES, bytes());
+    }
+
+    /**
+     * Get the center of a category, widened to float.
+     *
+     * @param category the category index
+     * @return the center
+     */
+    public float[] getCenter(int category) {
+        Objects.checkIndex(category, centers.rows());
+        var result = new float[centers.dimension()];
+        centers.copyRow(category, result);
+        return result;
+    }
+
+    public int getCategoryCount() {
+        return centers.rows();
+    }
+
+    public WeightPrecision getPrecision() {
+        return centers.precision();
+    }
+
+    /**
+     * Get the bytes of center storage, including per-row metadata and radii.
+     * @return the storage size
+     */
+    public long bytes() {
+        return centers.bytes() + (long) reach.length * Float.BYTES;
+    }
+
+    private int predict(float[] input) {
+        // Match ratios are 0 or 1, so vigilance above 1 rejects every category and at most 0 none
+        if (vigilance > 1.0) {
+            return -1;
+        }
+        var everyCategory = vigilance <= 0.0;
+        var best = -1;
+        var bestDistance = Float.POSITIVE_INFINITY;
+        for (int i = 0; i < reach.length; i++) {
+            var distance = centers.squaredDistance(i, input);
+            if (distance < bestDistance && (everyCategory || distance <= reach[i] * reach[i])) {
+                best = i;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    private float[] toFloats(Pattern input, float[] target) {
+        Objects.requireNonNull(input, "Input cannot be null");
+        if (input.dimension() != target.length) {
+            throw new IllegalArgumentException("Input dimension " + input.dimension()
+                                               + " does not match expected " + target.length);
+        }
+        for (int i = 0; i < target.length; i++) {
+            target[i] = (float) input.get(i);
+        }
+        return target;
+    }
+}
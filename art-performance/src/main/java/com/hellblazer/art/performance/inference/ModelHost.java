@@ -0,0 +1,466 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.performance.inference;
+
+import com.hellblazer.art.core.Pattern;
+import com.hellblazer.art.core.utils.LogLinearHistogram;
+import com.hellblazer.art.core.utils.StripedCounter;
+import com.hellblazer.art.core.utils.StripedMetricsCollector;
+import com.hellblazer.art.performance.algorithms.VectorizedFuzzyARTMAP;
+import com.hellblazer.art.performance.algorithms.VectorizedHypersphereART;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Runtime hosting many trained models in one JVM.
+ *
+ * Models are registered by ID as prediction snapshots whose weights are packed into a shared
+ * off-heap {@link WeightArena}, rather than each keeping its own pool, caches and object graph.
+ * Concurrent predict requests for a model are coalesced into micro-batches: a batch runs as soon
+ * as it is full, or once its first request has waited the maximum batch delay. Batches of all
+ * models run on one shared executor and scan each category once for the whole batch. Packed
+ * models predict exactly what their source models predict: labels for FuzzyARTMAP, categories
+ * (or -1) for HypersphereART.
+ *
+ * Per-model latency, throughput and batch sizes are reported by {@link #getMetrics}, and are
+ * recorded into a {@link StripedMetricsCollector} as {@code host.<id>.latency} and
+ * {@code host.<id>.batches} when one is configured.
+ */
+public final class ModelHost implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ModelHost.class);
+
+    private final int maxBatchSize;
+    private final long maxBatchDelayNanos;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final ScheduledExecutorService timer;
+    private final StripedMetricsCollector collector;
+    private final WeightArena arena = new WeightArena();
+    private final Map<String, Hosted> models = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    private ModelHost(Builder builder) {
+        this.maxBatchSize = builder.maxBatchSize;
+        this.maxBatchDelayNanos = builder.maxBatchDelay.toNanos();
+        this.collector = builder.collector;
+        if (builder.executor != null) {
+            this.executor = builder.executor;
+            this.ownedExecutor = null;
+        } else {
+            this.ownedExecutor = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+            this.executor = ownedExecutor;
+        }
+        var scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            var thread = new Thread(runnable, "model-host-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        this.timer = scheduler;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Host a snapshot of a trained FuzzyARTMAP, replacing any model with the same ID.
+     * Requests predict class labels, or -1 for a category without one.
+     *
+     * @param id the model ID
+     * @param model the trained model
+     */
+    public void register(String id, VectorizedFuzzyARTMAP model) {
+        Objects.requireNonNull(model, "Model cannot be null");
+        register(id, new PackedFuzzyARTMAP(model, arena));
+    }
+
+    /**
+     * Host a snapshot of a trained HypersphereART, replacing any model with the same ID.
+     * Requests predict category indices, or -1 if no category passes vigilance.
+     *
+     * @param id the model ID
+     * @param model the trained model
+     */
+    public void register(String id, VectorizedHypersphereART model) {
+        Objects.requireNonNull(model, "Model cannot be null");
+        register(id, new PackedHypersphereART(model, arena));
+    }
+
+    private void register(String id, PackedModel packed) {
+        Objects.requireNonNull(id, "Model ID cannot be null");
+        if (closed) {
+            packed.release();
+            throw new IllegalStateException("Model host is closed");
+        }
+        var previous = models.put(id, new Hosted(id, packed));
+        if (previous != null) {
+            previous.retire();
+        }
+        log.debug("Registered model {}: {} packed bytes", id, packed.bytes());
+    }
+
+    /**
+     * Stop hosting a model. Its pending requests fail and its weights return to the arena.
+     *
+     * @param id the model ID
+     * @return true if the model was hosted
+     */
+    public boolean unregister(String id) {
+        var hosted = models.remove(id);
+        if (hosted == null) {
+            return false;
+        }
+        hosted.retire();
+        return true;
+    }
+
+    /**
+     * Get the IDs of the hosted models.
+     * @return the model IDs
+     */
+    public Set<String> getModelIds() {
+        return Set.copyOf(models.keySet());
+    }
+
+    /**
+     * Queue a prediction into the model's next micro-batch.
+     *
+     * @param id the model ID
+     * @param input the input
+     * @return the predicted label or category, completed exceptionally if the model is
+     *         unregistered first
+     * @throws IllegalArgumentException if the model is not hosted or the input has the wrong dimension
+     */
+    public CompletableFuture<Integer> predictAsync(String id, Pattern input) {
+        return predictAsync(id, input, 0).thenApply(Prediction::winner);
+    }
+
+    /**
+     * Queue a prediction into the model's next micro-batch, reporting the winner's activation
+     * and the top categories.
+     *
+     * @param id the model ID
+     * @param input the input
+     * @param topK the number of top categories to report
+     * @return the prediction, completed exceptionally if the model is unregistered first
+     * @throws IllegalArgumentException if the model is not hosted or the input has the wrong dimension
+     */
+    public CompletableFuture<Prediction> predictAsync(String id, Pattern input, int topK) {
+        Objects.requireNonNull(input, "Input cannot be null");
+        if (topK < 0) {
+            throw new IllegalArgumentException("Top k must be non-negative, got: " + topK);
+        }
+        var hosted = hosted(id);
+        hosted.model.validate(input);
+        var request = new Request(input, topK, new CompletableFuture<>(), System.nanoTime());
+        hosted.submit(request);
+        return request.result;
+    }
+
+    /**
+     * Predict through the model's micro-batches, waiting for the result.
+     *
+     * @param id the model ID
+     * @param input the input
+     * @return the prediction
+     */
+    public int predict(String id, Pattern input) {
+        try {
+            return predictAsync(id, input).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Get the serving metrics of a model.
+     *
+     * @param id the model ID
+     * @return the metrics since the model was registered
+     */
+    public ModelMetrics getMetrics(String id) {
+        return hosted(id).metrics();
+    }
+
+    /**
+     * Get the off-heap bytes of all packed weights.
+     * @return the packed bytes
+     */
+    public long getPackedBytes() {
+        return arena.usedBytes();
+    }
+
+    /**
+     * Get the off-heap bytes reserved by the shared arena.
+     * @return the reserved bytes
+     */
+    public long getReservedBytes() {
+        return arena.reservedBytes();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        timer.shutdownNow();
+        for (var id : getModelIds()) {
+            unregister(id);
+        }
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+        arena.close();
+    }
+
+    private Hosted hosted(String id) {
+        Objects.requireNonNull(id, "Model ID cannot be null");
+        var hosted = models.get(id);
+        if (hosted == null) {
+            throw new IllegalArgumentException("No model hosted as " + id);
+        }
+        return hosted;
+    }
+
+    private record Request(Pattern input, int topK, CompletableFuture<Prediction> result, long submitted) {
+    }
+
+    /**
+     * A hosted model and its micro-batcher.
+     */
+    private final class Hosted {
+        private final String id;
+        private final PackedModel model;
+        private final ConcurrentLinkedQueue<Request> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean timerArmed = new AtomicBoolean();
+        // Batches read the packed weights under the read lock; retirement takes the write lock
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        // A single stripe keeps per-tenant memory small; each batch records from one thread
+        private final LogLinearHistogram latency = new LogLinearHistogram(1);
+        private final LongAdder batches = new LongAdder();
+        private final LogLinearHistogram publishedLatency;
+        private final StripedCounter publishedBatches;
+        private final long registered = System.nanoTime();
+        private boolean retired;
+
+        Hosted(String id, PackedModel model) {
+            this.id = id;
+            this.model = model;
+            this.publishedLatency = collector == null ? null : collector.timer("host." + id + ".latency");
+            this.publishedBatches = collector == null ? null : collector.counter("host." + id + ".batches");
+        }
+
+        void submit(Request request) {
+            queue.add(request);
+            try {
+                if (pending.incrementAndGet() >= maxBatchSize) {
+                    executor.execute(this::drain);
+                } else {
+                    armTimer();
+                }
+            } catch (RejectedExecutionException e) {
+                fail(new IllegalStateException("Model host is closed"));
+            }
+        }
+
+        private void armTimer() {
+            if (timerArmed.compareAndSet(false, true)) {
+                timer.schedule(() -> {
+                    timerArmed.set(false);
+                    executor.execute(this::drain);
+                }, maxBatchDelayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void drain() {
+            var inputs = new Pattern[maxBatchSize];
+            var topK = new int[maxBatchSize];
+            var requests = new Request[maxBatchSize];
+            var count = 0;
+            Request request;
+            while (count < maxBatchSize && (request = queue.poll()) != null) {
+                inputs[count] = request.input();
+                topK[count] = request.topK();
+                requests[count++] = request;
+            }
+            if (count == 0) {
+                return;
+            }
+            pending.addAndGet(-count);
+            var results = new Prediction[count];
+            RuntimeException failure = null;
+            lock.readLock().lock();
+            try {
+                if (retired) {
+                    failure = new IllegalStateException("Model " + id + " is no longer hosted");
+                } else {
+                    model.predict(inputs, topK, count, results);
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (failure != null) {
+                for (int i = 0; i < count; i++) {
+                    requests[i].result().completeExceptionally(failure);
+                }
+            } else {
+                // Metrics are recorded before completion, so callers observe their own requests
+                var now = System.nanoTime();
+                for (int i = 0; i < count; i++) {
+                    var elapsed = now - requests[i].submitted();
+                    latency.record(elapsed);
+                    if (publishedLatency != null) {
+                        publishedLatency.record(elapsed);
+                    }
+                }
+                batches.increment();
+                if (publishedBatches != null) {
+                    publishedBatches.increment();
+                }
+                for (int i = 0; i < count; i++) {
+                    requests[i].result().complete(results[i]);
+                }
+            }
+            // Requests that arrived during the batch may have found the timer already armed
+            try {
+                var remaining = pending.get();
+                if (remaining >= maxBatchSize) {
+                    executor.execute(this::drain);
+                } else if (remaining > 0) {
+                    armTimer();
+                }
+            } catch (RejectedExecutionException e) {
+                fail(new IllegalStateException("Model host is closed"));
+            }
+        }
+
+        void retire() {
+            lock.writeLock().lock();
+            try {
+                if (retired) {
+                    return;
+                }
+                retired = true;
+                model.release();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            fail(new IllegalStateException("Model " + id + " is no longer hosted"));
+        }
+
+        private void fail(RuntimeException failure) {
+            Request request;
+            while ((request = queue.poll()) != null) {
+                pending.decrementAndGet();
+                request.result().completeExceptionally(failure);
+            }
+        }
+
+        ModelMetrics metrics() {
+            var snapshot = latency.snapshot();
+            return new ModelMetrics(id, snapshot.getCount(), batches.sum(),
+                                    Duration.ofNanos(System.nanoTime() - registered),
+                                    snapshot.getValueAtQuantile(0.5), snapshot.getValueAtQuantile(0.99),
+                                    snapshot.getMax(), model.bytes());
+        }
+    }
+
+    public static final class Builder {
+        private int maxBatchSize = 32;
+        private Duration maxBatchDelay = Duration.ofNanos(200_000);
+        private Executor executor;
+        private StripedMetricsCollector collector;
+
+        private Builder() {
+        }
+
+        /**
+         * Largest number of requests predicted in one batch.
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("Max batch size must be positive, got: " + maxBatchSize);
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Longest a request waits for its batch to fill before the batch runs anyway.
+         */
+        public Builder maxBatchDelay(Duration maxBatchDelay) {
+            if (maxBatchDelay == null || maxBatchDelay.isNegative()) {
+                throw new IllegalArgumentException("Max batch delay must be non-negative, got: " + maxBatchDelay);
+            }
+            this.maxBatchDelay = maxBatchDelay;
+            return this;
+        }
+
+        /**
+         * Executor running the batches of every model. By default the host owns a fork/join
+         * pool with one thread per processor.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
+            return this;
+        }
+
+        /**
+         * Collector receiving per-model latency.
+         */
+        public Builder metricsCollector(StripedMetricsCollector collector) {
+            this.collector = Objects.requireNonNull(collector, "Collector cannot be null");
+            return this;
+        }
+
+        public ModelHost build() {
+            return new ModelHost(this);
+        }
+    }
+}
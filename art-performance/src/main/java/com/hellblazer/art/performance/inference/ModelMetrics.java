@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.performance.inference;
+
+import java.time.Duration;
+
+/**
+ * Serving metrics of one hosted model since it was registered.
+ *
+ * @param modelId the model ID
+ * @param requests the completed predict requests
+ * @param batches the micro-batches they were predicted in
+ * @param uptime the time since registration
+ * @param p50Nanos the median request latency, from submission to completion
+ * @param p99Nanos the 99th percentile request latency
+ * @param maxNanos the largest request latency
+ * @param packedBytes the off-heap bytes of the model's packed weights
+ */
+public record ModelMetrics(String modelId, long requests, long batches, Duration uptime,
+                           double p50Nanos, double p99Nanos, long maxNanos, long packedBytes) {
+
+    /**
+     * Get the mean number of requests per micro-batch.
+     * @return the mean batch size
+     */
+    public double averageBatchSize() {
+        return batches == 0 ? 0.0 : (double) requests / batches;
+    }
+
+    /**
+     * Get the completed requests per second since registration.
+     * @return the throughput
+     */
+    public double throughput() {
+        var seconds = uptime.toNanos() / 1e9;
+        return seconds <= 0.0 ? 0.0 : requests / seconds;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.performance.inference;
+
+import com.hellblazer.art.core.Pattern;
+import com.hellblazer.art.performance.FuzzyKernels;
+import com.hellblazer.art.performance.algorithms.VectorizedFuzzyARTMAP;
+import com.hellblazer.art.performance.algorithms.VectorizedFuzzyWeight;
+import com.hellblazer.art.performance.algorithms.VectorizedParameters;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+
+/**
+ * FuzzyARTMAP packed for hosting: per category a float weight row padded to 64 bytes, then
+ * the rows' weight sums, then the category labels.
+ *
+ * Rows are scored with {@link FuzzyKernels}, which accumulate lane sums in the order of the
+ * vectorized FuzzyART activation, so a packed model predicts exactly the labels of the model
+ * it was packed from.
+ */
+final class PackedFuzzyARTMAP implements PackedModel {
+
+    private final WeightArena arena;
+    private final WeightArena.Slice slice;
+    private final MemorySegment segment;
+    private final int rows;
+    private final int dimension;
+    private final long strideBytes;
+    private final long sumBase;
+    private final long labelBase;
+    private final double alpha;
+
+    PackedFuzzyARTMAP(VectorizedFuzzyARTMAP model, WeightArena arena) {
+        var categories = model.getModuleA().getCategories();
+        if (categories.isEmpty()) {
+            throw new IllegalArgumentException("Cannot host a model without categories");
+        }
+        this.arena = arena;
+        this.rows = categories.size();
+        this.dimension = ((VectorizedFuzzyWeight) categories.getFirst()).getWeights().length;
+        // Prediction runs module A with the default choice parameter
+        this.alpha = VectorizedParameters.createDefault().alpha();
+        this.strideBytes = (long) (dimension + 15) / 16 * 64;
+        this.sumBase = strideBytes * rows;
+        this.labelBase = sumBase + (long) rows * Float.BYTES;
+        this.slice = arena.allocate(labelBase + (long) rows * Integer.BYTES);
+        this.segment = slice.segment();
+
+        var labels = new int[rows];
+        Arrays.fill(labels, -1);
+        model.getMapField().forEach((category, label) -> {
+            if (category < rows) {
+                labels[category] = label;
+            }
+        });
+        for (int j = 0; j < rows; j++) {
+            var weights = ((VectorizedFuzzyWeight) categories.get(j)).getWeights();
+            if (weights.length != dimension) {
+                arena.release(slice);
+                throw new IllegalArgumentException("Category " + j + " has dimension " + weights.length
+                                                   + ", expected " + dimension);
+            }
+            var offset = j * strideBytes;
+            for (int i = 0; i < dimension; i++) {
+                segment.set(ValueLayout.JAVA_FLOAT, offset + (long) i * Float.BYTES, (float) weights[i]);
+            }
+            segment.set(ValueLayout.JAVA_FLOAT, sumBase + (long) j * Float.BYTES,
+                        FuzzyKernels.sum(segment, offset, dimension));
+            segment.set(ValueLayout.JAVA_INT, labelBase + (long) j * Integer.BYTES, labels[j]);
+        }
+    }
+
+    @Override
+    public void validate(Pattern input) {
+        if (2 * input.dimension() != dimension) {
+            throw new IllegalArgumentException("Input dimension " + input.dimension()
+                                               + " does not match expected " + dimension / 2);
+        }
+    }
+
+    @Override
+    public void predict(Pattern[] inputs, int[] topK, int count, Prediction[] results) {
+        var coded = new float[count][];
+        var best = new int[count];
+        var bestActivation = new double[count];
+        var top = new TopCategories[count];
+        for (int b = 0; b < count; b++) {
+            coded[b] = FuzzyKernels.complementCode(inputs[b], new float[dimension]);
+            bestActivation[b] = Double.NEGATIVE_INFINITY;
+            top[b] = topK[b] > 0 ? new TopCategories(topK[b]) : null;
+        }
+        for (int j = 0; j < rows; j++) {
+            var offset = j * strideBytes;
+            var denominator = alpha + segment.get(ValueLayout.JAVA_FLOAT, sumBase + (long) j * Float.BYTES);
+            for (int b = 0; b < count; b++) {
+                var activation = FuzzyKernels.intersection(segment, offset, coded[b], dimension) / denominator;
+                if (activation > bestActivation[b]) {
+                    best[b] = j;
+                    bestActivation[b] = activation;
+                }
+                if (top[b] != null) {
+                    top[b].offer(j, activation);
+                }
+            }
+        }
+        for (int b = 0; b < count; b++) {
+            var label = segment.get(ValueLayout.JAVA_INT, labelBase + (long) best[b] * Integer.BYTES);
+            results[b] = top[b] != null ? top[b].toPrediction(label, bestActivation[b])
+                                        : Prediction.of(label, bestActivation[b]);
+        }
+    }
+
+    @Override
+    public long bytes() {
+        return segment.byteSize();
+    }
+
+    @Override
+    public void release() {
+        arena.release(slice);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.performance.inference;
+
+import com.hellblazer.art.core.Pattern;
+import com.hellblazer.art.performance.algorithms.VectorizedHypersphereART;
+import com.hellblazer.art.performance.algorithms.VectorizedHypersphereWeight;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * HypersphereART packed for hosting: per category a double center row padded to 64 bytes,
+ * then the radii.
+ *
+ * Distances are accumulated in double in the order of the source model, so a packed model
+ * classifies exactly as the model it was packed from.
+ */
+final class PackedHypersphereART implements PackedModel {
+
+    private final WeightArena arena;
+    private final WeightArena.Slice slice;
+    private final MemorySegment segment;
+    private final int rows;
+    private final int dimension;
+    private final long strideBytes;
+    private final long radiusBase;
+    private final double vigilance;
+
+    PackedHypersphereART(VectorizedHypersphereART model, WeightArena arena) {
+        var categories = model.getCategories();
+        if (categories.isEmpty()) {
+            throw new IllegalArgumentException("Cannot host a model without categories");
+        }
+        this.arena = arena;
+        this.rows = categories.size();
+        this.dimension = model.getInputDimensions();
+        this.vigilance = model.getVigilance();
+        this.strideBytes = (long) (dimension + 7) / 8 * 64;
+        this.radiusBase = strideBytes * rows;
+        this.slice = arena.allocate(radiusBase + (long) rows * Double.BYTES);
+        this.segment = slice.segment();
+        for (int j = 0; j < rows; j++) {
+            var weight = (VectorizedHypersphereWeight) categories.get(j);
+            var center = weight.center();
+            for (int i = 0; i < dimension; i++) {
+                segment.set(ValueLayout.JAVA_DOUBLE, j * strideBytes + (long) i * Double.BYTES, center[i]);
+            }
+            segment.set(ValueLayout.JAVA_DOUBLE, radiusBase + (long) j * Double.BYTES, weight.radius());
+        }
+    }
+
+    @Override
+    public void validate(Pattern input) {
+        if (input.dimension() != dimension) {
+            throw new IllegalArgumentException("Input dimension " + input.dimension()
+                                               + " does not match expected " + dimension);
+        }
+    }
+
+    @Override
+    public void predict(Pattern[] inputs, int[] topK, int count, Prediction[] results) {
+        var values = new double[count][];
+        var best = new int[count];
+        var bestActivation = new double[count];
+        var top = new TopCategories[count];
+        for (int b = 0; b < count; b++) {
+            values[b] = inputs[b].toArray();
+            best[b] = -1;
+            bestActivation[b] = Double.NEGATIVE_INFINITY;
+            top[b] = topK[b] > 0 ? new TopCategories(topK[b]) : null;
+        }
+        for (int j = 0; j < rows; j++) {
+            var offset = j * strideBytes;
+            var radius = segment.get(ValueLayout.JAVA_DOUBLE, radiusBase + (long) j * Double.BYTES);
+            for (int b = 0; b < count; b++) {
+                var distance = distance(offset, values[b]);
+                var activation = 1.0 / (1.0 + distance);
+                if (activation > bestActivation[b] && matchRatio(distance, radius) >= vigilance) {
+                    best[b] = j;
+                    bestActivation[b] = activation;
+                }
+                if (top[b] != null) {
+                    top[b].offer(j, activation);
+                }
+            }
+        }
+        for (int b = 0; b < count; b++) {
+            var activation = best[b] < 0 ? Double.NaN : bestActivation[b];
+            results[b] = top[b] != null ? top[b].toPrediction(best[b], activation) : Prediction.of(best[b], activation);
+        }
+    }
+
+    @Override
+    public long bytes() {
+        return segment.byteSize();
+    }
+
+    @Override
+    public void release() {
+        arena.release(slice);
+    }
+
+    private double distance(long offset, double[] input) {
+        var sumSquares = 0.0;
+        for (int i = 0; i < dimension; i++) {
+            var diff = input[i] - segment.get(ValueLayout.JAVA_DOUBLE, offset + (long) i * Double.BYTES);
+            sumSquares += diff * diff;
+        }
+        return Math.sqrt(sumSquares);
+    }
+
+    // As VectorizedHypersphereART: zero-radius categories accept within a vigilance-scaled distance
+    private double matchRatio(double distance, double radius) {
+        if (radius == 0.0) {
+            return distance <= (1.0 - vigilance) * 10.0 ? 1.0 : 0.0;
+        }
+        return distance <= radius ? 1.0 : 0.0;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.performance.inference;
+
+import com.hellblazer.art.core.Pattern;
+
+/**
+ * Prediction snapshot of a hosted model, with its weights in a {@link WeightArena}.
+ * Batches may be predicted concurrently.
+ */
+interface PackedModel {
+
+    /**
+     * Reject an input the model cannot predict.
+     *
+     * @throws IllegalArgumentException if the input has the wrong dimension
+     */
+    void validate(Pattern input);
+
+    /**
+     * Predict the first count inputs. The batch is scanned category by category, so each
+     * category's weights are read once per batch.
+     *
+     * @param inputs the validated inputs
+     * @param topK the number of top categories to report for each input
+     * @param count the number of inputs
+     * @param results receives the prediction of each input
+     */
+    void predict(Pattern[] inputs, int[] topK, int count, Prediction[] results);
+
+    /**
+     * Get the off-heap bytes of the packed weights.
+     */
+    long bytes();
+
+    /**
+     * Return the weights to the arena. No batch may be running.
+     */
+    void release();
+}
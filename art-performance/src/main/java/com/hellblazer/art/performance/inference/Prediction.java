@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.performance.inference;
+
+import java.util.Objects;
+
+/**
+ * Prediction of a hosted model.
+ *
+ * @param winner the prediction: a class label for FuzzyARTMAP, a category index for
+ *               HypersphereART, or -1 if there is none
+ * @param activation the activation of the winning category, or NaN if no category won
+ * @param categories the requested top categories by activation, highest first, lower index first
+ *                   on ties; vigilance is not applied
+ * @param activations the activations of the top categories
+ */
+public record Prediction(int winner, double activation, int[] categories, double[] activations) {
+
+    private static final int[] NO_CATEGORIES = new int[0];
+    private static final double[] NO_ACTIVATIONS = new double[0];
+
+    public Prediction {
+        Objects.requireNonNull(categories, "Categories cannot be null");
+        Objects.requireNonNull(activations, "Activations cannot be null");
+        if (categories.length != activations.length) {
+            throw new IllegalArgumentException("Got " + categories.length + " categories but "
+                                               + activations.length + " activations");
+        }
+    }
+
+    /**
+     * Create a prediction without top categories.
+     */
+    public static Prediction of(int winner, double activation) {
+        return new Prediction(winner, activation, NO_CATEGORIES, NO_ACTIVATIONS);
+    }
+}
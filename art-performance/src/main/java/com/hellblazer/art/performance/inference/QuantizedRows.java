@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.performance.inference;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reduced-precision weight rows in one flat array, with SIMD kernels that widen each lane to
+ * float as it is loaded.
+ *
+ * FP16 rows hold {@link Float#floatToFloat16} bits and are widened with integer lane
+ * arithmetic, exactly as {@link Float#float16ToFloat}. INT8 rows hold {@code q} with
+ * {@code w = q * scale + offset}, where the row's scale and offset map [-128, 127] onto the
+ * row's range, and are widened with a byte-to-float conversion and a fused multiply-add.
+ */
+final class QuantizedRows {
+
+    private static final VectorSpecies<Float> FLOAT = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INT = FLOAT.withLanes(int.class);
+    private static final VectorSpecies<Short> SHORT =
+        VectorSpecies.of(short.class, VectorShape.forBitSize(FLOAT.vectorBitSize() / 2));
+    // A byte vector is at least 64 bits, so it may hold more lanes than are widened from it
+    private static final VectorSpecies<Byte> BYTE =
+        VectorSpecies.of(byte.class, VectorShape.forBitSize(Math.max(64, FLOAT.vectorBitSize() / 4)));
+
+    private final WeightPrecision precision;
+    private final int rows;
+    private final int dimension;
+    private final short[] half;
+    private final byte[] quantized;
+    private final float[] scale;
+    private final float[] offset;
+
+    private QuantizedRows(WeightPrecision precision, int rows, int dimension) {
+        this.precision = precision;
+        this.rows = rows;
+        this.dimension = dimension;
+        if (precision == WeightPrecision.FP16) {
+            half = new short[rows * dimension];
+            quantized = null;
+            scale = null;
+            offset = null;
+        } else {
+            half = null;
+            // Padding keeps the widest byte load of the last row in bounds
+            quantized = new byte[rows * dimension + BYTE.length()];
+            scale = new float[rows];
+            offset = new float[rows];
+        }
+    }
+
+    /**
+     * Quantize rows of equal dimension.
+     */
+    static QuantizedRows of(List<double[]> values, int dimension, WeightPrecision precision) {
+        Objects.requireNonNull(precision, "Precision cannot be null");
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("Dimension must be positive, got: " + dimension);
+        }
+        var result = new QuantizedRows(precision, values.size(), dimension);
+        for (int row = 0; row < values.size(); row++) {
+            var value = values.get(row);
+            if (value.length != dimension) {
+                throw new IllegalArgumentException("Row " + row + " has dimension " + value.length
+                                                   + ", expected " + dimension);
+            }
+            if (precision == WeightPrecision.FP16) {
+                result.encodeHalf(row, value);
+            } else {
+                result.encodeBytes(row, value);
+            }
+        }
+        return result;
+    }
+
+    private void encodeHalf(int row, double[] value) {
+        var base = row * dimension;
+        for (int i = 0; i < dimension; i++) {
+            half[base + i] = Float.floatToFloat16((float) value[i]);
+        }
+    }
+
+    private void encodeBytes(int row, double[] value) {
+        var min = Double.POSITIVE_INFINITY;
+        var max = Double.NEGATIVE_INFINITY;
+        for (var v : value) {
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+        }
+        var step = (float) ((max - min) / 255.0);
+        scale[row] = step;
+        offset[row] = (float) (min + 128.0 * step);
+        var base = row * dimension;
+        for (int i = 0; i < dimension; i++) {
+            var q = step == 0.0f ? 0 : (int) Math.round((value[i] - min) / step);
+            quantized[base + i] = (byte) (Math.clamp(q, 0, 255) - 128);
+        }
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    int dimension() {
+        return dimension;
+    }
+
+    WeightPrecision precision() {
+        return precision;
+    }
+
+    /**
+     * Get the bytes of weight storage, including the per-row scale and offset.
+     */
+    long bytes() {
+        var weights = (long) rows * dimension * precision.bytesPerWeight();
+        return precision == WeightPrecision.INT8 ? weights + rows * 2L * Float.BYTES : weights;
+    }
+
+    /**
+     * Get one widened weight.
+     */
+    float get(int row, int column) {
+        var index = row * dimension + column;
+        return precision == WeightPrecision.FP16
+            ? Float.float16ToFloat(half[index])
+            : Math.fma(quantized[index], scale[row], offset[row]);
+    }
+
+    /**
+     * Widen a row into the target array.
+     */
+    void copyRow(int row, float[] target) {
+        var base = row * dimension;
+        int i = 0;
+        for (; i <= dimension - FLOAT.length(); i += FLOAT.length()) {
+            widen(row, base + i).intoArray(target, i);
+        }
+        for (; i < dimension; i++) {
+            target[i] = get(row, i);
+        }
+    }
+
+    /**
+     * Sum of the row.
+     */
+    float sum(int row) {
+        var base = row * dimension;
+        var sum = FloatVector.zero(FLOAT);
+        int i = 0;
+        for (; i <= dimension - FLOAT.length(); i += FLOAT.length()) {
+            sum = sum.add(widen(row, base + i));
+        }
+        var result = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < dimension; i++) {
+            result += get(row, i);
+        }
+        return result;
+    }
+
+    /**
+     * Fuzzy intersection size, the sum of min(input, row).
+     */
+    float intersection(int row, float[] input) {
+        var base = row * dimension;
+        var sum = FloatVector.zero(FLOAT);
+        int i = 0;
+        for (; i <= dimension - FLOAT.length(); i += FLOAT.length()) {
+            sum = sum.add(FloatVector.fromArray(FLOAT, input, i).min(widen(row, base + i)));
+        }
+        var result = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < dimension; i++) {
+            result += Math.min(input[i], get(row, i));
+        }
+        return result;
+    }
+
+    /**
+     * Squared Euclidean distance between the input and the row.
+     */
+    float squaredDistance(int row, float[] input) {
+        var base = row * dimension;
+        var sum = FloatVector.zero(FLOAT);
+        int i = 0;
+        for (; i <= dimension - FLOAT.length(); i += FLOAT.length()) {
+            var diff = FloatVector.fromArray(FLOAT, input, i).sub(widen(row, base + i));
+            sum = diff.fma(diff, sum);
+        }
+        var result = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < dimension; i++) {
+            var diff = input[i] - get(row, i);
+            result += diff * diff;
+        }
+        return result;
+    }
+
+    private FloatVector widen(int row, int index) {
+        if (precision == WeightPrecision.FP16) {
+            return widenHalf(index);
+        }
+        var bytes = ByteVector.fromArray(BYTE, quantized, index);
+        return ((FloatVector) bytes.convertShape(VectorOperators.B2F, FLOAT, 0)).fma(scale[row], offset[row]);
+    }
+
+    private FloatVector widenHalf(int index) {
+        var bits = ((IntVector) ShortVector.fromArray(SHORT, half, index)
+                                           .convertShape(VectorOperators.S2I, INT, 0)).and(0xFFFF);
+        var exponent = bits.and(0x7C00);
+        var mantissa = bits.and(0x03FF);
+        // Normal: rebias the exponent from 15 to 127 and move both fields into place
+        var magnitude = bits.and(0x7FFF).lanewise(VectorOperators.LSHL, 13).add(112 << 23);
+        // Infinity and NaN keep an all-ones exponent
+        magnitude = magnitude.blend(mantissa.lanewise(VectorOperators.LSHL, 13).or(0x7F800000),
+                                    exponent.eq(0x7C00));
+        // Zero and subnormal: mantissa * 2^-24, exact in float
+        var subnormal = ((FloatVector) mantissa.convert(VectorOperators.I2F, 0)).mul(0x1p-24f).reinterpretAsInts();
+        magnitude = magnitude.blend(subnormal, exponent.eq(0));
+        return magnitude.or(bits.and(0x8000).lanewise(VectorOperators.LSHL, 16)).reinterpretAsFloats();
+    }
+}
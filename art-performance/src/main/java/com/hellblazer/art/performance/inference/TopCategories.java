@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.performance.inference;
+
+import java.util.Arrays;
+
+/**
+ * The k highest activations offered, kept in descending order by insertion. Categories are
+ * offered in index order, so on equal activations the lower index stays ahead.
+ */
+final class TopCategories {
+
+    private final int[] categories;
+    private final double[] activations;
+    private int size;
+
+    TopCategories(int k) {
+        categories = new int[k];
+        activations = new double[k];
+    }
+
+    void offer(int category, double activation) {
+        var k = categories.length;
+        if (k == 0 || size == k && !(activation > activations[k - 1])) {
+            return;
+        }
+        var position = size < k ? size++ : k - 1;
+        while (position > 0 && activation > activations[position - 1]) {
+            categories[position] = categories[position - 1];
+            activations[position] = activations[position - 1];
+            position--;
+        }
+        categories[position] = category;
+        activations[position] = activation;
+    }
+
+    Prediction toPrediction(int winner, double activation) {
+        return new Prediction(winner, activation, Arrays.copyOf(categories, size), Arrays.copyOf(activations, size));
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.performance.inference;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Off-heap storage shared by many small models.
+ *
+ * Small allocations are bump-allocated, 64-byte aligned, from fixed-size slabs of one shared
+ * {@link Arena}, so hundreds of models share a few segments instead of each owning its own
+ * memory and object graph. A slab is reused once every allocation in it has been released.
+ * Allocations larger than a quarter slab get an arena of their own, closed on release.
+ */
+final class WeightArena implements AutoCloseable {
+
+    static final long SLAB_BYTES = 4L << 20;
+    private static final long ALIGNMENT = 64;
+
+    /**
+     * An allocation: its memory and where it came from.
+     */
+    record Slice(MemorySegment segment, Slab slab, Arena dedicated) {
+    }
+
+    static final class Slab {
+        private final MemorySegment segment;
+        private long top;
+        private long live;
+
+        private Slab(MemorySegment segment) {
+            this.segment = segment;
+        }
+    }
+
+    private final Arena arena = Arena.ofShared();
+    private final List<Slab> slabs = new ArrayList<>();
+    private final Set<Arena> dedicated = new HashSet<>();
+    private long used;
+    private long dedicatedBytes;
+    private boolean closed;
+
+    /**
+     * Allocate zeroed memory.
+     */
+    synchronized Slice allocate(long bytes) {
+        if (closed) {
+            throw new IllegalStateException("Weight arena is closed");
+        }
+        var size = alignUp(Math.max(bytes, 1), ALIGNMENT);
+        if (size > SLAB_BYTES / 4) {
+            var own = Arena.ofShared();
+            dedicated.add(own);
+            dedicatedBytes += size;
+            used += size;
+            return new Slice(own.allocate(size, ALIGNMENT), null, own);
+        }
+        Slab target = null;
+        for (var slab : slabs) {
+            if (slab.top + size <= SLAB_BYTES) {
+                target = slab;
+                break;
+            }
+        }
+        if (target == null) {
+            target = new Slab(arena.allocate(SLAB_BYTES, ALIGNMENT));
+            slabs.add(target);
+        }
+        var segment = target.segment.asSlice(target.top, size);
+        segment.fill((byte) 0);
+        target.top += size;
+        target.live += size;
+        used += size;
+        return new Slice(segment, target, null);
+    }
+
+    /**
+     * Release an allocation. Its memory must no longer be read.
+     */
+    synchronized void release(Slice slice) {
+        if (closed) {
+            return;
+        }
+        var size = slice.segment().byteSize();
+        used -= size;
+        if (slice.dedicated() != null) {
+            dedicatedBytes -= size;
+            dedicated.remove(slice.dedicated());
+            slice.dedicated().close();
+            return;
+        }
+        var slab = slice.slab();
+        slab.live -= size;
+        if (slab.live == 0) {
+            slab.top = 0;
+        }
+    }
+
+    /**
+     * Get the bytes held in live allocations.
+     */
+    synchronized long usedBytes() {
+        return used;
+    }
+
+    /**
+     * Get the off-heap bytes reserved, including free slab space.
+     */
+    synchronized long reservedBytes() {
+        return slabs.size() * SLAB_BYTES + dedicatedBytes;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            arena.close();
+            dedicated.forEach(Arena::close);
+            dedicated.clear();
+        }
+    }
+
+    private static long alignUp(long value, long alignment) {
+        return (value + alignment - 1) & -alignment;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.performance.inference;
+
+/**
+ * Storage precision of the weights of a frozen inference model.
+ */
+public enum WeightPrecision {
+    /**
+     * IEEE 754 half precision, converted with {@link Float#floatToFloat16}.
+     */
+    FP16(2),
+    /**
+     * Signed bytes with a per-row scale and offset spanning the row's range.
+     */
+    INT8(1);
+
+    private final int bytesPerWeight;
+
+    WeightPrecision(int bytesPerWeight) {
+        this.bytesPerWeight = bytesPerWeight;
+    }
+
+    /**
+     * Get the bytes stored per weight, excluding per-row metadata.
+     * @return the weight size in bytes
+     */
+    public int bytesPerWeight() {
+        return bytesPerWeight;
+    }
+}
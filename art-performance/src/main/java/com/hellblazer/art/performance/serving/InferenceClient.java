@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.performance.serving;
+
+import com.hellblazer.art.performance.inference.Prediction;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Blocking client of an {@link InferenceServer}, with one request outstanding at a time.
+ * Use one client per thread for concurrency.
+ */
+public final class InferenceClient implements AutoCloseable {
+
+    private final SocketChannel channel;
+    // Not a monitor, so that virtual threads blocked on the socket do not pin their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private int nextRequestId;
+
+    private InferenceClient(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Connect to a server.
+     *
+     * @param socket the server's socket path
+     * @return the connected client
+     * @throws IOException if the connection fails
+     */
+    public static InferenceClient connect(Path socket) throws IOException {
+        Objects.requireNonNull(socket, "Socket cannot be null");
+        var channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            channel.connect(UnixDomainSocketAddress.of(socket));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new InferenceClient(channel);
+    }
+
+    /**
+     * Predict an input.
+     *
+     * @param modelId the hosted model ID
+     * @param input the input values
+     * @param topK the number of top categories to report
+     * @return the prediction, with activations at float precision
+     * @throws IllegalArgumentException if the server rejects the request
+     * @throws IllegalStateException if the prediction fails on the server
+     * @throws IOException if the connection fails
+     */
+    public Prediction predict(String modelId, float[] input, int topK) throws IOException {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        Objects.requireNonNull(input, "Input cannot be null");
+        lock.lock();
+        try {
+            var requestId = nextRequestId++;
+            InferenceProtocol.writeFully(channel, InferenceProtocol.encodeRequest(requestId, modelId, topK, input));
+            var frame = InferenceProtocol.readFrame(channel);
+            if (frame == null) {
+                throw new EOFException("Server closed the connection");
+            }
+            var response = InferenceProtocol.decodeResponse(frame);
+            if (response.requestId() != requestId) {
+                throw new IOException("Response to request " + response.requestId() + ", expected " + requestId);
+            }
+            return switch (response.status()) {
+                case InferenceProtocol.OK -> response.prediction();
+                case InferenceProtocol.BAD_REQUEST -> throw new IllegalArgumentException(response.message());
+                default -> throw new IllegalStateException(response.message());
+            };
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.performance.serving;
+
+import com.hellblazer.art.performance.inference.Prediction;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary framing of the inference endpoint. All values are big-endian.
+ *
+ * Every frame starts with an int32 length of the bytes that follow it.
+ *
+ * A request frame is:
+ * int32 request id, uint16 model id length, the model id in UTF-8, uint16 top k,
+ * int32 dimension, and dimension float32 input values.
+ *
+ * A response frame is:
+ * int32 request id and uint8 status. With status {@link #OK} it continues with
+ * int32 winner, float32 activation, uint16 k, and k pairs of int32 category and
+ * float32 activation. With any other status it continues with a uint16 message
+ * length and the message in UTF-8.
+ *
+ * Requests may be pipelined on a connection. Responses carry the id of their
+ * request and may arrive out of order.
+ */
+public final class InferenceProtocol {
+
+    /**
+     * The request succeeded.
+     */
+    public static final byte OK = 0;
+    /**
+     * The request was malformed, or named an unknown model or the wrong dimension.
+     */
+    public static final byte BAD_REQUEST = 1;
+    /**
+     * The prediction failed, for example because the model was unregistered.
+     */
+    public static final byte FAILED = 2;
+
+    /**
+     * Largest frame accepted, excluding the length prefix.
+     */
+    public static final int MAX_FRAME_BYTES = 16 << 20;
+    /**
+     * Largest top k that can be requested.
+     */
+    public static final int MAX_TOP_K = 0xFFFF;
+
+    private InferenceProtocol() {
+    }
+
+    record Request(int requestId, String modelId, int topK, float[] input) {
+    }
+
+    record Response(int requestId, byte status, Prediction prediction, String message) {
+    }
+
+    static ByteBuffer encodeRequest(int requestId, String modelId, int topK, float[] input) {
+        var id = modelId.getBytes(StandardCharsets.UTF_8);
+        if (id.length > 0xFFFF) {
+            throw new IllegalArgumentException("Model id is too long");
+        }
+        if (topK < 0 || topK > MAX_TOP_K) {
+            throw new IllegalArgumentException("Top k must be in [0, " + MAX_TOP_K + "], got: " + topK);
+        }
+        var length = 4 + 2 + id.length + 2 + 4 + input.length * Float.BYTES;
+        if (length > MAX_FRAME_BYTES) {
+            throw new IllegalArgumentException("Request of " + length + " bytes exceeds the frame limit");
+        }
+        var frame = ByteBuffer.allocate(4 + length).putInt(length).putInt(requestId);
+        frame.putShort((short) id.length).put(id).putShort((short) topK).putInt(input.length);
+        for (var value : input) {
+            frame.putFloat(value);
+        }
+        return frame.flip();
+    }
+
+    /**
+     * Decode a request frame, without its length prefix.
+     *
+     * @throws IllegalArgumentException if the frame is malformed
+     */
+    static Request decodeRequest(ByteBuffer frame) {
+        try {
+            var requestId = frame.getInt();
+            var id = new byte[Short.toUnsignedInt(frame.getShort())];
+            frame.get(id);
+            var topK = Short.toUnsignedInt(frame.getShort());
+            var dimension = frame.getInt();
+            if (dimension < 0 || dimension != frame.remaining() / Float.BYTES || frame.remaining() % Float.BYTES != 0) {
+                throw new IllegalArgumentException("Dimension " + dimension + " does not match the frame");
+            }
+            var input = new float[dimension];
+            frame.asFloatBuffer().get(input);
+            return new Request(requestId, new String(id, StandardCharsets.UTF_8), topK, input);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated request frame");
+        }
+    }
+
+    static ByteBuffer encodePrediction(int requestId, Prediction prediction) {
+        var k = prediction.categories().length;
+        var length = 4 + 1 + 4 + 4 + 2 + k * 8;
+        var frame = ByteBuffer.allocate(4 + length).putInt(length).putInt(requestId).put(OK);
+        frame.putInt(prediction.winner()).putFloat((float) prediction.activation()).putShort((short) k);
+        for (int i = 0; i < k; i++) {
+            frame.putInt(prediction.categories()[i]).putFloat((float) prediction.activations()[i]);
+        }
+        return frame.flip();
+    }
+
+    static ByteBuffer encodeError(int requestId, byte status, String message) {
+        var text = String.valueOf(message).getBytes(StandardCharsets.UTF_8);
+        var size = Math.min(text.length, 0xFFFF);
+        var length = 4 + 1 + 2 + size;
+        var frame = ByteBuffer.allocate(4 + length).putInt(length).putInt(requestId).put(status);
+        return frame.putShort((short) size).put(text, 0, size).flip();
+    }
+
+    /**
+     * Decode a response frame, without its length prefix.
+     *
+     * @throws IOException if the frame is malformed
+     */
+    static Response decodeResponse(ByteBuffer frame) throws IOException {
+        try {
+            var requestId = frame.getInt();
+            var status = frame.get();
+            if (status != OK) {
+                var text = new byte[Short.toUnsignedInt(frame.getShort())];
+                frame.get(text);
+                return new Response(requestId, status, null, new String(text, StandardCharsets.UTF_8));
+            }
+            var winner = frame.getInt();
+            var activation = frame.getFloat();
+            var k = Short.toUnsignedInt(frame.getShort());
+            var categories = new int[k];
+            var activations = new double[k];
+            for (int i = 0; i < k; i++) {
+                categories[i] = frame.getInt();
+                activations[i] = frame.getFloat();
+            }
+            return new Response(requestId, status, new Prediction(winner, activation, categories, activations), null);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated response frame");
+        }
+    }
+
+    /**
+     * Read one frame, without its length prefix.
+     *
+     * @return the frame, or null if the channel ended before it
+     * @throws IOException if the channel fails, ends within the frame, or the length is invalid
+     */
+    static ByteBuffer readFrame(ReadableByteChannel channel) throws IOException {
+        var header = ByteBuffer.allocate(4);
+        if (!readFully(channel, header, true)) {
+            return null;
+        }
+        var length = header.flip().getInt();
+        if (length < 0 || length > MAX_FRAME_BYTES) {
+            throw new IOException("Invalid frame length " + length);
+        }
+        var frame = ByteBuffer.allocate(length);
+        readFully(channel, frame, false);
+        return frame.flip();
+    }
+
+    static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static boolean readFully(ReadableByteChannel channel, ByteBuffer buffer, boolean endAllowed)
+    throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                if (endAllowed && buffer.position() == 0) {
+                    return false;
+                }
+                throw new EOFException("Connection closed within a frame");
+            }
+        }
+        return true;
+    }
+}
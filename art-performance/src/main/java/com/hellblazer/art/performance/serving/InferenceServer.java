@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.performance.serving;
+
+import com.hellblazer.art.core.Pattern;
+import com.hellblazer.art.performance.inference.ModelHost;
+import com.hellblazer.art.performance.inference.Prediction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Local inference endpoint serving the models of a {@link ModelHost} over a Unix domain socket,
+ * using the framing of {@link InferenceProtocol}.
+ *
+ * Each connection is read by a virtual thread that submits requests to the host without waiting
+ * for them, so requests pipelined on one connection, and requests from different connections,
+ * join the same micro-batches. A second virtual thread per connection writes responses as they
+ * complete. At most {@value #MAX_IN_FLIGHT} requests per connection are outstanding; beyond that
+ * the connection is not read until responses complete.
+ */
+public final class InferenceServer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(InferenceServer.class);
+    private static final int MAX_IN_FLIGHT = 1024;
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    private final ModelHost host;
+    private final Path socket;
+    private final ServerSocketChannel server;
+    private final Set<SocketChannel> connections = ConcurrentHashMap.newKeySet();
+    private final Thread acceptor;
+    private volatile boolean closed;
+
+    private InferenceServer(ModelHost host, Path socket) throws IOException {
+        this.host = host;
+        this.socket = socket;
+        this.server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            server.bind(UnixDomainSocketAddress.of(socket));
+        } catch (IOException e) {
+            server.close();
+            throw e;
+        }
+        this.acceptor = Thread.ofVirtual().name("inference-acceptor").start(this::accept);
+    }
+
+    /**
+     * Start serving on a new socket file.
+     *
+     * @param host the host whose models are served; it is not closed with the server
+     * @param socket the socket path, which must not exist
+     * @return the running server
+     * @throws IOException if the socket cannot be bound
+     */
+    public static InferenceServer start(ModelHost host, Path socket) throws IOException {
+        Objects.requireNonNull(host, "Host cannot be null");
+        Objects.requireNonNull(socket, "Socket cannot be null");
+        return new InferenceServer(host, socket);
+    }
+
+    public Path getSocketPath() {
+        return socket;
+    }
+
+    /**
+     * Stop accepting, close every connection and remove the socket file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        server.close();
+        for (var connection : new ArrayList<>(connections)) {
+            connection.close();
+        }
+        try {
+            acceptor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Files.deleteIfExists(socket);
+    }
+
+    private void accept() {
+        while (!closed) {
+            try {
+                var channel = server.accept();
+                connections.add(channel);
+                Thread.ofVirtual().name("inference-connection").start(() -> serve(channel));
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                if (!closed) {
+                    log.warn("Accepting an inference connection failed", e);
+                }
+                return;
+            }
+        }
+    }
+
+    private void serve(SocketChannel channel) {
+        var responses = new LinkedBlockingQueue<ByteBuffer>();
+        var inFlight = new Semaphore(MAX_IN_FLIGHT);
+        var writer = Thread.ofVirtual().name("inference-writer").start(() -> write(channel, responses));
+        var drained = false;
+        try {
+            ByteBuffer frame;
+            while ((frame = InferenceProtocol.readFrame(channel)) != null) {
+                inFlight.acquire();
+                submit(frame, responses, inFlight);
+            }
+            // Let every outstanding response be written before closing
+            inFlight.acquire(MAX_IN_FLIGHT);
+            drained = true;
+        } catch (IOException e) {
+            if (!closed && channel.isOpen()) {
+                log.debug("Inference connection failed", e);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            responses.add(END);
+            try {
+                if (drained) {
+                    writer.join();
+                }
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Closing an inference connection failed", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            connections.remove(channel);
+        }
+    }
+
+    private void submit(ByteBuffer frame, LinkedBlockingQueue<ByteBuffer> responses, Semaphore inFlight) {
+        InferenceProtocol.Request request;
+        try {
+            request = InferenceProtocol.decodeRequest(frame);
+        } catch (IllegalArgumentException e) {
+            respond(responses, inFlight, InferenceProtocol.encodeError(-1, InferenceProtocol.BAD_REQUEST, e.getMessage()));
+            return;
+        }
+        var values = new double[request.input().length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = request.input()[i];
+        }
+        try {
+            host.predictAsync(request.modelId(), Pattern.of(values), request.topK())
+                .whenComplete((prediction, failure) -> respond(responses, inFlight,
+                                                               encode(request.requestId(), prediction, failure)));
+        } catch (RuntimeException e) {
+            respond(responses, inFlight, encode(request.requestId(), null, e));
+        }
+    }
+
+    private static ByteBuffer encode(int requestId, Prediction prediction, Throwable failure) {
+        if (failure == null) {
+            return InferenceProtocol.encodePrediction(requestId, prediction);
+        }
+        var cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        var status = cause instanceof IllegalArgumentException ? InferenceProtocol.BAD_REQUEST : InferenceProtocol.FAILED;
+        return InferenceProtocol.encodeError(requestId, status, cause.getMessage());
+    }
+
+    private static void respond(LinkedBlockingQueue<ByteBuffer> responses, Semaphore inFlight, ByteBuffer response) {
+        responses.add(response);
+        inFlight.release();
+    }
+
+    private void write(SocketChannel channel, LinkedBlockingQueue<ByteBuffer> responses) {
+        var batch = new ArrayList<ByteBuffer>();
+        try {
+            while (true) {
+                batch.add(responses.take());
+                responses.drainTo(batch);
+                var end = -1;
+                for (int i = 0; i < batch.size() && end < 0; i++) {
+                    if (batch.get(i) == END) {
+                        end = i;
+                    }
+                }
+                // One gathering write for every response that is ready
+                var ready = (end < 0 ? batch : batch.subList(0, end)).toArray(ByteBuffer[]::new);
+                while (ready.length > 0 && ready[ready.length - 1].hasRemaining()) {
+                    channel.write(ready);
+                }
+                batch.clear();
+                if (end >= 0) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                log.debug("Writing inference responses failed", e);
+            }
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Already failing
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
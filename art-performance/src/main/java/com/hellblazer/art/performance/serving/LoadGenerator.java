@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2025 Hal Hildebrand. All rights reserved.
+ *
+ * This file is part of Java ART Neural Networks.
+ *
+ * Java ART Neural Networks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java ART Neural Networks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Java ART Neural Networks. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.hellblazer.art.performance.serving;
+
+import com.hellblazer.art.core.utils.LogLinearHistogram;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load generator for an {@link InferenceServer}: each connection, on its own
+ * virtual thread, sends its next request as soon as the previous response arrives. Reports
+ * throughput and latency percentiles.
+ *
+ * Usage: {@code LoadGenerator <socket> <model-id> <dimension> [connections] [requests per connection] [top k]}
+ * sends uniformly random inputs in [0, 1].
+ */
+public final class LoadGenerator {
+
+    /**
+     * Result of a load run.
+     *
+     * @param requests the successful requests
+     * @param errors the requests rejected or failed by the server
+     * @param elapsed the wall time of the run
+     * @param latency the latency of successful requests in nanoseconds
+     */
+    public record Report(long requests, long errors, Duration elapsed, LogLinearHistogram.Snapshot latency) {
+
+        public double throughput() {
+            var seconds = elapsed.toNanos() / 1e9;
+            return seconds <= 0.0 ? 0.0 : requests / seconds;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests, %d errors in %d ms: %.0f req/s, latency us p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f",
+                                 requests, errors, elapsed.toMillis(), throughput(),
+                                 latency.getValueAtQuantile(0.5) / 1e3, latency.getValueAtQuantile(0.9) / 1e3,
+                                 latency.getValueAtQuantile(0.99) / 1e3, latency.getValueAtQuantile(0.999) / 1e3,
+                                 latency.getMax() / 1e3);
+        }
+    }
+
+    private LoadGenerator() {
+    }
+
+    /**
+     * Run a load.
+     *
+     * @param socket the server's socket path
+     * @param modelId the model to predict with
+     * @param inputs the inputs, cycled through by every connection
+     * @param connections the number of concurrent connections
+     * @param requestsPerConnection the requests sent on each connection
+     * @param topK the number of top categories requested
+     * @return the report
+     * @throws IOException if a connection fails
+     */
+    public static Report run(Path socket, String modelId, float[][] inputs, int connections, int requestsPerConnection,
+                             int topK) throws IOException, InterruptedException {
+        if (inputs.length == 0 || connections < 1 || requestsPerConnection < 0) {
+            throw new IllegalArgumentException("Need inputs, at least one connection and a non-negative request count");
+        }
+        var latency = new LogLinearHistogram();
+        var errors = new LongAdder();
+        var start = System.nanoTime();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var workers = new ArrayList<Future<?>>();
+            for (int c = 0; c < connections; c++) {
+                var offset = c;
+                workers.add(executor.submit(() -> {
+                    try (var client = InferenceClient.connect(socket)) {
+                        for (int r = 0; r < requestsPerConnection; r++) {
+                            var sent = System.nanoTime();
+                            try {
+                                client.predict(modelId, inputs[(offset + r) % inputs.length], topK);
+                                latency.record(System.nanoTime() - sent);
+                            } catch (IllegalArgumentException | IllegalStateException e) {
+                                errors.increment();
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (var worker : workers) {
+                try {
+                    worker.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof IOException io) {
+                        throw io;
+                    }
+                    throw new IllegalStateException("Load worker failed", e.getCause());
+                }
+            }
+        }
+        var snapshot = latency.snapshot();
+        return new Report(snapshot.getCount(), errors.sum(), Duration.ofNanos(System.nanoTime() - start), snapshot);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: LoadGenerator <socket> <model-id> <dimension> [connections] [requests per connection] [top k]");
+            System.exit(2);
+        }
+        var socket = Path.of(args[0]);
+        var dimension = Integer.parseInt(args[2]);
+        var connections = args.length > 3 ? Integer.parseInt(args[3]) : 16;
+        var requests = args.length > 4 ? Integer.parseInt(args[4]) : 10_000;
+        var topK = args.length > 5 ? Integer.parseInt(args[5]) : 0;
+        var random = new Random(0);
+        var inputs = new float[1024][dimension];
+        for (var input : inputs) {
+            for (int d = 0; d < dimension; d++) {
+                input[d] = random.nextFloat();
+            }
+        }
+        // Warm up the server and this client before measuring
+        run(socket, args[1], inputs, connections, Math.min(requests, 1000), topK);
+        System.out.println(run(socket, args[1], inputs, connections, requests, topK));
+    }
+}
@@ -0,0 +1,157 @@
+package com.hellblazer.art.performance;
+
+import com.hellblazer.art.core.Pattern;
+import com.hellblazer.art.core.results.ActivationResult;
+import com.hellblazer.art.core.weights.FuzzyWeight;
+import com.hellblazer.art.performance.algorithms.VectorizedFuzzyART;
+import com.hellblazer.art.performance.algorithms.VectorizedFuzzyWeight;
+import com.hellblazer.art.performance.algorithms.VectorizedParameters;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the off-heap category matrix and its use by the vectorized FuzzyART search.
+ */
+public class OffHeapCategoryMatrixTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Rows, sums and usage survive growth and are reloaded from the file")
+    void testFileBackedGrowthAndReload() {
+        var file = tempDir.resolve("categories.bin");
+        var random = new Random(1);
+        var rows = new ArrayList<double[]>();
+        try (var matrix = OffHeapCategoryMatrix.map(file, 22, 1)) {
+            assertTrue(matrix.isFileBacked());
+            for (int i = 0; i < 100; i++) {
+                var values = new double[22];
+                for (int d = 0; d < values.length; d++) {
+                    values[d] = random.nextDouble();
+                }
+                rows.add(values);
+                matrix.set(i, new FuzzyWeight(values, 11), i * 10L);
+            }
+            // Overwrite in place
+            matrix.set(7, new FuzzyWeight(rows.get(3), 11), 5L);
+            rows.set(7, rows.get(3));
+            assertEquals(100, matrix.size());
+            assertTrue(matrix.capacity() >= 100);
+            matrix.force();
+        }
+
+        try (var reloaded = OffHeapCategoryMatrix.open(file)) {
+            assertEquals(22, reloaded.dimension());
+            assertEquals(100, reloaded.size());
+            var row = new float[22];
+            for (int i = 0; i < rows.size(); i++) {
+                reloaded.copyRow(i, row);
+                var expectedSum = 0.0;
+                for (int d = 0; d < row.length; d++) {
+                    assertEquals((float) rows.get(i)[d], row[d]);
+                    expectedSum += row[d];
+                }
+                assertEquals(expectedSum, reloaded.norm(i), 1e-4);
+                assertEquals(i == 7 ? 5L : i * 10L, reloaded.usage(i));
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> reloaded.norm(100));
+        }
+    }
+
+    @Test
+    @DisplayName("Off-heap FuzzyART search learns and predicts exactly as the heap search does")
+    void testOffHeapSearchMatchesHeapSearch() {
+        var parameters = VectorizedParameters.createDefault().withVigilance(0.8);
+        var heap = new VectorizedFuzzyART(parameters);
+        var offHeap = new VectorizedFuzzyART(parameters);
+        try {
+            offHeap.enableOffHeapCategories(tempDir.resolve("fuzzy.bin"));
+            assertNull(offHeap.getOffHeapCategories());
+
+            var patterns = patterns(new Random(7), 1500, 11);
+            for (var pattern : patterns) {
+                var want = (ActivationResult.Success) heap.learn(pattern, parameters);
+                var got = (ActivationResult.Success) offHeap.learn(pattern, parameters);
+                assertEquals(want.categoryIndex(), got.categoryIndex());
+                assertEquals(want.activationValue(), got.activationValue());
+            }
+            assertEquals(heap.getCategoryCount(), offHeap.getCategoryCount());
+            var matrix = offHeap.getOffHeapCategories();
+            assertNotNull(matrix);
+            assertEquals(offHeap.getCategoryCount(), matrix.size());
+            var row = new float[matrix.dimension()];
+            for (int i = 0; i < heap.getCategoryCount(); i++) {
+                var weights = ((VectorizedFuzzyWeight) offHeap.getCategory(i)).getWeights();
+                assertArrayEquals(((VectorizedFuzzyWeight) heap.getCategory(i)).getWeights(), weights);
+                matrix.copyRow(i, row);
+                for (int d = 0; d < row.length; d++) {
+                    assertEquals((float) weights[d], row[d]);
+                }
+                assertEquals(offHeap.getCategoryUsageCount(i), matrix.usage(i));
+            }
+
+            for (var pattern : patterns(new Random(8), 300, 11)) {
+                var want = (ActivationResult.Success) heap.predict(pattern, parameters);
+                var got = (ActivationResult.Success) offHeap.predict(pattern, parameters);
+                assertEquals(want.categoryIndex(), got.categoryIndex());
+                assertEquals(want.activationValue(), got.activationValue());
+            }
+
+            offHeap.disableOffHeapCategories();
+            assertNull(offHeap.getOffHeapCategories());
+        } finally {
+            heap.close();
+            offHeap.close();
+        }
+    }
+
+    @Test
+    @DisplayName("The fuzzy search reports the rows whose vigilance it tested")
+    void testSearchCountsVigilanceTests() {
+        var input = new float[] {0.5f, 0.5f, 0.5f, 0.5f};
+        try (var matrix = OffHeapCategoryMatrix.allocate(4, 4)) {
+            // Activation rises with the row index, so every row is a new best and is tested
+            for (var level : new double[] {0.1, 0.3, 0.5}) {
+                matrix.set(matrix.size(), new FuzzyWeight(new double[] {level, level, level, level}, 2), 0L);
+            }
+            var search = matrix.searchFuzzy(input, 0.001, 0.9, true);
+            assertEquals(2, search.categoryIndex());
+            assertEquals(3, search.tested());
+
+            var none = matrix.searchFuzzy(input, 0.001, 1.01, true);
+            assertFalse(none.found());
+            assertEquals(3, none.tested());
+
+            var best = matrix.searchFuzzy(input, 0.001, 1.01, false);
+            assertEquals(2, best.categoryIndex());
+
+            // The winner first: the other rows never beat it, so only it is tested
+            matrix.set(0, new FuzzyWeight(new double[] {0.5, 0.5, 0.5, 0.5}, 2), 0L);
+            matrix.set(2, new FuzzyWeight(new double[] {0.1, 0.1, 0.1, 0.1}, 2), 0L);
+            search = matrix.searchFuzzy(input, 0.001, 0.9, true);
+            assertEquals(0, search.categoryIndex());
+            assertEquals(1, search.tested());
+        }
+    }
+
+    private static List<Pattern> patterns(Random random, int count, int dimension) {
+        var patterns = new ArrayList<Pattern>();
+        for (int i = 0; i < count; i++) {
+            var values = new double[dimension];
+            for (int d = 0; d < dimension; d++) {
+                values[d] = random.nextDouble();
+            }
+            patterns.add(Pattern.of(values));
+        }
+        return patterns;
+    }
+}
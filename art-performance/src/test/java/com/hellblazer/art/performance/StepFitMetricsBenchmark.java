@@ -0,0 +1,128 @@
+package com.hellblazer.art.performance;
+
+import com.hellblazer.art.core.Pattern;
+import com.hellblazer.art.core.algorithms.FuzzyART;
+import com.hellblazer.art.core.parameters.FuzzyParameters;
+import com.hellblazer.art.core.results.ActivationResult;
+import com.hellblazer.art.core.utils.StripedMetricsCollector;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH check of the overhead stepFit metrics add to learning.
+ *
+ * Both benchmarks learn the same input stream on a trained FuzzyART; one has a
+ * {@link StripedMetricsCollector} installed. Running {@link #main} fails if the instrumented
+ * stepFit is more than 1% slower than the plain one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(value = 2, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class StepFitMetricsBenchmark {
+
+    private static final double MAX_OVERHEAD = 0.01;
+
+    @Param({"16", "64"})
+    private int dimension;
+
+    private FuzzyART plain;
+    private FuzzyART instrumented;
+    private StripedMetricsCollector collector;
+    private FuzzyParameters parameters;
+    private Pattern[] inputs;
+    private int next;
+
+    @Setup
+    public void setup() {
+        parameters = FuzzyParameters.of(0.75, 0.001, 0.1);
+        var random = new Random(42);
+        // Noisy samples around a fixed set of clusters, so the trained model is stable
+        var centers = new double[32][dimension];
+        for (var center : centers) {
+            for (int d = 0; d < dimension; d++) {
+                center[d] = random.nextDouble() * 0.9;
+            }
+        }
+        inputs = new Pattern[4096];
+        for (int i = 0; i < inputs.length; i++) {
+            var center = centers[random.nextInt(centers.length)];
+            var values = new double[dimension];
+            for (int d = 0; d < dimension; d++) {
+                values[d] = center[d] + random.nextDouble() * 0.1;
+            }
+            inputs[i] = Pattern.of(values);
+        }
+
+        plain = new FuzzyART();
+        instrumented = new FuzzyART();
+        for (var input : inputs) {
+            plain.stepFit(input, parameters);
+            instrumented.stepFit(input, parameters);
+        }
+
+        collector = StripedMetricsCollector.builder().build();
+        instrumented.setMetricsCollector(collector);
+    }
+
+    @TearDown
+    public void tearDown() {
+        collector.close();
+    }
+
+    @Benchmark
+    public ActivationResult stepFit() {
+        return plain.stepFit(nextInput(), parameters);
+    }
+
+    @Benchmark
+    public ActivationResult stepFitWithMetrics() {
+        return instrumented.stepFit(nextInput(), parameters);
+    }
+
+    private Pattern nextInput() {
+        var input = inputs[next];
+        next = (next + 1) & (inputs.length - 1);
+        return input;
+    }
+
+    // ===== MAIN METHOD FOR STANDALONE EXECUTION =====
+
+    public static void main(String[] args) throws RunnerException {
+        var opt = new OptionsBuilder()
+            .include(StepFitMetricsBenchmark.class.getSimpleName())
+            .build();
+
+        var results = new Runner(opt).run();
+        for (var dimension : new String[] {"16", "64"}) {
+            var baseline = score(results, "stepFit", dimension);
+            var measured = score(results, "stepFitWithMetrics", dimension);
+            var overhead = (measured - baseline) / baseline;
+            System.out.printf("dimension %s: stepFit %.1f ns, with metrics %.1f ns, overhead %.2f%%%n",
+                              dimension, baseline, measured, overhead * 100);
+            if (overhead > MAX_OVERHEAD) {
+                throw new IllegalStateException(String.format(
+                    "stepFit metrics overhead %.2f%% exceeds %.0f%% at dimension %s",
+                    overhead * 100, MAX_OVERHEAD * 100, dimension));
+            }
+        }
+    }
+
+    private static double score(Iterable<RunResult> results, String benchmark, String dimension) {
+        for (var result : results) {
+            var params = result.getParams();
+            if (params.getBenchmark().endsWith("." + benchmark) && dimension.equals(params.getParam("dimension"))) {
+                return result.getPrimaryResult().getScore();
+            }
+        }
+        throw new IllegalStateException("No result for " + benchmark + " at dimension " + dimension);
+    }
+}
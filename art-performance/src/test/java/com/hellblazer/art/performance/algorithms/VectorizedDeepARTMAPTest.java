@@ -6,13 +6,17 @@ package com.hellblazer.art.performance.algorithms;
 import com.hellblazer.art.core.*;
 import com.hellblazer.art.core.artmap.DeepARTMAPParameters;
 import com.hellblazer.art.core.artmap.DeepARTMAPResult;
+import com.hellblazer.art.core.artmap.SimpleARTMAP;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
 
 /**
  * Basic test suite for VectorizedDeepARTMAP implementation.
@@ -150,6 +154,64 @@ public class VectorizedDeepARTMAPTest {
         assertEquals(2, deepPredictions[0].length); // 2 layers
     }
     
+    @Test
+    @DisplayName("Deep prediction should run the batch through the trained layers")
+    void testPipelinedDeepPrediction() {
+        vectorizedDeepART.fitSupervised(multiChannelData, supervisedLabels);
+        
+        // Enough samples for several pipeline chunks
+        var batch = List.of(new Pattern[200], new Pattern[200]);
+        for (int channel = 0; channel < batch.size(); channel++) {
+            for (int i = 0; i < 200; i++) {
+                batch.get(channel)[i] = multiChannelData.get(channel)[i % multiChannelData.get(channel).length];
+            }
+        }
+        var deepPredictions = vectorizedDeepART.predictDeep(batch);
+        
+        var layers = vectorizedDeepART.getLayers();
+        for (int layer = 0; layer < layers.size(); layer++) {
+            var expected = ((SimpleARTMAP) layers.get(layer)).predict(batch.get(layer), VectorizedParameters.createDefault());
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], deepPredictions[i][layer]);
+            }
+        }
+        assertArrayEquals(vectorizedDeepART.getStoredDeepLabels(), vectorizedDeepART.predictDeep(multiChannelData));
+        
+        var stats = vectorizedDeepART.getPerformanceStats();
+        assertEquals(240, stats.pipelinedSamples());
+        assertTrue(stats.pipelineThroughput() > 0.0);
+    }
+    
+    @Test
+    @DisplayName("Pipeline statistics count every sample of concurrent predictions")
+    void testConcurrentPipelineStats() throws Exception {
+        vectorizedDeepART.fitSupervised(multiChannelData, supervisedLabels);
+        vectorizedDeepART.resetPerformanceTracking();
+        
+        var threads = 4;
+        var rounds = 25;
+        var pool = Executors.newFixedThreadPool(threads);
+        try {
+            var tasks = new ArrayList<Callable<Void>>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    for (int r = 0; r < rounds; r++) {
+                        vectorizedDeepART.predictDeep(multiChannelData);
+                    }
+                    return null;
+                });
+            }
+            for (var future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        
+        var stats = vectorizedDeepART.getPerformanceStats();
+        assertEquals((long) threads * rounds * multiChannelData.get(0).length, stats.pipelinedSamples());
+    }
+    
     @Test
     @DisplayName("SIMD probability calculations should work correctly")
     void testSIMDProbabilityCalculations() {
@@ -2,6 +2,7 @@ package com.hellblazer.art.performance.algorithms;
 
 import com.hellblazer.art.core.*;
 import com.hellblazer.art.core.results.ActivationResult;
+import com.hellblazer.art.core.results.MatchResult;
 import com.hellblazer.art.performance.BaseVectorizedARTTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -214,6 +215,40 @@ public class VectorizedDualVigilanceARTTest extends BaseVectorizedARTTest<Vector
         assertEquals(1, algorithm.getCategoryCount());
     }
     
+    @Test
+    @DisplayName("Single-pass dual vigilance kernel matches the separate reductions")
+    void testDualVigilanceKernel() {
+        var random = new java.util.Random(11);
+        // Dimensions below, at and past the SIMD lane width exercise the scalar tail
+        for (var dimension : new int[] {3, 8, 19, 37}) {
+            var weightData = new float[2 * dimension];
+            var input = new float[2 * dimension];
+            for (int i = 0; i < dimension; i++) {
+                weightData[i] = random.nextFloat();
+                weightData[i + dimension] = 1.0f;
+                input[i] = random.nextFloat();
+                input[i + dimension] = 1.0f - input[i];
+            }
+            var weight = new VectorizedDualVigilanceWeight(weightData, 1.0);
+            
+            var intersection = weight.computeIntersectionSize(input);
+            var magnitude = weight.computeMinMagnitude();
+            var inputMagnitude = 0.0;
+            for (int i = 0; i < dimension; i++) {
+                inputMagnitude += input[i];
+            }
+            var lower = intersection / inputMagnitude;
+            var upper = intersection / magnitude;
+            
+            assertEquals(intersection / (0.01 + magnitude), weight.computeChoice(input, 0.01), 1e-5);
+            var accepted = weight.matchDualVigilance(input, 0.0, 0.0);
+            assertTrue(accepted.isAccepted());
+            assertEquals(Math.min(lower, upper), ((MatchResult.Accepted) accepted).matchValue(), 1e-5);
+            assertEquals(lower >= 0.6, weight.matchDualVigilance(input, 0.6, 0.0).isAccepted());
+            assertEquals(upper >= 0.6, weight.matchDualVigilance(input, 0.0, 0.6).isAccepted());
+        }
+    }
+    
     @Test
     @DisplayName("Should reset performance tracking")
     void testPerformanceReset() {
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.ArrayList;
 import com.hellblazer.art.performance.BaseVectorizedARTTest;
@@ -263,5 +264,46 @@ public class VectorizedFuzzyARTTest extends BaseVectorizedARTTest<VectorizedFuzz
         assertTrue(vigilance >= 0.0 && vigilance <= 1.0);
     }
     
+    @Test
+    @DisplayName("learnBatch should learn exactly as sequential learning does")
+    void testLearnBatchMatchesSequential() {
+        var patterns = generateLargePatternSet(1200, 6);
+        var sequential = createAlgorithm(parameters);
+        try {
+            var expected = patterns.stream().map(p -> sequential.learn(p, parameters)).toList();
+            var results = algorithm.learnBatch(patterns, parameters);
+            
+            // Weights carry creation times, so compare their values
+            assertEquals(expected.size(), results.size());
+            for (int i = 0; i < expected.size(); i++) {
+                var want = (ActivationResult.Success) expected.get(i);
+                var got = (ActivationResult.Success) results.get(i);
+                assertEquals(want.categoryIndex(), got.categoryIndex());
+                assertEquals(want.activationValue(), got.activationValue());
+            }
+            assertEquals(sequential.getCategoryCount(), algorithm.getCategoryCount());
+            for (int i = 0; i < sequential.getCategoryCount(); i++) {
+                assertArrayEquals(((VectorizedFuzzyWeight) sequential.getCategory(i)).getWeights(),
+                                  ((VectorizedFuzzyWeight) algorithm.getCategory(i)).getWeights());
+            }
+            assertTrue(algorithm.getPerformanceStats().totalParallelTasks() > 0);
+        } finally {
+            sequential.close();
+        }
+    }
+    
+    @Test
+    @DisplayName("learnBatch completes while the caller holds the model's lock")
+    void testLearnBatchHoldingLock() {
+        var patterns = generateLargePatternSet(600, 6);
+        var results = assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            synchronized (algorithm) {
+                return algorithm.learnBatch(patterns, parameters);
+            }
+        });
+        assertEquals(patterns.size(), results.size());
+        assertTrue(algorithm.getCategoryCount() > 0);
+    }
+    
     // Resource cleanup tests are inherited from base class
-}
\ No newline at end of file
+}
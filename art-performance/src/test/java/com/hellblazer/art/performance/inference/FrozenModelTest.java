@@ -0,0 +1,228 @@
+package com.hellblazer.art.performance.inference;
+
+import com.hellblazer.art.core.Pattern;
+import com.hellblazer.art.core.results.ActivationResult;
+import com.hellblazer.art.performance.algorithms.VectorizedFuzzyART;
+import com.hellblazer.art.performance.algorithms.VectorizedFuzzyARTMAP;
+import com.hellblazer.art.performance.algorithms.VectorizedFuzzyARTMAPParameters;
+import com.hellblazer.art.performance.algorithms.VectorizedFuzzyWeight;
+import com.hellblazer.art.performance.algorithms.VectorizedHypersphereART;
+import com.hellblazer.art.performance.algorithms.VectorizedHypersphereParameters;
+import com.hellblazer.art.performance.algorithms.VectorizedHypersphereWeight;
+import com.hellblazer.art.performance.algorithms.VectorizedParameters;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the reduced-precision frozen inference models.
+ */
+class FrozenModelTest {
+
+    @Test
+    @DisplayName("FP16 lanes widen exactly as Float.float16ToFloat")
+    void testHalfWideningIsExact() {
+        var values = new double[1 << 16];
+        for (int bits = 0; bits < values.length; bits++) {
+            values[bits] = Float.float16ToFloat((short) bits);
+        }
+        var rows = QuantizedRows.of(List.of(values), values.length, WeightPrecision.FP16);
+        var widened = new float[values.length];
+        rows.copyRow(0, widened);
+        for (int bits = 0; bits < values.length; bits++) {
+            var expected = Float.float16ToFloat((short) bits);
+            if (Float.isNaN(expected)) {
+                assertTrue(Float.isNaN(widened[bits]), "bits=" + bits);
+            } else {
+                assertEquals(Float.floatToRawIntBits(expected), Float.floatToRawIntBits(widened[bits]), "bits=" + bits);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("INT8 rows stay within half a step of their range and kernels match the scalar forms")
+    void testByteKernels() {
+        var random = new Random(3);
+        var values = new ArrayList<double[]>();
+        for (int row = 0; row < 20; row++) {
+            var value = new double[37];
+            var shift = random.nextGaussian() * 5.0;
+            for (int d = 0; d < value.length; d++) {
+                value[d] = shift + random.nextGaussian();
+            }
+            values.add(value);
+        }
+        values.add(new double[37]); // constant row
+        var rows = QuantizedRows.of(values, 37, WeightPrecision.INT8);
+        var input = new float[37];
+        for (int d = 0; d < input.length; d++) {
+            input[d] = (float) random.nextGaussian();
+        }
+        var widened = new float[37];
+        for (int row = 0; row < values.size(); row++) {
+            var value = values.get(row);
+            var min = Double.POSITIVE_INFINITY;
+            var max = Double.NEGATIVE_INFINITY;
+            for (var v : value) {
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+            rows.copyRow(row, widened);
+            var intersection = 0.0;
+            var distance = 0.0;
+            for (int d = 0; d < value.length; d++) {
+                assertEquals(value[d], widened[d], (max - min) / 510.0 + 1e-5);
+                assertEquals(rows.get(row, d), widened[d]);
+                intersection += Math.min(input[d], widened[d]);
+                distance += (input[d] - widened[d]) * (input[d] - widened[d]);
+            }
+            assertEquals(intersection, rows.intersection(row, input), 1e-3);
+            assertEquals(distance, rows.squaredDistance(row, input), 1e-2);
+        }
+        assertEquals(values.size() * (37L + 8), rows.bytes());
+    }
+
+    @Test
+    @DisplayName("Frozen FuzzyART agrees with the full-precision model in a fraction of the memory")
+    void testFrozenFuzzyART() {
+        var parameters = VectorizedParameters.createDefault().withVigilance(0.85);
+        var model = new VectorizedFuzzyART(parameters);
+        try {
+            var random = new Random(11);
+            var centers = centers(random, 12, 16);
+            for (var pattern : samples(random, centers, 2000, 0.05)) {
+                model.learn(pattern, parameters);
+            }
+            var calibration = samples(random, centers, 1000, 0.05);
+
+            var fp16 = model.freeze(parameters, WeightPrecision.FP16);
+            assertEquals(model.getCategoryCount(), fp16.getCategoryCount());
+            var weights = ((VectorizedFuzzyWeight) model.getCategory(0)).getWeights();
+            var frozen = fp16.getWeights(0);
+            for (int d = 0; d < weights.length; d++) {
+                assertEquals(weights[d], frozen[d], 1e-3);
+            }
+            var report = fp16.calibrate(model, parameters, calibration);
+            assertEquals(1000, report.samples());
+            assertTrue(report.agreementRate() >= 0.99, report.toString());
+            assertTrue(report.compressionRatio() > 3.5, report.toString());
+
+            var int8 = model.freeze(parameters, WeightPrecision.INT8);
+            report = int8.calibrate(model, parameters, calibration);
+            assertTrue(report.agreementRate() >= 0.95, report.toString());
+            assertTrue(report.compressionRatio() > 5.0, report.toString());
+
+            var batch = int8.predict(calibration);
+            for (int i = 0; i < 50; i++) {
+                assertEquals(batch[i], int8.predict(calibration[i]));
+            }
+            var success = (ActivationResult.Success) model.predict(calibration[0], parameters);
+            assertEquals(success.categoryIndex(), fp16.predict(calibration[0]));
+        } finally {
+            model.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Frozen FuzzyARTMAP predicts the same labels")
+    void testFrozenFuzzyARTMAP() throws Exception {
+        var parameters = VectorizedFuzzyARTMAPParameters.createDefault();
+        try (var model = new VectorizedFuzzyARTMAP(parameters)) {
+            var random = new Random(13);
+            var centers = centers(random, 6, 8);
+            var data = samples(random, centers, 600, 0.08);
+            var labels = new int[data.length];
+            for (int i = 0; i < data.length; i++) {
+                labels[i] = nearest(centers, data[i]) % 3;
+            }
+            model.fit(data, labels, parameters);
+            var calibration = samples(random, centers, 400, 0.08);
+
+            var fp16 = model.freeze(WeightPrecision.FP16);
+            assertEquals(model.getCategoryCount(), fp16.getCategoryCount());
+            var report = fp16.calibrate(model, parameters, calibration);
+            assertTrue(report.agreementRate() >= 0.99, report.toString());
+            var int8 = model.freeze(WeightPrecision.INT8);
+            report = int8.calibrate(model, parameters, calibration);
+            assertTrue(report.agreementRate() >= 0.95, report.toString());
+            assertArrayEquals(int8.predict(calibration), java.util.Arrays.stream(calibration).mapToInt(int8::predict).toArray());
+        }
+    }
+
+    @Test
+    @DisplayName("Frozen HypersphereART classifies with the same vigilance and nearest-center rule")
+    void testFrozenHypersphereART() {
+        var parameters = VectorizedHypersphereParameters.builder()
+                                                        .vigilance(0.9)
+                                                        .learningRate(0.5)
+                                                        .inputDimensions(10)
+                                                        .maxCategories(1000)
+                                                        .enableSIMD(true)
+                                                        .build();
+        var model = new VectorizedHypersphereART(parameters);
+        var random = new Random(17);
+        var centers = centers(random, 10, 10);
+        for (var pattern : samples(random, centers, 800, 0.05)) {
+            model.learn(pattern);
+        }
+        var calibration = samples(random, centers, 500, 0.05);
+        // Far away inputs are rejected by both models
+        calibration[0] = Pattern.of(new double[] {9, 9, 9, 9, 9, 9, 9, 9, 9, 9});
+
+        var fp16 = model.freeze(WeightPrecision.FP16);
+        assertEquals(-1, fp16.predict(calibration[0]));
+        var center = ((VectorizedHypersphereWeight) model.getCategory(0)).center();
+        var frozen = fp16.getCenter(0);
+        for (int d = 0; d < center.length; d++) {
+            assertEquals(center[d], frozen[d], 1e-3);
+        }
+        var report = fp16.calibrate(model, calibration);
+        assertTrue(report.agreementRate() >= 0.99, report.toString());
+        report = model.freeze(WeightPrecision.INT8).calibrate(model, calibration);
+        assertTrue(report.agreementRate() >= 0.95, report.toString());
+    }
+
+    private static double[][] centers(Random random, int count, int dimension) {
+        var centers = new double[count][dimension];
+        for (var center : centers) {
+            for (int d = 0; d < dimension; d++) {
+                center[d] = 0.1 + 0.8 * random.nextDouble();
+            }
+        }
+        return centers;
+    }
+
+    private static Pattern[] samples(Random random, double[][] centers, int count, double spread) {
+        var samples = new Pattern[count];
+        for (int i = 0; i < count; i++) {
+            var center = centers[random.nextInt(centers.length)];
+            var values = new double[center.length];
+            for (int d = 0; d < values.length; d++) {
+                values[d] = Math.clamp(center[d] + spread * random.nextGaussian(), 0.0, 1.0);
+            }
+            samples[i] = Pattern.of(values);
+        }
+        return samples;
+    }
+
+    private static int nearest(double[][] centers, Pattern pattern) {
+        var best = 0;
+        var bestDistance = Double.POSITIVE_INFINITY;
+        for (int c = 0; c < centers.length; c++) {
+            var distance = 0.0;
+            for (int d = 0; d < centers[c].length; d++) {
+                distance += (centers[c][d] - pattern.get(d)) * (centers[c][d] - pattern.get(d));
+            }
+            if (distance < bestDistance) {
+                best = c;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+}
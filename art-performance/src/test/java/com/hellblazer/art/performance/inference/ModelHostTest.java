@@ -0,0 +1,163 @@
+package com.hellblazer.art.performance.inference;
+
+import com.hellblazer.art.core.Pattern;
+import com.hellblazer.art.performance.algorithms.VectorizedFuzzyARTMAP;
+import com.hellblazer.art.performance.algorithms.VectorizedFuzzyARTMAPParameters;
+import com.hellblazer.art.performance.algorithms.VectorizedHypersphereART;
+import com.hellblazer.art.performance.algorithms.VectorizedHypersphereParameters;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for hosting many models with micro-batched prediction.
+ */
+class ModelHostTest {
+
+    @Test
+    @DisplayName("Hosted models predict exactly as their sources under concurrent requests")
+    void testConcurrentPredictionsMatchSources() throws Exception {
+        var random = new Random(21);
+        var parameters = VectorizedFuzzyARTMAPParameters.createDefault();
+        var artmap = new VectorizedFuzzyARTMAP(parameters);
+        var training = patterns(random, 400, 6);
+        var labels = new int[training.length];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = training[i].get(0) + training[i].get(1) > 1.0 ? 1 : 0;
+        }
+        artmap.fit(training, labels, parameters);
+        var hypersphere = new VectorizedHypersphereART(VectorizedHypersphereParameters.builder()
+                                                                                       .vigilance(0.85)
+                                                                                       .learningRate(0.5)
+                                                                                       .inputDimensions(6)
+                                                                                       .maxCategories(1000)
+                                                                                       .enableSIMD(true)
+                                                                                       .build());
+        for (var pattern : training) {
+            hypersphere.learn(pattern);
+        }
+        var queries = patterns(random, 500, 6);
+        var expectedLabels = artmap.predict(queries, parameters);
+
+        try (var host = ModelHost.builder().maxBatchSize(16).maxBatchDelay(Duration.ofMillis(1)).build();
+             var clients = Executors.newFixedThreadPool(8)) {
+            host.register("artmap", artmap);
+            host.register("sphere", hypersphere);
+            var labelFutures = new ArrayList<CompletableFuture<Integer>>();
+            var categoryFutures = new ArrayList<CompletableFuture<Integer>>();
+            for (var query : queries) {
+                labelFutures.add(CompletableFuture.supplyAsync(() -> host.predictAsync("artmap", query), clients)
+                                                  .thenCompose(f -> f));
+                categoryFutures.add(CompletableFuture.supplyAsync(() -> host.predictAsync("sphere", query), clients)
+                                                     .thenCompose(f -> f));
+            }
+            for (int i = 0; i < queries.length; i++) {
+                assertEquals(expectedLabels[i], (int) labelFutures.get(i).get(10, TimeUnit.SECONDS), "query " + i);
+                assertEquals(hypersphere.classify(queries[i]), (int) categoryFutures.get(i).get(10, TimeUnit.SECONDS));
+            }
+            var metrics = host.getMetrics("artmap");
+            assertEquals(queries.length, metrics.requests());
+            assertTrue(metrics.batches() > 0 && metrics.batches() <= queries.length);
+            assertTrue(metrics.p99Nanos() >= metrics.p50Nanos());
+            assertTrue(metrics.packedBytes() > 0);
+            assertThrows(IllegalArgumentException.class, () -> host.predict("artmap", Pattern.of(0.1, 0.2)));
+            assertThrows(IllegalArgumentException.class, () -> host.predict("missing", queries[0]));
+        } finally {
+            artmap.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Requests are coalesced into full batches or released by the batch delay")
+    void testMicroBatching() throws Exception {
+        var model = hypersphere(new Random(5));
+        try (var host = ModelHost.builder().maxBatchSize(8).maxBatchDelay(Duration.ofMillis(50)).build()) {
+            host.register("m", model);
+            var queries = patterns(new Random(6), 11, 4);
+            var futures = new ArrayList<CompletableFuture<Integer>>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(host.predictAsync("m", queries[i]));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+            assertEquals(1, host.getMetrics("m").batches());
+            assertEquals(8.0, host.getMetrics("m").averageBatchSize());
+
+            // Let the timer armed by the first batch lapse, so the next batch starts its own wait
+            Thread.sleep(100);
+            var start = System.nanoTime();
+            for (int i = 8; i < 11; i++) {
+                futures.add(host.predictAsync("m", queries[i]));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(40));
+            assertEquals(2, host.getMetrics("m").batches());
+            for (int i = 0; i < queries.length; i++) {
+                assertEquals(model.classify(queries[i]), (int) futures.get(i).get());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Small models share arena slabs, and unregistering fails pending requests")
+    void testSharedArenaAndUnregister() {
+        var random = new Random(9);
+        try (var host = ModelHost.builder().maxBatchDelay(Duration.ofSeconds(30)).build()) {
+            for (int i = 0; i < 200; i++) {
+                host.register("tenant-" + i, hypersphere(random));
+            }
+            assertEquals(200, host.getModelIds().size());
+            assertEquals(WeightArena.SLAB_BYTES, host.getReservedBytes());
+            var packed = host.getPackedBytes();
+            assertTrue(packed > 0);
+
+            var pending = host.predictAsync("tenant-0", Pattern.of(0.5, 0.5, 0.5, 0.5));
+            assertTrue(host.unregister("tenant-0"));
+            var failure = assertThrows(CompletionException.class, pending::join);
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+            assertFalse(host.unregister("tenant-0"));
+            assertTrue(host.getPackedBytes() < packed);
+
+            // Replacing a model returns the old weights to the arena
+            host.register("tenant-1", hypersphere(random));
+            for (int i = 1; i < 200; i++) {
+                host.unregister("tenant-" + i);
+            }
+            assertEquals(0, host.getPackedBytes());
+        }
+    }
+
+    private static VectorizedHypersphereART hypersphere(Random random) {
+        var model = new VectorizedHypersphereART(VectorizedHypersphereParameters.builder()
+                                                                                 .vigilance(0.9)
+                                                                                 .learningRate(0.5)
+                                                                                 .inputDimensions(4)
+                                                                                 .maxCategories(100)
+                                                                                 .enableSIMD(true)
+                                                                                 .build());
+        for (var pattern : patterns(random, 20, 4)) {
+            model.learn(pattern);
+        }
+        return model;
+    }
+
+    private static Pattern[] patterns(Random random, int count, int dimension) {
+        var patterns = new Pattern[count];
+        for (int i = 0; i < count; i++) {
+            var values = new double[dimension];
+            for (int d = 0; d < dimension; d++) {
+                values[d] = random.nextDouble();
+            }
+            patterns[i] = Pattern.of(values);
+        }
+        return patterns;
+    }
+}
@@ -0,0 +1,166 @@
+package com.hellblazer.art.performance.serving;
+
+import com.hellblazer.art.core.Pattern;
+import com.hellblazer.art.performance.algorithms.VectorizedFuzzyARTMAP;
+import com.hellblazer.art.performance.algorithms.VectorizedFuzzyARTMAPParameters;
+import com.hellblazer.art.performance.algorithms.VectorizedHypersphereART;
+import com.hellblazer.art.performance.algorithms.VectorizedHypersphereParameters;
+import com.hellblazer.art.performance.inference.ModelHost;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for serving hosted models over a Unix domain socket.
+ */
+class InferenceServerTest {
+
+    private static final int DIMENSION = 6;
+
+    private Path directory;
+    private VectorizedFuzzyARTMAP artmap;
+    private VectorizedHypersphereART hypersphere;
+    private ModelHost host;
+    private InferenceServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Unix socket paths are limited to ~100 bytes, so keep the directory short
+        directory = Files.createTempDirectory(Path.of("/tmp"), "art");
+        var random = new Random(31);
+        var parameters = VectorizedFuzzyARTMAPParameters.createDefault();
+        artmap = new VectorizedFuzzyARTMAP(parameters);
+        var training = new Pattern[300];
+        var labels = new int[training.length];
+        for (int i = 0; i < training.length; i++) {
+            training[i] = Pattern.of(toDoubles(input(random)));
+            labels[i] = training[i].get(0) > training[i].get(1) ? 1 : 0;
+        }
+        artmap.fit(training, labels, parameters);
+        hypersphere = new VectorizedHypersphereART(VectorizedHypersphereParameters.builder()
+                                                                                  .vigilance(0.85)
+                                                                                  .learningRate(0.5)
+                                                                                  .inputDimensions(DIMENSION)
+                                                                                  .maxCategories(1000)
+                                                                                  .enableSIMD(true)
+                                                                                  .build());
+        for (var pattern : training) {
+            hypersphere.learn(pattern);
+        }
+        host = ModelHost.builder().maxBatchSize(16).maxBatchDelay(Duration.ofMillis(1)).build();
+        host.register("artmap", artmap);
+        host.register("sphere", hypersphere);
+        server = InferenceServer.start(host, directory.resolve("s.sock"));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.close();
+        host.close();
+        artmap.close();
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    @DisplayName("Predictions over the socket match the host, including ranked top categories")
+    void testPredictionsMatchHost() throws Exception {
+        var random = new Random(32);
+        try (var client = InferenceClient.connect(server.getSocketPath())) {
+            for (int i = 0; i < 200; i++) {
+                var input = input(random);
+                var pattern = Pattern.of(toDoubles(input));
+
+                var label = client.predict("artmap", input, 0);
+                assertEquals(artmap.predict(new Pattern[] { pattern }, VectorizedFuzzyARTMAPParameters.createDefault())[0], label.winner());
+                assertEquals(0, label.categories().length);
+
+                var expected = host.predictAsync("sphere", pattern, 3).get(10, TimeUnit.SECONDS);
+                var got = client.predict("sphere", input, 3);
+                assertEquals(hypersphere.classify(pattern), got.winner());
+                assertEquals(expected.winner(), got.winner());
+                assertArrayEquals(expected.categories(), got.categories());
+                for (int k = 0; k < got.activations().length; k++) {
+                    assertEquals((float) expected.activations()[k], (float) got.activations()[k]);
+                    if (k > 0) {
+                        assertTrue(got.activations()[k - 1] >= got.activations()[k]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Bad requests are reported without closing the connection")
+    void testErrors() throws Exception {
+        try (var client = InferenceClient.connect(server.getSocketPath())) {
+            var input = input(new Random(33));
+            assertThrows(IllegalArgumentException.class, () -> client.predict("missing", input, 0));
+            assertThrows(IllegalArgumentException.class, () -> client.predict("artmap", new float[] { 0.5f }, 0));
+            assertEquals(artmap.predict(new Pattern[] { Pattern.of(toDoubles(input)) },
+                                        VectorizedFuzzyARTMAPParameters.createDefault())[0],
+                         client.predict("artmap", input, 0).winner());
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent clients are served and counted by the load generator")
+    void testConcurrentClients() throws Exception {
+        var random = new Random(34);
+        var inputs = new float[64][];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = input(random);
+        }
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var workers = new ArrayList<Future<?>>();
+            for (int c = 0; c < 8; c++) {
+                workers.add(executor.submit(() -> {
+                    try (var client = InferenceClient.connect(server.getSocketPath())) {
+                        for (var input : inputs) {
+                            assertEquals(hypersphere.classify(Pattern.of(toDoubles(input))),
+                                         client.predict("sphere", input, 0).winner());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (var worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        }
+
+        var report = LoadGenerator.run(server.getSocketPath(), "artmap", inputs, 4, 250, 2);
+        assertEquals(1000, report.requests());
+        assertEquals(0, report.errors());
+        assertTrue(report.throughput() > 0);
+        assertTrue(host.getMetrics("artmap").requests() >= 1000);
+    }
+
+    private static float[] input(Random random) {
+        var input = new float[DIMENSION];
+        for (int d = 0; d < DIMENSION; d++) {
+            input[d] = random.nextFloat();
+        }
+        return input;
+    }
+
+    private static double[] toDoubles(float[] input) {
+        var values = new double[input.length];
+        for (int d = 0; d < input.length; d++) {
+            values[d] = input[d];
+        }
+        return values;
+    }
+}
@@ -0,0 +1,101 @@
+package com.hellblazer.art.temporal.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for precomputed lateral interaction kernels.
+ */
+public class LateralKernelTest {
+
+    @Test
+    public void testBandedMatchesPairwiseSum() {
+        var random = new Random(3);
+        for (int size : new int[] {1, 2, 7, 33, 200}) {
+            var input = randomInput(random, size);
+            var kernel = LateralKernel.gaussian(0.5, 2.0, size).withStrategy(LateralKernel.Strategy.BANDED);
+            assertArrayEquals(pairwise(input, 0.5, 2.0), kernel.apply(input), 1e-12, "size " + size);
+        }
+    }
+
+    @Test
+    public void testFftMatchesPairwiseSum() {
+        var random = new Random(5);
+        for (int size : new int[] {1, 2, 7, 33, 200, 1000}) {
+            for (double sigma : new double[] {1.0, 10.0, 500.0}) {
+                var input = randomInput(random, size);
+                var kernel = LateralKernel.gaussian(0.8, sigma, size).withStrategy(LateralKernel.Strategy.FFT);
+                assertArrayEquals(pairwise(input, 0.8, sigma), kernel.apply(input), 1e-9,
+                                  "size " + size + " sigma " + sigma);
+            }
+        }
+    }
+
+    @Test
+    public void testPartialFieldSharesKernel() {
+        var random = new Random(7);
+        var kernel = LateralKernel.gaussian(1.0, 30.0, 100).withStrategy(LateralKernel.Strategy.FFT);
+        for (int size = 1; size <= 100; size += 9) {
+            var input = randomInput(random, 100);
+            var output = new double[100];
+            kernel.apply(input, output, size);
+            var prefix = new double[size];
+            System.arraycopy(input, 0, prefix, 0, size);
+            var expected = pairwise(prefix, 1.0, 30.0);
+            for (int i = 0; i < size; i++) {
+                assertEquals(expected[i], output[i], 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testStrategySelection() {
+        var narrow = LateralKernel.gaussian(0.3, 2.0, 4096);
+        var wide = LateralKernel.gaussian(0.5, 100.0, 4096);
+        assertTrue(narrow.radius() < 20);
+        assertEquals(LateralKernel.Strategy.BANDED, narrow.strategyFor(4096));
+        assertEquals(LateralKernel.Strategy.FFT, wide.strategyFor(4096));
+        assertEquals(LateralKernel.Strategy.BANDED, wide.strategyFor(8));
+
+        var input = randomInput(new Random(11), 4096);
+        assertArrayEquals(pairwise(input, 0.5, 100.0), wide.apply(input), 1e-9);
+    }
+
+    @Test
+    public void testExplicitTaps() {
+        var kernel = LateralKernel.of(new double[] {1.0, -0.5, 0.25, 0.0, 0.0});
+        assertEquals(2, kernel.radius());
+        assertEquals(-0.5, kernel.weight(-1));
+        assertEquals(0.0, kernel.weight(4));
+        assertFalse(kernel.isZero());
+        assertArrayEquals(new double[] {1.0 - 0.5 * 2 + 0.25 * 3, -0.5 + 2.0 - 0.5 * 3, 0.25 - 1.0 + 3.0},
+                          kernel.apply(new double[] {1.0, 2.0, 3.0}), 1e-12);
+        assertTrue(LateralKernel.gaussian(0.0, 1.0, 10).isZero());
+        assertThrows(IllegalArgumentException.class, () -> LateralKernel.of(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> LateralKernel.of(new double[] {Double.NaN}));
+    }
+
+    private static double[] randomInput(Random random, int size) {
+        var input = new double[size];
+        for (int i = 0; i < size; i++) {
+            input[i] = random.nextDouble();
+        }
+        return input;
+    }
+
+    private static double[] pairwise(double[] input, double strength, double sigma) {
+        var output = new double[input.length];
+        for (int i = 0; i < input.length; i++) {
+            for (int j = 0; j < input.length; j++) {
+                if (i != j) {
+                    double distance = Math.abs(i - j);
+                    output[i] += strength * Math.exp(-distance * distance / (2.0 * sigma * sigma)) * input[j];
+                }
+            }
+        }
+        return output;
+    }
+}
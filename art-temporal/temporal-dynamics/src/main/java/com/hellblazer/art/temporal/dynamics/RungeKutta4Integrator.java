@@ -52,8 +52,20 @@ public class RungeKutta4Integrator<S extends State, P extends Parameters>
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     protected IntegrationResult<S> step(S state, P parameters, double time, double dt) {
+        var newState = advance(state, parameters, time, dt);
+
+        // Estimate error using Richardson extrapolation
+        var error = estimateError(state, newState, parameters, time, dt);
+
+        return new IntegrationResult<>(newState, error);
+    }
+
+    /**
+     * Single RK4 step without error estimation.
+     */
+    @SuppressWarnings("unchecked")
+    private S advance(S state, P parameters, double time, double dt) {
         // RK4 stages
         var k1 = system.computeDerivative(state, parameters, time);
 
@@ -72,27 +84,21 @@ public class RungeKutta4Integrator<S extends State, P extends Parameters>
                               .add(k4);
         increment = (S) increment.scale(dt / 6.0);
 
-        var newState = (S) state.add(increment);
-
-        // Estimate error using Richardson extrapolation
-        var error = estimateError(state, newState, parameters, time, dt);
-
-        return new IntegrationResult<>(newState, error);
+        return (S) state.add(increment);
     }
 
     /**
      * Estimate local truncation error using step doubling.
      */
-    @SuppressWarnings("unchecked")
     private double estimateError(S state, S fullStep, P parameters, double time, double dt) {
         // Take two half steps
         var halfDt = dt * 0.5;
-        var halfStep1 = step(state, parameters, time, halfDt);
-        var halfStep2 = step(halfStep1.state(), parameters, time + halfDt, halfDt);
+        var halfStep1 = advance(state, parameters, time, halfDt);
+        var halfStep2 = advance(halfStep1, parameters, time + halfDt, halfDt);
 
         // Error estimate: difference between full step and two half steps
         // For RK4, the error is approximately (fullStep - halfStep2) / 15
-        var error = fullStep.distance(halfStep2.state()) / 15.0;
+        var error = fullStep.distance(halfStep2) / 15.0;
 
         return error;
     }
@@ -1,6 +1,7 @@
 package com.hellblazer.art.temporal.dynamics;
 
 import com.hellblazer.art.temporal.core.ActivationState;
+import com.hellblazer.art.temporal.core.LateralKernel;
 
 /**
  * Shunting dynamics implementation for competitive neural networks.
@@ -15,18 +16,32 @@ public class ShuntingDynamicsImpl {
     private double[] inhibitory;
     private int dimension;
 
+    // Lateral weights depend only on |i - j|, so they are precomputed as convolution kernels
+    private final LateralKernel excitatoryKernel;
+    private final LateralKernel inhibitoryKernel;
+
     public ShuntingDynamicsImpl(ShuntingParameters parameters, int dimension) {
         this.parameters = parameters;
         this.dimension = dimension;
         this.activations = new double[dimension];
         this.excitatory = new double[dimension];
         this.inhibitory = new double[dimension];
+        this.excitatoryKernel = LateralKernel.gaussian(parameters.getExcitatoryStrength(),
+                                                       parameters.getExcitatoryRange(), Math.max(1, dimension));
+        this.inhibitoryKernel = LateralKernel.gaussian(parameters.getInhibitoryStrength(),
+                                                       parameters.getInhibitoryRange(), Math.max(1, dimension));
     }
 
     public ActivationState evolve(ActivationState currentState, double deltaT) {
         var current = currentState.getActivations();
         var result = new double[dimension];
 
+        // Lateral input for all units at once
+        var lateralExcitation = new double[dimension];
+        var lateralInhibition = new double[dimension];
+        excitatoryKernel.apply(current, lateralExcitation, dimension);
+        inhibitoryKernel.apply(current, lateralInhibition, dimension);
+
         // Compute shunting dynamics for each unit
         for (int i = 0; i < dimension; i++) {
             // dx_i/dt = -A_i * x_i + (B - x_i) * S_i^+ - x_i * S_i^-
@@ -34,8 +49,8 @@ public class ShuntingDynamicsImpl {
             double ceiling = parameters.getCeiling();
             double floor = parameters.getFloor();
 
-            double excitation = computeExcitation(i, current);
-            double inhibition = computeInhibition(i, current);
+            double excitation = computeExcitation(i, current, lateralExcitation);
+            double inhibition = computeInhibition(i, lateralInhibition);
 
             // Shunting equation
             double derivative = -decay * current[i] +
@@ -64,19 +79,14 @@ public class ShuntingDynamicsImpl {
     /**
      * Compute excitatory input for unit i.
      */
-    private double computeExcitation(int i, double[] current) {
+    private double computeExcitation(int i, double[] current, double[] lateral) {
         double total = 0.0;
 
         // Self-excitation
         total += parameters.getSelfExcitation() * current[i];
 
         // Lateral excitation from nearby units
-        for (int j = 0; j < dimension; j++) {
-            if (i != j) {
-                double weight = computeExcitatoryWeight(i, j);
-                total += weight * current[j];
-            }
-        }
+        total += lateral[i];
 
         // External input if any
         if (excitatory[i] > 0) {
@@ -89,16 +99,11 @@ public class ShuntingDynamicsImpl {
     /**
      * Compute inhibitory input for unit i.
      */
-    private double computeInhibition(int i, double[] current) {
+    private double computeInhibition(int i, double[] lateral) {
         double total = 0.0;
 
         // Lateral inhibition from all units
-        for (int j = 0; j < dimension; j++) {
-            if (i != j) {
-                double weight = computeInhibitoryWeight(i, j);
-                total += weight * current[j];
-            }
-        }
+        total += lateral[i];
 
         // External inhibition if any
         if (inhibitory[i] > 0) {
@@ -108,28 +113,6 @@ public class ShuntingDynamicsImpl {
         return Math.max(0, total);  // Rectify
     }
 
-    /**
-     * Compute excitatory weight between units i and j.
-     * Uses a Gaussian kernel for local excitation.
-     */
-    private double computeExcitatoryWeight(int i, int j) {
-        double distance = Math.abs(i - j);
-        double sigma = parameters.getExcitatoryRange();
-        return parameters.getExcitatoryStrength() *
-               Math.exp(-distance * distance / (2.0 * sigma * sigma));
-    }
-
-    /**
-     * Compute inhibitory weight between units i and j.
-     * Uses broader inhibition for competitive dynamics.
-     */
-    private double computeInhibitoryWeight(int i, int j) {
-        double distance = Math.abs(i - j);
-        double sigma = parameters.getInhibitoryRange();
-        return parameters.getInhibitoryStrength() *
-               Math.exp(-distance * distance / (2.0 * sigma * sigma));
-    }
-
     /**
      * Set external excitatory input.
      */
@@ -178,17 +161,17 @@ public class ShuntingDynamicsImpl {
     public double computeEnergy() {
         double energy = 0.0;
 
+        var excitation = new double[dimension];
+        var inhibition = new double[dimension];
+        excitatoryKernel.apply(activations, excitation, dimension);
+        inhibitoryKernel.apply(activations, inhibition, dimension);
+
         for (int i = 0; i < dimension; i++) {
             // Decay term
             energy += 0.5 * parameters.getDecayRate(i) * activations[i] * activations[i];
 
-            // Interaction terms
-            for (int j = i + 1; j < dimension; j++) {
-                double excWeight = computeExcitatoryWeight(i, j);
-                double inhWeight = computeInhibitoryWeight(i, j);
-                energy -= excWeight * activations[i] * activations[j];
-                energy += inhWeight * activations[i] * activations[j];
-            }
+            // Interaction terms; each pair i < j appears twice in x . (W x)
+            energy += 0.5 * activations[i] * (inhibition[i] - excitation[i]);
         }
 
         return energy;
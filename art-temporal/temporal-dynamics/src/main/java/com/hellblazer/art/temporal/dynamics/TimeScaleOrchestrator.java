@@ -18,6 +18,10 @@ import java.util.concurrent.locks.ReentrantLock;
  * - MEDIUM (50-500ms): Masking field dynamics
  * - SLOW (500-5000ms): Transmitter dynamics
  * - VERY_SLOW (1000-10000ms): Weight learning dynamics
+ *
+ * Systems run either against the wall clock ({@link #start()}) or in simulated time
+ * ({@link #simulate(double)}), where a virtual clock is advanced from tick to tick as fast
+ * as the CPU allows and results are reproducible run to run.
  */
 public class TimeScaleOrchestrator implements AutoCloseable {
 
@@ -28,6 +32,11 @@ public class TimeScaleOrchestrator implements AutoCloseable {
     private final AtomicBoolean running;
     private final ReentrantLock synchronizationLock;
 
+    // Virtual clock for simulated time, in microseconds
+    private long simulatedMicros;
+    private final long[] tickCounts;
+    private volatile boolean simulating;
+
     public TimeScaleOrchestrator() {
         this.systemsByTimeScale = new EnumMap<>(DynamicalSystem.TimeScale.class);
         this.virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor();
@@ -35,6 +44,7 @@ public class TimeScaleOrchestrator implements AutoCloseable {
         this.eventBus = new EventBus();
         this.running = new AtomicBoolean(false);
         this.synchronizationLock = new ReentrantLock();
+        this.tickCounts = new long[DynamicalSystem.TimeScale.values().length];
 
         // Initialize time scale groups
         for (var timeScale : DynamicalSystem.TimeScale.values()) {
@@ -59,6 +69,9 @@ public class TimeScaleOrchestrator implements AutoCloseable {
      * Start orchestrated execution of all registered systems.
      */
     public void start() {
+        if (simulating) {
+            throw new IllegalStateException("Cannot start while a simulation is running");
+        }
         if (running.compareAndSet(false, true)) {
             // Schedule update tasks for each time scale
             for (var entry : systemsByTimeScale.entrySet()) {
@@ -93,6 +106,129 @@ public class TimeScaleOrchestrator implements AutoCloseable {
         }
     }
 
+    /**
+     * Advance simulated time by the given duration.
+     * Equivalent to {@link #simulate(double, TickListener)} without a listener.
+     */
+    public void simulate(double durationMillis) {
+        simulate(durationMillis, null);
+    }
+
+    /**
+     * Advance simulated time by the given duration, running every tick that falls inside it.
+     *
+     * Each time scale ticks at its typical period, starting from time zero, so the scales step in
+     * a fixed ratio (FAST:MEDIUM:SLOW:VERY_SLOW = 1:5:50:100 periods). Scales due at the same
+     * instant run from fastest to slowest. The systems of one scale update in parallel, and all of
+     * them finish (a barrier) before cross-scale coupling runs and the next scale starts. Every
+     * system owns its state and coupling runs sequentially after the barrier, so the output is the
+     * same on every run.
+     *
+     * @param durationMillis simulated duration in milliseconds
+     * @param listener called after each scale's tick and coupling, e.g. to feed recorded input; may be null
+     * @throws IllegalStateException if the orchestrator is running in real time or a system fails
+     */
+    public void simulate(double durationMillis, TickListener listener) {
+        if (durationMillis < 0 || !Double.isFinite(durationMillis)) {
+            throw new IllegalArgumentException("Duration must be non-negative and finite: " + durationMillis);
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Orchestrator is already running");
+        }
+        simulating = true;
+        try {
+            var end = simulatedMicros + Math.round(durationMillis * 1000.0);
+            var time = simulatedMicros;
+            while (true) {
+                var next = nextTick(time);
+                if (next >= end) {
+                    break;
+                }
+                simulatedMicros = next;
+                for (var timeScale : DynamicalSystem.TimeScale.values()) {
+                    if (!systemsByTimeScale.get(timeScale).isEmpty() && next % periodMicros(timeScale) == 0) {
+                        runSimulatedTick(timeScale);
+                        if (listener != null) {
+                            listener.onTick(timeScale, next / 1000.0);
+                        }
+                    }
+                }
+                time = next + 1;
+            }
+            simulatedMicros = end;
+        } finally {
+            simulating = false;
+            running.set(false);
+        }
+    }
+
+    /**
+     * Current simulated time in milliseconds.
+     */
+    public double getSimulatedTimeMillis() {
+        return simulatedMicros / 1000.0;
+    }
+
+    /**
+     * Number of simulated ticks run at a time scale.
+     */
+    public long getTickCount(DynamicalSystem.TimeScale timeScale) {
+        return tickCounts[timeScale.ordinal()];
+    }
+
+    /**
+     * Current state of a registered system.
+     */
+    @SuppressWarnings("unchecked")
+    public <S extends State> S getCurrentState(DynamicalSystem<S, ?> system) {
+        for (var runner : systemsByTimeScale.get(system.getTimeScale())) {
+            if (runner.system == system) {
+                return (S) runner.getCurrentState();
+            }
+        }
+        throw new IllegalArgumentException("System is not registered");
+    }
+
+    private long nextTick(long from) {
+        var next = Long.MAX_VALUE;
+        for (var entry : systemsByTimeScale.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                var period = periodMicros(entry.getKey());
+                next = Math.min(next, Math.ceilDiv(from, period) * period);
+            }
+        }
+        return next;
+    }
+
+    private static long periodMicros(DynamicalSystem.TimeScale timeScale) {
+        return Math.round(timeScale.getTypicalMillis() * 1000.0);
+    }
+
+    /**
+     * Run one simulated tick of a time scale: update its systems in parallel, wait for all of
+     * them, then couple to the other scales.
+     */
+    private void runSimulatedTick(DynamicalSystem.TimeScale timeScale) {
+        var systems = systemsByTimeScale.get(timeScale);
+        try {
+            if (systems.size() == 1) {
+                systems.get(0).update();
+            } else {
+                var futures = new ArrayList<CompletableFuture<Void>>(systems.size());
+                for (var system : systems) {
+                    futures.add(CompletableFuture.runAsync(system::update, virtualThreadExecutor));
+                }
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            }
+        } catch (RuntimeException e) {
+            var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            handleError(timeScale, cause);
+            throw new IllegalStateException("Simulation failed at " + getSimulatedTimeMillis() + " ms in time scale " + timeScale, cause);
+        }
+        tickCounts[timeScale.ordinal()]++;
+        synchronizeAcrossTimeScales(timeScale);
+    }
+
     /**
      * Update all systems at a given time scale.
      */
@@ -126,7 +262,8 @@ public class TimeScaleOrchestrator implements AutoCloseable {
         synchronizationLock.lock();
         try {
             // Publish synchronization event
-            eventBus.publish(new SynchronizationEvent(completedScale, System.currentTimeMillis()));
+            var timestamp = simulating ? simulatedMicros / 1000 : System.currentTimeMillis();
+            eventBus.publish(new SynchronizationEvent(completedScale, timestamp));
 
             // Handle cross-scale coupling based on completed scale
             switch (completedScale) {
@@ -206,7 +343,8 @@ public class TimeScaleOrchestrator implements AutoCloseable {
 
     private void handleError(DynamicalSystem.TimeScale timeScale, Throwable error) {
         System.err.println("Error in time scale " + timeScale + ": " + error.getMessage());
-        eventBus.publish(new ErrorEvent(timeScale, error, System.currentTimeMillis()));
+        var timestamp = simulating ? simulatedMicros / 1000 : System.currentTimeMillis();
+        eventBus.publish(new ErrorEvent(timeScale, error, timestamp));
     }
 
     @Override
@@ -288,6 +426,14 @@ public class TimeScaleOrchestrator implements AutoCloseable {
         }
     }
 
+    /**
+     * Callback for each simulated tick.
+     */
+    @FunctionalInterface
+    public interface TickListener {
+        void onTick(DynamicalSystem.TimeScale timeScale, double simulatedMillis);
+    }
+
     // Event types
     record SynchronizationEvent(DynamicalSystem.TimeScale scale, long timestamp) implements Event {}
     record ErrorEvent(DynamicalSystem.TimeScale scale, Throwable error, long timestamp) implements Event {}
@@ -214,4 +214,40 @@ public class ShuntingDynamicsTest {
         // Allow up to 3 active neurons (winner + some residual activity)
         assertTrue(activeCount <= 3, "Should have mostly winner-take-all behavior");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testLateralInteractionMatchesPairwiseSum() {
+        int dimension = 300;
+        var params = ShuntingParameters.winnerTakeAllDefaults(dimension);
+        var wide = new ShuntingDynamicsImpl(params, dimension);
+        var random = new java.util.Random(17);
+        var current = new double[dimension];
+        for (int i = 0; i < dimension; i++) {
+            current[i] = random.nextDouble();
+        }
+
+        var evolved = wide.evolve(new ActivationState(current), 0.01).getActivations();
+
+        for (int i = 0; i < dimension; i++) {
+            double excitation = params.getSelfExcitation() * current[i];
+            double inhibition = 0.0;
+            for (int j = 0; j < dimension; j++) {
+                if (i != j) {
+                    double distance = Math.abs(i - j);
+                    double exciteSigma = params.getExcitatoryRange();
+                    double inhibitSigma = params.getInhibitoryRange();
+                    excitation += params.getExcitatoryStrength() *
+                                  Math.exp(-distance * distance / (2.0 * exciteSigma * exciteSigma)) * current[j];
+                    inhibition += params.getInhibitoryStrength() *
+                                  Math.exp(-distance * distance / (2.0 * inhibitSigma * inhibitSigma)) * current[j];
+                }
+            }
+            double derivative = -params.getDecayRate(i) * current[i] +
+                                (params.getCeiling() - current[i]) * Math.max(0, excitation) -
+                                (current[i] - params.getFloor()) * Math.max(0, inhibition);
+            double expected = Math.max(params.getFloor(),
+                                       Math.min(params.getCeiling(), current[i] + 0.01 * derivative));
+            assertEquals(expected, evolved[i], 1e-9, "unit " + i);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.hellblazer.art.temporal.dynamics;
+
+import com.hellblazer.art.temporal.core.DynamicalSystem.TimeScale;
+import com.hellblazer.art.temporal.core.ShuntingDynamics;
+import com.hellblazer.art.temporal.core.ShuntingParameters;
+import com.hellblazer.art.temporal.core.ShuntingState;
+import com.hellblazer.art.temporal.core.TransmitterDynamics;
+import com.hellblazer.art.temporal.core.TransmitterParameters;
+import com.hellblazer.art.temporal.core.TransmitterState;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for simulated-time orchestration.
+ */
+public class TimeScaleOrchestratorTest {
+
+    private static final int DIMENSION = 6;
+
+    @Test
+    public void testSimulatedTicksFollowTimeScaleRatios() {
+        try (var orchestrator = new TimeScaleOrchestrator()) {
+            register(orchestrator, new ShuntingDynamics(), 0.1);
+            register(orchestrator, new ShuntingDynamics(), 0.2);
+            register(orchestrator, new TransmitterDynamics());
+
+            orchestrator.simulate(11_000.0);
+
+            assertEquals(11_000.0, orchestrator.getSimulatedTimeMillis());
+            assertEquals(200, orchestrator.getTickCount(TimeScale.FAST));
+            assertEquals(4, orchestrator.getTickCount(TimeScale.SLOW));
+            assertEquals(0, orchestrator.getTickCount(TimeScale.MEDIUM));
+        }
+    }
+
+    @Test
+    public void testSimulationIsReproducible() {
+        var first = new TimeScaleOrchestrator();
+        var second = new TimeScaleOrchestrator();
+        try (first; second) {
+            var fastA = new ShuntingDynamics();
+            var fastB = new ShuntingDynamics();
+            var slow = new TransmitterDynamics();
+            register(first, fastA, 0.3);
+            register(first, new ShuntingDynamics(), 0.7);
+            register(first, slow);
+
+            var otherFastA = new ShuntingDynamics();
+            var otherSlow = new TransmitterDynamics();
+            register(second, otherFastA, 0.3);
+            register(second, fastB, 0.7);
+            register(second, otherSlow);
+
+            // One simulated hour at once, versus in one-minute slices
+            var start = System.nanoTime();
+            first.simulate(3_600_000.0);
+            var elapsedMillis = (System.nanoTime() - start) / 1_000_000.0;
+            for (int i = 0; i < 60; i++) {
+                second.simulate(60_000.0);
+            }
+
+            assertTrue(elapsedMillis < 3_600_000.0, "Simulation should run faster than real time");
+            assertEquals(first.getTickCount(TimeScale.FAST), second.getTickCount(TimeScale.FAST));
+            assertArrayEquals(first.getCurrentState(fastA).getActivations(),
+                              second.getCurrentState(otherFastA).getActivations());
+            assertArrayEquals(first.getCurrentState(slow).getTransmitterLevels(),
+                              second.getCurrentState(otherSlow).getTransmitterLevels());
+        }
+    }
+
+    @Test
+    public void testScalesRunFastestFirst() {
+        try (var orchestrator = new TimeScaleOrchestrator()) {
+            register(orchestrator, new ShuntingDynamics(), 0.5);
+            register(orchestrator, new TransmitterDynamics());
+            List<String> ticks = new ArrayList<>();
+
+            orchestrator.simulate(2_800.0, (scale, time) -> ticks.add(scale + "@" + time));
+
+            assertEquals("FAST@0.0", ticks.get(0));
+            assertEquals("SLOW@0.0", ticks.get(1));
+            assertEquals("FAST@2750.0", ticks.get(ticks.size() - 2));
+            assertEquals("SLOW@2750.0", ticks.get(ticks.size() - 1));
+        }
+    }
+
+    @Test
+    public void testInvalidUse() {
+        try (var orchestrator = new TimeScaleOrchestrator()) {
+            assertThrows(IllegalArgumentException.class, () -> orchestrator.simulate(-1.0));
+            assertThrows(IllegalArgumentException.class,
+                         () -> orchestrator.getCurrentState(new ShuntingDynamics()));
+            orchestrator.start();
+            assertThrows(IllegalStateException.class, () -> orchestrator.simulate(100.0));
+        }
+    }
+
+    private static void register(TimeScaleOrchestrator orchestrator, ShuntingDynamics system, double input) {
+        var inputs = new double[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            inputs[i] = input * (i + 1) / DIMENSION;
+        }
+        orchestrator.registerSystem(system, new ShuntingState(new double[DIMENSION], inputs),
+                                    ShuntingParameters.paperDefaults(), new RungeKutta4Integrator<>(system));
+    }
+
+    private static void register(TimeScaleOrchestrator orchestrator, TransmitterDynamics system) {
+        orchestrator.registerSystem(system, new TransmitterState(DIMENSION),
+                                    TransmitterParameters.paperDefaults(), new RungeKutta4Integrator<>(system));
+    }
+}
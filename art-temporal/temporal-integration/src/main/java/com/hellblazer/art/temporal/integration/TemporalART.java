@@ -1,5 +1,6 @@
 package com.hellblazer.art.temporal.integration;
 
+import com.hellblazer.art.temporal.memory.BatchedWorkingMemory;
 import com.hellblazer.art.temporal.memory.WorkingMemory;
 import com.hellblazer.art.temporal.memory.WorkingMemoryParameters;
 import com.hellblazer.art.temporal.masking.MaskingField;
@@ -20,6 +21,7 @@ public class TemporalART extends BaseART<TemporalARTParameters> {
 
     private final TemporalARTParameters parameters;
     private final WorkingMemory workingMemory;
+    private final BatchedWorkingMemory batchedMemory;
     private final MaskingField maskingField;
     private final List<TemporalCategory> categories;
     private double currentTime;
@@ -29,6 +31,7 @@ public class TemporalART extends BaseART<TemporalARTParameters> {
     public TemporalART(TemporalARTParameters parameters) {
         this.parameters = parameters;
         this.workingMemory = new WorkingMemory(parameters.getWorkingMemoryParameters());
+        this.batchedMemory = new BatchedWorkingMemory(parameters.getWorkingMemoryParameters());
         this.maskingField = new MaskingField(
             parameters.getMaskingFieldParameters(),
             workingMemory
@@ -334,6 +337,26 @@ public class TemporalART extends BaseART<TemporalARTParameters> {
         }
     }
 
+    /**
+     * Learn many independent sequences at once.
+     * All sequences are encoded together by the batched working memory, then each resulting
+     * temporal pattern is presented to the masking field and category learning in order.
+     */
+    public void learnSequences(List<List<double[]>> sequences) {
+        for (var temporalPattern : batchedMemory.storeSequences(sequences)) {
+            maskingField.processTemporalPattern(convertTemporalPattern(temporalPattern));
+
+            var chunks = maskingField.getListChunks();
+            var winners = maskingField.getState().getWinningNodes();
+            if (learningEnabled && !winners.isEmpty()) {
+                processTemporalCategories(chunks, temporalPattern);
+            }
+
+            currentTime += parameters.getTimeStep();
+        }
+        updateState();
+    }
+
     /**
      * Predict sequence category.
      */
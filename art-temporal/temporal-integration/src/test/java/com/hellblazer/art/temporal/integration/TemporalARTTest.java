@@ -108,6 +108,22 @@ public class TemporalARTTest {
         assertTrue(recalled >= 0, "Should recall learned list");
     }
 
+    @Test
+    public void testBatchedSequenceLearning() {
+        var sequences = createMultipleSequences(6, 5, 10);
+
+        temporalART.learnSequences(sequences);
+
+        // Each sequence is presented to the masking field once
+        assertEquals(6 * parameters.getTimeStep(), temporalART.getCurrentTime(), 1e-12);
+        assertTrue(temporalART.getTemporalCategories().size() <= parameters.getMaxCategories());
+        assertNotNull(temporalART.getState());
+
+        // Empty batches are a no-op
+        temporalART.learnSequences(List.of());
+        assertEquals(6 * parameters.getTimeStep(), temporalART.getCurrentTime(), 1e-12);
+    }
+
     @Test
     public void testResetFunctionality() {
         // Learn some sequences
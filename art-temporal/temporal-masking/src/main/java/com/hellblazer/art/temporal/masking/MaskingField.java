@@ -24,6 +24,7 @@ public class MaskingField {
 
     // Dynamics
     private final ShuntingDynamics shuntingDynamics;
+    private final LateralKernel competitionKernel;
 
     // State tracking
     private MaskingFieldState currentState;
@@ -39,6 +40,7 @@ public class MaskingField {
 
         // Initialize state
         int maxNodes = parameters.getMaxItemNodes();
+        this.competitionKernel = createCompetitionKernel(maxNodes);
         this.currentState = new MaskingFieldState(maxNodes);
         this.currentTime = 0.0;
         this.activeChunkIndex = -1;
@@ -146,22 +148,12 @@ public class MaskingField {
         var newActivations = new double[activations.length];
 
         // Apply Mexican hat competition
-        for (int i = 0; i < numNodes; i++) {
-            double netInput = 0.0;
-
-            for (int j = 0; j < numNodes; j++) {
-                if (i == j) continue;
-
-                double distance = Math.abs(i - j) / parameters.getSpatialScale();
-                double connection = mexicanHat(distance,
-                                              parameters.getExcitationRange(),
-                                              parameters.getInhibitionRange());
-
-                netInput += connection * activations[j];
-            }
+        var netInputs = new double[numNodes];
+        competitionKernel.apply(activations, netInputs, numNodes);
 
+        for (int i = 0; i < numNodes; i++) {
             // Update activation with competition
-            double competitiveInput = parameters.getCompetitionStrength() * netInput;
+            double competitiveInput = parameters.getCompetitionStrength() * netInputs[i];
             newActivations[i] = activations[i] + parameters.getIntegrationTimeStep() * competitiveInput;
 
             // Apply bounds
@@ -178,6 +170,19 @@ public class MaskingField {
         identifyWinners();
     }
 
+    /**
+     * Precompute Mexican hat connections by node distance, excluding self-connections.
+     */
+    private LateralKernel createCompetitionKernel(int maxNodes) {
+        var taps = new double[Math.max(1, maxNodes)];
+        for (int d = 1; d < taps.length; d++) {
+            taps[d] = mexicanHat(d / parameters.getSpatialScale(),
+                                 parameters.getExcitationRange(),
+                                 parameters.getInhibitionRange());
+        }
+        return LateralKernel.of(taps);
+    }
+
     /**
      * Mexican hat connectivity function.
      */
@@ -0,0 +1,312 @@
+package com.hellblazer.art.temporal.memory;
+
+import com.hellblazer.art.temporal.core.ShuntingParameters;
+import com.hellblazer.art.temporal.core.TransmitterParameters;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Batched working memory that encodes many independent sequences at once.
+ *
+ * Each sequence is stored exactly as {@link WorkingMemory#storeSequence(List, double)} would store it,
+ * and {@link #storeSequences(List, double)} returns the same temporal patterns that
+ * {@link WorkingMemory#getTemporalPattern()} would report afterwards. The shunting and transmitter states
+ * of all B sequences are held as structure-of-arrays matrices (unit-major, one lane per sequence), so each
+ * time step advances the whole batch with SIMD across the batch dimension.
+ */
+public class BatchedWorkingMemory {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private final WorkingMemoryParameters parameters;
+    private final int capacity;
+
+    // Dynamics parameters, built once instead of per item
+    private final double decayRate;
+    private final double upperBound;
+    private final double epsilon;
+    private final double lambda;
+    private final double mu;
+
+    // Lateral inhibition strength by unit distance
+    private final double[] inhibitionWeights;
+
+    public BatchedWorkingMemory(WorkingMemoryParameters parameters) {
+        this.parameters = parameters;
+        this.capacity = parameters.getCapacity();
+
+        // Same parameter sets WorkingMemory uses for its dynamics
+        var shuntingParams = ShuntingParameters.builder()
+            .decayRate(parameters.getDecayRate())
+            .upperBound(parameters.getMaxActivation())
+            .lowerBound(0.0)
+            .selfExcitation(parameters.getSelfExcitation())
+            .lateralInhibition(parameters.getLateralInhibition())
+            .enableNormalization(true)
+            .build();
+
+        var transmitterParams = TransmitterParameters.builder()
+            .epsilon(parameters.getTransmitterRecoveryRate())
+            .lambda(parameters.getTransmitterDepletionLinear() * 10.0)
+            .mu(parameters.getTransmitterDepletionQuadratic() * 10.0)
+            .depletionThreshold(0.2)
+            .initialLevel(1.0)
+            .enableQuadratic(true)
+            .build();
+
+        this.decayRate = shuntingParams.getDecayRate();
+        this.upperBound = shuntingParams.getUpperBound();
+        this.epsilon = transmitterParams.getEpsilon();
+        this.lambda = transmitterParams.getLambda();
+        this.mu = transmitterParams.getMu();
+
+        this.inhibitionWeights = new double[capacity];
+        for (int d = 1; d < capacity; d++) {
+            inhibitionWeights[d] = shuntingParams.getLateralInhibition() * Math.exp(-d / 5.0);
+        }
+    }
+
+    /**
+     * Store each sequence with one integration step per item.
+     */
+    public List<WorkingMemory.TemporalPattern> storeSequences(List<List<double[]>> sequences) {
+        return storeSequences(sequences, parameters.getTimeStep());
+    }
+
+    /**
+     * Store each sequence in a fresh working memory and return the resulting temporal patterns, in order.
+     *
+     * @param sequences independent sequences of item patterns
+     * @param itemDuration time each item is presented for
+     * @return one temporal pattern per sequence
+     */
+    public List<WorkingMemory.TemporalPattern> storeSequences(List<List<double[]>> sequences, double itemDuration) {
+        if (sequences == null) {
+            throw new IllegalArgumentException("Sequences cannot be null");
+        }
+        var batch = sequences.size();
+        if (batch == 0) {
+            return List.of();
+        }
+
+        // Items that survive capacity handling; with overflow reset, only the last segment remains
+        var stored = new ArrayList<List<double[]>>(batch);
+        for (var sequence : sequences) {
+            if (sequence == null) {
+                throw new IllegalArgumentException("Sequence cannot be null");
+            }
+            stored.add(retainedItems(sequence));
+        }
+
+        // Lanes ordered by descending length so the active lanes at any item are a prefix
+        var lanes = new Integer[batch];
+        for (int b = 0; b < batch; b++) {
+            lanes[b] = b;
+        }
+        Arrays.sort(lanes, (a, b) -> Integer.compare(stored.get(b).size(), stored.get(a).size()));
+
+        var state = new BatchState(capacity, batch);
+        var dt = parameters.getTimeStep();
+        var steps = Math.max(1, (int) (itemDuration / dt));
+        var maxLength = stored.get(lanes[0]).size();
+
+        for (int position = 0; position < maxLength; position++) {
+            var active = 0;
+            while (active < batch && stored.get(lanes[active]).size() > position) {
+                var pattern = stored.get(lanes[active]).get(position);
+                var inputStrength = computeInputStrength(pattern);
+                state.excitatory[position * batch + active] = computePrimacyActivation(position) * inputStrength;
+                state.signals[position * batch + active] = inputStrength * 5.0;
+                active++;
+            }
+            for (int step = 0; step < steps; step++) {
+                stepShunting(state, active, dt);
+                stepTransmitters(state, active, dt);
+            }
+        }
+
+        var results = new WorkingMemory.TemporalPattern[batch];
+        for (int lane = 0; lane < batch; lane++) {
+            var items = stored.get(lanes[lane]);
+            results[lanes[lane]] = temporalPattern(state, lane, items);
+        }
+        return List.of(results);
+    }
+
+    private List<double[]> retainedItems(List<double[]> sequence) {
+        if (sequence.size() <= capacity) {
+            return sequence;
+        }
+        if (!parameters.isOverflowResetEnabled()) {
+            return sequence.subList(0, capacity);
+        }
+        var start = ((sequence.size() - 1) / capacity) * capacity;
+        return sequence.subList(start, sequence.size());
+    }
+
+    private double computePrimacyActivation(int position) {
+        double adjustedDecayFactor = parameters.getPrimacyDecayRate() * (1.0 + position * 0.1);
+        double minActivation = parameters.getRetrievalThreshold() * 2.0;
+        double baseActivation = parameters.getMaxActivation() * Math.exp(-adjustedDecayFactor * position);
+        return Math.max(baseActivation, minActivation);
+    }
+
+    private static double computeInputStrength(double[] pattern) {
+        double sum = 0.0;
+        for (double value : pattern) {
+            sum += value * value;
+        }
+        return Math.sqrt(sum) / Math.sqrt(pattern.length);
+    }
+
+    /**
+     * One Euler step of the shunting dynamics for the first active lanes:
+     * x_i += dt * (-A x_i + (B - x_i) S_i - x_i * sum_{j != i} w_|i-j| x_j).
+     */
+    private void stepShunting(BatchState state, int active, double dt) {
+        var batch = state.batch;
+        var x = state.activations;
+        var next = state.scratch;
+        var bound = SPECIES.loopBound(active);
+        var negDecay = -decayRate;
+
+        for (int i = 0; i < capacity; i++) {
+            var row = i * batch;
+            int b = 0;
+            for (; b < bound; b += SPECIES.length()) {
+                var xi = DoubleVector.fromArray(SPECIES, x, row + b);
+                var inhibition = DoubleVector.zero(SPECIES);
+                for (int j = 0; j < capacity; j++) {
+                    if (i != j) {
+                        var xj = DoubleVector.fromArray(SPECIES, x, j * batch + b);
+                        inhibition = inhibition.add(xj.mul(inhibitionWeights[Math.abs(i - j)]));
+                    }
+                }
+                var decay = xi.mul(negDecay);
+                var excitation = DoubleVector.broadcast(SPECIES, upperBound).sub(xi)
+                                             .mul(DoubleVector.fromArray(SPECIES, state.excitatory, row + b));
+                var derivative = decay.add(excitation).add(inhibition.mul(xi.neg()));
+                xi.add(derivative.mul(dt)).intoArray(next, row + b);
+            }
+            for (; b < active; b++) {
+                var xi = x[row + b];
+                var inhibition = 0.0;
+                for (int j = 0; j < capacity; j++) {
+                    if (i != j) {
+                        inhibition += inhibitionWeights[Math.abs(i - j)] * x[j * batch + b];
+                    }
+                }
+                var decay = negDecay * xi;
+                var excitation = (upperBound - xi) * state.excitatory[row + b];
+                var derivative = decay + excitation + inhibition * -xi;
+                next[row + b] = xi + derivative * dt;
+            }
+        }
+        for (int i = 0; i < capacity; i++) {
+            System.arraycopy(next, i * batch, x, i * batch, active);
+        }
+    }
+
+    /**
+     * One step of the transmitter gates for the first active lanes, followed by gating of the activations.
+     * Mirrors {@code TransmitterDynamics.step}, including its clamping and its doubling of the
+     * presynaptic signal on each step.
+     */
+    private void stepTransmitters(BatchState state, int active, double dt) {
+        var batch = state.batch;
+        var z = state.transmitters;
+        var s = state.signals;
+        var x = state.activations;
+        var bound = SPECIES.loopBound(active);
+
+        for (int i = 0; i < capacity; i++) {
+            var row = i * batch;
+            int b = 0;
+            for (; b < bound; b += SPECIES.length()) {
+                var zi = DoubleVector.fromArray(SPECIES, z, row + b);
+                var si = DoubleVector.fromArray(SPECIES, s, row + b);
+                var recovery = DoubleVector.broadcast(SPECIES, 1.0).sub(zi).mul(epsilon);
+                var depletion = zi.neg().mul(si.mul(lambda).add(si.mul(mu).mul(si)));
+                var level = zi.add(recovery.add(depletion).mul(0.01)).min(1.0).max(0.0);
+                var scaled = level.mul(dt).max(0.0).min(1.0);
+                var updated = zi.add(scaled).min(1.0).max(0.0);
+                updated.intoArray(z, row + b);
+                si.add(si).intoArray(s, row + b);
+                DoubleVector.fromArray(SPECIES, x, row + b).mul(updated).intoArray(x, row + b);
+            }
+            for (; b < active; b++) {
+                var zi = z[row + b];
+                var si = s[row + b];
+                var recovery = epsilon * (1.0 - zi);
+                var depletion = -zi * (lambda * si + mu * si * si);
+                var level = Math.max(0.0, Math.min(1.0, zi + (recovery + depletion) * 0.01));
+                var scaled = Math.min(1.0, Math.max(0.0, level * dt));
+                var updated = Math.max(0.0, Math.min(1.0, zi + scaled));
+                z[row + b] = updated;
+                s[row + b] = si + si;
+                x[row + b] = x[row + b] * updated;
+            }
+        }
+    }
+
+    private WorkingMemory.TemporalPattern temporalPattern(BatchState state, int lane, List<double[]> items) {
+        var batch = state.batch;
+        List<double[]> patterns = new ArrayList<>(items.size());
+        List<Double> weights = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            patterns.add(items.get(i));
+            weights.add(state.activations[i * batch + lane] * state.transmitters[i * batch + lane]);
+        }
+        return new WorkingMemory.TemporalPattern(patterns, weights, primacyGradientStrength(state, lane, items.size()));
+    }
+
+    private static double primacyGradientStrength(BatchState state, int lane, int position) {
+        if (position < 2) return 0.0;
+
+        double earlySum = 0.0;
+        double lateSum = 0.0;
+        int midpoint = position / 2;
+
+        for (int i = 0; i < midpoint; i++) {
+            earlySum += state.activations[i * state.batch + lane];
+        }
+        for (int i = midpoint; i < position; i++) {
+            lateSum += state.activations[i * state.batch + lane];
+        }
+
+        double earlyAvg = earlySum / midpoint;
+        double lateAvg = lateSum / (position - midpoint);
+
+        return (earlyAvg - lateAvg) / (earlyAvg + lateAvg + 1e-10);
+    }
+
+    public WorkingMemoryParameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Unit-major state matrices: entry (unit, lane) is at unit * batch + lane.
+     */
+    private static final class BatchState {
+        final int batch;
+        final double[] activations;
+        final double[] excitatory;
+        final double[] transmitters;
+        final double[] signals;
+        final double[] scratch;
+
+        BatchState(int capacity, int batch) {
+            this.batch = batch;
+            this.activations = new double[capacity * batch];
+            this.excitatory = new double[capacity * batch];
+            this.transmitters = new double[capacity * batch];
+            this.signals = new double[capacity * batch];
+            this.scratch = new double[capacity * batch];
+            Arrays.fill(transmitters, 1.0);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.hellblazer.art.temporal.memory;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests that batched working memory reproduces sequential storage exactly.
+ */
+public class BatchedWorkingMemoryTest {
+
+    @Test
+    public void testBatchMatchesSequentialStorage() {
+        var parameters = WorkingMemoryParameters.paperDefaults();
+        var random = new Random(5);
+        var sequences = new ArrayList<List<double[]>>();
+        for (int b = 0; b < 13; b++) {
+            sequences.add(createSequence(random, 1 + b % parameters.getCapacity(), 10));
+        }
+
+        var batched = new BatchedWorkingMemory(parameters).storeSequences(sequences, 0.1);
+
+        assertEquals(sequences.size(), batched.size());
+        for (int b = 0; b < sequences.size(); b++) {
+            assertPatternEquals(sequential(parameters, sequences.get(b), 0.1), batched.get(b));
+        }
+    }
+
+    @Test
+    public void testOverflowHandling() {
+        var random = new Random(17);
+        var sequences = new ArrayList<List<double[]>>();
+        for (var length : new int[] {3, 7, 8, 14, 15, 20}) {
+            sequences.add(createSequence(random, length, 6));
+        }
+
+        for (var reset : new boolean[] {true, false}) {
+            var parameters = WorkingMemoryParameters.builder()
+                .overflowResetEnabled(reset)
+                .build();
+            var batched = new BatchedWorkingMemory(parameters).storeSequences(sequences);
+            for (int b = 0; b < sequences.size(); b++) {
+                var expected = sequential(parameters, sequences.get(b), parameters.getTimeStep());
+                assertPatternEquals(expected, batched.get(b));
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyBatch() {
+        var memory = new BatchedWorkingMemory(WorkingMemoryParameters.paperDefaults());
+        assertTrue(memory.storeSequences(List.of()).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> memory.storeSequences(null));
+    }
+
+    private static WorkingMemory.TemporalPattern sequential(WorkingMemoryParameters parameters,
+                                                            List<double[]> sequence, double duration) {
+        var memory = new WorkingMemory(parameters);
+        memory.storeSequence(sequence, duration);
+        return memory.getTemporalPattern();
+    }
+
+    private static void assertPatternEquals(WorkingMemory.TemporalPattern expected,
+                                            WorkingMemory.TemporalPattern actual) {
+        assertEquals(expected.sequenceLength(), actual.sequenceLength());
+        for (int i = 0; i < expected.sequenceLength(); i++) {
+            assertArrayEquals(expected.patterns().get(i), actual.patterns().get(i));
+        }
+        assertEquals(expected.weights(), actual.weights());
+        assertEquals(expected.primacyGradient(), actual.primacyGradient());
+    }
+
+    private static List<double[]> createSequence(Random random, int length, int dimension) {
+        var sequence = new ArrayList<double[]>();
+        for (int i = 0; i < length; i++) {
+            var pattern = new double[dimension];
+            for (int j = 0; j < dimension; j++) {
+                pattern[j] = random.nextDouble();
+            }
+            sequence.add(pattern);
+        }
+        return sequence;
+    }
+}
@@ -1,5 +1,6 @@
 package com.hellblazer.art.temporal.performance;
 
+import com.hellblazer.art.temporal.core.LateralKernel;
 import com.hellblazer.art.temporal.masking.*;
 import com.hellblazer.art.temporal.memory.TemporalPattern;
 import jdk.incubator.vector.*;
@@ -37,6 +38,8 @@ public class VectorizedMaskingField {
 
     // Pre-computed Mexican hat kernel
     private double[] mexicanHatKernel;
+    private LateralKernel lateralKernel;
+    private double[] lateralInputs;
 
     private double currentTime;
 
@@ -57,6 +60,7 @@ public class VectorizedMaskingField {
         this.chunkActivations = new double[parameters.getMaxChunks()];
         this.lateralWeights = new double[maxNodes * maxNodes];
         this.resetSignals = new double[maxNodes];
+        this.lateralInputs = new double[maxNodes];
 
         precomputeMexicanHat();
         this.currentTime = 0.0;
@@ -144,12 +148,13 @@ public class VectorizedMaskingField {
         double[] newActivations = new double[size];
         int bound = SPECIES.loopBound(size);
 
+        // Compute lateral interactions (Mexican hat) for the whole field
+        lateralKernel.apply(itemActivations, lateralInputs, size);
+
         int i = 0;
         for (; i < bound; i += vectorLength) {
             var vAct = DoubleVector.fromArray(SPECIES, itemActivations, i);
-
-            // Compute lateral interactions (Mexican hat)
-            var vLateral = computeLateralVectorized(i, size);
+            var vLateral = DoubleVector.fromArray(SPECIES, lateralInputs, i);
 
             // Apply reset signals
             var vReset = DoubleVector.fromArray(SPECIES, resetSignals, i);
@@ -169,7 +174,7 @@ public class VectorizedMaskingField {
 
         // Scalar tail
         for (; i < size; i++) {
-            double lateral = computeLateral(i, size);
+            double lateral = lateralInputs[i];
             double derivative = -itemActivations[i] +
                               lateral * (1.0 - itemActivations[i]) -
                               itemActivations[i] * resetSignals[i];
@@ -180,47 +185,6 @@ public class VectorizedMaskingField {
         System.arraycopy(newActivations, 0, itemActivations, 0, size);
     }
 
-    /**
-     * Vectorized lateral interaction computation.
-     */
-    private DoubleVector computeLateralVectorized(int start, int size) {
-        var vSum = DoubleVector.zero(SPECIES);
-
-        for (int j = 0; j < size; j++) {
-            if (Math.abs(j - start) > vectorLength) continue;
-
-            double actJ = itemActivations[j];
-            if (actJ > 0.01) {
-                // Use pre-computed Mexican hat kernel
-                int kernelIdx = Math.abs(j - start - vectorLength/2);
-                if (kernelIdx < mexicanHatKernel.length) {
-                    vSum = vSum.add(DoubleVector.broadcast(SPECIES,
-                        mexicanHatKernel[kernelIdx] * actJ));
-                }
-            }
-        }
-
-        return vSum;
-    }
-
-    /**
-     * Scalar lateral computation for tail.
-     */
-    private double computeLateral(int i, int size) {
-        double sum = 0.0;
-
-        for (int j = 0; j < size; j++) {
-            if (i == j) continue;
-
-            int distance = Math.abs(i - j);
-            if (distance < mexicanHatKernel.length) {
-                sum += mexicanHatKernel[distance] * itemActivations[j];
-            }
-        }
-
-        return sum;
-    }
-
     /**
      * Vectorized winner selection.
      */
@@ -408,6 +372,11 @@ public class VectorizedMaskingField {
             double inhibition = 0.5 * Math.exp(-scaledDist * scaledDist / (2 * inhibitRange * inhibitRange));
             mexicanHatKernel[d] = parameters.getCompetitionStrength() * (excitation - inhibition);
         }
+
+        // Lateral input excludes self-connections
+        var taps = mexicanHatKernel.clone();
+        taps[0] = 0.0;
+        lateralKernel = LateralKernel.of(taps);
     }
 
     public void reset() {
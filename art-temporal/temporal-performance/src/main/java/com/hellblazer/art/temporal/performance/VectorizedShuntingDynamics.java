@@ -1,6 +1,7 @@
 package com.hellblazer.art.temporal.performance;
 
 import com.hellblazer.art.temporal.core.ActivationState;
+import com.hellblazer.art.temporal.core.LateralKernel;
 import com.hellblazer.art.temporal.dynamics.ShuntingParameters;
 import jdk.incubator.vector.*;
 
@@ -22,9 +23,9 @@ public class VectorizedShuntingDynamics {
     private double[] inhibitory;
     private double[] derivatives;
 
-    // Pre-computed weight matrices for efficiency
-    private double[] excitatoryWeights;
-    private double[] inhibitoryWeights;
+    // Pre-computed lateral kernels; weights depend only on |i - j|
+    private LateralKernel excitatoryKernel;
+    private LateralKernel inhibitoryKernel;
 
     public VectorizedShuntingDynamics(ShuntingParameters parameters, int dimension) {
         this.parameters = parameters;
@@ -38,7 +39,7 @@ public class VectorizedShuntingDynamics {
         this.inhibitory = new double[dimension];
         this.derivatives = new double[dimension];
 
-        // Pre-compute weight matrices
+        // Pre-compute lateral kernels
         precomputeWeights();
     }
 
@@ -128,8 +129,8 @@ public class VectorizedShuntingDynamics {
      * Vectorized computation of excitation.
      */
     private void computeExcitationVectorized() {
-        // Use pre-computed weights for matrix-vector multiplication
-        matrixVectorMultiplyVectorized(activations, excitatoryWeights, excitatory);
+        // Lateral excitation as a convolution with the pre-computed kernel
+        excitatoryKernel.apply(activations, excitatory, dimension);
 
         // Add self-excitation
         if (parameters.getSelfExcitation() > 0) {
@@ -153,64 +154,17 @@ public class VectorizedShuntingDynamics {
      * Vectorized computation of inhibition.
      */
     private void computeInhibitionVectorized() {
-        matrixVectorMultiplyVectorized(activations, inhibitoryWeights, inhibitory);
+        inhibitoryKernel.apply(activations, inhibitory, dimension);
     }
 
     /**
-     * Vectorized matrix-vector multiplication.
-     */
-    private void matrixVectorMultiplyVectorized(double[] vector, double[] matrix, double[] result) {
-        // Reset result
-        var zeros = DoubleVector.zero(SPECIES);
-        for (int i = 0; i < loopBound; i += vectorLength) {
-            zeros.intoArray(result, i);
-        }
-
-        // Perform multiplication
-        for (int i = 0; i < dimension; i++) {
-            double vi = vector[i];
-            if (Math.abs(vi) < 1e-10) continue;  // Skip near-zero values
-
-            int j = 0;
-            for (; j < loopBound; j += vectorLength) {
-                var vWeight = DoubleVector.fromArray(SPECIES, matrix, i * dimension + j);
-                var vResult = DoubleVector.fromArray(SPECIES, result, j);
-                vResult = vResult.add(vWeight.mul(vi));
-                vResult.intoArray(result, j);
-            }
-
-            for (; j < dimension; j++) {
-                result[j] += matrix[i * dimension + j] * vi;
-            }
-        }
-    }
-
-    /**
-     * Pre-compute weight matrices for efficiency.
+     * Pre-compute lateral kernels for efficiency.
      */
     private void precomputeWeights() {
-        excitatoryWeights = new double[dimension * dimension];
-        inhibitoryWeights = new double[dimension * dimension];
-
-        for (int i = 0; i < dimension; i++) {
-            for (int j = 0; j < dimension; j++) {
-                if (i != j) {
-                    double distance = Math.abs(i - j);
-
-                    // Excitatory weight (Gaussian)
-                    double exciteSigma = parameters.getExcitatoryRange();
-                    excitatoryWeights[i * dimension + j] =
-                        parameters.getExcitatoryStrength() *
-                        Math.exp(-distance * distance / (2.0 * exciteSigma * exciteSigma));
-
-                    // Inhibitory weight (broader Gaussian)
-                    double inhibitSigma = parameters.getInhibitoryRange();
-                    inhibitoryWeights[i * dimension + j] =
-                        parameters.getInhibitoryStrength() *
-                        Math.exp(-distance * distance / (2.0 * inhibitSigma * inhibitSigma));
-                }
-            }
-        }
+        excitatoryKernel = LateralKernel.gaussian(parameters.getExcitatoryStrength(),
+                                                  parameters.getExcitatoryRange(), Math.max(1, dimension));
+        inhibitoryKernel = LateralKernel.gaussian(parameters.getInhibitoryStrength(),
+                                                  parameters.getInhibitoryRange(), Math.max(1, dimension));
     }
 
     /**
@@ -233,14 +187,13 @@ public class VectorizedShuntingDynamics {
             energy += 0.5 * parameters.getDecayRate(i) * activations[i] * activations[i];
         }
 
-        // Interaction energy
+        // Interaction energy; each pair i < j appears twice in x . (W x)
+        var excitation = new double[dimension];
+        var inhibition = new double[dimension];
+        excitatoryKernel.apply(activations, excitation, dimension);
+        inhibitoryKernel.apply(activations, inhibition, dimension);
         for (i = 0; i < dimension; i++) {
-            for (int j = i + 1; j < dimension; j++) {
-                double excWeight = excitatoryWeights[i * dimension + j];
-                double inhWeight = inhibitoryWeights[i * dimension + j];
-                energy -= excWeight * activations[i] * activations[j];
-                energy += inhWeight * activations[i] * activations[j];
-            }
+            energy += 0.5 * activations[i] * (inhibition[i] - excitation[i]);
         }
 
         return energy;
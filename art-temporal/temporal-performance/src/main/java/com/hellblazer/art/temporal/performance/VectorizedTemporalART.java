@@ -5,6 +5,7 @@ import com.hellblazer.art.core.WeightVector;
 import com.hellblazer.art.core.results.ActivationResult;
 import com.hellblazer.art.performance.VectorizedARTAlgorithm;
 import com.hellblazer.art.temporal.integration.*;
+import com.hellblazer.art.temporal.memory.BatchedWorkingMemory;
 import com.hellblazer.art.temporal.memory.TemporalPattern;
 import jdk.incubator.vector.*;
 import java.util.*;
@@ -23,6 +24,7 @@ public class VectorizedTemporalART implements VectorizedARTAlgorithm<VectorizedT
 
     private final TemporalARTParameters parameters;
     private final VectorizedWorkingMemory workingMemory;
+    private final BatchedWorkingMemory batchedMemory;
     private final VectorizedMaskingField maskingField;
 
     private final int maxCategories;
@@ -55,6 +57,7 @@ public class VectorizedTemporalART implements VectorizedARTAlgorithm<VectorizedT
     public VectorizedTemporalART(TemporalARTParameters parameters) {
         this.parameters = parameters;
         this.workingMemory = new VectorizedWorkingMemory(parameters.getMemoryParameters());
+        this.batchedMemory = new BatchedWorkingMemory(parameters.getMemoryParameters());
         this.maskingField = new VectorizedMaskingField(
             parameters.getMaskingParameters(),
             workingMemory
@@ -597,6 +600,43 @@ public class VectorizedTemporalART implements VectorizedARTAlgorithm<VectorizedT
         }, computePool);
     }
 
+    /**
+     * Process many independent sequences at once.
+     * The sequences are encoded together by the batched working memory, which advances all of them
+     * with SIMD across the batch; each sequence's combined pattern is then categorized in order.
+     *
+     * @return the winning category for each sequence, or -1 if none could be assigned
+     */
+    public int[] processSequences(List<List<double[]>> sequences) {
+        var encoded = batchedMemory.storeSequences(sequences);
+        var results = new int[encoded.size()];
+
+        for (int b = 0; b < results.length; b++) {
+            long startTime = System.nanoTime();
+
+            var encodedPattern = encoded.get(b);
+            var temporalPattern = new TemporalPattern(encodedPattern.patterns(), encodedPattern.weights(),
+                                                      encodedPattern.primacyGradient());
+            maskingField.processTemporalPattern(temporalPattern);
+
+            var input = encodedPattern.getCombinedPattern();
+            int winner = -1;
+            if (input.length > 0) {
+                winner = findBestCategoryParallelRaw(input);
+                if (winner >= 0) {
+                    updateCategoryVectorized(winner, temporalPattern, input);
+                } else if (categoryCount.get() < maxCategories) {
+                    winner = createNewCategory(temporalPattern, input);
+                }
+            }
+            results[b] = winner;
+
+            processTime.addAndGet(System.nanoTime() - startTime);
+            patternsProcessed.incrementAndGet();
+        }
+        return results;
+    }
+
     /**
      * Get performance statistics.
      */
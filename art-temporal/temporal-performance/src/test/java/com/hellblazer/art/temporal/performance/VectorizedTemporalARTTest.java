@@ -76,6 +76,26 @@ class VectorizedTemporalARTTest {
         assertTrue(art.getCategoryCount() > 0);
     }
 
+    @Test
+    @DisplayName("Batched sequence processing")
+    void testSequenceBatchProcessing() {
+        int dimension = parameters.getInputDimension();
+        List<List<double[]>> sequences = new ArrayList<>();
+        for (int s = 0; s < 20; s++) {
+            List<double[]> sequence = new ArrayList<>();
+            for (int i = 0; i <= s % 5; i++) {
+                sequence.add(createRandomPattern(dimension));
+            }
+            sequences.add(sequence);
+        }
+
+        int[] results = art.processSequences(sequences);
+
+        assertEquals(sequences.size(), results.length);
+        assertTrue(art.getCategoryCount() > 0);
+        assertEquals(sequences.size(), art.getStats().patternsProcessed());
+    }
+
     @Test
     @DisplayName("Performance tracking")
     void testPerformanceTracking() {
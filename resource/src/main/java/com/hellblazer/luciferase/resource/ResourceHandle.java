@@ -3,7 +3,6 @@ package com.hellblazer.luciferase.resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -40,7 +39,7 @@ public abstract class ResourceHandle<T> implements AutoCloseable {
      * @param tracker Optional tracker for leak detection
      */
     protected ResourceHandle(T resource, ResourceTracker tracker) {
-        this.id = UUID.randomUUID().toString();
+        this.id = ResourceIds.next().toString();
         this.resource = resource;
         this.tracker = tracker;
         this.allocationTime = System.nanoTime();
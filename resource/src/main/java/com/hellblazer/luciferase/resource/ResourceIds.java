@@ -0,0 +1,32 @@
+package com.hellblazer.luciferase.resource;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cheap unique resource IDs.
+ * The high half of each ID is random per process and the low half is a monotonic counter,
+ * so IDs stay unique across processes without a secure random draw per resource.
+ * IDs are well-formed RFC 9562 version 8 (custom layout) UUIDs: the version nibble
+ * replaces four random bits and the variant takes the top two bits of the counter.
+ */
+final class ResourceIds {
+    private static final long VERSION_MASK = 0xF000L;
+    private static final long VERSION_8 = 0x8000L;
+    private static final long VARIANT_MASK = 0xC000_0000_0000_0000L;
+    private static final long VARIANT_RFC = 0x8000_0000_0000_0000L;
+
+    private static final long PROCESS_BITS = new SecureRandom().nextLong() & ~VERSION_MASK | VERSION_8;
+    private static final AtomicLong NEXT = new AtomicLong();
+
+    private ResourceIds() {
+    }
+
+    /**
+     * Get the next resource ID.
+     */
+    static UUID next() {
+        return new UUID(PROCESS_BITS, NEXT.incrementAndGet() & ~VARIANT_MASK | VARIANT_RFC);
+    }
+}
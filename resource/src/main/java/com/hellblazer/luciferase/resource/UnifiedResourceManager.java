@@ -4,6 +4,7 @@ import com.hellblazer.luciferase.resource.gpu.*;
 import com.hellblazer.luciferase.resource.opencl.*;
 import com.hellblazer.luciferase.resource.memory.*;
 import com.hellblazer.luciferase.resource.opengl.*;
+import org.lwjgl.system.MemoryUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,7 +26,7 @@ public class UnifiedResourceManager implements AutoCloseable {
     private static final Object instanceLock = new Object();
     
     private final Map<UUID, GPUResource> resources = new ConcurrentHashMap<>();
-    private final Map<ByteBuffer, UUID> bufferToIdMap = Collections.synchronizedMap(new IdentityHashMap<>()); // Identity-based ByteBuffer to UUID mapping
+    private final Map<Long, TrackedBuffer> trackedBuffers = new ConcurrentHashMap<>(); // Pool buffers by base address
     private final Map<GPUResourceType, AtomicLong> allocatedBytesPerType = new ConcurrentHashMap<>();
     private final ResourceTracker tracker;
     private final MemoryPool memoryPool;
@@ -217,7 +218,7 @@ public class UnifiedResourceManager implements AutoCloseable {
                 }
             }
             resources.clear();
-            bufferToIdMap.clear();
+            trackedBuffers.clear();
             totalAllocatedBytes.set(0);
             activeResourceCount.set(0);
         }
@@ -238,21 +239,21 @@ public class UnifiedResourceManager implements AutoCloseable {
     
     /**
      * Get resource ID for a buffer
-     * Workaround: Reset position to 0 during lookup to ensure consistent behavior
      */
     public UUID getResourceId(ByteBuffer buffer) {
-        synchronized (bufferToIdMap) {
-            // Store current position
-            int originalPosition = buffer.position();
-            try {
-                // Reset to position 0 for consistent lookup
-                buffer.position(0);
-                return bufferToIdMap.get(buffer);
-            } finally {
-                // Restore original position
-                buffer.position(originalPosition);
-            }
+        var tracked = trackedBuffer(buffer);
+        return tracked != null ? tracked.id() : null;
+    }
+    
+    /**
+     * Get the tracking entry of a buffer allocated by this manager, matched by identity
+     */
+    private TrackedBuffer trackedBuffer(ByteBuffer buffer) {
+        if (!buffer.isDirect()) {
+            return null;
         }
+        var tracked = trackedBuffers.get(MemoryUtil.memAddress0(buffer));
+        return tracked != null && tracked.buffer() == buffer ? tracked : null;
     }
     
     /**
@@ -304,7 +305,10 @@ public class UnifiedResourceManager implements AutoCloseable {
                     var bufferResource = (ByteBufferResource) resource;
                     var buffer = bufferResource.getBuffer();
                     if (buffer != null) {
-                        bufferToIdMap.remove(buffer);
+                        var tracked = trackedBuffer(buffer);
+                        if (tracked != null) {
+                            trackedBuffers.remove(MemoryUtil.memAddress0(buffer), tracked);
+                        }
                     }
                 }
                 
@@ -754,73 +758,37 @@ public class UnifiedResourceManager implements AutoCloseable {
         }
         
         var buffer = memoryPool.allocate(size);
-        if (buffer != null) {
-            // Create tracking info first
-            var resourceId = UUID.randomUUID();
-            var handle = new ByteBufferResource(resourceId, buffer, tracker);
-            
-            boolean wasAlreadyTracked = false;
-            
-            // Synchronize buffer tracking to prevent race conditions
-            synchronized (bufferToIdMap) {
-                // Check if buffer is already tracked
-                var existingId = bufferToIdMap.get(buffer);
-                if (existingId != null) {
-                    // This happens when pool returns a buffer that wasn't properly untracked
-                    wasAlreadyTracked = true;
-                    log.debug("Buffer {} reused from pool, was tracked as {}", 
-                             System.identityHashCode(buffer), existingId);
-                    // Remove the old resource
-                    var oldResource = resources.remove(existingId);
-                    if (oldResource != null) {
-                        try {
-                            oldResource.close();
-                        } catch (Exception e) {
-                            log.debug("Error closing old resource", e);
-                        }
-                    }
-                }
-                
-                // Track the new allocation - store buffer at position 0 for consistency
-                int originalPosition = buffer.position();
+        var resourceId = ResourceIds.next();
+        var handle = new ByteBufferResource(resourceId, buffer, tracker);
+        
+        var previous = trackedBuffers.put(MemoryUtil.memAddress0(buffer), new TrackedBuffer(buffer, resourceId));
+        if (previous != null) {
+            // This happens when pool returns a buffer that wasn't properly untracked
+            log.debug("Buffer {} reused from pool, was tracked as {}", System.identityHashCode(buffer), previous.id());
+            var oldResource = resources.remove(previous.id());
+            if (oldResource != null) {
                 try {
-                    buffer.position(0);
-                    bufferToIdMap.put(buffer, resourceId);
-                } finally {
-                    buffer.position(originalPosition);
-                }
-                try (java.io.FileWriter debugFile = new java.io.FileWriter("/tmp/debug_allocation.txt", true)) {
-                    debugFile.write("DEBUG ALLOCATION: Added buffer " + System.identityHashCode(buffer) + " -> " + resourceId + "\n");
-                    debugFile.write("DEBUG ALLOCATION: bufferToIdMap size after put: " + bufferToIdMap.size() + "\n");
-                    debugFile.flush();
-                } catch (java.io.IOException e) {
-                    System.out.println("DEBUG ALLOCATION: Added buffer " + System.identityHashCode(buffer) + " -> " + resourceId);
+                    oldResource.close();
+                } catch (Exception e) {
+                    log.debug("Error closing old resource", e);
                 }
             }
-            
-            // Add to resources map and register - MUST be synchronized like releaseMemory
-            synchronized (resources) {
-                resources.put(resourceId, handle);
-            }
-            tracker.register(handle);
-            allocatedBytesPerType.get(GPUResourceType.MEMORY_POOL).addAndGet(size);
-            totalAllocatedBytes.addAndGet(size); // Track in total allocated bytes
-            
-            // Only increment counter if this is a truly new allocation
-            if (!wasAlreadyTracked) {
-                int countBefore = activeResourceCount.get();
-                activeResourceCount.incrementAndGet(); // Track as active
-                int countAfter = activeResourceCount.get();
-                log.debug("Incremented activeResourceCount from {} to {} for new buffer {}", 
-                        countBefore, countAfter, System.identityHashCode(buffer));
-            } else {
-                log.debug("Buffer {} was already tracked, not incrementing activeResourceCount (current: {})", 
-                        System.identityHashCode(buffer), activeResourceCount.get());
-            }
-            allocationCount.incrementAndGet(); // Debug counter
-            
-            log.debug("Allocated buffer {} with resourceId {}, resources.size() = {}, activeCount = {}", 
-                     System.identityHashCode(buffer), resourceId, resources.size(), activeResourceCount.get());
+        }
+        
+        resources.put(resourceId, handle);
+        tracker.register(handle);
+        allocatedBytesPerType.get(GPUResourceType.MEMORY_POOL).addAndGet(size);
+        totalAllocatedBytes.addAndGet(size); // Track in total allocated bytes
+        
+        // Only count as active if this is a truly new allocation
+        if (previous == null) {
+            activeResourceCount.incrementAndGet();
+        }
+        allocationCount.incrementAndGet(); // Debug counter
+        
+        if (log.isTraceEnabled()) {
+            log.trace("Allocated buffer {} with resourceId {}, activeCount = {}", 
+                     System.identityHashCode(buffer), resourceId, activeResourceCount.get());
         }
         return buffer;
     }
@@ -833,77 +801,30 @@ public class UnifiedResourceManager implements AutoCloseable {
             return;
         }
         
-        UUID resourceId = null;
-        boolean wasTracked = false;
-        
-        // Synchronize buffer tracking removal to prevent race conditions
-        synchronized (bufferToIdMap) {
-            try (java.io.FileWriter debugFile = new java.io.FileWriter("/tmp/debug_unified_resource_manager.txt", true)) {
-                debugFile.write("DEBUG: Attempting to remove buffer " + System.identityHashCode(buffer) + " from bufferToIdMap\n");
-                debugFile.write("DEBUG: bufferToIdMap size before remove: " + bufferToIdMap.size() + "\n");
-                debugFile.write("DEBUG: bufferToIdMap keys: " + bufferToIdMap.keySet().stream()
-                        .map(System::identityHashCode).toList() + "\n");
-                debugFile.flush();
-                
-                // Apply position workaround for consistent lookup during removal
-                int originalPosition = buffer.position();
-                try {
-                    buffer.position(0);
-                    resourceId = bufferToIdMap.remove(buffer);
-                } finally {
-                    buffer.position(originalPosition);
-                }
-                wasTracked = (resourceId != null);
-                
-                debugFile.write("DEBUG: wasTracked = " + wasTracked + ", resourceId = " + resourceId + "\n");
-                debugFile.flush();
-            } catch (java.io.IOException e) {
-                // Fallback to console
-                System.out.println("DEBUG: Attempting to remove buffer " + System.identityHashCode(buffer) + " from bufferToIdMap");
-                System.out.println("DEBUG: bufferToIdMap size before remove: " + bufferToIdMap.size());
-                System.out.println("DEBUG: bufferToIdMap keys: " + bufferToIdMap.keySet().stream()
-                        .map(System::identityHashCode).toList());
-                // Apply position workaround for consistent lookup during removal
-                int originalPosition2 = buffer.position();
-                try {
-                    buffer.position(0);
-                    resourceId = bufferToIdMap.remove(buffer);
-                } finally {
-                    buffer.position(originalPosition2);
-                }
-                wasTracked = (resourceId != null);
-                System.out.println("DEBUG: wasTracked = " + wasTracked + ", resourceId = " + resourceId);
-            }
-        }
-        
-        if (wasTracked) {
+        var tracked = trackedBuffer(buffer);
+        if (tracked != null && trackedBuffers.remove(MemoryUtil.memAddress0(buffer), tracked)) {
             releaseCount.incrementAndGet(); // Debug counter - count all buffer releases
-            int countBefore = activeResourceCount.get();
-            activeResourceCount.decrementAndGet(); // Always decrement when buffer was tracked
-            int countAfter = activeResourceCount.get();
-            log.debug("Decremented activeResourceCount from {} to {} for buffer {}", 
-                    countBefore, countAfter, System.identityHashCode(buffer));
-            allocatedBytesPerType.get(GPUResourceType.MEMORY_POOL).addAndGet(-buffer.capacity()); // Always update bytes
-            totalAllocatedBytes.addAndGet(-buffer.capacity()); // Also update total allocated bytes
+            activeResourceCount.decrementAndGet();
+            allocatedBytesPerType.get(GPUResourceType.MEMORY_POOL).addAndGet(-buffer.capacity());
+            totalAllocatedBytes.addAndGet(-buffer.capacity());
             
-            // Synchronize resources map access
-            synchronized (resources) {
-                var resource = resources.remove(resourceId);
-                if (resource != null) {
-                    // Close the resource handle (which will unregister from tracker)
-                    try {
-                        resource.close();
-                    } catch (Exception e) {
-                        log.debug("Error closing buffer resource", e);
-                    }
-                    log.debug("Released buffer {} with resourceId {}, resources.size() = {}, activeCount = {}", 
-                             System.identityHashCode(buffer), resourceId, resources.size(), activeResourceCount.get());
-                } else {
-                    log.warn("Buffer {} found in bufferToIdMap but resource {} not found in resources map", 
-                             System.identityHashCode(buffer), resourceId);
+            var resource = resources.remove(tracked.id());
+            if (resource != null) {
+                // Close the resource handle (which will unregister from tracker)
+                try {
+                    resource.close();
+                } catch (Exception e) {
+                    log.debug("Error closing buffer resource", e);
+                }
+                if (log.isTraceEnabled()) {
+                    log.trace("Released buffer {} with resourceId {}, activeCount = {}", 
+                             System.identityHashCode(buffer), tracked.id(), activeResourceCount.get());
                 }
+            } else {
+                log.warn("Buffer {} is tracked but resource {} not found in resources map", 
+                         System.identityHashCode(buffer), tracked.id());
             }
-        } else {
+        } else if (log.isTraceEnabled()) {
             // This can happen in concurrent scenarios where the same buffer is returned multiple times
             // or if the buffer was never tracked (shouldn't happen with correct usage)
             log.trace("Buffer {} not tracked. This may be expected in concurrent scenarios.", 
@@ -935,7 +856,7 @@ public class UnifiedResourceManager implements AutoCloseable {
      */
     public <T extends GPUResource> ResourceHandle<T> add(T resource, Object attachment) {
         ensureNotClosed();
-        UUID id = UUID.randomUUID();
+        UUID id = ResourceIds.next();
         resources.put(id, resource);
         activeResourceCount.incrementAndGet();
         
@@ -976,9 +897,9 @@ public class UnifiedResourceManager implements AutoCloseable {
         cleanupUnused(config.getMaxIdleTime().toMillis());
         
         // Debug output for tracking allocation/release mismatch
-        log.debug("Maintenance complete - Allocations: {}, Releases: {}, Active: {}, Resources size: {}, BufferMap size: {}", 
+        log.debug("Maintenance complete - Allocations: {}, Releases: {}, Active: {}, Resources size: {}, Tracked buffers: {}", 
                  allocationCount.get(), releaseCount.get(), activeResourceCount.get(), 
-                 resources.size(), bufferToIdMap.size());
+                 resources.size(), trackedBuffers.size());
     }
     
     /**
@@ -988,6 +909,12 @@ public class UnifiedResourceManager implements AutoCloseable {
         close();
     }
     
+    /**
+     * A pool buffer allocated through this manager and its resource ID
+     */
+    private record TrackedBuffer(ByteBuffer buffer, UUID id) {
+    }
+    
     /**
      * Statistics for the resource manager
      */
@@ -5,20 +5,49 @@ import org.lwjgl.system.MemoryUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.foreign.MemorySegment;
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
 import java.nio.ByteBuffer;
-import java.util.*;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * Memory pool for efficient allocation and reuse of native memory buffers.
  * Reduces allocation overhead and fragmentation by reusing buffers.
+ * 
+ * Buffers are pooled in power-of-two size classes. Each platform thread caches a small magazine
+ * of buffers per size class, so a thread that allocates and returns buffers reuses its own without
+ * touching shared state; magazines overflow to, and refill from, a lock-free free list per size
+ * class. When both are empty, buffers cached in other threads' magazines are taken before a new
+ * one is allocated, and a magazine is flushed to the free list once its thread has terminated, so
+ * no pooled buffer is stranded. Virtual threads use the free list directly. No lock is taken on
+ * the common allocation path, and reused buffers are zeroed in bulk with {@link MemorySegment#fill}.
  */
 public class MemoryPool implements AutoCloseable {
     private static final Logger log = LoggerFactory.getLogger(MemoryPool.class);
     
+    // Buffers a thread caches per size class before overflowing to the shared free list
+    private static final int MAGAZINE_ROUNDS = 8;
+    private static final int SIZE_CLASSES = Integer.SIZE;
+    
+    // Buffer states; transitions are CAS'd so a buffer is handed out or freed exactly once
+    private static final int POOLED = 0;
+    private static final int ALLOCATED = 1;
+    private static final int BORROWED = 2;
+    private static final int FREED = 3;
+    
+    // Flushes the magazines of terminated threads
+    private static final Cleaner MAGAZINE_CLEANER = Cleaner.create();
+    
     /**
      * Pool configuration.
      */
@@ -92,17 +121,23 @@ public class MemoryPool implements AutoCloseable {
      */
     private static class PooledBuffer {
         final ByteBuffer buffer;
+        final MemorySegment segment;
         final long address;
         final int size;
         final boolean aligned;
+        final boolean poolable;
+        final AtomicInteger state;
         volatile long lastUsed;
         volatile int useCount;
         
-        PooledBuffer(ByteBuffer buffer, long address, int size, boolean aligned) {
+        PooledBuffer(ByteBuffer buffer, long address, int size, boolean aligned, boolean poolable, int state) {
             this.buffer = buffer;
+            this.segment = MemorySegment.ofBuffer(buffer);
             this.address = address;
             this.size = size;
             this.aligned = aligned;
+            this.poolable = poolable;
+            this.state = new AtomicInteger(state);
             this.lastUsed = System.nanoTime();
             this.useCount = 0;
         }
@@ -115,6 +150,102 @@ public class MemoryPool implements AutoCloseable {
         long getIdleTime() {
             return System.nanoTime() - lastUsed;
         }
+        
+        /**
+         * Zero the buffer and reset its position and limit.
+         */
+        void zero() {
+            segment.fill((byte) 0);
+            buffer.clear();
+        }
+    }
+    
+    /**
+     * Free list of one size class. The count covers the buffers of the class in the free list
+     * and in all magazines.
+     */
+    private static final class SizeClass {
+        final ConcurrentLinkedDeque<PooledBuffer> free = new ConcurrentLinkedDeque<>();
+        final AtomicInteger pooled = new AtomicInteger();
+    }
+    
+    /**
+     * Per-thread cache of pooled buffers. Only its owner thread pushes, so the monitor is
+     * uncontended except while another thread steals from it or the pool is being cleared or
+     * evicted.
+     */
+    private static final class Magazine {
+        private final PooledBuffer[][] rounds = new PooledBuffer[SIZE_CLASSES][];
+        private final int[] counts = new int[SIZE_CLASSES];
+        private Cleaner.Cleanable flush;
+        
+        synchronized PooledBuffer pop(int sizeClass) {
+            var n = counts[sizeClass];
+            if (n == 0) {
+                return null;
+            }
+            counts[sizeClass] = --n;
+            var buffer = rounds[sizeClass][n];
+            rounds[sizeClass][n] = null;
+            return buffer;
+        }
+        
+        synchronized boolean push(int sizeClass, PooledBuffer buffer) {
+            var n = counts[sizeClass];
+            if (n == MAGAZINE_ROUNDS) {
+                return false;
+            }
+            if (rounds[sizeClass] == null) {
+                rounds[sizeClass] = new PooledBuffer[MAGAZINE_ROUNDS];
+            }
+            rounds[sizeClass][n] = buffer;
+            counts[sizeClass] = n + 1;
+            return true;
+        }
+        
+        /**
+         * Remove the buffers matching the filter, passing each to the sink.
+         */
+        synchronized void drain(Predicate<PooledBuffer> filter, Consumer<PooledBuffer> sink) {
+            for (int c = 0; c < SIZE_CLASSES; c++) {
+                var round = rounds[c];
+                var kept = 0;
+                for (int i = 0; i < counts[c]; i++) {
+                    if (filter.test(round[i])) {
+                        sink.accept(round[i]);
+                    } else {
+                        round[kept++] = round[i];
+                    }
+                }
+                for (int i = kept; i < counts[c]; i++) {
+                    round[i] = null;
+                }
+                counts[c] = kept;
+            }
+        }
+    }
+    
+    /**
+     * Moves the buffers of a terminated thread's magazine to the shared free lists. Holds the pool
+     * weakly, so a live thread does not keep an abandoned pool reachable.
+     */
+    private static final class Flush implements Runnable {
+        private final WeakReference<MemoryPool> pool;
+        private final Magazine magazine;
+        
+        Flush(MemoryPool pool, Magazine magazine) {
+            this.pool = new WeakReference<>(pool);
+            this.magazine = magazine;
+        }
+        
+        @Override
+        public void run() {
+            var owner = pool.get();
+            if (owner != null) {
+                owner.magazines.remove(magazine);
+                magazine.drain(buffer -> true, owner::restock);
+            }
+        }
     }
     
     /**
@@ -146,18 +277,20 @@ public class MemoryPool implements AutoCloseable {
     
     private final Config config;
     private final ResourceTracker tracker;
-    private final Map<Integer, ConcurrentLinkedDeque<PooledBuffer>> pools;
-    private final Set<PooledBuffer> borrowed;
-    private final Map<ByteBuffer, PooledBuffer> allocatedBuffers; // Track allocate() calls - use IdentityHashMap for object identity
-    private final ReentrantLock lock;
+    private final AtomicReferenceArray<SizeClass> sizeClasses;
+    private final Map<Long, PooledBuffer> buffers; // Every pooled-class native buffer by base address
+    private final Set<Magazine> magazines;
+    private final ThreadLocal<Magazine> magazine;
     private final long maxIdleTimeNanos; // Max idle time before eviction
     private final long maxPoolSizeBytes; // Max total bytes in pool (0 = use config.maxPoolSize for buffer count)
     
     private final AtomicInteger totalBuffers;
     private final AtomicLong totalMemory;
-    private final AtomicLong allocations;
-    private final AtomicLong poolHits;
-    private final AtomicLong poolMisses;
+    private final AtomicLong pooledBytes;
+    private final AtomicInteger borrowedCount;
+    private final LongAdder allocations;
+    private final LongAdder poolHits;
+    private final LongAdder poolMisses;
     
     private volatile boolean closed = false;
     
@@ -201,18 +334,25 @@ public class MemoryPool implements AutoCloseable {
     private MemoryPool(Config config, ResourceTracker tracker, java.time.Duration maxIdleTime, long maxPoolSizeBytes) {
         this.config = config;
         this.tracker = tracker;
-        this.pools = new HashMap<>();
-        this.borrowed = new HashSet<>();
-        this.allocatedBuffers = new IdentityHashMap<>(); // Use IdentityHashMap for object identity
-        this.lock = new ReentrantLock();
+        this.sizeClasses = new AtomicReferenceArray<>(SIZE_CLASSES);
+        this.buffers = new ConcurrentHashMap<>();
+        this.magazines = ConcurrentHashMap.newKeySet();
+        this.magazine = ThreadLocal.withInitial(() -> {
+            var m = new Magazine();
+            m.flush = MAGAZINE_CLEANER.register(Thread.currentThread(), new Flush(this, m));
+            magazines.add(m);
+            return m;
+        });
         this.maxIdleTimeNanos = maxIdleTime.toNanos();
         this.maxPoolSizeBytes = maxPoolSizeBytes;
         
         this.totalBuffers = new AtomicInteger(0);
         this.totalMemory = new AtomicLong(0);
-        this.allocations = new AtomicLong(0);
-        this.poolHits = new AtomicLong(0);
-        this.poolMisses = new AtomicLong(0);
+        this.pooledBytes = new AtomicLong(0);
+        this.borrowedCount = new AtomicInteger(0);
+        this.allocations = new LongAdder();
+        this.poolHits = new LongAdder();
+        this.poolMisses = new LongAdder();
         
         log.info("Created memory pool with config: minSize={}, maxSize={}, maxPool={}", 
             config.minBufferSize, config.maxBufferSize, config.maxPoolSize);
@@ -232,7 +372,7 @@ public class MemoryPool implements AutoCloseable {
         if (size == 0) {
             // Return an empty buffer for zero size
             return new BorrowedBuffer(
-                new PooledBuffer(ByteBuffer.allocateDirect(0), 0, 0, false),
+                new PooledBuffer(ByteBuffer.allocateDirect(0), 0, 0, false, false, BORROWED),
                 tracker
             );
         }
@@ -244,170 +384,252 @@ public class MemoryPool implements AutoCloseable {
         if (size < config.minBufferSize || size > config.maxBufferSize) {
             // Size out of range, allocate directly without pooling
             log.trace("Size {} out of pool range, allocating directly", size);
-            poolMisses.incrementAndGet();
-            
-            if (config.alignBuffers) {
-                return new BorrowedBuffer(
-                    new PooledBuffer(
-                        MemoryUtil.memAlignedAlloc(config.alignment, size),
-                        0, size, true
-                    ), 
-                    tracker
-                );
-            } else {
-                return new BorrowedBuffer(
-                    new PooledBuffer(
-                        MemoryUtil.memAlloc(size),
-                        0, size, false
-                    ),
-                    tracker
-                );
-            }
+            poolMisses.increment();
+            var buffer = config.alignBuffers
+                ? MemoryUtil.memAlignedAlloc(config.alignment, size)
+                : MemoryUtil.memAlloc(size);
+            return new BorrowedBuffer(
+                new PooledBuffer(buffer, MemoryUtil.memAddress(buffer), size, config.alignBuffers, false, BORROWED),
+                tracker
+            );
         }
         
-        allocations.incrementAndGet();
+        allocations.increment();
         
         // Round up to power of 2 for better reuse
         int poolSize = roundUpToPowerOf2(size);
         
-        lock.lock();
-        try {
-            var pool = pools.computeIfAbsent(poolSize, k -> new ConcurrentLinkedDeque<>());
-            
-            // Try to get from pool
-            PooledBuffer buffer = pool.poll();
-            if (buffer != null) {
-                poolHits.incrementAndGet();
-                log.trace("Reusing buffer of size {} from pool", poolSize);
-                
-                // Clear buffer before reuse - ensure it's zeroed
-                buffer.buffer.clear();
-                // Use bulk put operation for better performance and reliability
-                int capacity = buffer.buffer.capacity();
-                buffer.buffer.position(0);
-                buffer.buffer.limit(capacity);
-                
-                // Fill with zeros using bulk operations for better performance
-                // This works more reliably across different environments
-                while (buffer.buffer.remaining() >= 8) {
-                    buffer.buffer.putLong(0L);
-                }
-                while (buffer.buffer.hasRemaining()) {
-                    buffer.buffer.put((byte) 0);
-                }
-                
-                buffer.buffer.clear(); // Reset position and limit
-                
-                borrowed.add(buffer);
-                return new BorrowedBuffer(buffer, tracker);
-            }
-            
-            // Need to allocate new buffer
-            poolMisses.incrementAndGet();
-            
+        var buffer = take(poolSize, BORROWED);
+        if (buffer == null) {
             if (totalBuffers.get() >= config.maxPoolSize) {
                 // Pool is full, try to evict old buffers
                 evictOldBuffers();
             }
-            
-            // Allocate new buffer
-            ByteBuffer newBuffer;
-            if (config.alignBuffers) {
-                newBuffer = MemoryUtil.memAlignedAlloc(config.alignment, poolSize);
-            } else {
-                newBuffer = MemoryUtil.memAlloc(poolSize);
+            buffer = newBuffer(poolSize, config.alignBuffers, BORROWED);
+        }
+        borrowedCount.incrementAndGet();
+        return new BorrowedBuffer(buffer, tracker);
+    }
+    
+    /**
+     * Return a borrowed buffer to the pool.
+     */
+    private void returnBuffer(PooledBuffer buffer) {
+        if (!buffer.poolable) {
+            // Out-of-range or empty buffers are never pooled
+            freeBuffer(buffer);
+            return;
+        }
+        if (buffer.state.compareAndSet(BORROWED, POOLED)) {
+            borrowedCount.decrementAndGet();
+            recycle(buffer);
+        }
+    }
+    
+    /**
+     * Take a pooled buffer of the given size class: from this thread's magazine if possible, then
+     * from the shared free list, then from the magazines of other threads.
+     * 
+     * @return the zeroed buffer, or null if none is pooled
+     */
+    private PooledBuffer take(int poolSize, int state) {
+        var index = sizeClassIndex(poolSize);
+        var sizeClass = sizeClass(index);
+        var local = localMagazine();
+        while (true) {
+            var buffer = local == null ? null : local.pop(index);
+            if (buffer == null) {
+                buffer = sizeClass.free.pollFirst();
             }
-            
-            // Zero the newly allocated buffer - LWJGL doesn't zero memory by default
-            newBuffer.clear();
-            while (newBuffer.remaining() >= 8) {
-                newBuffer.putLong(0L);
+            if (buffer == null && sizeClass.pooled.get() > 0) {
+                buffer = steal(index);
             }
-            while (newBuffer.hasRemaining()) {
-                newBuffer.put((byte) 0);
+            if (buffer == null) {
+                return null;
+            }
+            sizeClass.pooled.decrementAndGet();
+            pooledBytes.addAndGet(-buffer.size);
+            // A buffer freed by a concurrent close is dropped rather than reused
+            if (buffer.state.compareAndSet(POOLED, state)) {
+                poolHits.increment();
+                buffer.zero();
+                log.trace("Reusing buffer of size {} from pool", poolSize);
+                return buffer;
             }
-            newBuffer.clear(); // Reset position and limit
-            
-            var pooledBuffer = new PooledBuffer(
-                newBuffer,
-                MemoryUtil.memAddress(newBuffer),
-                poolSize,
-                config.alignBuffers
-            );
-            
-            totalBuffers.incrementAndGet();
-            totalMemory.addAndGet(poolSize);
-            
-            log.trace("Allocated new buffer of size {} for pool", poolSize);
-            
-            borrowed.add(pooledBuffer);
-            return new BorrowedBuffer(pooledBuffer, tracker);
-            
-        } finally {
-            lock.unlock();
         }
     }
     
     /**
-     * Return a buffer to the pool.
+     * Take a buffer of the size class from another thread's magazine.
      */
-    private void returnBuffer(PooledBuffer buffer) {
-        if (closed) {
-            // Pool is closed, free the buffer
+    private PooledBuffer steal(int index) {
+        for (var m : magazines) {
+            var buffer = m.pop(index);
+            if (buffer != null) {
+                return buffer;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * This thread's magazine, or null on a virtual thread; virtual threads are too many and too
+     * short-lived for per-thread caching to pay off.
+     */
+    private Magazine localMagazine() {
+        return Thread.currentThread().isVirtual() ? null : magazine.get();
+    }
+    
+    /**
+     * Allocate and zero a new native buffer of a pooled size class.
+     */
+    private PooledBuffer newBuffer(int poolSize, boolean aligned, int state) {
+        poolMisses.increment();
+        var newBuffer = aligned
+            ? MemoryUtil.memAlignedAlloc(config.alignment, poolSize)
+            : MemoryUtil.memAlloc(poolSize);
+        var pooledBuffer = new PooledBuffer(newBuffer, MemoryUtil.memAddress(newBuffer), poolSize, aligned, true, state);
+        
+        // Zero the newly allocated buffer - LWJGL doesn't zero memory by default
+        pooledBuffer.zero();
+        buffers.put(pooledBuffer.address, pooledBuffer);
+        totalBuffers.incrementAndGet();
+        totalMemory.addAndGet(poolSize);
+        
+        log.trace("Allocated new buffer of size {} for pool", poolSize);
+        return pooledBuffer;
+    }
+    
+    /**
+     * Put a buffer whose state is POOLED back into the pool, or free it if the pool is full.
+     */
+    private void recycle(PooledBuffer buffer) {
+        var index = sizeClassIndex(buffer.size);
+        var sizeClass = sizeClass(index);
+        if (closed || !admit(sizeClass, buffer.size)) {
+            // Pool is full or closed, free the buffer
+            log.trace("Pool limit reached, freeing buffer of size {}", buffer.size);
             freeBuffer(buffer);
             return;
         }
-        
-        lock.lock();
-        try {
-            borrowed.remove(buffer);
-            
-            var pool = pools.get(buffer.size);
-            if (pool != null && pool.size() < config.maxBuffersPerSize) {
-                pool.offer(buffer);
-                log.trace("Returned buffer of size {} to pool", buffer.size);
-            } else {
-                // Pool for this size is full, free the buffer
-                freeBuffer(buffer);
+        // Mark the buffer as used when returning to pool so idle time resets
+        buffer.markUsed();
+        var local = localMagazine();
+        if (local == null || !local.push(index, buffer)) {
+            sizeClass.free.offerFirst(buffer);
+        }
+        log.trace("Returned buffer of size {} to pool", buffer.size);
+    }
+    
+    /**
+     * Reserve room in the pool for a buffer, respecting the byte limit if one is set and the
+     * per-size buffer count limit otherwise.
+     */
+    private boolean admit(SizeClass sizeClass, int size) {
+        if (maxPoolSizeBytes > 0) {
+            long current;
+            do {
+                current = pooledBytes.get();
+                if (current + size > maxPoolSizeBytes) {
+                    return false;
+                }
+            } while (!pooledBytes.compareAndSet(current, current + size));
+            sizeClass.pooled.incrementAndGet();
+            return true;
+        }
+        int current;
+        do {
+            current = sizeClass.pooled.get();
+            if (current >= config.maxBuffersPerSize) {
+                return false;
             }
-        } finally {
-            lock.unlock();
+        } while (!sizeClass.pooled.compareAndSet(current, current + 1));
+        pooledBytes.addAndGet(size);
+        return true;
+    }
+    
+    /**
+     * Move a buffer removed from a terminated thread's magazine to its free list, or free it if
+     * the pool has been closed meanwhile.
+     */
+    private void restock(PooledBuffer buffer) {
+        var sizeClass = sizeClass(sizeClassIndex(buffer.size));
+        if (!closed) {
+            sizeClass.free.offerLast(buffer);
+            return;
         }
+        sizeClass.pooled.decrementAndGet();
+        pooledBytes.addAndGet(-buffer.size);
+        freeBuffer(buffer);
     }
     
     /**
-     * Evict old buffers that haven't been used recently.
+     * Remove the pooled buffers matching the filter from the free lists and magazines, and free them.
      */
-    private void evictOldBuffers() {
-        for (var pool : pools.values()) {
-            var iterator = pool.iterator();
-            while (iterator.hasNext()) {
-                var buffer = iterator.next();
-                if (buffer.getIdleTime() > maxIdleTimeNanos) {
-                    iterator.remove();
-                    freeBuffer(buffer);
-                    log.trace("Evicted idle buffer of size {}", buffer.size);
+    private void drainPooled(Predicate<PooledBuffer> filter) {
+        Consumer<PooledBuffer> release = buffer -> {
+            sizeClass(sizeClassIndex(buffer.size)).pooled.decrementAndGet();
+            pooledBytes.addAndGet(-buffer.size);
+            freeBuffer(buffer);
+        };
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            var sizeClass = sizeClasses.get(i);
+            if (sizeClass != null) {
+                for (var buffer : sizeClass.free) {
+                    // Only the thread that removes a buffer may release it
+                    if (filter.test(buffer) && sizeClass.free.removeFirstOccurrence(buffer)) {
+                        release.accept(buffer);
+                    }
                 }
             }
         }
+        for (var m : magazines) {
+            m.drain(filter, release);
+        }
     }
     
     /**
-     * Free a pooled buffer.
+     * Evict old buffers that haven't been used recently.
+     */
+    private void evictOldBuffers() {
+        drainPooled(buffer -> buffer.getIdleTime() > maxIdleTimeNanos);
+    }
+    
+    /**
+     * Free a pooled buffer, at most once.
      */
     private void freeBuffer(PooledBuffer buffer) {
+        if (buffer.state.getAndSet(FREED) == FREED || buffer.size == 0) {
+            return;
+        }
         if (buffer.aligned) {
             MemoryUtil.memAlignedFree(buffer.buffer);
         } else {
             MemoryUtil.memFree(buffer.buffer);
         }
         
-        totalBuffers.decrementAndGet();
-        totalMemory.addAndGet(-buffer.size);
+        if (buffer.poolable) {
+            buffers.remove(buffer.address);
+            totalBuffers.decrementAndGet();
+            totalMemory.addAndGet(-buffer.size);
+        }
         
         log.trace("Freed buffer of size {}", buffer.size);
     }
     
+    private SizeClass sizeClass(int index) {
+        var sizeClass = sizeClasses.get(index);
+        if (sizeClass == null) {
+            sizeClasses.compareAndSet(index, null, new SizeClass());
+            sizeClass = sizeClasses.get(index);
+        }
+        return sizeClass;
+    }
+    
+    private static int sizeClassIndex(int poolSize) {
+        return Integer.numberOfTrailingZeros(poolSize);
+    }
+    
     /**
      * Round up to nearest power of 2.
      */
@@ -430,142 +652,34 @@ public class MemoryPool implements AutoCloseable {
             return ByteBuffer.allocateDirect(0);
         }
         
-        allocations.incrementAndGet();
+        allocations.increment();
         
         // Round up to power of 2 for better reuse
         int poolSize = roundUpToPowerOf2(size);
         
-        lock.lock();
-        try {
-            var pool = pools.computeIfAbsent(poolSize, k -> new ConcurrentLinkedDeque<>());
-            
-            // Try to get from pool
-            PooledBuffer buffer = pool.poll();
-            if (buffer != null) {
-                poolHits.incrementAndGet();
-                // DON'T count as allocated when reusing from pool - it's already in totalMemory
-                log.debug("Reusing buffer {} of size {} from pool", 
-                         System.identityHashCode(buffer.buffer), poolSize);
-                
-                // Clear buffer before reuse - ensure it's zeroed
-                buffer.buffer.clear();
-                // Use bulk put operation for better performance and reliability
-                int capacity = buffer.buffer.capacity();
-                buffer.buffer.position(0);
-                buffer.buffer.limit(capacity);
-                
-                // Fill with zeros using bulk operations for better performance
-                // This works more reliably across different environments
-                while (buffer.buffer.remaining() >= 8) {
-                    buffer.buffer.putLong(0L);
-                }
-                while (buffer.buffer.hasRemaining()) {
-                    buffer.buffer.put((byte) 0);
-                }
-                
-                buffer.buffer.clear(); // Reset position and limit
-                
-                allocatedBuffers.put(buffer.buffer, buffer);
-                return buffer.buffer;
-            }
-            
-            // Need to allocate new buffer
-            poolMisses.incrementAndGet();
-            
-            // Allocate new buffer
-            ByteBuffer newBuffer = MemoryUtil.memAlloc(poolSize);
-            
-            // Zero the newly allocated buffer - LWJGL doesn't zero memory by default
-            newBuffer.clear();
-            while (newBuffer.remaining() >= 8) {
-                newBuffer.putLong(0L);
-            }
-            while (newBuffer.hasRemaining()) {
-                newBuffer.put((byte) 0);
-            }
-            newBuffer.clear(); // Reset position and limit
-            
-            var pooledBuffer = new PooledBuffer(
-                newBuffer,
-                MemoryUtil.memAddress(newBuffer),
-                poolSize,
-                false
-            );
-            
-            totalBuffers.incrementAndGet();
-            totalMemory.addAndGet(poolSize);
-            
-            log.debug("Allocated new buffer {} of size {} for pool", 
-                     System.identityHashCode(newBuffer), poolSize);
-            
-            allocatedBuffers.put(newBuffer, pooledBuffer);
-            return newBuffer;
-            
-        } finally {
-            lock.unlock();
+        var buffer = take(poolSize, ALLOCATED);
+        if (buffer == null) {
+            buffer = newBuffer(poolSize, false, ALLOCATED);
         }
+        return buffer.buffer;
     }
     
     /**
      * Return a buffer to the pool.
      */
     public void returnToPool(ByteBuffer buffer) {
-        if (buffer == null) {
+        if (buffer == null || buffer.capacity() == 0 || !buffer.isDirect()) {
             return;
         }
         
-        lock.lock();
-        try {
-            PooledBuffer pooledBuffer = allocatedBuffers.remove(buffer);
-            if (pooledBuffer != null) {
-                var pool = pools.get(pooledBuffer.size);
-                
-                // Check if we should keep this buffer based on size limits
-                boolean shouldKeep = false;
-                if (maxPoolSizeBytes > 0) {
-                    // Using byte size limit - calculate current pool size inline to avoid lock issues
-                    long currentPoolSize = 0;
-                    for (var p : pools.values()) {
-                        for (var buf : p) {
-                            currentPoolSize += buf.size;
-                        }
-                    }
-                    shouldKeep = (currentPoolSize + pooledBuffer.size) <= maxPoolSizeBytes;
-                } else {
-                    // Using buffer count limit
-                    shouldKeep = pool != null && pool.size() < config.maxBuffersPerSize;
-                }
-                
-                if (shouldKeep && pool != null) {
-                    // Check if this buffer is already in the pool (duplicate return)
-                    boolean alreadyInPool = pool.stream()
-                        .anyMatch(pb -> pb.buffer == pooledBuffer.buffer);
-                    
-                    if (!alreadyInPool) {
-                        // Mark the buffer as used when returning to pool so idle time resets
-                        pooledBuffer.markUsed();
-                        pool.offer(pooledBuffer);
-                        log.debug("Returned buffer of size {} to pool (pool now has {} buffers, {} bytes total)", 
-                                 pooledBuffer.size, pool.size(), getCurrentSize() + pooledBuffer.size);
-                    } else {
-                        log.debug("Buffer {} already in pool, ignoring duplicate return", 
-                                 System.identityHashCode(buffer));
-                    }
-                } else {
-                    // Pool is full or doesn't exist, free the buffer
-                    log.debug("Pool limit reached (byte limit: {}, current: {}), freeing buffer of size {}", 
-                             maxPoolSizeBytes > 0 ? maxPoolSizeBytes : "N/A", 
-                             getCurrentSize(), pooledBuffer.size);
-                    freeBuffer(pooledBuffer);
-                }
-            } else {
-                // Buffer was not tracked or already returned
-                log.trace("Buffer {} not tracked or already returned", 
-                         System.identityHashCode(buffer));
-            }
-        } finally {
-            lock.unlock();
+        var pooledBuffer = buffers.get(MemoryUtil.memAddress0(buffer));
+        // Only the buffer object handed out by allocate() may be returned, and only once
+        if (pooledBuffer == null || pooledBuffer.buffer != buffer
+            || !pooledBuffer.state.compareAndSet(ALLOCATED, POOLED)) {
+            log.trace("Buffer {} not tracked or already returned", System.identityHashCode(buffer));
+            return;
         }
+        recycle(pooledBuffer);
     }
     
     /**
@@ -579,44 +693,34 @@ public class MemoryPool implements AutoCloseable {
      * Get current size of pool in bytes.
      */
     public long getCurrentSize() {
-        lock.lock();
-        try {
-            long size = 0;
-            for (var pool : pools.values()) {
-                for (var buffer : pool) {
-                    size += buffer.size;
-                }
-            }
-            return size;
-        } finally {
-            lock.unlock();
-        }
+        return pooledBytes.get();
     }
     
     /**
      * Get hit rate as a percentage.
      */
     public double getHitRate() {
-        long total = allocations.get();
+        long total = allocations.sum();
         if (total == 0) return 0.0;
-        return (double) poolHits.get() / total;
+        return (double) poolHits.sum() / total;
     }
     
     /**
      * Get pool statistics.
      */
     public String getStatistics() {
-        double hitRate = allocations.get() > 0 
-            ? (double) poolHits.get() / allocations.get() * 100 
+        long total = allocations.sum();
+        double hitRate = total > 0 
+            ? (double) poolHits.sum() / total * 100 
             : 0;
         
         return String.format(
             "MemoryPool[buffers=%d, memory=%s, allocations=%d, hitRate=%.1f%%, borrowed=%d]",
             totalBuffers.get(),
             formatBytes(totalMemory.get()),
-            allocations.get(),
+            total,
             hitRate,
-            borrowed.size()
+            borrowedCount.get()
         );
     }
     
@@ -624,20 +728,21 @@ public class MemoryPool implements AutoCloseable {
      * Get detailed pool statistics.
      */
     public PoolStatistics getPoolStatistics() {
-        lock.lock();
-        try {
-            return new PoolStatistics(
-                totalBuffers.get(),
-                totalMemory.get(),
-                allocations.get(),
-                poolHits.get(),
-                poolMisses.get(),
-                borrowed.size(),
-                pools.size()
-            );
-        } finally {
-            lock.unlock();
+        int poolSizes = 0;
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            if (sizeClasses.get(i) != null) {
+                poolSizes++;
+            }
         }
+        return new PoolStatistics(
+            totalBuffers.get(),
+            totalMemory.get(),
+            allocations.sum(),
+            poolHits.sum(),
+            poolMisses.sum(),
+            borrowedCount.get(),
+            poolSizes
+        );
     }
     
     /**
@@ -708,20 +813,8 @@ public class MemoryPool implements AutoCloseable {
      * Clear all pooled buffers.
      */
     public void clear() {
-        lock.lock();
-        try {
-            for (var pool : pools.values()) {
-                PooledBuffer buffer;
-                while ((buffer = pool.poll()) != null) {
-                    freeBuffer(buffer);
-                }
-            }
-            pools.clear();
-            
-            log.info("Cleared memory pool: {}", getStatistics());
-        } finally {
-            lock.unlock();
-        }
+        drainPooled(buffer -> true);
+        log.info("Cleared memory pool: {}", getStatistics());
     }
     
     @Override
@@ -732,34 +825,25 @@ public class MemoryPool implements AutoCloseable {
         
         closed = true;
         
-        lock.lock();
-        try {
-            // Log warning if buffers still borrowed
-            if (!borrowed.isEmpty()) {
-                log.warn("Closing pool with {} buffers still borrowed", borrowed.size());
-            }
-            
-            // Free all pooled buffers
-            clear();
-            
-            // Free borrowed buffers (leak prevention)
-            for (var buffer : borrowed) {
-                freeBuffer(buffer);
-            }
-            borrowed.clear();
-            
-            // Free allocated buffers
-            for (var buffer : allocatedBuffers.values()) {
-                freeBuffer(buffer);
-            }
-            allocatedBuffers.clear();
-            
-            log.info("Closed memory pool: total allocations={}, hit rate={:.1f}%",
-                allocations.get(),
-                allocations.get() > 0 ? (double) poolHits.get() / allocations.get() * 100 : 0);
-            
-        } finally {
-            lock.unlock();
+        // Log warning if buffers still borrowed
+        if (borrowedCount.get() > 0) {
+            log.warn("Closing pool with {} buffers still borrowed", borrowedCount.get());
+        }
+        
+        // Free all pooled buffers
+        clear();
+        
+        // Release the magazines now rather than when their threads terminate
+        for (var m : magazines) {
+            m.flush.clean();
         }
+        
+        // Free borrowed and allocated buffers (leak prevention)
+        for (var buffer : buffers.values()) {
+            freeBuffer(buffer);
+        }
+        
+        log.info("Closed memory pool: total allocations={}, hit rate={}%",
+            allocations.sum(), String.format("%.1f", getHitRate() * 100));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+package com.hellblazer.luciferase.resource;
+
+import com.hellblazer.luciferase.resource.memory.MemoryPool;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of pooled allocation throughput as threads scale.
+ *
+ * Every thread shares one pool and one manager and repeatedly allocates and returns a buffer,
+ * directly through {@link MemoryPool} and through {@link UnifiedResourceManager}, which adds
+ * resource tracking. Running {@link #main} measures 1, 2, 4 and 8 threads and prints the
+ * aggregate throughput and its scaling relative to a single thread.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Dorg.lwjgl.system.allocator=system"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MemoryPoolBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8};
+
+    @Param({"4096"})
+    private int size;
+
+    private MemoryPool pool;
+    private UnifiedResourceManager manager;
+
+    @Setup
+    public void setup() {
+        pool = new MemoryPool(256L * 1024 * 1024, Duration.ofMinutes(5));
+        var config = new ResourceConfiguration.Builder()
+            .withMaxPoolSize(256L * 1024 * 1024)
+            .withMaxIdleTime(Duration.ofMinutes(5))
+            .withLeakDetection(false)
+            .build();
+        manager = new UnifiedResourceManager(config);
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.close();
+        pool.close();
+    }
+
+    @Benchmark
+    public ByteBuffer poolAllocate() {
+        var buffer = pool.allocate(size);
+        pool.returnToPool(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public ByteBuffer managerAllocate() {
+        var buffer = manager.allocateMemory(size);
+        manager.releaseMemory(buffer);
+        return buffer;
+    }
+
+    // ===== MAIN METHOD FOR STANDALONE EXECUTION =====
+
+    public static void main(String[] args) throws RunnerException {
+        for (var benchmark : new String[] {"poolAllocate", "managerAllocate"}) {
+            var single = 0.0;
+            for (var threads : THREADS) {
+                var opt = new OptionsBuilder()
+                    .include(MemoryPoolBenchmark.class.getSimpleName() + "." + benchmark + "$")
+                    .threads(threads)
+                    .build();
+                var score = score(new Runner(opt).run());
+                if (threads == 1) {
+                    single = score;
+                }
+                System.out.printf("%s, %d threads: %.2f ops/us, %.2fx single thread%n",
+                                  benchmark, threads, score, score / single);
+            }
+        }
+    }
+
+    private static double score(Iterable<RunResult> results) {
+        for (var result : results) {
+            return result.getPrimaryResult().getScore();
+        }
+        throw new IllegalStateException("No benchmark result");
+    }
+}
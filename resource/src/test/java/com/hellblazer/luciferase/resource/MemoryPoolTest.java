@@ -218,4 +218,105 @@ public class MemoryPoolTest {
         noEvictPool.evictExpired();
         assertEquals(1024, noEvictPool.getCurrentSize()); // Should not evict
     }
+    
+    @Test
+    void testReusedBufferIsZeroed() {
+        var buffer = pool.allocate(1000);
+        assertEquals(1024, buffer.capacity());
+        while (buffer.hasRemaining()) {
+            buffer.put((byte) 7);
+        }
+        pool.returnToPool(buffer);
+        
+        var reused = pool.allocate(1024);
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position());
+        assertEquals(1024, reused.limit());
+        for (int i = 0; i < reused.capacity(); i++) {
+            assertEquals(0, reused.get(i));
+        }
+    }
+    
+    @Test
+    void testDuplicateReturnIgnored() {
+        var buffer = pool.allocate(1024);
+        pool.returnToPool(buffer);
+        pool.returnToPool(buffer);
+        pool.returnToPool(buffer.duplicate());
+        assertEquals(1024, pool.getCurrentSize());
+        
+        // Only one pooled buffer, so the second allocation is new
+        var first = pool.allocate(1024);
+        var second = pool.allocate(1024);
+        assertNotSame(first, second);
+        assertEquals(0, pool.getCurrentSize());
+    }
+    
+    @Test
+    void testConcurrentAccounting() throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            futures.add(executor.submit(() -> {
+                var random = ThreadLocalRandom.current();
+                var held = new ArrayList<ByteBuffer>();
+                for (int i = 0; i < 10_000; i++) {
+                    if (held.size() < 16 && random.nextBoolean()) {
+                        held.add(pool.allocate(256 << random.nextInt(4)));
+                    } else if (!held.isEmpty()) {
+                        pool.returnToPool(held.remove(held.size() - 1));
+                    }
+                }
+                held.forEach(pool::returnToPool);
+            }));
+        }
+        for (var future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        
+        // Every buffer was returned, so all live buffers are pooled
+        var stats = pool.getPoolStatistics();
+        assertEquals(stats.totalMemoryBytes, pool.getCurrentSize());
+        assertTrue(pool.getHitRate() > 0.9);
+        
+        pool.clear();
+        assertEquals(0, pool.getCurrentSize());
+        assertEquals(0, pool.getPoolStatistics().totalBuffers);
+    }
+    
+    @Test
+    void testBuffersOfOtherThreadsReused() throws InterruptedException {
+        var limited = new MemoryPool(MemoryPool.Config.builder().maxBuffersPerSize(4).build(),
+            ResourceTracker.getGlobalTracker());
+        // Buffers returned by a thread that has since ended are cached in its magazine
+        var worker = new Thread(() -> {
+            var held = new ArrayList<ByteBuffer>();
+            for (int i = 0; i < 4; i++) {
+                held.add(limited.allocate(1024));
+            }
+            held.forEach(limited::returnToPool);
+        });
+        worker.start();
+        worker.join();
+        
+        for (int i = 0; i < 4; i++) {
+            limited.allocate(1024);
+        }
+        assertEquals(4, limited.getPoolStatistics().totalBuffers);
+        assertEquals(4, limited.getPoolStatistics().poolHits);
+        limited.close();
+    }
+    
+    @Test
+    void testVirtualThreadsShareFreeList() throws InterruptedException {
+        var returned = new ByteBuffer[1];
+        Thread.ofVirtual().start(() -> {
+            returned[0] = pool.allocate(1024);
+            pool.returnToPool(returned[0]);
+        }).join();
+        
+        assertSame(returned[0], pool.allocate(1024));
+    }
 }
\ No newline at end of file
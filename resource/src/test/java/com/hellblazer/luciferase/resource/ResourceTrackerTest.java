@@ -3,6 +3,8 @@ package com.hellblazer.luciferase.resource;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 
+import java.util.UUID;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -79,6 +81,18 @@ public class ResourceTrackerTest {
         assertEquals(100, tracker.getActiveResourceIds().size());
     }
     
+    @Test
+    void testResourceIdsAreVersion8Uuids() {
+        var first = ResourceIds.next();
+        var second = ResourceIds.next();
+        assertNotEquals(first, second);
+        for (var id : new UUID[] {first, second, UUID.fromString(new TestHandle(7L).getId())}) {
+            assertEquals(8, id.version());
+            assertEquals(2, id.variant());
+        }
+        assertEquals(first.getMostSignificantBits(), second.getMostSignificantBits());
+    }
+    
     // Simple test handle implementation
     private static class TestHandle extends ResourceHandle<Long> {
         TestHandle(Long resource) {